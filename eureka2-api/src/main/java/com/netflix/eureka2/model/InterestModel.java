@@ -40,6 +40,12 @@ public abstract class InterestModel {
 
     public abstract Interest<InstanceInfo> newInstanceInterest(String instanceId, Operator operator);
 
+    public abstract Interest<InstanceInfo> newMetadataInterest(String key, String value);
+
+    public abstract Interest<InstanceInfo> newStatusFilteredInterest(Interest<InstanceInfo> interest, InstanceInfo.Status... statuses);
+
+    public abstract Interest<InstanceInfo> newZoneAffinityInterest(Interest<InstanceInfo> interest, String zone, int minLocalUpInstances);
+
     public abstract MultipleInterests<InstanceInfo> newMultipleInterests(Interest<InstanceInfo>... interests);
 
     public static InterestModel getDefaultModel() {
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.eureka2.model.instance;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.netflix.eureka2.model.InstanceModel;
+import com.netflix.eureka2.model.instance.InstanceInfoField.Name;
+import com.netflix.eureka2.model.interest.Interest;
+import com.netflix.eureka2.model.interest.MetadataInterest;
+import com.netflix.eureka2.model.interest.MultipleInterests;
+import com.netflix.eureka2.model.interest.StatusFilteredInterest;
+import com.netflix.eureka2.model.interest.ZoneAffinityInterest;
+import com.netflix.eureka2.model.notification.ChangeNotification;
+import com.netflix.eureka2.model.notification.ModifyNotification;
+
+/**
+ * Subset of {@link InstanceInfo} fields an interest subscriber wants to receive. Instance id, and the fields
+ * that application/vip interests select on are always included, so projected instances can still be matched
+ * against the subscriber's interests on the client side. Fields that other interests select on, like metadata
+ * or status, are added with {@link #withFieldsRequiredBy(Interest)}.
+ */
+public class InstanceInfoProjection {
+
+    /**
+     * Key under which the projection requested by a client is kept in the interest channel notification context.
+     */
+    public static final String CHANNEL_CONTEXT_KEY = "interest.fieldProjection";
+
+    private static final Set<Name> ALWAYS_INCLUDED = EnumSet.of(Name.App, Name.VipAddress, Name.SecureVipAddress);
+
+    private final Set<Name> fields;
+
+    public InstanceInfoProjection(Name... fields) {
+        EnumSet<Name> fieldSet = EnumSet.copyOf(ALWAYS_INCLUDED);
+        Collections.addAll(fieldSet, fields);
+        this.fields = Collections.unmodifiableSet(fieldSet);
+    }
+
+    public Set<Name> getFields() {
+        return fields;
+    }
+
+    /**
+     * @return projection extended with the fields the given interest is matched on, or this projection if
+     *         it includes them already
+     */
+    public InstanceInfoProjection withFieldsRequiredBy(Interest<InstanceInfo> interest) {
+        EnumSet<Name> required = EnumSet.copyOf(fields);
+        addFieldsRequiredBy(interest, required);
+        if (required.size() == fields.size()) {
+            return this;
+        }
+        return new InstanceInfoProjection(required.toArray(new Name[required.size()]));
+    }
+
+    public boolean isFullProjection() {
+        return fields.size() == Name.values().length;
+    }
+
+    public InstanceInfo project(InstanceInfo instanceInfo) {
+        if (isFullProjection()) {
+            return instanceInfo;
+        }
+        InstanceInfoBuilder builder = InstanceModel.getDefaultModel().newInstanceInfo().withId(instanceInfo.getId());
+        for (Name name : fields) {
+            InstanceInfoField<Object> field = InstanceInfoField.forName(name);
+            Object value = field.getValue(instanceInfo);
+            if (value != null) {
+                field.update(builder, value);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Project data notifications. Modify notifications carrying changes of non-projected fields only are
+     * dropped, and null is returned for them.
+     */
+    public ChangeNotification<InstanceInfo> project(ChangeNotification<InstanceInfo> notification) {
+        if (isFullProjection()) {
+            return notification;
+        }
+        switch (notification.getKind()) {
+            case Add:
+                return new ChangeNotification<>(ChangeNotification.Kind.Add, project(notification.getData()));
+            case Modify:
+                Set<Delta<?>> deltas = ((ModifyNotification<InstanceInfo>) notification).getDelta();
+                Set<Delta<?>> projectedDeltas = new HashSet<>();
+                for (Delta<?> delta : deltas) {
+                    if (fields.contains(delta.getField().getFieldName())) {
+                        projectedDeltas.add(delta);
+                    }
+                }
+                if (projectedDeltas.isEmpty()) {
+                    return null;
+                }
+                if (projectedDeltas.size() == deltas.size()) {
+                    return new ModifyNotification<>(project(notification.getData()), deltas);
+                }
+                return new ModifyNotification<>(project(notification.getData()), projectedDeltas);
+            default:
+                return notification;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        return fields.equals(((InstanceInfoProjection) o).fields);
+    }
+
+    @Override
+    public int hashCode() {
+        return fields.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "InstanceInfoProjection{fields=" + fields + '}';
+    }
+
+    private static void addFieldsRequiredBy(Interest<InstanceInfo> interest, Set<Name> required) {
+        if (interest instanceof MultipleInterests) {
+            for (Interest<InstanceInfo> child : ((MultipleInterests<InstanceInfo>) interest).getInterests()) {
+                addFieldsRequiredBy(child, required);
+            }
+        } else if (interest instanceof StatusFilteredInterest) {
+            required.add(Name.Status);
+            addFieldsRequiredBy(((StatusFilteredInterest<InstanceInfo>) interest).getInterest(), required);
+        } else if (interest instanceof ZoneAffinityInterest) {
+            addFieldsRequiredBy(((ZoneAffinityInterest<InstanceInfo>) interest).getInterest(), required);
+        } else if (interest instanceof MetadataInterest) {
+            required.add(Name.MetaData);
+        }
+    }
+
+    public static Name[] asArray(InstanceInfoProjection projection) {
+        return projection == null ? null : projection.fields.toArray(new Name[projection.fields.size()]);
+    }
+
+    public static InstanceInfoProjection fromArray(Name[] fields) {
+        return fields == null ? null : new InstanceInfoProjection(fields);
+    }
+}
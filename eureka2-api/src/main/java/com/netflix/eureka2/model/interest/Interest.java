@@ -25,7 +25,7 @@ package com.netflix.eureka2.model.interest;
  */
 public interface Interest<T> {
 
-    enum QueryType {None, Any, Composite, Application, Vip, SecureVip, Instance}
+    enum QueryType {None, Any, Composite, Application, Vip, SecureVip, Instance, Metadata}
 
     enum Operator {Equals, Like}
 
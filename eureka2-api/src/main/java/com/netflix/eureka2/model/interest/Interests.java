@@ -16,9 +16,13 @@
 
 package com.netflix.eureka2.model.interest;
 
+import java.util.Set;
+
 import com.netflix.eureka2.model.InterestModel;
 import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.instance.InstanceInfo.Status;
 import com.netflix.eureka2.model.interest.Interest.Operator;
+import com.netflix.eureka2.model.interest.Interest.QueryType;
 
 /**
  * A factory to create instances of {@link Interest}.
@@ -101,6 +105,85 @@ public final class Interests {
         return InterestModel.getDefaultModel().newMultipleInterests(interests);
     }
 
+    /**
+     * Interest in instances having metadata entry with the given key, and one of the given values.
+     */
+    public static Interest<InstanceInfo> forMetadata(String key, String... values) {
+        if (values.length == 0) {
+            return InterestModel.getDefaultModel().newEmptyRegistryInterest();
+        }
+        if (values.length == 1) {
+            return InterestModel.getDefaultModel().newMetadataInterest(key, values[0]);
+        }
+        Interest[] interests = new Interest[values.length];
+        for (int i = 0; i < interests.length; i++) {
+            interests[i] = InterestModel.getDefaultModel().newMetadataInterest(key, values[i]);
+        }
+        return InterestModel.getDefaultModel().newMultipleInterests(interests);
+    }
+
+    /**
+     * Restrict the given interest to instances in one of the given statuses. Composite interests are restricted
+     * by filtering each of their atomic interests. A status filter of an already filtered interest is replaced.
+     */
+    public static Interest<InstanceInfo> withStatus(Interest<InstanceInfo> interest, Status... statuses) {
+        if (statuses.length == 0 || interest.getQueryType() == QueryType.None) {
+            return InterestModel.getDefaultModel().newEmptyRegistryInterest();
+        }
+        if (interest instanceof MultipleInterests) {
+            Set<Interest<InstanceInfo>> atomicInterests = ((MultipleInterests<InstanceInfo>) interest).flatten();
+            Interest[] interests = new Interest[atomicInterests.size()];
+            int i = 0;
+            for (Interest<InstanceInfo> atomicInterest : atomicInterests) {
+                interests[i++] = withStatus(atomicInterest, statuses);
+            }
+            return InterestModel.getDefaultModel().newMultipleInterests(interests);
+        }
+        if (interest instanceof ZoneAffinityInterest) {
+            ZoneAffinityInterest<InstanceInfo> zoneInterest = (ZoneAffinityInterest<InstanceInfo>) interest;
+            return InterestModel.getDefaultModel().newZoneAffinityInterest(
+                    withStatus(zoneInterest.getInterest(), statuses), zoneInterest.getZone(), zoneInterest.getMinLocalUpInstances()
+            );
+        }
+        if (interest instanceof StatusFilteredInterest) {
+            interest = ((StatusFilteredInterest<InstanceInfo>) interest).getInterest();
+        }
+        return InterestModel.getDefaultModel().newStatusFilteredInterest(interest, statuses);
+    }
+
+    /**
+     * Send instances of the given availability zone first in the initial buffer, followed by instances of
+     * other zones.
+     */
+    public static Interest<InstanceInfo> withZoneAffinity(Interest<InstanceInfo> interest, String zone) {
+        return withZoneAffinity(interest, zone, 0);
+    }
+
+    /**
+     * Send instances of the given availability zone first in the initial buffer, and exclude instances of other
+     * zones while the zone has at least minLocalUpInstances UP instances. If minLocalUpInstances is 0, no
+     * instances are excluded. Composite interests are handled per atomic interest, so each of them fails over
+     * to other zones independently. A zone affinity of an interest which already has one is replaced.
+     */
+    public static Interest<InstanceInfo> withZoneAffinity(Interest<InstanceInfo> interest, String zone, int minLocalUpInstances) {
+        if (interest.getQueryType() == QueryType.None) {
+            return interest;
+        }
+        if (interest instanceof MultipleInterests) {
+            Set<Interest<InstanceInfo>> atomicInterests = ((MultipleInterests<InstanceInfo>) interest).flatten();
+            Interest[] interests = new Interest[atomicInterests.size()];
+            int i = 0;
+            for (Interest<InstanceInfo> atomicInterest : atomicInterests) {
+                interests[i++] = withZoneAffinity(atomicInterest, zone, minLocalUpInstances);
+            }
+            return InterestModel.getDefaultModel().newMultipleInterests(interests);
+        }
+        if (interest instanceof ZoneAffinityInterest) {
+            interest = ((ZoneAffinityInterest<InstanceInfo>) interest).getInterest();
+        }
+        return InterestModel.getDefaultModel().newZoneAffinityInterest(interest, zone, minLocalUpInstances);
+    }
+
     public static Interest<InstanceInfo> forFullRegistry() {
         return InterestModel.getDefaultModel().newFullRegistryInterest();
     }
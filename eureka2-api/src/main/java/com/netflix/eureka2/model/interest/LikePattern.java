@@ -0,0 +1,251 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.eureka2.model.interest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Compiled form of a {@link Interest.Operator#Like} interest pattern. Most patterns used in practice are literal
+ * values, prefixes ({@code abc.*}), suffixes ({@code .*abc}), infixes ({@code .*abc.*}) or alternations of those
+ * ({@code (abc|def.*)}), which are matched with plain string operations. Anything else is matched with
+ * a regular expression, with the same semantics as {@link java.util.regex.Matcher#matches()}.
+ */
+public class LikePattern {
+
+    public enum Shape {Literal, Prefix, Suffix, Infix, Any, Alternation, Regex}
+
+    private final String pattern;
+    private final Shape shape;
+    private final String literal;
+    private final List<LikePattern> alternatives;
+    private final Pattern regex;
+
+    private LikePattern(String pattern, Shape shape, String literal, List<LikePattern> alternatives, Pattern regex) {
+        this.pattern = pattern;
+        this.shape = shape;
+        this.literal = literal;
+        this.alternatives = alternatives;
+        this.regex = regex;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public Shape getShape() {
+        return shape;
+    }
+
+    /**
+     * Literal part of {@link Shape#Literal}, {@link Shape#Prefix}, {@link Shape#Suffix} and {@link Shape#Infix}
+     * patterns, and null for the other shapes.
+     */
+    public String getLiteral() {
+        return literal;
+    }
+
+    /**
+     * Alternatives of a {@link Shape#Alternation} pattern, which are never alternations or regular expressions
+     * themselves.
+     */
+    public List<LikePattern> getAlternatives() {
+        return alternatives;
+    }
+
+    public boolean matches(String value) {
+        switch (shape) {
+            case Literal:
+                return literal.equals(value);
+            case Prefix:
+                return value.startsWith(literal);
+            case Suffix:
+                return value.endsWith(literal);
+            case Infix:
+                return value.contains(literal);
+            case Any:
+                return true;
+            case Alternation:
+                for (LikePattern alternative : alternatives) {
+                    if (alternative.matches(value)) {
+                        return true;
+                    }
+                }
+                return false;
+        }
+        return regex.matcher(value).matches();
+    }
+
+    public static LikePattern literal(String value) {
+        return new LikePattern(value, Shape.Literal, value, null, null);
+    }
+
+    public static LikePattern compile(String pattern) {
+        String body = pattern;
+        if (body.startsWith("^")) {
+            body = body.substring(1);
+        }
+        if (body.endsWith("$") && !isEscaped(body, body.length() - 1)) {
+            body = body.substring(0, body.length() - 1);
+        }
+        body = unwrapGroup(body);
+
+        List<String> parts = splitAlternatives(body);
+        if (parts != null) {
+            if (parts.size() == 1) {
+                LikePattern simple = compileSimple(pattern, parts.get(0));
+                if (simple != null) {
+                    return simple;
+                }
+            } else {
+                List<LikePattern> alternatives = new ArrayList<>(parts.size());
+                for (String part : parts) {
+                    LikePattern simple = compileSimple(part, part);
+                    if (simple == null) {
+                        alternatives = null;
+                        break;
+                    }
+                    alternatives.add(simple);
+                }
+                if (alternatives != null) {
+                    return new LikePattern(pattern, Shape.Alternation, null, Collections.unmodifiableList(alternatives), null);
+                }
+            }
+        }
+        return new LikePattern(pattern, Shape.Regex, null, null, Pattern.compile(pattern));
+    }
+
+    /**
+     * Classify a pattern without alternations, returning null if it is not one of the simple shapes.
+     */
+    private static LikePattern compileSimple(String pattern, String body) {
+        boolean anyStart = body.startsWith(".*");
+        if (anyStart) {
+            body = body.substring(2);
+        }
+        boolean anyEnd = body.endsWith(".*") && !isEscaped(body, body.length() - 2);
+        if (anyEnd) {
+            body = body.substring(0, body.length() - 2);
+        }
+        String literal = unescapeLiteral(body);
+        if (literal == null) {
+            return null;
+        }
+        if (literal.isEmpty() && (anyStart || anyEnd)) {
+            return new LikePattern(pattern, Shape.Any, null, null, null);
+        }
+        Shape shape;
+        if (anyStart && anyEnd) {
+            shape = Shape.Infix;
+        } else if (anyStart) {
+            shape = Shape.Suffix;
+        } else if (anyEnd) {
+            shape = Shape.Prefix;
+        } else {
+            shape = Shape.Literal;
+        }
+        return new LikePattern(pattern, shape, literal, null, null);
+    }
+
+    /**
+     * Returns literal value of the given regular expression, or null if it contains any non escaped
+     * meta character, or escape sequence standing for a character class.
+     */
+    private static String unescapeLiteral(String body) {
+        StringBuilder sb = new StringBuilder(body.length());
+        for (int i = 0; i < body.length(); i++) {
+            char c = body.charAt(i);
+            if (c == '\\') {
+                if (i + 1 == body.length()) {
+                    return null;
+                }
+                char next = body.charAt(++i);
+                if (Character.isLetterOrDigit(next)) {
+                    return null;
+                }
+                sb.append(next);
+            } else if (".[]{}()*+?^$|".indexOf(c) >= 0) {
+                return null;
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Remove group parentheses, if they enclose the whole pattern.
+     */
+    private static String unwrapGroup(String body) {
+        int start;
+        if (body.startsWith("(?:")) {
+            start = 3;
+        } else if (body.startsWith("(") && !body.startsWith("(?")) {
+            start = 1;
+        } else {
+            return body;
+        }
+        int depth = 0;
+        for (int i = 0; i < body.length(); i++) {
+            char c = body.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return i == body.length() - 1 ? body.substring(start, i) : body;
+            }
+        }
+        return body;
+    }
+
+    /**
+     * Split the pattern on top level alternation operators. Returns null if the pattern contains groups or
+     * character classes, which are never classified as simple shapes.
+     */
+    private static List<String> splitAlternatives(String body) {
+        List<String> parts = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < body.length(); i++) {
+            char c = body.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '(' || c == '[') {
+                return null;
+            } else if (c == '|') {
+                parts.add(body.substring(start, i));
+                start = i + 1;
+            }
+        }
+        parts.add(body.substring(start));
+        return parts;
+    }
+
+    private static boolean isEscaped(String body, int index) {
+        int backslashes = 0;
+        for (int i = index - 1; i >= 0 && body.charAt(i) == '\\'; i--) {
+            backslashes++;
+        }
+        return backslashes % 2 == 1;
+    }
+
+    @Override
+    public String toString() {
+        return "LikePattern{pattern='" + pattern + "', shape=" + shape + '}';
+    }
+}
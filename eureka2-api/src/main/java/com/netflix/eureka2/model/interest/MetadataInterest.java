@@ -0,0 +1,26 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.eureka2.model.interest;
+
+/**
+ * Interest in instances having a metadata entry with the given key and value. {@link #getPattern()} returns
+ * the expected metadata value, which is always matched exactly, so the server can resolve this interest
+ * from an index of metadata values instead of evaluating it against each registry entry.
+ */
+public interface MetadataInterest<T> extends Interest<T> {
+
+    String getKey();
+}
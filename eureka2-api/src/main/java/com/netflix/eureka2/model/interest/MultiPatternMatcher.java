@@ -0,0 +1,177 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.eureka2.model.interest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Matches a value against a set of registered {@link LikePattern}s in one pass. Literal patterns are resolved
+ * with a hash lookup, prefix and suffix patterns with a trie walk over the value characters, and only
+ * infix and regular expression patterns are evaluated one by one. Alternations are split into their
+ * alternatives, which are registered under the same key.
+ * <p>
+ * Registrations are infrequent compared to matching, so the lookup structures are rebuilt on the first
+ * match following a registration change, and are never modified after that. This makes matching safe
+ * to be called concurrently with registration changes.
+ *
+ * @param <K> type of keys the patterns are registered with
+ */
+public class MultiPatternMatcher<K> {
+
+    private final Map<K, LikePattern> patterns = new HashMap<>();
+
+    private volatile CompiledPatterns<K> compiled;
+
+    public synchronized void add(K key, LikePattern pattern) {
+        patterns.put(key, pattern);
+        compiled = null;
+    }
+
+    public synchronized void remove(K key) {
+        if (patterns.remove(key) != null) {
+            compiled = null;
+        }
+    }
+
+    public synchronized int size() {
+        return patterns.size();
+    }
+
+    /**
+     * Returns keys of all patterns matching the given value.
+     */
+    public Set<K> match(String value) {
+        if (value == null) {
+            return Collections.emptySet();
+        }
+        CompiledPatterns<K> current = compiled;
+        if (current == null) {
+            synchronized (this) {
+                if (compiled == null) {
+                    compiled = new CompiledPatterns<>(patterns);
+                }
+                current = compiled;
+            }
+        }
+        return current.match(value);
+    }
+
+    private static class CompiledPatterns<K> {
+
+        private final Map<String, List<K>> literals = new HashMap<>();
+        private final TrieNode<K> prefixes = new TrieNode<>();
+        private final TrieNode<K> suffixes = new TrieNode<>();
+        private final List<K> any = new ArrayList<>();
+        private final List<K> otherKeys = new ArrayList<>();
+        private final List<LikePattern> otherPatterns = new ArrayList<>();
+
+        private CompiledPatterns(Map<K, LikePattern> patterns) {
+            for (Map.Entry<K, LikePattern> entry : patterns.entrySet()) {
+                LikePattern pattern = entry.getValue();
+                if (pattern.getShape() == LikePattern.Shape.Alternation) {
+                    for (LikePattern alternative : pattern.getAlternatives()) {
+                        add(entry.getKey(), alternative);
+                    }
+                } else {
+                    add(entry.getKey(), pattern);
+                }
+            }
+        }
+
+        private void add(K key, LikePattern pattern) {
+            switch (pattern.getShape()) {
+                case Literal:
+                    List<K> keys = literals.get(pattern.getLiteral());
+                    if (keys == null) {
+                        keys = new ArrayList<>(1);
+                        literals.put(pattern.getLiteral(), keys);
+                    }
+                    keys.add(key);
+                    break;
+                case Prefix:
+                    prefixes.add(pattern.getLiteral(), false, key);
+                    break;
+                case Suffix:
+                    suffixes.add(pattern.getLiteral(), true, key);
+                    break;
+                case Any:
+                    any.add(key);
+                    break;
+                default:
+                    otherKeys.add(key);
+                    otherPatterns.add(pattern);
+            }
+        }
+
+        private Set<K> match(String value) {
+            Set<K> result = new HashSet<>(any);
+            List<K> literalKeys = literals.get(value);
+            if (literalKeys != null) {
+                result.addAll(literalKeys);
+            }
+            prefixes.collect(value, false, result);
+            suffixes.collect(value, true, result);
+            for (int i = 0; i < otherPatterns.size(); i++) {
+                if (otherPatterns.get(i).matches(value)) {
+                    result.add(otherKeys.get(i));
+                }
+            }
+            return result;
+        }
+    }
+
+    private static class TrieNode<K> {
+
+        private final Map<Character, TrieNode<K>> children = new HashMap<>();
+        private final List<K> keys = new ArrayList<>(1);
+
+        void add(String literal, boolean reversed, K key) {
+            TrieNode<K> node = this;
+            int length = literal.length();
+            for (int i = 0; i < length; i++) {
+                char c = literal.charAt(reversed ? length - 1 - i : i);
+                TrieNode<K> child = node.children.get(c);
+                if (child == null) {
+                    child = new TrieNode<>();
+                    node.children.put(c, child);
+                }
+                node = child;
+            }
+            node.keys.add(key);
+        }
+
+        /**
+         * Collect keys of all literals being a prefix (or a suffix if reversed) of the given value.
+         */
+        void collect(String value, boolean reversed, Set<K> result) {
+            TrieNode<K> node = this;
+            int length = value.length();
+            for (int i = 0; node != null; i++) {
+                result.addAll(node.keys);
+                if (i == length) {
+                    break;
+                }
+                node = node.children.get(value.charAt(reversed ? length - 1 - i : i));
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.eureka2.model.interest;
+
+import java.util.Set;
+
+import com.netflix.eureka2.model.instance.InstanceInfo.Status;
+
+/**
+ * Interest restricted to instances in one of the given statuses. Query type, operator and pattern are those
+ * of the underlying interest. The status filter is evaluated by the server, which sends add and delete
+ * notifications when an instance enters or leaves the filtered set through a status change, so subscribers
+ * interested in {@link Status#UP} instances only are not sent updates of instances being started or taken
+ * out of service.
+ */
+public interface StatusFilteredInterest<T> extends Interest<T> {
+
+    Interest<T> getInterest();
+
+    Set<Status> getStatuses();
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.eureka2.model.interest;
+
+/**
+ * Interest with affinity to an availability zone. Query type, operator and pattern are those of the underlying
+ * interest. The initial buffer sends instances of the given zone before instances of other zones. If
+ * {@link #getMinLocalUpInstances()} is positive, instances of other zones are excluded for as long as the zone has
+ * at least that many UP instances matching the underlying interest. The server keeps the zone UP count up to date
+ * incrementally. When the count crosses the threshold, it sends add or delete notifications for the instances of
+ * other zones. Instances without an availability zone are treated as instances of other zones.
+ */
+public interface ZoneAffinityInterest<T> extends Interest<T> {
+
+    Interest<T> getInterest();
+
+    String getZone();
+
+    /**
+     * @return minimum number of UP instances in the zone for instances of other zones to be excluded, or 0 if
+     *         instances of other zones are never excluded
+     */
+    int getMinLocalUpInstances();
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.eureka2.spi.channel;
+
+import java.io.IOException;
+
+/**
+ * Server rejected a channel, as it is overloaded. The server side transport translates it into
+ * {@link com.netflix.eureka2.spi.model.transport.GoAway} message carrying the retry hint, and the client
+ * side transport back into this exception.
+ */
+public class ServerOverloadedException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterMs;
+
+    public ServerOverloadedException(String message, long retryAfterMs) {
+        super(message);
+        this.retryAfterMs = retryAfterMs;
+    }
+
+    /**
+     * @return minimum delay after which the client should reconnect, or 0 if not given by the server
+     */
+    public long getRetryAfterMs() {
+        return retryAfterMs;
+    }
+}
@@ -28,13 +28,43 @@ public abstract class ChannelModel {
 
     public abstract Heartbeat newHeartbeat();
 
-    public abstract ClientHello newClientHello(Source clientSource);
+    public ClientHello newClientHello(Source clientSource) {
+        return newClientHello(clientSource, 0);
+    }
+
+    public abstract ClientHello newClientHello(Source clientSource, long heartbeatIntervalMs);
+
+    public ReplicationClientHello newReplicationClientHello(Source clientSource, int registrySize) {
+        return newReplicationClientHello(clientSource, registrySize, 0);
+    }
+
+    public abstract ReplicationClientHello newReplicationClientHello(Source clientSource, int registrySize, long heartbeatIntervalMs);
+
+    public ServerHello newServerHello(Source serverSource) {
+        return newServerHello(serverSource, 0);
+    }
+
+    public abstract ServerHello newServerHello(Source serverSource, long heartbeatIntervalMs);
+
+    /**
+     * Transports that do not support delta registration updates ignore the deltaUpdates flag.
+     */
+    public ServerHello newServerHello(Source serverSource, long heartbeatIntervalMs, boolean deltaUpdates) {
+        return newServerHello(serverSource, heartbeatIntervalMs);
+    }
 
-    public abstract ReplicationClientHello newReplicationClientHello(Source clientSource, int registrySize);
+    /**
+     * Transports that do not support tiered read clusters ignore the serverTier value.
+     */
+    public ServerHello newServerHello(Source serverSource, long heartbeatIntervalMs, boolean deltaUpdates, int serverTier) {
+        return newServerHello(serverSource, heartbeatIntervalMs, deltaUpdates);
+    }
 
-    public abstract ServerHello newServerHello(Source serverSource);
+    public ReplicationServerHello newReplicationServerHello(Source serverSource) {
+        return newReplicationServerHello(serverSource, 0);
+    }
 
-    public abstract ReplicationServerHello newReplicationServerHello(Source serverSource);
+    public abstract ReplicationServerHello newReplicationServerHello(Source serverSource, long heartbeatIntervalMs);
 
     public static ChannelModel getDefaultModel() {
         if(defaultModel == null) {
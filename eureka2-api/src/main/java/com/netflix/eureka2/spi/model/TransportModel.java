@@ -19,6 +19,7 @@ package com.netflix.eureka2.spi.model;
 import com.netflix.eureka2.internal.util.ExtLoader;
 import com.netflix.eureka2.model.instance.Delta;
 import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.instance.InstanceInfoField;
 import com.netflix.eureka2.model.interest.Interest;
 import com.netflix.eureka2.model.notification.StreamStateNotification;
 import com.netflix.eureka2.spi.model.transport.Acknowledgement;
@@ -53,6 +54,13 @@ public abstract class TransportModel {
 
     public abstract GoAway newGoAway();
 
+    /**
+     * Transports that do not support retry hints ignore the retryAfterMs value.
+     */
+    public GoAway newGoAway(long retryAfterMs) {
+        return newGoAway();
+    }
+
     public abstract Acknowledgement newAcknowledgement();
 
     public abstract AddInstance newAddInstance(InstanceInfo instance);
@@ -65,6 +73,14 @@ public abstract class TransportModel {
 
     public abstract InterestRegistration newInterestRegistration(Interest<InstanceInfo> interest);
 
+    /**
+     * Transports that do not support field projections ignore the fieldProjection value, and the client
+     * receives the full instance data.
+     */
+    public InterestRegistration newInterestRegistration(Interest<InstanceInfo> interest, InstanceInfoField.Name[] fieldProjection) {
+        return newInterestRegistration(interest);
+    }
+
     public static TransportModel getDefaultModel() {
         if (defaultModel == null) {
             return ExtLoader.resolveDefaultModel().getTransportModel();
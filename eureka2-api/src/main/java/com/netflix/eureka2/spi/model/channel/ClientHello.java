@@ -22,4 +22,9 @@ import com.netflix.eureka2.model.Source;
  */
 public interface ClientHello {
     Source getClientSource();
+
+    /**
+     * @return heartbeat interval proposed by the client, or 0 if the client does not negotiate it
+     */
+    long getHeartbeatIntervalMs();
 }
@@ -22,4 +22,26 @@ import com.netflix.eureka2.model.Source;
  */
 public interface ServerHello {
     Source getServerSource();
+
+    /**
+     * @return heartbeat interval negotiated by the server for this channel, or 0 if heartbeats
+     *         are not negotiated, and are sent at fixed interval
+     */
+    long getHeartbeatIntervalMs();
+
+    /**
+     * @return true if the server accepts registration updates as deltas to the previously registered instance
+     *         (only the first registration on a connection must be sent in full)
+     */
+    default boolean isDeltaUpdates() {
+        return false;
+    }
+
+    /**
+     * @return position of the server in a tiered read cluster topology, where write servers are tier 0, and
+     *         read servers of tier N fetch their registry content from servers of tier N-1
+     */
+    default int getServerTier() {
+        return 0;
+    }
 }
@@ -20,4 +20,12 @@ package com.netflix.eureka2.spi.model.transport;
  * A message that may be send by both ends to gracefully disconnect.
  */
 public interface GoAway extends ProtocolMessage {
+
+    /**
+     * @return minimum delay after which the peer may reconnect, or 0 if the disconnect is not related to
+     *         the server load
+     */
+    default long getRetryAfterMs() {
+        return 0;
+    }
 }
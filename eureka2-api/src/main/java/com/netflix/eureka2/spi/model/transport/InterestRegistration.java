@@ -17,6 +17,7 @@
 package com.netflix.eureka2.spi.model.transport;
 
 import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.instance.InstanceInfoField;
 import com.netflix.eureka2.model.interest.Interest;
 
 /**
@@ -28,4 +29,11 @@ import com.netflix.eureka2.model.interest.Interest;
 public interface InterestRegistration extends ProtocolMessage {
 
     Interest<InstanceInfo>[] getInterests();
+
+    /**
+     * @return instance fields the client wants to receive, or null if the client wants the full instance data
+     */
+    default InstanceInfoField.Name[] getFieldProjection() {
+        return null;
+    }
 }
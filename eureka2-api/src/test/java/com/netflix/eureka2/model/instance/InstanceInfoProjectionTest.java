@@ -0,0 +1,108 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.eureka2.model.instance;
+
+import java.util.Collections;
+
+import com.netflix.eureka2.model.InstanceModel;
+import com.netflix.eureka2.model.instance.InstanceInfo.Status;
+import com.netflix.eureka2.model.instance.InstanceInfoField.Name;
+import com.netflix.eureka2.model.interest.Interest;
+import com.netflix.eureka2.model.interest.Interests;
+import com.netflix.eureka2.model.notification.ChangeNotification;
+import com.netflix.eureka2.model.notification.ModifyNotification;
+import com.netflix.eureka2.testkit.data.builder.SampleInstanceInfo;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class InstanceInfoProjectionTest {
+
+    private final InstanceInfo instance = SampleInstanceInfo.WebServer.build();
+
+    private final InstanceInfoProjection projection = new InstanceInfoProjection(Name.Status, Name.Ports, Name.DataCenterInfo);
+
+    @Test
+    public void testInstanceProjection() throws Exception {
+        InstanceInfo projected = projection.project(instance);
+
+        assertThat(projected.getId(), is(equalTo(instance.getId())));
+        assertThat(projected.getStatus(), is(equalTo(instance.getStatus())));
+        assertThat(projected.getPorts(), is(equalTo(instance.getPorts())));
+        assertThat(projected.getDataCenterInfo(), is(equalTo(instance.getDataCenterInfo())));
+
+        // Fields needed for interest matching are always included
+        assertThat(projected.getApp(), is(equalTo(instance.getApp())));
+        assertThat(projected.getVipAddress(), is(equalTo(instance.getVipAddress())));
+        assertThat(projected.getSecureVipAddress(), is(equalTo(instance.getSecureVipAddress())));
+
+        assertThat(projected.getHomePageUrl(), is(nullValue()));
+        assertThat(projected.getHealthCheckUrls(), is(nullValue()));
+        assertThat(projected.getMetaData(), is(nullValue()));
+    }
+
+    @Test
+    public void testFullProjectionReturnsSameInstance() throws Exception {
+        InstanceInfoProjection fullProjection = new InstanceInfoProjection(Name.values());
+        assertThat(fullProjection.project(instance), is(sameInstance(instance)));
+    }
+
+    @Test
+    public void testModifyOfNonProjectedFieldsIsSuppressed() throws Exception {
+        Delta<?> homePageDelta = InstanceModel.getDefaultModel().newDelta()
+                .withId(instance.getId())
+                .withDelta(InstanceInfoField.HOMEPAGE_URL, "http://newHomePage")
+                .build();
+        ChangeNotification<InstanceInfo> modify = new ModifyNotification<>(instance, Collections.<Delta<?>>singleton(homePageDelta));
+
+        assertThat(projection.project(modify), is(nullValue()));
+    }
+
+    @Test
+    public void testModifyOfProjectedFieldsIsSent() throws Exception {
+        InstanceInfo updated = InstanceModel.getDefaultModel().newInstanceInfo().withInstanceInfo(instance).withStatus(Status.DOWN).build();
+        Delta<?> statusDelta = InstanceModel.getDefaultModel().newDelta()
+                .withId(instance.getId())
+                .withDelta(InstanceInfoField.STATUS, Status.DOWN)
+                .build();
+        ChangeNotification<InstanceInfo> modify = new ModifyNotification<>(updated, Collections.<Delta<?>>singleton(statusDelta));
+
+        ModifyNotification<InstanceInfo> projected = (ModifyNotification<InstanceInfo>) projection.project(modify);
+        assertThat(projected.getDelta(), is(equalTo(Collections.<Delta<?>>singleton(statusDelta))));
+        assertThat(projected.getData().getStatus(), is(equalTo(Status.DOWN)));
+        assertThat(projected.getData().getHomePageUrl(), is(nullValue()));
+    }
+
+    @Test
+    public void testFieldsRequiredByInterestsAreAdded() throws Exception {
+        Interest<InstanceInfo> interest = Interests.forSome(
+                Interests.withStatus(Interests.forApplications("app1"), Status.UP),
+                Interests.withZoneAffinity(Interests.forMetadata("key", "value"), "zone1")
+        );
+
+        InstanceInfoProjection extended = projection.withFieldsRequiredBy(interest);
+        assertThat(extended.getFields().contains(Name.Status), is(true));
+        assertThat(extended.getFields().contains(Name.MetaData), is(true));
+        assertThat(extended.getFields().containsAll(projection.getFields()), is(true));
+
+        assertThat(extended.withFieldsRequiredBy(interest), is(sameInstance(extended)));
+        assertThat(projection.withFieldsRequiredBy(Interests.forApplications("app1")), is(sameInstance(projection)));
+    }
+}
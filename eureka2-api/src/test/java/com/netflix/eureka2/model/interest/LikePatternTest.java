@@ -0,0 +1,76 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.eureka2.model.interest;
+
+import java.util.regex.Pattern;
+
+import com.netflix.eureka2.model.interest.LikePattern.Shape;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+public class LikePatternTest {
+
+    private static final String[] VALUES = {
+            "", "a", "app", "app1", "app12", "myapp", "my.app", "myappX", "app|1", "APP", "app.*", "xappx", "a.b", "aXb"
+    };
+
+    @Test
+    public void testPatternShapes() throws Exception {
+        verifyShape("app1", Shape.Literal, "app1");
+        verifyShape("my\\.app", Shape.Literal, "my.app");
+        verifyShape("^app1$", Shape.Literal, "app1");
+        verifyShape("app.*", Shape.Prefix, "app");
+        verifyShape(".*app", Shape.Suffix, "app");
+        verifyShape(".*app.*", Shape.Infix, "app");
+        verifyShape(".*", Shape.Any, null);
+        verifyShape("app1|app2|.*app", Shape.Alternation, null);
+        verifyShape("(app1|app2)", Shape.Alternation, null);
+        verifyShape("(?:app1|app.*)", Shape.Alternation, null);
+
+        verifyShape("a.b", Shape.Regex, null);
+        verifyShape("app\\d+", Shape.Regex, null);
+        verifyShape("app\\.*", Shape.Regex, null);
+        verifyShape("(app|my)1", Shape.Regex, null);
+        verifyShape("(?i)app", Shape.Regex, null);
+        verifyShape("app[0-9]", Shape.Regex, null);
+        verifyShape(".*?app", Shape.Regex, null);
+    }
+
+    @Test
+    public void testMatchingIsSameAsRegularExpression() throws Exception {
+        String[] patterns = {
+                "app1", "my\\.app", "^app1$", "app.*", ".*app", ".*app.*", ".*", "", "app1|app.*|.*X",
+                "(app1|app12)", "(?:a|.*app)", "a.b", "app\\d+", "app\\.*", "app\\|1", "app\\.\\*", "(?i)app"
+        };
+        for (String pattern : patterns) {
+            LikePattern likePattern = LikePattern.compile(pattern);
+            Pattern regex = Pattern.compile(pattern);
+            for (String value : VALUES) {
+                assertThat("Pattern " + pattern + ", value " + value,
+                        likePattern.matches(value), is(equalTo(regex.matcher(value).matches())));
+            }
+        }
+    }
+
+    private static void verifyShape(String pattern, Shape expectedShape, String expectedLiteral) {
+        LikePattern likePattern = LikePattern.compile(pattern);
+        assertThat(pattern, likePattern.getShape(), is(equalTo(expectedShape)));
+        assertThat(pattern, likePattern.getLiteral(), is(equalTo(expectedLiteral)));
+    }
+}
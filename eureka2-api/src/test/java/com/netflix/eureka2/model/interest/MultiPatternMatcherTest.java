@@ -0,0 +1,181 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.eureka2.model.interest;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import com.netflix.eureka2.junit.categories.LongRunningTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+public class MultiPatternMatcherTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(MultiPatternMatcherTest.class);
+
+    @Test
+    public void testAllPatternShapesAreMatched() throws Exception {
+        MultiPatternMatcher<String> matcher = new MultiPatternMatcher<>();
+        matcher.add("literal", LikePattern.literal("myapp"));
+        matcher.add("prefix", LikePattern.compile("my.*"));
+        matcher.add("shortPrefix", LikePattern.compile("m.*"));
+        matcher.add("suffix", LikePattern.compile(".*app"));
+        matcher.add("infix", LikePattern.compile(".*yap.*"));
+        matcher.add("alternation", LikePattern.compile("other|myapp"));
+        matcher.add("regex", LikePattern.compile("m[a-z]+"));
+        matcher.add("notMatching", LikePattern.compile("other.*"));
+
+        assertThat(matcher.match("myapp"), containsInAnyOrder(
+                "literal", "prefix", "shortPrefix", "suffix", "infix", "alternation", "regex"
+        ));
+        assertThat(matcher.match("m"), containsInAnyOrder("shortPrefix"));
+        assertThat(matcher.match("x"), is(empty()));
+        assertThat(matcher.match(null), is(empty()));
+    }
+
+    @Test
+    public void testRegistrationChangesAreVisibleToNextMatch() throws Exception {
+        MultiPatternMatcher<String> matcher = new MultiPatternMatcher<>();
+        matcher.add("prefix", LikePattern.compile("my.*"));
+        assertThat(matcher.match("myapp"), containsInAnyOrder("prefix"));
+
+        matcher.add("suffix", LikePattern.compile(".*app"));
+        assertThat(matcher.match("myapp"), containsInAnyOrder("prefix", "suffix"));
+
+        matcher.remove("prefix");
+        assertThat(matcher.match("myapp"), containsInAnyOrder("suffix"));
+        assertThat(matcher.size(), is(equalTo(1)));
+    }
+
+    @Test
+    public void testMatchingIsSameAsRegularExpressions() throws Exception {
+        List<String> patterns = generatePatterns(200);
+        List<String> values = generateValues(1000);
+
+        MultiPatternMatcher<String> matcher = new MultiPatternMatcher<>();
+        for (String pattern : patterns) {
+            matcher.add(pattern, LikePattern.compile(pattern));
+        }
+        for (String value : values) {
+            assertThat(value, matcher.match(value), is(equalTo(matchWithRegularExpressions(patterns, value))));
+        }
+    }
+
+    @Test
+    @Category(LongRunningTest.class)
+    public void testMatchingPerformanceWithThousandPatterns() throws Exception {
+        List<String> patterns = generatePatterns(1000);
+        List<String> values = generateValues(10000);
+
+        List<Pattern> regexes = new ArrayList<>();
+        MultiPatternMatcher<String> matcher = new MultiPatternMatcher<>();
+        for (String pattern : patterns) {
+            regexes.add(Pattern.compile(pattern));
+            matcher.add(pattern, LikePattern.compile(pattern));
+        }
+
+        for (int round = 0; round < 3; round++) {
+            Set<String> regexMatches = new HashSet<>();
+            long startTime = System.nanoTime();
+            for (String value : values) {
+                for (int i = 0; i < regexes.size(); i++) {
+                    if (regexes.get(i).matcher(value).matches()) {
+                        regexMatches.add(patterns.get(i));
+                    }
+                }
+            }
+            long regexNs = System.nanoTime() - startTime;
+
+            Set<String> matcherMatches = new HashSet<>();
+            startTime = System.nanoTime();
+            for (String value : values) {
+                matcherMatches.addAll(matcher.match(value));
+            }
+            long matcherNs = System.nanoTime() - startTime;
+
+            assertThat(matcherMatches, is(equalTo(regexMatches)));
+            logger.warn("Matching {} values against {} patterns: regular expressions {}us/value, multi pattern matcher {}us/value",
+                    values.size(), patterns.size(), regexNs / 1000 / values.size(), matcherNs / 1000 / values.size());
+        }
+    }
+
+    private static Set<String> matchWithRegularExpressions(List<String> patterns, String value) {
+        Set<String> result = new HashSet<>();
+        for (String pattern : patterns) {
+            if (Pattern.compile(pattern).matcher(value).matches()) {
+                result.add(pattern);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Pattern mix of a large deployment: mostly literal names and prefixes, some suffixes and alternations,
+     * and a few patterns requiring a regular expression.
+     */
+    private static List<String> generatePatterns(int count) {
+        Random random = new Random(0);
+        List<String> patterns = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = "service" + random.nextInt(count);
+            switch (i % 10) {
+                case 0:
+                case 1:
+                case 2:
+                case 3:
+                    patterns.add(name);
+                    break;
+                case 4:
+                case 5:
+                    patterns.add(name + ".*");
+                    break;
+                case 6:
+                    patterns.add(".*" + name.substring(4));
+                    break;
+                case 7:
+                    patterns.add(".*ice" + random.nextInt(100) + ".*");
+                    break;
+                case 8:
+                    patterns.add("(" + name + '|' + "service" + random.nextInt(count) + ".*)");
+                    break;
+                default:
+                    patterns.add("service" + random.nextInt(10) + "[0-9]+");
+            }
+        }
+        return patterns;
+    }
+
+    private static List<String> generateValues(int count) {
+        Random random = new Random(1);
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add("service" + random.nextInt(2 * count));
+        }
+        return values;
+    }
+}
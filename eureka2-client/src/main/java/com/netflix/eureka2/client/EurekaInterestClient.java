@@ -42,6 +42,14 @@ public interface EurekaInterestClient {
      */
     Observable<ChangeNotification<InstanceInfo>> forInterest(Interest<InstanceInfo> interest);
 
+    /**
+     * @return true if the notifications emitted by this client come, at least in part, from a locally cached
+     *         registry copy, that was not yet reconciled with a server
+     */
+    default boolean isStale() {
+        return false;
+    }
+
     /**
      * shutdown and clean up all resources for this client
      */
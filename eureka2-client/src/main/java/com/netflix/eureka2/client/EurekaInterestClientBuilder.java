@@ -16,13 +16,18 @@
 
 package com.netflix.eureka2.client;
 
+import java.io.File;
+
 import com.netflix.eureka2.Names;
+import com.netflix.eureka2.client.interest.ClientEurekaRegistry;
 import com.netflix.eureka2.client.interest.EurekaInterestClientImpl;
+import com.netflix.eureka2.client.interest.RegistryCache;
 import com.netflix.eureka2.model.InstanceModel;
 import com.netflix.eureka2.model.Source;
 import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.instance.InstanceInfoField;
+import com.netflix.eureka2.model.instance.InstanceInfoProjection;
 import com.netflix.eureka2.registry.EurekaRegistry;
-import com.netflix.eureka2.registry.EurekaRegistryImpl;
 import rx.schedulers.Schedulers;
 
 /**
@@ -31,6 +36,13 @@ import rx.schedulers.Schedulers;
 public class EurekaInterestClientBuilder extends AbstractClientBuilder<EurekaInterestClient, EurekaInterestClientBuilder> {
 
     private static final long RETRY_INTERVAL_MS = 5 * 1000;
+    private static final long DEFAULT_REGISTRY_CACHE_SAVE_INTERVAL_MS = 60 * 1000;
+    private static final long DEFAULT_INTEREST_UPDATE_DELAY_MS = 100;
+
+    private File registryCacheFile;
+    private long registryCacheSaveIntervalMs = DEFAULT_REGISTRY_CACHE_SAVE_INTERVAL_MS;
+    private long interestUpdateDelayMs = DEFAULT_INTEREST_UPDATE_DELAY_MS;
+    private InstanceInfoProjection fieldProjection;
 
     /**
      * @deprecated do not create explicitly, use {@link Eurekas#newInterestClientBuilder()}
@@ -40,6 +52,43 @@ public class EurekaInterestClientBuilder extends AbstractClientBuilder<EurekaInt
     public EurekaInterestClientBuilder() {
     }
 
+    /**
+     * Persist the client registry in the given file, and load it from there on startup. Until the first
+     * server connection is established, the cached registry content is served to the subscribers.
+     */
+    public EurekaInterestClientBuilder withRegistryCacheFile(File registryCacheFile) {
+        this.registryCacheFile = registryCacheFile;
+        return this;
+    }
+
+    public EurekaInterestClientBuilder withRegistryCacheSaveIntervalMs(long registryCacheSaveIntervalMs) {
+        this.registryCacheSaveIntervalMs = registryCacheSaveIntervalMs;
+        return this;
+    }
+
+    /**
+     * Interest changes made within this period are sent to the server as a single interest upgrade.
+     * Zero or negative value disables coalescing, and each change is sent immediately.
+     */
+    public EurekaInterestClientBuilder withInterestUpdateDelayMs(long interestUpdateDelayMs) {
+        this.interestUpdateDelayMs = interestUpdateDelayMs;
+        return this;
+    }
+
+    /**
+     * Receive only the given instance fields from the server. Instance id, application and vip addresses are
+     * always included, as they are needed to match instances against the client interests. The server adds
+     * other fields the subscribed interests are matched on, like status or metadata. Modifications of fields
+     * outside of the projection are not sent to the client.
+     * <p>
+     * Servers on the std transport that predate field projection support reject a registration with
+     * a projection, so it should only be enabled once all servers are upgraded.
+     */
+    public EurekaInterestClientBuilder withFieldProjection(InstanceInfoField.Name... fields) {
+        this.fieldProjection = fields == null ? null : new InstanceInfoProjection(fields);
+        return this;
+    }
+
     @Override
     protected EurekaInterestClient buildClient() {
         if (serverResolver == null) {
@@ -49,10 +98,14 @@ public class EurekaInterestClientBuilder extends AbstractClientBuilder<EurekaInt
             clientId = Names.INTEREST_CLIENT;
         }
 
-        EurekaRegistry<InstanceInfo> registry = new EurekaRegistryImpl(registryMetricFactory);
+        EurekaRegistry<InstanceInfo> registry = new ClientEurekaRegistry(registryMetricFactory);
 
         Source clientSource = InstanceModel.getDefaultModel().createSource(Source.Origin.LOCAL, clientId);
 
-        return new EurekaInterestClientImpl(clientSource, serverResolver, transportFactory, transportConfig, registry, RETRY_INTERVAL_MS, Schedulers.computation());
+        RegistryCache registryCache = registryCacheFile == null ? null : new RegistryCache(registryCacheFile);
+
+        return new EurekaInterestClientImpl(clientSource, serverResolver, transportFactory, transportConfig, registry,
+                registryCache, registryCacheSaveIntervalMs, interestUpdateDelayMs, fieldProjection, RETRY_INTERVAL_MS,
+                Schedulers.computation(), Schedulers.io());
     }
 }
@@ -33,9 +33,13 @@ public class InterestClientHandshakeHandler extends ClientHandshakeHandler<Inter
     private final ChannelNotification<Interest<InstanceInfo>> clientHelloNotification;
 
     public InterestClientHandshakeHandler(Source clientSource, SourceIdGenerator serverIdGenerator) {
-        super(serverIdGenerator);
+        this(clientSource, serverIdGenerator, 0);
+    }
+
+    public InterestClientHandshakeHandler(Source clientSource, SourceIdGenerator serverIdGenerator, long heartbeatIntervalMs) {
+        super(serverIdGenerator, heartbeatIntervalMs);
         this.clientHelloNotification = ChannelNotification.newHello(
-                ChannelModel.getDefaultModel().newClientHello(clientSource)
+                ChannelModel.getDefaultModel().newClientHello(clientSource, heartbeatIntervalMs)
         );
     }
 
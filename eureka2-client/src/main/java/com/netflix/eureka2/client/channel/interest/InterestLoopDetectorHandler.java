@@ -29,18 +29,33 @@ import org.slf4j.LoggerFactory;
 import rx.Observable;
 
 /**
- * Detect bad configurations when a read server connects to itself.
+ * Detect bad configurations when a read server connects to itself. In tiered read cluster topologies, a read
+ * server may fetch its registry content only from a server of a higher tier (lower tier number), which is
+ * either a write server (tier 0), or a read server closer to the write cluster. Connecting to a server of the same
+ * or lower tier could form a loop, in which read servers replicate data among themselves, and never get updates
+ * from the write cluster.
  */
 public class InterestLoopDetectorHandler implements InterestHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(InterestLoopDetectorHandler.class);
 
+    /**
+     * Client tier value for which the tier check is disabled.
+     */
+    public static final int UNTIERED = Integer.MAX_VALUE;
+
     private ChannelContext<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>> channelContext;
 
     private final Source clientSource;
+    private final int clientTier;
 
     public InterestLoopDetectorHandler(Source clientSource) {
+        this(clientSource, UNTIERED);
+    }
+
+    public InterestLoopDetectorHandler(Source clientSource, int clientTier) {
         this.clientSource = clientSource;
+        this.clientTier = clientTier;
     }
 
     @Override
@@ -61,6 +76,11 @@ public class InterestLoopDetectorHandler implements InterestHandler {
                     logger.info("Interest loop detected; disconnecting the interest channel");
                     return Observable.error(InterestLoopException.INSTANCE);
                 }
+                if (serverHello.getServerTier() >= clientTier) {
+                    logger.info("Interest loop possible, as server {} of tier {} is not above client tier {}; disconnecting the interest channel",
+                            serverSource.getName(), serverHello.getServerTier(), clientTier);
+                    return Observable.error(InterestLoopException.INSTANCE);
+                }
             }
             return Observable.just(next);
         });
@@ -23,6 +23,7 @@ import com.netflix.eureka2.spi.channel.ChannelContext;
 import com.netflix.eureka2.spi.channel.ChannelNotification;
 import com.netflix.eureka2.spi.channel.ChannelPipelineFactory;
 import com.netflix.eureka2.spi.channel.InterestHandler;
+import com.netflix.eureka2.spi.channel.ServerOverloadedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rx.Observable;
@@ -66,6 +67,16 @@ public class RetryableInterestClientHandler implements InterestHandler {
         });
     }
 
+    /**
+     * Overloaded server tells how long to wait before reconnecting, which may be longer than the configured delay.
+     */
+    private long retryDelayFor(Throwable error) {
+        if (error instanceof ServerOverloadedException) {
+            return Math.max(retryDelayMs, ((ServerOverloadedException) error).getRetryAfterMs());
+        }
+        return retryDelayMs;
+    }
+
     private class InterestSession {
 
         private final Observable<ChannelNotification<Interest<InstanceInfo>>> interests;
@@ -79,7 +90,7 @@ public class RetryableInterestClientHandler implements InterestHandler {
                     .doOnError(e -> logger.info("Interest pipeline terminated due to an error", e))
                     .retryWhen(errors -> {
                         return errors.flatMap(e -> Observable
-                                .timer(retryDelayMs, TimeUnit.MILLISECONDS, scheduler)
+                                .timer(retryDelayFor(e), TimeUnit.MILLISECONDS, scheduler)
                                 .doOnNext(next -> logger.debug("Reconnecting internal pipeline terminated earlier with an error ({})", e.getMessage()))
                         );
                     }, scheduler)
@@ -36,6 +36,19 @@ public class RegistrationClientHandshakeHandler extends AbstractHandshakeHandler
 
     private static final Logger logger = LoggerFactory.getLogger(RegistrationClientHandshakeHandler.class);
 
+    private final long heartbeatIntervalMs;
+
+    public RegistrationClientHandshakeHandler() {
+        this(0);
+    }
+
+    /**
+     * @param heartbeatIntervalMs heartbeat interval proposed to the server, or 0 if not negotiated
+     */
+    public RegistrationClientHandshakeHandler(long heartbeatIntervalMs) {
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+    }
+
     @Override
     public Observable<ChannelNotification<InstanceInfo>> handle(Observable<ChannelNotification<InstanceInfo>> inputStream) {
         return Observable.create(subscriber -> {
@@ -47,7 +60,7 @@ public class RegistrationClientHandshakeHandler extends AbstractHandshakeHandler
                     .flatMap(clientSource -> {
                         logger.debug("Injecting hello message ahead of registration update stream");
                         ChannelNotification<InstanceInfo> helloNotification = ChannelNotification.newHello(
-                                ChannelModel.getDefaultModel().newClientHello(clientSource)
+                                ChannelModel.getDefaultModel().newClientHello(clientSource, heartbeatIntervalMs)
                         );
                         return transport.handle(Observable.just(helloNotification).mergeWith(inputStream));
                     })
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2015 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.eureka2.client.endpoint;
+
+import java.net.InetSocketAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.netflix.eureka2.client.EurekaInterestClient;
+import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.instance.ServiceEndpoint;
+import com.netflix.eureka2.model.interest.Interest;
+import com.netflix.eureka2.model.notification.ChangeNotification;
+import com.netflix.eureka2.model.selector.ServiceSelector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rx.Subscriber;
+import rx.Subscription;
+
+/**
+ * A view of service endpoints of the {@link InstanceInfo}s with status UP, that match the given interest,
+ * pre-selected by a {@link ServiceSelector}. The service selector is evaluated once per instance change, and the
+ * result is kept in immutable arrays ({@link Endpoints}), that are replaced as a whole on each change.
+ * Reading the current endpoints is thus a single volatile read, that does not lock or allocate, which makes
+ * this view suitable for picking a server on each request in a client side load balancer.
+ * <p>
+ * The first endpoints snapshot is published when the initial registry content has been received
+ * (first buffer sentinel). From then on, each change is published immediately.
+ */
+public class EndpointView {
+
+    private static final Logger logger = LoggerFactory.getLogger(EndpointView.class);
+
+    private final ServiceSelector serviceSelector;
+    private final Subscription subscription;
+
+    private final AtomicInteger position = new AtomicInteger();
+    private volatile Endpoints current = Endpoints.EMPTY;
+
+    // Accessed only from the change notification stream
+    private final Map<String, Endpoint> endpointsById = new LinkedHashMap<>();
+    private boolean bufferComplete;
+
+    public EndpointView(EurekaInterestClient interestClient, Interest<InstanceInfo> interest, ServiceSelector serviceSelector) {
+        this.serviceSelector = serviceSelector;
+        this.subscription = interestClient.forInterest(interest).subscribe(new Subscriber<ChangeNotification<InstanceInfo>>() {
+            @Override
+            public void onCompleted() {
+                logger.info("Interest subscription for {} completed; endpoint view will no longer be updated", interest);
+            }
+
+            @Override
+            public void onError(Throwable e) {
+                logger.error("Interest subscription for {} terminated with an error; endpoint view will no longer be updated", interest, e);
+            }
+
+            @Override
+            public void onNext(ChangeNotification<InstanceInfo> notification) {
+                onChange(notification);
+            }
+        });
+    }
+
+    /**
+     * @return current, immutable endpoints snapshot
+     */
+    public Endpoints current() {
+        return current;
+    }
+
+    /**
+     * @return next service address in round robin order, or null if there are no endpoints available
+     */
+    public InetSocketAddress nextAddress() {
+        Endpoints endpoints = current;
+        if (endpoints.isEmpty()) {
+            return null;
+        }
+        int idx = (position.getAndIncrement() & Integer.MAX_VALUE) % endpoints.size();
+        return endpoints.getAddress(idx);
+    }
+
+    public void shutdown() {
+        subscription.unsubscribe();
+    }
+
+    private void onChange(ChangeNotification<InstanceInfo> notification) {
+        boolean changed;
+        switch (notification.getKind()) {
+            case BufferSentinel:
+                bufferComplete = true;
+                publish();
+                return;
+            case Add:
+            case Modify:
+                InstanceInfo instanceInfo = notification.getData();
+                Endpoint endpoint = toEndpoint(instanceInfo);
+                if (endpoint == null) {
+                    changed = endpointsById.remove(instanceInfo.getId()) != null;
+                } else {
+                    endpointsById.put(instanceInfo.getId(), endpoint);
+                    changed = true;
+                }
+                break;
+            case Delete:
+                changed = endpointsById.remove(notification.getData().getId()) != null;
+                break;
+            default:
+                return;
+        }
+        if (changed && bufferComplete) {
+            publish();
+        }
+    }
+
+    private Endpoint toEndpoint(InstanceInfo instanceInfo) {
+        if (instanceInfo.getStatus() != InstanceInfo.Status.UP) {
+            return null;
+        }
+        ServiceEndpoint serviceEndpoint = serviceSelector.returnServiceEndpoint(instanceInfo);
+        if (serviceEndpoint == null) {
+            return null;
+        }
+        return new Endpoint(instanceInfo, serviceEndpoint, toSocketAddress(serviceEndpoint));
+    }
+
+    /**
+     * Unlike {@link ServiceSelector#returnServiceAddress(InstanceInfo)}, never do a DNS lookup, as it would block
+     * the change notification stream. IP address is preferred, and if only a host name is available,
+     * an unresolved address is returned.
+     */
+    private static InetSocketAddress toSocketAddress(ServiceEndpoint serviceEndpoint) {
+        int port = serviceEndpoint.getServicePort().getPort();
+        String ipAddress = serviceEndpoint.getAddress().getIpAddress();
+        if (ipAddress != null) {
+            return new InetSocketAddress(ipAddress, port);
+        }
+        return InetSocketAddress.createUnresolved(serviceEndpoint.getAddress().getHostName(), port);
+    }
+
+    private void publish() {
+        int size = endpointsById.size();
+        InstanceInfo[] instances = new InstanceInfo[size];
+        ServiceEndpoint[] serviceEndpoints = new ServiceEndpoint[size];
+        InetSocketAddress[] addresses = new InetSocketAddress[size];
+        int idx = 0;
+        for (Endpoint endpoint : endpointsById.values()) {
+            instances[idx] = endpoint.instanceInfo;
+            serviceEndpoints[idx] = endpoint.serviceEndpoint;
+            addresses[idx] = endpoint.address;
+            idx++;
+        }
+        current = new Endpoints(instances, serviceEndpoints, addresses);
+    }
+
+    private static class Endpoint {
+        private final InstanceInfo instanceInfo;
+        private final ServiceEndpoint serviceEndpoint;
+        private final InetSocketAddress address;
+
+        private Endpoint(InstanceInfo instanceInfo, ServiceEndpoint serviceEndpoint, InetSocketAddress address) {
+            this.instanceInfo = instanceInfo;
+            this.serviceEndpoint = serviceEndpoint;
+            this.address = address;
+        }
+    }
+
+    /**
+     * Immutable snapshot of the endpoint view. Elements with the same index in each array belong to the same instance.
+     */
+    public static final class Endpoints {
+
+        static final Endpoints EMPTY = new Endpoints(new InstanceInfo[0], new ServiceEndpoint[0], new InetSocketAddress[0]);
+
+        private final InstanceInfo[] instances;
+        private final ServiceEndpoint[] serviceEndpoints;
+        private final InetSocketAddress[] addresses;
+
+        private Endpoints(InstanceInfo[] instances, ServiceEndpoint[] serviceEndpoints, InetSocketAddress[] addresses) {
+            this.instances = instances;
+            this.serviceEndpoints = serviceEndpoints;
+            this.addresses = addresses;
+        }
+
+        public int size() {
+            return addresses.length;
+        }
+
+        public boolean isEmpty() {
+            return addresses.length == 0;
+        }
+
+        public InstanceInfo getInstance(int idx) {
+            return instances[idx];
+        }
+
+        public ServiceEndpoint getServiceEndpoint(int idx) {
+            return serviceEndpoints[idx];
+        }
+
+        public InetSocketAddress getAddress(int idx) {
+            return addresses[idx];
+        }
+    }
+}
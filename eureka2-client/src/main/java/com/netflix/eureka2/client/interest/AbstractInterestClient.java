@@ -16,9 +16,11 @@
 
 package com.netflix.eureka2.client.interest;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 
-import com.netflix.eureka2.channel.LoggingChannelHandler;
+import com.netflix.eureka2.channel.TracingChannelHandler;
 import com.netflix.eureka2.channel.OutputChangeNotificationSourcingHandler;
 import com.netflix.eureka2.channel.SourceIdGenerator;
 import com.netflix.eureka2.channel.client.ClientHeartbeatHandler;
@@ -33,20 +35,30 @@ import com.netflix.eureka2.model.Sourced;
 import com.netflix.eureka2.model.instance.InstanceInfo;
 import com.netflix.eureka2.model.interest.Interest;
 import com.netflix.eureka2.model.notification.ChangeNotification;
+import com.netflix.eureka2.model.notification.StreamStateNotification;
+import com.netflix.eureka2.model.notification.StreamStateNotification.BufferState;
 import com.netflix.eureka2.registry.EurekaRegistry;
 import com.netflix.eureka2.spi.channel.ChannelNotification;
 import com.netflix.eureka2.spi.channel.ChannelPipeline;
 import com.netflix.eureka2.spi.channel.ChannelPipelineFactory;
 import com.netflix.eureka2.spi.transport.EurekaClientTransportFactory;
+import com.netflix.eureka2.utils.rx.HashedWheelTimeoutService;
 import rx.Observable;
 import rx.Scheduler;
 import rx.Subscription;
+import rx.functions.Action1;
+import rx.functions.Actions;
 import rx.subjects.PublishSubject;
 
 /**
  */
 public abstract class AbstractInterestClient implements EurekaInterestClient {
 
+    /**
+     * Heartbeat timeouts of all pipelines created by this client, stopped on client shutdown.
+     */
+    private volatile HashedWheelTimeoutService heartbeatTimeouts;
+
     /**
      * Create a pipeline factory for one-time, single server connection. This pipeline is discarded, and recreated
      * on each new client connection.
@@ -58,6 +70,7 @@ public abstract class AbstractInterestClient implements EurekaInterestClient {
             final EurekaTransportConfig transportConfig,
             final Scheduler scheduler) {
         SourceIdGenerator idGenerator = new SourceIdGenerator();
+        HashedWheelTimeoutService heartbeatTimeouts = sharedHeartbeatTimeouts(scheduler);
         return new ChannelPipelineFactory<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>>() {
             @Override
             public Observable<ChannelPipeline<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>>> createPipeline() {
@@ -65,9 +78,9 @@ public abstract class AbstractInterestClient implements EurekaInterestClient {
                             String pipelineId = createPipelineId(clientSource, server);
                             return new ChannelPipeline<>(pipelineId,
                                     new OutputChangeNotificationSourcingHandler(),
-                                    new InterestClientHandshakeHandler(clientSource, idGenerator),
-                                    new ClientHeartbeatHandler(transportConfig.getHeartbeatIntervalMs(), scheduler),
-                                    new LoggingChannelHandler<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>>(LoggingChannelHandler.LogLevel.INFO),
+                                    new InterestClientHandshakeHandler(clientSource, idGenerator, transportConfig.getHeartbeatIntervalMs()),
+                                    new ClientHeartbeatHandler(transportConfig.getHeartbeatIntervalMs(), scheduler, heartbeatTimeouts),
+                                    new TracingChannelHandler<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>>(),
                                     transportFactory.newInterestTransport(server)
                             );
                         }
@@ -83,11 +96,13 @@ public abstract class AbstractInterestClient implements EurekaInterestClient {
      */
     protected ChannelPipelineFactory<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>> createPipelineWithLoopDetectorFactory(
             final Source clientSource,
+            final int clientTier,
             final ServerResolver serverResolver,
             final EurekaClientTransportFactory transportFactory,
             final EurekaTransportConfig transportConfig,
             final Scheduler scheduler) {
         SourceIdGenerator idGenerator = new SourceIdGenerator();
+        HashedWheelTimeoutService heartbeatTimeouts = sharedHeartbeatTimeouts(scheduler);
         return new ChannelPipelineFactory<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>>() {
             @Override
             public Observable<ChannelPipeline<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>>> createPipeline() {
@@ -95,10 +110,10 @@ public abstract class AbstractInterestClient implements EurekaInterestClient {
                             String pipelineId = createPipelineId(clientSource, server);
                             return new ChannelPipeline<>(pipelineId,
                                     new OutputChangeNotificationSourcingHandler(),
-                                    new InterestClientHandshakeHandler(clientSource, idGenerator),
-                                    new InterestLoopDetectorHandler(clientSource),
-                                    new ClientHeartbeatHandler(transportConfig.getHeartbeatIntervalMs(), scheduler),
-                                    new LoggingChannelHandler<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>>(LoggingChannelHandler.LogLevel.INFO),
+                                    new InterestClientHandshakeHandler(clientSource, idGenerator, transportConfig.getHeartbeatIntervalMs()),
+                                    new InterestLoopDetectorHandler(clientSource, clientTier),
+                                    new ClientHeartbeatHandler(transportConfig.getHeartbeatIntervalMs(), scheduler, heartbeatTimeouts),
+                                    new TracingChannelHandler<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>>(),
                                     transportFactory.newInterestTransport(server)
                             );
                         }
@@ -107,15 +122,49 @@ public abstract class AbstractInterestClient implements EurekaInterestClient {
         };
     }
 
+    private synchronized HashedWheelTimeoutService sharedHeartbeatTimeouts(Scheduler scheduler) {
+        if (heartbeatTimeouts == null) {
+            heartbeatTimeouts = new HashedWheelTimeoutService(scheduler);
+        }
+        return heartbeatTimeouts;
+    }
+
+    /**
+     * Stop heartbeat timeouts of this client's pipelines. To be called on shutdown, after the pipelines are unsubscribed.
+     */
+    protected void shutdownHeartbeatTimeouts() {
+        if (heartbeatTimeouts != null) {
+            heartbeatTimeouts.shutdown();
+        }
+    }
+
     /**
      * Subscribe to the retryable pipeline, and connect updates to Eureka registry.
      */
     protected Subscription connectUpdatesToRegistry(ChannelPipeline<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>> retryablePipeline,
                                                     EurekaRegistry eurekaRegistry,
                                                     Observable<ChannelNotification<Interest<InstanceInfo>>> interestNotifications) {
+        Action1<StreamStateNotification<InstanceInfo>> noAction = Actions.empty();
+        return connectUpdatesToRegistry(retryablePipeline, eurekaRegistry, interestNotifications, noAction);
+    }
+
+    /**
+     * Subscribe to the retryable pipeline, and connect updates to Eureka registry. The provided action is
+     * called with each buffer end notification received from the server.
+     * <p>
+     * When the client fails over to another server, the content received from the previous one is not evicted
+     * immediately. Instead, it is kept until the new server's initial buffer is complete, and only then is
+     * evicted. As each registry holder promotes the new server's copy on eviction, a notification is emitted only
+     * for the instances that were changed, added or removed, and not for the whole interest set.
+     */
+    protected Subscription connectUpdatesToRegistry(ChannelPipeline<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>> retryablePipeline,
+                                                    EurekaRegistry eurekaRegistry,
+                                                    Observable<ChannelNotification<Interest<InstanceInfo>>> interestNotifications,
+                                                    Action1<StreamStateNotification<InstanceInfo>> onBufferEnd) {
         PublishSubject<ChangeNotification<InstanceInfo>> registryUpdates = PublishSubject.create();
         AtomicReference<Subscription> registrySubscriptionRef = new AtomicReference<>();
         AtomicReference<Source> lastSourceRef = new AtomicReference<>();
+        List<Source> staleSources = new ArrayList<>(); // Accessed only from the serialized subscriber callback
 
         return retryablePipeline.getFirst()
                 .handle(interestNotifications)
@@ -124,10 +173,11 @@ public abstract class AbstractInterestClient implements EurekaInterestClient {
                             if (next.getKind() == ChannelNotification.Kind.Data) {
                                 Sourced sourced = (Sourced) next.getData();
 
-                                // Disconnect previous updates if source changes
+                                // Disconnect previous updates if source changes, and reconcile its content with the
+                                // new source once the new initial buffer is complete
                                 if (lastSourceRef.get() != null && !sourced.getSource().equals(lastSourceRef.get())) {
                                     registrySubscriptionRef.getAndSet(null).unsubscribe();
-                                    eurekaRegistry.evictAll(Source.matcherFor(lastSourceRef.get()));
+                                    staleSources.add(lastSourceRef.get());
                                 }
 
                                 // This will be executed each time a new source is encountered
@@ -138,11 +188,24 @@ public abstract class AbstractInterestClient implements EurekaInterestClient {
                                     lastSourceRef.set(sourced.getSource());
                                 }
                                 registryUpdates.onNext(next.getData());
+
+                                if (isBufferEnd(next.getData())) {
+                                    for (Source staleSource : staleSources) {
+                                        eurekaRegistry.evictAll(Source.matcherFor(staleSource));
+                                    }
+                                    staleSources.clear();
+                                    onBufferEnd.call((StreamStateNotification<InstanceInfo>) next.getData());
+                                }
                             }
                         }
                 );
     }
 
+    private static boolean isBufferEnd(ChangeNotification<InstanceInfo> notification) {
+        return notification instanceof StreamStateNotification
+                && ((StreamStateNotification<InstanceInfo>) notification).getBufferState() == BufferState.BufferEnd;
+    }
+
     private static String createPipelineId(Source clientSource, Server server) {
         return "interest[client=" + clientSource.getName() + ",server=" + server.getHost() + ':' + server.getPort() + ']';
     }
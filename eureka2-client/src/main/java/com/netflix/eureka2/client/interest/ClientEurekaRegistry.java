@@ -0,0 +1,534 @@
+/*
+ * Copyright 2015 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.eureka2.client.interest;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.netflix.eureka2.metric.EurekaRegistryMetricFactory;
+import com.netflix.eureka2.metric.EurekaRegistryMetrics;
+import com.netflix.eureka2.model.InstanceModel;
+import com.netflix.eureka2.model.Source;
+import com.netflix.eureka2.model.Sourced;
+import com.netflix.eureka2.model.instance.Delta;
+import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.interest.Interest;
+import com.netflix.eureka2.model.notification.ChangeNotification;
+import com.netflix.eureka2.model.notification.ChangeNotification.Kind;
+import com.netflix.eureka2.model.notification.SourcedChangeNotification;
+import com.netflix.eureka2.model.notification.SourcedModifyNotification;
+import com.netflix.eureka2.model.notification.SourcedStreamStateNotification;
+import com.netflix.eureka2.model.notification.StreamStateNotification.BufferState;
+import com.netflix.eureka2.registry.EurekaRegistry;
+import com.netflix.eureka2.registry.MultiSourcedDataHolder;
+import com.netflix.eureka2.utils.functions.BufferMarkerMergeFunctions;
+import com.netflix.eureka2.utils.functions.ChangeNotifications;
+import com.netflix.eureka2.utils.functions.RxFunctions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rx.Observable;
+import rx.Observable.OnSubscribe;
+import rx.Subscriber;
+import rx.functions.Action0;
+import rx.functions.Action1;
+import rx.functions.Func0;
+import rx.functions.Func1;
+import rx.subscriptions.Subscriptions;
+
+/**
+ * {@link EurekaRegistry} implementation for application clients. Unlike the server registry, which keeps a copy of
+ * each instance per source, and an index with its own copy of the data per interest, this registry keeps exactly
+ * one notification object per instance in a flat map, and delivers all changes from a single list of interest
+ * subscriptions, filtering them per subscription.
+ * <p>
+ * A client is connected to one server at a time, so ownership of an instance is simply moved to the source that
+ * updated it last. After a failover, the entries that were not re-sent by the new server are still owned by
+ * the previous source, and are removed when the previous source is evicted. An update with the same content as
+ * the current entry does not generate any notification, so a failover is visible to the subscribers only as
+ * the difference between the two servers.
+ * <p>
+ * The registry lock guards only the map, and the subscription snapshots. Each change is put, while holding
+ * the lock, on an emission queue, which is drained outside of it by one thread at a time. A new interest
+ * subscription puts its initial snapshot on the same queue, and becomes active only after the snapshot is
+ * delivered, so a subscriber never misses, or sees twice, any change, and a slow subscriber never blocks
+ * the transport thread updating the registry, or other registry operations.
+ */
+public class ClientEurekaRegistry implements EurekaRegistry<InstanceInfo> {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientEurekaRegistry.class);
+
+    private final Source localSource = InstanceModel.getDefaultModel().createSource(Source.Origin.LOCAL);
+    private final EurekaRegistryMetrics metrics;
+    private final BufferMarkerMergeFunctions bufferMergeFunc = new BufferMarkerMergeFunctions(logger);
+
+    private final Object lock = new Object();
+
+    // Guarded by lock. Each entry is the Add notification of the current instance copy, with the owning source.
+    private final Map<String, SourcedChangeNotification<InstanceInfo>> entries = new HashMap<>();
+    // Modified while holding the lock, iterated by the emission drain loop.
+    private final List<InterestSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    // Guarded by lock
+    private boolean terminated;
+    private Throwable terminationCause;
+
+    private final Queue<Action0> emissionQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger emissionWip = new AtomicInteger();
+
+    public ClientEurekaRegistry(EurekaRegistryMetricFactory metricFactory) {
+        this.metrics = metricFactory.getEurekaServerRegistryMetrics();
+    }
+
+    @Override
+    public Observable<Void> connect(final Source source, Observable<ChangeNotification<InstanceInfo>> registrationUpdates) {
+        return registrationUpdates
+                .doOnNext(new Action1<ChangeNotification<InstanceInfo>>() {
+                    @Override
+                    public void call(ChangeNotification<InstanceInfo> notification) {
+                        synchronized (lock) {
+                            processNotification(notification, source);
+                        }
+                        drainEmissions();
+                    }
+                })
+                .doOnError(new Action1<Throwable>() {
+                    @Override
+                    public void call(Throwable throwable) {
+                        logger.info("Stream from {} onErrored", source);
+                    }
+                })
+                .ignoreElements()
+                .cast(Void.class);
+    }
+
+    private void processNotification(ChangeNotification<InstanceInfo> notification, Source source) {
+        try {
+            if (!notification.isDataNotification()) {
+                publish(notification);
+                return;
+            }
+            InstanceInfo instanceInfo = notification.getData();
+            switch (notification.getKind()) {
+                case Add:
+                case Modify:
+                    update(instanceInfo, source);
+                    break;
+                case Delete:
+                    removeOwned(instanceInfo.getId(), source);
+                    break;
+                default:
+                    logger.error("Unexpected notification type {}", notification.getKind());
+            }
+        } catch (Exception e) {
+            logger.error("Error processing the notification in the registry: {}", notification, e);
+        }
+    }
+
+    /**
+     * Must be called while holding the lock.
+     *
+     * @return published notification or null if the entry content did not change
+     */
+    private ChangeNotification<InstanceInfo> update(InstanceInfo instanceInfo, Source source) {
+        SourcedChangeNotification<InstanceInfo> newEntry = new SourcedChangeNotification<>(Kind.Add, instanceInfo, source);
+        SourcedChangeNotification<InstanceInfo> current = entries.put(instanceInfo.getId(), newEntry);
+        if (current == null) {
+            metrics.incrementRegistrationCounter(source.getOrigin());
+            metrics.setRegistrySize(entries.size());
+            publish(newEntry);
+            return newEntry;
+        }
+        Set<Delta<?>> delta = instanceInfo.diffOlder(current.getData());
+        if (delta.isEmpty()) {
+            return null;
+        }
+        ChangeNotification<InstanceInfo> modifyNotification = new SourcedModifyNotification<>(instanceInfo, delta, source);
+        publish(modifyNotification);
+        return modifyNotification;
+    }
+
+    /**
+     * Must be called while holding the lock. Only the owner can delete an entry. Other sources are either stale,
+     * or waiting for eviction.
+     *
+     * @return published notification or null if the source does not own the entry
+     */
+    private ChangeNotification<InstanceInfo> removeOwned(String id, Source source) {
+        SourcedChangeNotification<InstanceInfo> current = entries.get(id);
+        if (current == null || !source.equals(current.getSource())) {
+            return null;
+        }
+        return remove(id, current);
+    }
+
+    private ChangeNotification<InstanceInfo> remove(String id, SourcedChangeNotification<InstanceInfo> current) {
+        entries.remove(id);
+        metrics.incrementUnregistrationCounter(current.getSource().getOrigin());
+        metrics.setRegistrySize(entries.size());
+        ChangeNotification<InstanceInfo> deleteNotification = new SourcedChangeNotification<>(Kind.Delete, current.getData(), current.getSource());
+        publish(deleteNotification);
+        return deleteNotification;
+    }
+
+    /**
+     * Must be called while holding the lock, so the emission order is the same as the order of registry changes.
+     * The notification is delivered to the subscriptions active at the time it is taken from the queue.
+     */
+    private void publish(final ChangeNotification<InstanceInfo> notification) {
+        emissionQueue.add(new Action0() {
+            @Override
+            public void call() {
+                for (InterestSubscription subscription : subscriptions) {
+                    subscription.onChange(notification);
+                }
+            }
+        });
+    }
+
+    /**
+     * Must be called without holding the lock. Only one thread at a time drains the queue, and a thread that
+     * finds the queue being drained by another thread returns immediately, leaving its emissions to the other
+     * thread. This also makes a registry update from within a subscriber callback safe.
+     */
+    private void drainEmissions() {
+        if (emissionWip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            Action0 next;
+            while ((next = emissionQueue.poll()) != null) {
+                try {
+                    next.call();
+                } catch (Exception e) {
+                    logger.error("Error delivering client registry notification", e);
+                }
+            }
+            missed = emissionWip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    @Override
+    public Observable<Long> evictAll(Source.SourceMatcher evictionMatcher) {
+        long count = 0;
+        synchronized (lock) {
+            for (SourcedChangeNotification<InstanceInfo> entry : new ArrayList<>(entries.values())) {
+                if (evictionMatcher.match(entry.getSource())) {
+                    remove(entry.getData().getId(), entry);
+                    count++;
+                }
+            }
+        }
+        drainEmissions();
+        logger.info("Completed evicting registry with source eviction matcher {}; removed {} entries", evictionMatcher, count);
+        return Observable.just(count);
+    }
+
+    /**
+     * As there is a single copy of each instance, each holder has at most one source. The holders are views
+     * backed by this registry.
+     */
+    @Override
+    public Observable<? extends MultiSourcedDataHolder<InstanceInfo>> getHolders() {
+        List<SingleSourceHolder> holders;
+        synchronized (lock) {
+            holders = new ArrayList<>(entries.size());
+            for (String id : entries.keySet()) {
+                holders.add(new SingleSourceHolder(id));
+            }
+        }
+        return Observable.from(holders);
+    }
+
+    @Override
+    public int size() {
+        synchronized (lock) {
+            return entries.size();
+        }
+    }
+
+    @Override
+    public Observable<InstanceInfo> forSnapshot(Interest<InstanceInfo> interest) {
+        return forSnapshot(interest, null);
+    }
+
+    @Override
+    public Observable<InstanceInfo> forSnapshot(Interest<InstanceInfo> interest, Source.SourceMatcher sourceMatcher) {
+        List<InstanceInfo> snapshot = new ArrayList<>();
+        synchronized (lock) {
+            for (SourcedChangeNotification<InstanceInfo> entry : entries.values()) {
+                if (interest.matches(entry.getData()) && (sourceMatcher == null || sourceMatcher.match(entry.getSource()))) {
+                    snapshot.add(entry.getData());
+                }
+            }
+        }
+        return Observable.from(snapshot);
+    }
+
+    @Override
+    public Observable<ChangeNotification<InstanceInfo>> forInterest(final Interest<InstanceInfo> interest) {
+        return Observable.defer(new Func0<Observable<ChangeNotification<InstanceInfo>>>() {
+            @Override
+            public Observable<ChangeNotification<InstanceInfo>> call() {
+                return interestStream(interest, null, true)
+                        .map(bufferMergeFunc.mergeDiffSources(interest, new Func1<Source, String>() {
+                            @Override
+                            public String call(Source source) {
+                                return source.getOriginNamePair();
+                            }
+                        }))
+                        .filter(RxFunctions.filterNullValuesFunc());
+            }
+        });
+    }
+
+    @Override
+    public Observable<ChangeNotification<InstanceInfo>> forInterest(Interest<InstanceInfo> interest, Source.SourceMatcher sourceMatcher) {
+        return interestStream(interest, sourceMatcher, false);
+    }
+
+    /**
+     * Emit the current content matching the interest, and next all matching changes.
+     */
+    private Observable<ChangeNotification<InstanceInfo>> interestStream(final Interest<InstanceInfo> interest,
+                                                                        final Source.SourceMatcher sourceMatcher,
+                                                                        final boolean withLocalBufferMarkers) {
+        return Observable.create(new OnSubscribe<ChangeNotification<InstanceInfo>>() {
+            @Override
+            public void call(final Subscriber<? super ChangeNotification<InstanceInfo>> subscriber) {
+                final InterestSubscription subscription = new InterestSubscription(subscriber, interest, sourceMatcher);
+                final List<ChangeNotification<InstanceInfo>> snapshot = new ArrayList<>();
+                final boolean terminatedBefore;
+                final Throwable cause;
+                synchronized (lock) {
+                    for (SourcedChangeNotification<InstanceInfo> entry : entries.values()) {
+                        if (subscription.matches(entry)) {
+                            snapshot.add(entry);
+                        }
+                    }
+                    terminatedBefore = terminated;
+                    cause = terminationCause;
+                    if (!terminatedBefore) {
+                        subscriptions.add(subscription);
+                    }
+                    emissionQueue.add(new Action0() {
+                        @Override
+                        public void call() {
+                            if (withLocalBufferMarkers) {
+                                subscriber.onNext(new SourcedStreamStateNotification<>(BufferState.BufferStart, interest, localSource));
+                            }
+                            for (ChangeNotification<InstanceInfo> entry : snapshot) {
+                                subscriber.onNext(entry);
+                            }
+                            if (withLocalBufferMarkers) {
+                                subscriber.onNext(new SourcedStreamStateNotification<>(BufferState.BufferEnd, interest, localSource));
+                            }
+                            if (terminatedBefore) {
+                                subscription.onTerminated(cause);
+                            } else {
+                                subscription.active = true;
+                            }
+                        }
+                    });
+                }
+                subscriber.add(Subscriptions.create(new Action0() {
+                    @Override
+                    public void call() {
+                        subscriptions.remove(subscription);
+                    }
+                }));
+                drainEmissions();
+            }
+        });
+    }
+
+    @Override
+    public Observable<Void> shutdown() {
+        logger.info("Shutting down the client registry");
+        terminate(null);
+        return Observable.empty();
+    }
+
+    @Override
+    public Observable<Void> shutdown(Throwable cause) {
+        logger.error("Shutting down the client registry due to error", cause);
+        terminate(cause);
+        return Observable.empty();
+    }
+
+    private void terminate(final Throwable cause) {
+        synchronized (lock) {
+            if (terminated) {
+                return;
+            }
+            terminated = true;
+            terminationCause = cause;
+            emissionQueue.add(new Action0() {
+                @Override
+                public void call() {
+                    for (InterestSubscription subscription : subscriptions) {
+                        subscription.onTerminated(cause);
+                    }
+                    subscriptions.clear();
+                }
+            });
+        }
+        drainEmissions();
+    }
+
+    @Override
+    public Source getSource() {
+        return localSource;
+    }
+
+    /**
+     * Accessed only from the emission drain loop.
+     */
+    private static class InterestSubscription {
+
+        private final Subscriber<? super ChangeNotification<InstanceInfo>> subscriber;
+        private final Interest<InstanceInfo> interest;
+        private final Source.SourceMatcher sourceMatcher;
+
+        // Set after the initial snapshot is delivered, so changes queued before it are not sent twice
+        boolean active;
+
+        InterestSubscription(Subscriber<? super ChangeNotification<InstanceInfo>> subscriber,
+                             Interest<InstanceInfo> interest,
+                             Source.SourceMatcher sourceMatcher) {
+            this.subscriber = subscriber;
+            this.interest = interest;
+            this.sourceMatcher = sourceMatcher;
+        }
+
+        void onChange(ChangeNotification<InstanceInfo> notification) {
+            if (active && !subscriber.isUnsubscribed() && matches(notification)) {
+                subscriber.onNext(notification);
+            }
+        }
+
+        void onTerminated(Throwable cause) {
+            active = false;
+            if (cause == null) {
+                subscriber.onCompleted();
+            } else {
+                subscriber.onError(cause);
+            }
+        }
+
+        boolean matches(ChangeNotification<InstanceInfo> notification) {
+            if (notification.isDataNotification() && !interest.matches(notification.getData())) {
+                return false;
+            }
+            // Stream state notifications are not bound to a particular interest, so are passed to all subscribers
+            return sourceMatcher == null
+                    || notification instanceof Sourced && sourceMatcher.match(((Sourced) notification).getSource());
+        }
+    }
+
+    /**
+     * Holder view of a single registry entry. Updates made through the holder are applied to the registry,
+     * and published to the interest subscribers.
+     */
+    private class SingleSourceHolder implements MultiSourcedDataHolder<InstanceInfo> {
+
+        private final String id;
+
+        SingleSourceHolder(String id) {
+            this.id = id;
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public int size() {
+            return getChangeNotification() == null ? 0 : 1;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return getChangeNotification() == null;
+        }
+
+        @Override
+        public InstanceInfo get() {
+            SourcedChangeNotification<InstanceInfo> entry = getChangeNotification();
+            return entry == null ? null : entry.getData();
+        }
+
+        @Override
+        public InstanceInfo get(Source source) {
+            SourcedChangeNotification<InstanceInfo> entry = getChangeNotification();
+            return entry != null && entry.getSource().equals(source) ? entry.getData() : null;
+        }
+
+        @Override
+        public Source getSource() {
+            SourcedChangeNotification<InstanceInfo> entry = getChangeNotification();
+            return entry == null ? null : entry.getSource();
+        }
+
+        @Override
+        public Collection<Source> getAllSources() {
+            Source source = getSource();
+            return source == null ? Collections.<Source>emptyList() : Collections.singletonList(source);
+        }
+
+        @Override
+        public SourcedChangeNotification<InstanceInfo> getChangeNotification() {
+            synchronized (lock) {
+                return entries.get(id);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public ChangeNotification<InstanceInfo>[] update(Source source, InstanceInfo data) {
+            if (!id.equals(data.getId())) {
+                throw new IllegalArgumentException("Holder of instance " + id + " cannot be updated with instance " + data.getId());
+            }
+            ChangeNotification<InstanceInfo> notification;
+            synchronized (lock) {
+                notification = ClientEurekaRegistry.this.update(data, source);
+            }
+            drainEmissions();
+            return notification == null ? ChangeNotifications.<InstanceInfo>emptyChangeNotifications() : new ChangeNotification[]{notification};
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public ChangeNotification<InstanceInfo>[] remove(Source source) {
+            ChangeNotification<InstanceInfo> notification;
+            synchronized (lock) {
+                notification = removeOwned(id, source);
+            }
+            drainEmissions();
+            return notification == null ? ChangeNotifications.<InstanceInfo>emptyChangeNotifications() : new ChangeNotification[]{notification};
+        }
+    }
+}
@@ -16,13 +16,28 @@
 
 package com.netflix.eureka2.client.interest;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.netflix.eureka2.channel.ChannelHandlers;
 import com.netflix.eureka2.client.channel.interest.DisconnectingOnEmptyInterestHandler;
 import com.netflix.eureka2.client.channel.interest.RetryableInterestClientHandler;
 import com.netflix.eureka2.client.resolver.ServerResolver;
 import com.netflix.eureka2.config.EurekaTransportConfig;
+import com.netflix.eureka2.model.InstanceModel;
 import com.netflix.eureka2.model.Source;
 import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.instance.InstanceInfoProjection;
 import com.netflix.eureka2.model.interest.Interest;
+import com.netflix.eureka2.model.interest.Interests;
+import com.netflix.eureka2.model.interest.MultipleInterests;
 import com.netflix.eureka2.model.notification.ChangeNotification;
 import com.netflix.eureka2.model.notification.SourcedChangeNotification;
 import com.netflix.eureka2.model.notification.StreamStateNotification;
@@ -32,35 +47,138 @@ import com.netflix.eureka2.spi.channel.ChannelPipeline;
 import com.netflix.eureka2.spi.channel.ChannelPipelineFactory;
 import com.netflix.eureka2.spi.transport.EurekaClientTransportFactory;
 import com.netflix.eureka2.utils.functions.RxFunctions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import rx.Observable;
 import rx.Scheduler;
+import rx.Scheduler.Worker;
 import rx.Subscriber;
 import rx.Subscription;
 import rx.functions.Action0;
+import rx.functions.Action1;
 import rx.functions.Func1;
+import rx.schedulers.Schedulers;
+import rx.subjects.PublishSubject;
 
 import static com.netflix.eureka2.client.util.InterestUtil.isEmptyInterest;
 
 /**
+ * Interest client, that keeps a local copy of the registry, updated from a read server.
+ * <p>
+ * If a {@link RegistryCache} is provided, the registry is pre-populated on startup from the last saved
+ * snapshot, so the last known registry content is available immediately. The cached entries are considered stale,
+ * and are kept under a separate source. When the initial buffer of an interest arrives from a server, the cached
+ * entries matching this interest are removed, so they are either replaced by the server copy, or deleted if the
+ * server does not have them anymore. Cached entries of interests which buffer has not arrived yet are served
+ * until it does. Once all subscribed interests are reconciled, the client is no longer stale, the remaining cached
+ * entries are evicted, and from then on the registry content is periodically saved back to the cache file
+ * on the cache scheduler (by default {@link Schedulers#io()}).
+ * <p>
+ * Interest subscriptions/unsubscriptions are coalesced by {@link InterestTracker} within the configured interest
+ * update delay, so a burst of {@link #forInterest(Interest)} calls results in a few interest upgrades only.
+ * <p>
+ * If a field projection is configured, the server sends the projected instance fields only, and the local
+ * registry holds partial instance data.
  */
 public class EurekaInterestClientImpl extends AbstractInterestClient {
 
+    private static final Logger logger = LoggerFactory.getLogger(EurekaInterestClientImpl.class);
+
     private final ChannelPipelineFactory<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>> transportPipelineFactory;
     private final EurekaRegistry<InstanceInfo> eurekaRegistry;
 
-    private final InterestTracker interestTracker = new InterestTracker();
+    private final InterestTracker interestTracker;
     private final ChannelPipeline<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>> retryablePipeline;
 
     private final Subscription registryUpdateSubscription;
 
+    private final RegistryCache registryCache;
+    private final Source cacheSource;
+    private final AtomicBoolean stale = new AtomicBoolean();
+    private final Worker cacheWorker;
+
+    // Cached entries and interests not yet reconciled with the server content, accessed from the serialized
+    // registry update callback only, once the cache is loaded
+    private final Map<String, InstanceInfo> unreconciledCacheEntries = new HashMap<>();
+    private final Set<Interest<InstanceInfo>> reconciledInterests = new HashSet<>();
+    private final PublishSubject<ChangeNotification<InstanceInfo>> cacheEvictions = PublishSubject.create();
+    private volatile Subscription cacheSubscription;
+    private volatile Interest<InstanceInfo> currentInterest = Interests.forNone();
+
+    public EurekaInterestClientImpl(Source clientSource,
+                                    ServerResolver serverResolver,
+                                    EurekaClientTransportFactory transportFactory,
+                                    EurekaTransportConfig transportConfig,
+                                    EurekaRegistry eurekaRegistry,
+                                    long retryDelayMs,
+                                    Scheduler scheduler) {
+        this(clientSource, serverResolver, transportFactory, transportConfig, eurekaRegistry, null, 0, retryDelayMs, scheduler);
+    }
+
+    public EurekaInterestClientImpl(Source clientSource,
+                                    ServerResolver serverResolver,
+                                    EurekaClientTransportFactory transportFactory,
+                                    EurekaTransportConfig transportConfig,
+                                    EurekaRegistry eurekaRegistry,
+                                    RegistryCache registryCache,
+                                    long cacheSaveIntervalMs,
+                                    long retryDelayMs,
+                                    Scheduler scheduler) {
+        this(clientSource, serverResolver, transportFactory, transportConfig, eurekaRegistry, registryCache, cacheSaveIntervalMs, 0, retryDelayMs, scheduler);
+    }
+
     public EurekaInterestClientImpl(Source clientSource,
                                     ServerResolver serverResolver,
                                     EurekaClientTransportFactory transportFactory,
                                     EurekaTransportConfig transportConfig,
                                     EurekaRegistry eurekaRegistry,
+                                    RegistryCache registryCache,
+                                    long cacheSaveIntervalMs,
+                                    long interestUpdateDelayMs,
                                     long retryDelayMs,
                                     Scheduler scheduler) {
+        this(clientSource, serverResolver, transportFactory, transportConfig, eurekaRegistry, registryCache, cacheSaveIntervalMs,
+                interestUpdateDelayMs, null, retryDelayMs, scheduler);
+    }
+
+    /**
+     * @param fieldProjection instance fields to request from the server, or null to receive the full instance data
+     */
+    public EurekaInterestClientImpl(Source clientSource,
+                                    ServerResolver serverResolver,
+                                    EurekaClientTransportFactory transportFactory,
+                                    EurekaTransportConfig transportConfig,
+                                    EurekaRegistry eurekaRegistry,
+                                    RegistryCache registryCache,
+                                    long cacheSaveIntervalMs,
+                                    long interestUpdateDelayMs,
+                                    InstanceInfoProjection fieldProjection,
+                                    long retryDelayMs,
+                                    Scheduler scheduler) {
+        this(clientSource, serverResolver, transportFactory, transportConfig, eurekaRegistry, registryCache, cacheSaveIntervalMs,
+                interestUpdateDelayMs, fieldProjection, retryDelayMs, scheduler, Schedulers.io());
+    }
+
+    /**
+     * @param cacheScheduler scheduler on which the registry content is saved into the cache file
+     */
+    public EurekaInterestClientImpl(Source clientSource,
+                                    ServerResolver serverResolver,
+                                    EurekaClientTransportFactory transportFactory,
+                                    EurekaTransportConfig transportConfig,
+                                    EurekaRegistry eurekaRegistry,
+                                    RegistryCache registryCache,
+                                    long cacheSaveIntervalMs,
+                                    long interestUpdateDelayMs,
+                                    InstanceInfoProjection fieldProjection,
+                                    long retryDelayMs,
+                                    Scheduler scheduler,
+                                    Scheduler cacheScheduler) {
+        this.interestTracker = new InterestTracker(interestUpdateDelayMs, scheduler);
         this.eurekaRegistry = eurekaRegistry;
+        this.registryCache = registryCache;
+        this.cacheSource = InstanceModel.getDefaultModel().createSource(Source.Origin.BOOTSTRAP, "registryCache@" + clientSource.getName());
+        this.cacheWorker = cacheScheduler.createWorker();
         this.transportPipelineFactory = createPipelineFactory(clientSource, serverResolver, transportFactory, transportConfig, scheduler);
 
         retryablePipeline = new ChannelPipeline<>("interest",
@@ -69,9 +187,31 @@ public class EurekaInterestClientImpl extends AbstractInterestClient {
         );
 
         Observable<ChannelNotification<Interest<InstanceInfo>>> interestNotifications = interestTracker.interestChangeStream()
-                .map(interest -> ChannelNotification.newData(interest));
+                .doOnNext(interest -> currentInterest = interest)
+                .map(interest -> ChannelHandlers.setFieldProjection(ChannelNotification.newData(interest), fieldProjection));
 
-        this.registryUpdateSubscription = connectUpdatesToRegistry(retryablePipeline, eurekaRegistry, interestNotifications);
+        if (registryCache != null) {
+            loadRegistryCache();
+            cacheWorker.schedulePeriodically(new Action0() {
+                @Override
+                public void call() {
+                    saveRegistryCache();
+                }
+            }, cacheSaveIntervalMs, cacheSaveIntervalMs, TimeUnit.MILLISECONDS);
+        }
+
+        this.registryUpdateSubscription = connectUpdatesToRegistry(retryablePipeline, eurekaRegistry, interestNotifications,
+                new Action1<StreamStateNotification<InstanceInfo>>() {
+                    @Override
+                    public void call(StreamStateNotification<InstanceInfo> bufferEnd) {
+                        reconcileRegistryCache(bufferEnd.getInterest());
+                    }
+                });
+    }
+
+    @Override
+    public boolean isStale() {
+        return stale.get();
     }
 
     @Override
@@ -128,5 +268,79 @@ public class EurekaInterestClientImpl extends AbstractInterestClient {
     @Override
     public void shutdown() {
         registryUpdateSubscription.unsubscribe();
+        interestTracker.close();
+        cacheWorker.unsubscribe();
+        shutdownHeartbeatTimeouts();
+        if (registryCache != null) {
+            saveRegistryCache();
+        }
+    }
+
+    private void loadRegistryCache() {
+        RegistryCache.Snapshot snapshot = registryCache.load();
+        if (snapshot == null || snapshot.getInstances().isEmpty()) {
+            return;
+        }
+        logger.info("Loaded {} instances from registry cache file {} created {}ms ago; serving them as stale until server connection is established",
+                snapshot.getInstances().size(), registryCache.getCacheFile(), System.currentTimeMillis() - snapshot.getTimestamp());
+        for (InstanceInfo instanceInfo : snapshot.getInstances()) {
+            unreconciledCacheEntries.put(instanceInfo.getId(), instanceInfo);
+        }
+        stale.set(true);
+        Observable<ChangeNotification<InstanceInfo>> cachedUpdates = Observable.from(snapshot.getInstances())
+                .map(new Func1<InstanceInfo, ChangeNotification<InstanceInfo>>() {
+                    @Override
+                    public ChangeNotification<InstanceInfo> call(InstanceInfo instanceInfo) {
+                        return new ChangeNotification<>(ChangeNotification.Kind.Add, instanceInfo);
+                    }
+                });
+        cacheSubscription = eurekaRegistry.connect(cacheSource, cachedUpdates.concatWith(cacheEvictions)).subscribe();
+    }
+
+    /**
+     * The server sent the complete content of the given interest, so the cached entries it matches are removed. An
+     * entry also received from the server is replaced by the server copy, so it does not disappear from the registry.
+     */
+    private void reconcileRegistryCache(Interest<InstanceInfo> bufferedInterest) {
+        if (!stale.get()) {
+            return;
+        }
+        Iterator<InstanceInfo> it = unreconciledCacheEntries.values().iterator();
+        while (it.hasNext()) {
+            InstanceInfo cached = it.next();
+            if (bufferedInterest.matches(cached)) {
+                it.remove();
+                cacheEvictions.onNext(new ChangeNotification<>(ChangeNotification.Kind.Delete, cached));
+            }
+        }
+        reconciledInterests.addAll(atomicInterestsOf(bufferedInterest));
+        if (reconciledInterests.containsAll(atomicInterestsOf(currentInterest))) {
+            logger.info("Registry content of all interests received from server; evicting {} remaining stale entries loaded from registry cache",
+                    unreconciledCacheEntries.size());
+            unreconciledCacheEntries.clear();
+            eurekaRegistry.evictAll(Source.matcherFor(cacheSource));
+            cacheSubscription.unsubscribe();
+            stale.set(false);
+        }
+    }
+
+    private static Set<Interest<InstanceInfo>> atomicInterestsOf(Interest<InstanceInfo> interest) {
+        if (interest instanceof MultipleInterests) {
+            return ((MultipleInterests<InstanceInfo>) interest).flatten();
+        }
+        return Collections.singleton(interest);
+    }
+
+    private void saveRegistryCache() {
+        // Stale content is already in the cache file
+        if (stale.get()) {
+            return;
+        }
+        try {
+            List<InstanceInfo> instances = eurekaRegistry.forSnapshot(Interests.forFullRegistry()).toList().toBlocking().first();
+            registryCache.save(instances);
+        } catch (Exception e) {
+            logger.warn("Cannot save registry content into cache file {}", registryCache.getCacheFile(), e);
+        }
     }
 }
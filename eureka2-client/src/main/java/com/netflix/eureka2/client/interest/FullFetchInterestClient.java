@@ -17,6 +17,7 @@
 package com.netflix.eureka2.client.interest;
 
 import com.netflix.eureka2.client.channel.interest.DisconnectingOnEmptyInterestHandler;
+import com.netflix.eureka2.client.channel.interest.InterestLoopDetectorHandler;
 import com.netflix.eureka2.client.channel.interest.RetryableInterestClientHandler;
 import com.netflix.eureka2.client.resolver.ServerResolver;
 import com.netflix.eureka2.config.EurekaTransportConfig;
@@ -69,11 +70,26 @@ public class FullFetchInterestClient extends AbstractInterestClient implements H
                                    EurekaRegistry<InstanceInfo> eurekaRegistry,
                                    long retryDelayMs,
                                    Scheduler scheduler) {
+        this(clientSource, InterestLoopDetectorHandler.UNTIERED, serverResolver, transportFactory, transportConfig, eurekaRegistry, retryDelayMs, scheduler);
+    }
+
+    /**
+     * @param clientTier tier of the read server owning this client. Connections to servers of the same or
+     *                   lower tier (higher tier number) are rejected, to prevent loops in tiered read clusters
+     */
+    public FullFetchInterestClient(Source clientSource,
+                                   int clientTier,
+                                   ServerResolver serverResolver,
+                                   EurekaClientTransportFactory transportFactory,
+                                   EurekaTransportConfig transportConfig,
+                                   EurekaRegistry<InstanceInfo> eurekaRegistry,
+                                   long retryDelayMs,
+                                   Scheduler scheduler) {
         this.healthProvider = new FullFetchInterestClientHealth2();
 
         this.eurekaRegistry = eurekaRegistry;
         ChannelPipelineFactory<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>> transportPipelineFactory =
-                createPipelineWithLoopDetectorFactory(clientSource, serverResolver, transportFactory, transportConfig, scheduler);
+                createPipelineWithLoopDetectorFactory(clientSource, clientTier, serverResolver, transportFactory, transportConfig, scheduler);
 
         ChannelPipeline<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>> retryablePipeline = new ChannelPipeline<>("readServerInterestClient@" + clientSource.getName(),
                 new DisconnectingOnEmptyInterestHandler(),
@@ -88,9 +104,13 @@ public class FullFetchInterestClient extends AbstractInterestClient implements H
         this.bootstrapSubscription = bootstrapUploadSubscribe();
     }
 
+    /**
+     * The full registry content is replicated locally, so each interest is served directly from the
+     * registry indexes, and subscribers get only the instances they asked for.
+     */
     @Override
     public Observable<ChangeNotification<InstanceInfo>> forInterest(Interest<InstanceInfo> interest) {
-        return eurekaRegistry.forInterest(Interests.forFullRegistry());
+        return eurekaRegistry.forInterest(interest);
     }
 
     @Override
@@ -98,6 +118,7 @@ public class FullFetchInterestClient extends AbstractInterestClient implements H
         healthProvider.moveHealthTo(InstanceInfo.Status.DOWN);
         registryUpdateSubscription.unsubscribe();
         bootstrapSubscription.unsubscribe();
+        shutdownHeartbeatTimeouts();
     }
 
     @Override
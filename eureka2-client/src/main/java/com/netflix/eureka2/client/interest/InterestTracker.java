@@ -2,18 +2,27 @@ package com.netflix.eureka2.client.interest;
 
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 import com.netflix.eureka2.model.InterestModel;
 import com.netflix.eureka2.model.instance.InstanceInfo;
 import com.netflix.eureka2.model.interest.Interest;
 import com.netflix.eureka2.model.interest.MultipleInterests;
 import rx.Observable;
+import rx.Scheduler;
+import rx.Scheduler.Worker;
+import rx.functions.Action0;
+import rx.schedulers.Schedulers;
 import rx.subjects.BehaviorSubject;
 import rx.subjects.Subject;
 
 /**
  * A class that tracks and refCounts current interests for EurekaInterestClient.
  * This class needs to support concurrent access.
+ * <p>
+ * If update delay is set, interest changes are coalesced: the first change after a quiet period is emitted
+ * immediately, and all changes that follow within the update delay are emitted together as a single upgrade, once
+ * the delay has passed. An interest appended and removed within the same period is never sent at all.
  * TODO rx-y serialization without the synchronized. This is a low volume class not on the critical path, do we care enough?
  *
  * @author David Liu
@@ -24,13 +33,30 @@ public class InterestTracker {
 
     private final Subject<Interest<InstanceInfo>, Interest<InstanceInfo>> interestSubject = BehaviorSubject.create();
 
+    private final long updateDelayMs;
+    private final Worker worker;
+
+    // Guarded by this
+    private MultipleInterests<InstanceInfo> lastEmitted = multipleInterests;
+    private long lastEmitTime = Long.MIN_VALUE;
+    private boolean flushScheduled;
+
+    public InterestTracker() {
+        this(0, Schedulers.immediate());
+    }
+
+    public InterestTracker(long updateDelayMs, Scheduler scheduler) {
+        this.updateDelayMs = updateDelayMs;
+        this.worker = scheduler.createWorker();
+    }
+
     public synchronized void appendInterest(final Interest<InstanceInfo> interest) {
         Integer refCount = interests.putIfAbsent(interest, 1);
         if (refCount != null) {
             interests.put(interest, refCount + 1);
         } else {
             multipleInterests = multipleInterests.copyAndAppend(interest);
-            interestSubject.onNext(multipleInterests);
+            onInterestChange();
         }
     }
 
@@ -40,7 +66,7 @@ public class InterestTracker {
             if (refCount <= 1) {
                 interests.remove(interest);
                 multipleInterests = multipleInterests.copyAndRemove(interest);
-                interestSubject.onNext(multipleInterests);
+                onInterestChange();
             } else {
                 interests.put(interest, refCount - 1);
             }
@@ -52,7 +78,44 @@ public class InterestTracker {
     }
 
     public void close() {
+        worker.unsubscribe();
         interests.clear();
         interestSubject.onCompleted();
     }
+
+    private void onInterestChange() {
+        if (updateDelayMs <= 0) {
+            emit();
+            return;
+        }
+        if (flushScheduled) {
+            return;
+        }
+        long delay = lastEmitTime == Long.MIN_VALUE ? 0 : lastEmitTime + updateDelayMs - worker.now();
+        if (delay <= 0) {
+            emit();
+            return;
+        }
+        flushScheduled = true;
+        worker.schedule(new Action0() {
+            @Override
+            public void call() {
+                flush();
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void flush() {
+        flushScheduled = false;
+        emit();
+    }
+
+    private void emit() {
+        if (multipleInterests.equals(lastEmitted)) {
+            return;
+        }
+        lastEmitted = multipleInterests;
+        lastEmitTime = worker.now();
+        interestSubject.onNext(multipleInterests);
+    }
 }
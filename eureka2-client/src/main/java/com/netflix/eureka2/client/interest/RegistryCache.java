@@ -0,0 +1,200 @@
+/*
+ * Copyright 2015 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.eureka2.client.interest;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.spi.codec.EurekaCodec;
+import com.netflix.eureka2.spi.codec.EurekaCodecFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Local file copy of the client registry, that is loaded on client startup, so the last known registry
+ * content is available before the first server connection is established. The file is gzip compressed, and contains
+ * a header (magic number, format version, snapshot creation time and number of entries), length prefixed
+ * instance entries encoded with the default {@link EurekaCodec}, and a CRC32 checksum of all preceding data.
+ * The snapshot is written to a temporary file first, which is next moved in place of the previous one,
+ * so a client crash never leaves a partially written snapshot behind. The temporary file is removed if the
+ * snapshot cannot be written, and the move falls back to a non-atomic replace on file systems that do not
+ * support atomic moves.
+ */
+public class RegistryCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegistryCache.class);
+
+    private static final int MAGIC = 0x45524332; // 'ERC2'
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * Protect against reading garbage from a file that is not a valid snapshot.
+     */
+    private static final int MAX_ENTRY_SIZE = 16 * 1024 * 1024;
+
+    private final File cacheFile;
+    private final EurekaCodec codec;
+
+    public RegistryCache(File cacheFile) {
+        this(cacheFile, EurekaCodecFactory.getDefaultFactory().getCodec());
+    }
+
+    public RegistryCache(File cacheFile, EurekaCodec codec) {
+        this.cacheFile = cacheFile;
+        this.codec = codec;
+    }
+
+    public File getCacheFile() {
+        return cacheFile;
+    }
+
+    public synchronized void save(Collection<InstanceInfo> instances) throws IOException {
+        File tmpFile = new File(cacheFile.getAbsoluteFile().getParentFile(), cacheFile.getName() + ".tmp");
+        boolean moved = false;
+        try {
+            write(tmpFile, instances);
+            try {
+                Files.move(tmpFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                logger.debug("Atomic move not supported for registry cache file {}; replacing it non-atomically", cacheFile);
+                Files.move(tmpFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            moved = true;
+        } finally {
+            if (!moved && tmpFile.exists() && !tmpFile.delete()) {
+                logger.warn("Cannot delete temporary registry cache file {}", tmpFile);
+            }
+        }
+    }
+
+    private void write(File tmpFile, Collection<InstanceInfo> instances) throws IOException {
+        CRC32 checksum = new CRC32();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(tmpFile))))) {
+            DataOutputStream checkedOut = new DataOutputStream(new CheckedOutputStream(out, checksum));
+            checkedOut.writeInt(MAGIC);
+            checkedOut.writeInt(FORMAT_VERSION);
+            checkedOut.writeLong(System.currentTimeMillis());
+            checkedOut.writeInt(instances.size());
+
+            ByteArrayOutputStream entryBuffer = new ByteArrayOutputStream();
+            for (InstanceInfo instance : instances) {
+                entryBuffer.reset();
+                codec.encode(instance, entryBuffer);
+                checkedOut.writeInt(entryBuffer.size());
+                entryBuffer.writeTo(checkedOut);
+            }
+            checkedOut.flush();
+            out.writeLong(checksum.getValue());
+        }
+    }
+
+    /**
+     * @return snapshot loaded from the cache file, or null if there is no file, or it is not a valid snapshot
+     */
+    public synchronized Snapshot load() {
+        if (!cacheFile.exists()) {
+            logger.info("No registry cache file {} found", cacheFile);
+            return null;
+        }
+        try {
+            return read();
+        } catch (Exception e) {
+            logger.warn("Cannot load registry cache file {}; ignoring it", cacheFile, e);
+            return null;
+        }
+    }
+
+    private Snapshot read() throws IOException {
+        CRC32 checksum = new CRC32();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(cacheFile))))) {
+            DataInputStream checkedIn = new DataInputStream(new CheckedInputStream(in, checksum));
+            if (checkedIn.readInt() != MAGIC) {
+                throw new IOException("Not a registry cache file");
+            }
+            int version = checkedIn.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported registry cache format version " + version);
+            }
+            long timestamp = checkedIn.readLong();
+            int count = checkedIn.readInt();
+            if (count < 0) {
+                throw new IOException("Corrupted registry cache header");
+            }
+
+            List<InstanceInfo> instances = new ArrayList<>(Math.min(count, 1024));
+            byte[] entry = new byte[1024];
+            for (int i = 0; i < count; i++) {
+                int size = checkedIn.readInt();
+                if (size < 0 || size > MAX_ENTRY_SIZE) {
+                    throw new IOException("Corrupted registry cache entry");
+                }
+                if (size > entry.length) {
+                    entry = new byte[size];
+                }
+                checkedIn.readFully(entry, 0, size);
+                instances.add(codec.decode(new ByteArrayInputStream(entry, 0, size), InstanceInfo.class));
+            }
+            if (in.readLong() != checksum.getValue()) {
+                throw new IOException("Registry cache checksum mismatch");
+            }
+            return new Snapshot(timestamp, instances);
+        }
+    }
+
+    public static class Snapshot {
+
+        private final long timestamp;
+        private final List<InstanceInfo> instances;
+
+        public Snapshot(long timestamp, List<InstanceInfo> instances) {
+            this.timestamp = timestamp;
+            this.instances = Collections.unmodifiableList(instances);
+        }
+
+        /**
+         * @return time when the snapshot was taken
+         */
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public List<InstanceInfo> getInstances() {
+            return instances;
+        }
+    }
+}
@@ -16,7 +16,7 @@
 
 package com.netflix.eureka2.client.interest;
 
-import com.netflix.eureka2.channel.LoggingChannelHandler;
+import com.netflix.eureka2.channel.TracingChannelHandler;
 import com.netflix.eureka2.channel.OutputChangeNotificationSourcingHandler;
 import com.netflix.eureka2.channel.SourceIdGenerator;
 import com.netflix.eureka2.client.EurekaInterestClient;
@@ -93,7 +93,7 @@ public class SnapshotInterestClient implements EurekaInterestClient {
                     return new ChannelPipeline<>(pipelineId,
                             new OutputChangeNotificationSourcingHandler(),
                             new InterestClientHandshakeHandler(clientSource, idGenerator),
-                            new LoggingChannelHandler<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>>(LoggingChannelHandler.LogLevel.INFO),
+                            new TracingChannelHandler<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>>(),
                             transportFactory.newInterestTransport(server)
                     );
                 }
@@ -16,8 +16,7 @@
 
 package com.netflix.eureka2.client.registration;
 
-import com.netflix.eureka2.channel.LoggingChannelHandler;
-import com.netflix.eureka2.channel.LoggingChannelHandler.LogLevel;
+import com.netflix.eureka2.channel.TracingChannelHandler;
 import com.netflix.eureka2.channel.client.ClientHeartbeatHandler;
 import com.netflix.eureka2.client.EurekaRegistrationClient;
 import com.netflix.eureka2.client.channel.register.RegistrationClientHandshakeHandler;
@@ -31,6 +30,7 @@ import com.netflix.eureka2.spi.channel.ChannelNotification;
 import com.netflix.eureka2.spi.channel.ChannelPipeline;
 import com.netflix.eureka2.spi.channel.ChannelPipelineFactory;
 import com.netflix.eureka2.spi.transport.EurekaClientTransportFactory;
+import com.netflix.eureka2.utils.rx.HashedWheelTimeoutService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rx.Observable;
@@ -46,6 +46,7 @@ public class EurekaRegistrationClientImpl implements EurekaRegistrationClient {
     private final ChannelPipelineFactory<InstanceInfo, InstanceInfo> transportPipelineFactory;
     private final long retryDelayMs;
     private final Scheduler scheduler;
+    private final HashedWheelTimeoutService heartbeatTimeouts;
 
     public EurekaRegistrationClientImpl(Source clientSource,
                                         ServerResolver serverResolver,
@@ -55,15 +56,16 @@ public class EurekaRegistrationClientImpl implements EurekaRegistrationClient {
                                         Scheduler scheduler) {
         this.retryDelayMs = retryDelayMs;
         this.scheduler = scheduler;
+        this.heartbeatTimeouts = new HashedWheelTimeoutService(scheduler);
         this.transportPipelineFactory = new ChannelPipelineFactory<InstanceInfo, InstanceInfo>() {
             @Override
             public Observable<ChannelPipeline<InstanceInfo, InstanceInfo>> createPipeline() {
                 return serverResolver.resolve().map(server -> {
                             String pipelineId = createPipelineId(clientSource, server);
                             return new ChannelPipeline<>(pipelineId,
-                                    new RegistrationClientHandshakeHandler(),
-                                    new ClientHeartbeatHandler<InstanceInfo, InstanceInfo>(transportConfig.getHeartbeatIntervalMs(), scheduler),
-                                    new LoggingChannelHandler<InstanceInfo, InstanceInfo>(LogLevel.INFO),
+                                    new RegistrationClientHandshakeHandler(transportConfig.getHeartbeatIntervalMs()),
+                                    new ClientHeartbeatHandler<InstanceInfo, InstanceInfo>(transportConfig.getHeartbeatIntervalMs(), scheduler, heartbeatTimeouts),
+                                    new TracingChannelHandler<InstanceInfo, InstanceInfo>(),
                                     transportFactory.newRegistrationClientTransport(server)
                             );
                         }
@@ -97,6 +99,7 @@ public class EurekaRegistrationClientImpl implements EurekaRegistrationClient {
 
     @Override
     public void shutdown() {
+        heartbeatTimeouts.shutdown();
     }
 
 
@@ -55,6 +55,17 @@ class DefaultEurekaResolverStep implements EurekaRemoteResolverStep {
 
     @Override
     public ServerResolver forInterest(final Interest<InstanceInfo> interest) {
+        return ServerResolvers.fromServerSource(
+                instanceInfoSource(interest).map(InterestFunctions.instanceInfoToServer(serviceSelector))
+        );
+    }
+
+    @Override
+    public ServerResolver forInterestByLoad(final Interest<InstanceInfo> interest) {
+        return new PowerOfTwoChoicesServerResolver(instanceInfoSource(interest), serviceSelector);
+    }
+
+    private Observable<ChangeNotification<InstanceInfo>> instanceInfoSource(final Interest<InstanceInfo> interest) {
         final AtomicReference<EurekaInterestClient> interestClientRef = new AtomicReference<>();
         final AtomicLong duration = new AtomicLong();
         Observable<ChangeNotification<InstanceInfo>> instanceInfoSource = Observable
@@ -79,12 +90,7 @@ class DefaultEurekaResolverStep implements EurekaRemoteResolverStep {
                         logger.info("Populating from remote eureka server took {} ms", (System.currentTimeMillis() - duration.get()));
                     }
                 });
-
-        ServerResolver resolver = ServerResolvers.fromServerSource(
-                instanceInfoSource.map(InterestFunctions.instanceInfoToServer(serviceSelector))
-        );
-
-        return resolver;
+        return instanceInfoSource;
     }
 
 
@@ -3,12 +3,9 @@ package com.netflix.eureka2.client.resolver;
 import com.netflix.eureka2.model.Server;
 import com.netflix.eureka2.model.notification.ChangeNotification;
 import com.netflix.eureka2.model.notification.ChangeNotification.Kind;
-import com.netflix.eureka2.interests.host.DnsResolver;
+import com.netflix.eureka2.interests.host.CachingDnsResolver;
 import rx.Observable;
-import rx.Scheduler;
-import rx.Subscriber;
 import rx.functions.Func1;
-import rx.schedulers.Schedulers;
 
 import java.util.Set;
 
@@ -18,11 +15,11 @@ import java.util.Set;
 public class DnsResolverStep implements HostResolverStep {
 
     private final String dnsName;
-    private final Scheduler dnsLoadScheduler;
+    private final CachingDnsResolver dnsResolver;
 
     DnsResolverStep(String dnsName) {
         this.dnsName = dnsName;
-        this.dnsLoadScheduler = Schedulers.io();
+        this.dnsResolver = CachingDnsResolver.getDefault();
     }
 
     /* visible for testing */ DnsResolverStep configureDnsNameSource(final Observable<ChangeNotification<String>> changeNotificationSource) {
@@ -34,18 +31,16 @@ public class DnsResolverStep implements HostResolverStep {
         };
     }
 
+    /**
+     * Cached names are emitted immediately; on cache miss the lookup is done asynchronously on the DNS resolver threads.
+     */
     protected Observable<ChangeNotification<String>> createDnsChangeNotificationSource() {
-        return Observable.create(new Observable.OnSubscribe<ChangeNotification<String>>() {
+        return dnsResolver.resolve(dnsName).concatMap(new Func1<Set<ChangeNotification<String>>, Observable<ChangeNotification<String>>>() {
             @Override
-            public void call(Subscriber<? super ChangeNotification<String>> subscriber) {
-                try {
-                    Set<ChangeNotification<String>> names = DnsResolver.resolveServerDN(dnsName);
-                    Observable.from(names).subscribe(subscriber);
-                } catch (Exception e) {
-                    subscriber.onError(e);
-                }
+            public Observable<ChangeNotification<String>> call(Set<ChangeNotification<String>> names) {
+                return Observable.from(names);
             }
-        }).subscribeOn(dnsLoadScheduler);   // async subscribe on an io scheduler
+        });
     }
 
     @Override
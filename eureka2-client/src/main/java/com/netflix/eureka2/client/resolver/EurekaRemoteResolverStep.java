@@ -10,4 +10,13 @@ public interface EurekaRemoteResolverStep extends ServerResolverStep {
 
     ServerResolver forInterest(Interest<InstanceInfo> interest);
 
+    /**
+     * Like {@link #forInterest(Interest)}, but selects servers by the load they advertise.
+     * See {@link PowerOfTwoChoicesServerResolver}. Implementations not aware of the server load fall back
+     * to {@link #forInterest(Interest)}.
+     */
+    default ServerResolver forInterestByLoad(Interest<InstanceInfo> interest) {
+        return forInterest(interest);
+    }
+
 }
@@ -0,0 +1,192 @@
+package com.netflix.eureka2.client.resolver;
+
+import com.netflix.eureka2.Names;
+import com.netflix.eureka2.model.Server;
+import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.notification.ChangeNotification;
+import com.netflix.eureka2.model.selector.ServiceSelector;
+import com.netflix.eureka2.utils.functions.ChangeNotifications;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rx.Observable;
+import rx.functions.Action1;
+import rx.functions.Func1;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A Server Resolver that selects between Eureka servers based on the load they advertise in their
+ * {@link Names#META_EUREKA_SERVER_LOAD} meta-data entry. On each {@link #resolve()} call, two servers are
+ * picked at random, and the one with lower load is returned (power of two choices). Compared to picking
+ * the least loaded server, this avoids all clients converging on the same server between load updates, while
+ * still steering new connections away from the busy servers (for example after a read cluster deployment,
+ * when the new servers have no connections yet). Servers that do not advertise their load are
+ * compared at random.
+ * <p>
+ * Similarly to {@link RoundRobinServerResolver}, the {@link #resolve()} will not emit any elements until
+ * the resolver has been loaded with an initial list of servers.
+ */
+public class PowerOfTwoChoicesServerResolver implements ServerResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(PowerOfTwoChoicesServerResolver.class);
+
+    private static final Exception SERVER_CACHE_EMPTY_EXCEPTION = new NoSuchElementException("No servers available for this resolver");
+
+    private static final long UNKNOWN_LOAD = -1;
+
+    private final Observable<ChangeNotification<InstanceInfo>> instanceSource;
+    private final ServiceSelector serviceSelector;
+    private final int cacheRefreshTimeout;
+    private final TimeUnit timeUnit;
+    private final Random random;
+
+    private final AtomicReference<List<Candidate>> candidateCacheRef = new AtomicReference<List<Candidate>>(new ArrayList<Candidate>());
+
+    protected PowerOfTwoChoicesServerResolver(Observable<ChangeNotification<InstanceInfo>> instanceSource,
+                                              ServiceSelector serviceSelector) {
+        this(instanceSource, serviceSelector, 10, TimeUnit.SECONDS, new Random());
+    }
+
+    /* visible for testing */ PowerOfTwoChoicesServerResolver(Observable<ChangeNotification<InstanceInfo>> instanceSource,
+                                                              ServiceSelector serviceSelector,
+                                                              int cacheRefreshTimeout,
+                                                              TimeUnit timeUnit,
+                                                              Random random) {
+        this.instanceSource = instanceSource;
+        this.serviceSelector = serviceSelector;
+        this.cacheRefreshTimeout = cacheRefreshTimeout;
+        this.timeUnit = timeUnit;
+        this.random = random;
+    }
+
+    public PowerOfTwoChoicesServerResolver withWarmUpConfiguration(int newWarmUpTimeout, TimeUnit newTimeUnit) {
+        return new PowerOfTwoChoicesServerResolver(instanceSource, serviceSelector, newWarmUpTimeout, newTimeUnit, random);
+    }
+
+    @Override
+    public void close() {
+        candidateCacheRef.set(new ArrayList<Candidate>());
+    }
+
+    @Override
+    public Observable<Server> resolve() {
+        return refreshCandidateCache().concatMap(new Func1<List<Candidate>, Observable<? extends Server>>() {
+            @Override
+            public Observable<? extends Server> call(List<Candidate> candidates) {
+                if (candidates.isEmpty()) {
+                    return Observable.error(SERVER_CACHE_EMPTY_EXCEPTION);
+                }
+                return Observable.just(choose(candidates));
+            }
+        });
+    }
+
+    private Server choose(List<Candidate> candidates) {
+        int size = candidates.size();
+        if (size == 1) {
+            return candidates.get(0).server;
+        }
+        int firstIdx = random.nextInt(size);
+        int secondIdx = random.nextInt(size - 1);
+        if (secondIdx >= firstIdx) {
+            secondIdx++;
+        }
+        Candidate first = candidates.get(firstIdx);
+        Candidate second = candidates.get(secondIdx);
+
+        if (first.load == UNKNOWN_LOAD || second.load == UNKNOWN_LOAD || first.load == second.load) {
+            return first.server;
+        }
+        return first.load < second.load ? first.server : second.server;
+    }
+
+    private Observable<List<Candidate>> refreshCandidateCache() {
+        return instanceSource
+                .compose(ChangeNotifications.<InstanceInfo>buffers())
+                .compose(ChangeNotifications.snapshots(ChangeNotifications.instanceInfoIdentity()))
+                .map(new Func1<LinkedHashSet<InstanceInfo>, List<Candidate>>() {
+                    @Override
+                    public List<Candidate> call(LinkedHashSet<InstanceInfo> instances) {
+                        return toCandidates(instances);
+                    }
+                })
+                .filter(new Func1<List<Candidate>, Boolean>() {
+                    @Override
+                    public Boolean call(List<Candidate> candidates) {
+                        return !candidates.isEmpty();  // if empty, do nothing and wait
+                    }
+                })
+                .doOnNext(new Action1<List<Candidate>>() {
+                    @Override
+                    public void call(List<Candidate> candidates) {
+                        logger.info("Populating the serverCache with {} servers", candidates.size());
+                        candidateCacheRef.set(candidates);
+                    }
+                })
+                .timeout(cacheRefreshTimeout, timeUnit)
+                .onErrorResumeNext(new Func1<Throwable, Observable<? extends List<Candidate>>>() {
+                    @Override
+                    public Observable<? extends List<Candidate>> call(Throwable throwable) {
+                        if (!(throwable instanceof TimeoutException)) {
+                            logger.warn("Exception thrown when connecting the serverCache to the instanceSource, using backup values", throwable);
+                        }
+                        return Observable.just(candidateCacheRef.get());
+                    }
+                })
+                .defaultIfEmpty(candidateCacheRef.get())
+                .take(1);
+    }
+
+    private List<Candidate> toCandidates(LinkedHashSet<InstanceInfo> instances) {
+        List<Candidate> candidates = new ArrayList<>(instances.size());
+        for (InstanceInfo instanceInfo : instances) {
+            if (instanceInfo.getStatus() != InstanceInfo.Status.UP) {
+                continue;
+            }
+            InetSocketAddress socketAddress = serviceSelector.returnServiceAddress(instanceInfo);
+            if (socketAddress != null) {
+                Server server = new Server(socketAddress.getHostString(), socketAddress.getPort());
+                candidates.add(new Candidate(server, loadOf(instanceInfo)));
+            }
+        }
+        Collections.sort(candidates);
+        return candidates;
+    }
+
+    private static long loadOf(InstanceInfo instanceInfo) {
+        String load = instanceInfo.getMetaData() == null ? null : instanceInfo.getMetaData().get(Names.META_EUREKA_SERVER_LOAD);
+        if (load == null) {
+            return UNKNOWN_LOAD;
+        }
+        try {
+            return Math.max(0, Long.parseLong(load));
+        } catch (NumberFormatException e) {
+            logger.debug("Invalid load value {} advertised by server {}", load, instanceInfo.getId());
+            return UNKNOWN_LOAD;
+        }
+    }
+
+    static class Candidate implements Comparable<Candidate> {
+        final Server server;
+        final long load;
+
+        Candidate(Server server, long load) {
+            this.server = server;
+            this.load = load;
+        }
+
+        @Override
+        public int compareTo(Candidate o) {
+            return server.compareTo(o.server);
+        }
+    }
+}
@@ -17,12 +17,18 @@
 package com.netflix.eureka2.client.channel2;
 
 import com.netflix.eureka2.channel.client.ClientHeartbeatHandler;
+import com.netflix.eureka2.model.InstanceModel;
+import com.netflix.eureka2.model.Source;
 import com.netflix.eureka2.model.instance.InstanceInfo;
 import com.netflix.eureka2.spi.channel.ChannelContext;
 import com.netflix.eureka2.spi.channel.ChannelHandler;
 import com.netflix.eureka2.spi.channel.ChannelNotification;
 import com.netflix.eureka2.spi.channel.ChannelPipeline;
+import com.netflix.eureka2.spi.model.ChannelModel;
+import com.netflix.eureka2.spi.model.channel.ServerHello;
 import com.netflix.eureka2.testkit.internal.rx.ExtTestSubscriber;
+import com.netflix.eureka2.utils.rx.HashedWheelTimeoutService;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import rx.Observable;
@@ -43,10 +49,13 @@ public class ClientHeartbeatHandlerTest {
 
     private static final long HEARTBEAT_INTERVAL_MS = 30 * 1000;
 
+    private static final Source SERVER_SOURCE = InstanceModel.getDefaultModel().createSource(Source.Origin.LOCAL, "testServer");
+
     private final TestScheduler testScheduler = Schedulers.test();
     private final ExtTestSubscriber<ChannelNotification<InstanceInfo>> testSubscriber = new ExtTestSubscriber<>();
 
-    private final ClientHeartbeatHandler<InstanceInfo, InstanceInfo> handler = new ClientHeartbeatHandler<>(HEARTBEAT_INTERVAL_MS, testScheduler);
+    private final HashedWheelTimeoutService timeoutService = new HashedWheelTimeoutService(testScheduler);
+    private final ClientHeartbeatHandler<InstanceInfo, InstanceInfo> handler = new ClientHeartbeatHandler<>(HEARTBEAT_INTERVAL_MS, testScheduler, timeoutService);
     private final ChannelHandlerStub nextHandler = new ChannelHandlerStub();
 
     @Before
@@ -54,6 +63,11 @@ public class ClientHeartbeatHandlerTest {
         new ChannelPipeline<>("heartbeat", handler, nextHandler);
     }
 
+    @After
+    public void tearDown() throws Exception {
+        timeoutService.shutdown();
+    }
+
     @Test
     public void testHeartbeatInjection() throws Exception {
         PublishSubject<ChannelNotification<InstanceInfo>> inputSubject = PublishSubject.create();
@@ -85,6 +99,32 @@ public class ClientHeartbeatHandlerTest {
         testSubscriber.assertOnError();
     }
 
+    @Test
+    public void testHeartbeatsAreSentOnlyOnIdleChannelIfNegotiated() throws Exception {
+        PublishSubject<ChannelNotification<InstanceInfo>> inputSubject = PublishSubject.create();
+        handler.handle(inputSubject).subscribe(testSubscriber);
+
+        // Hello reply is echoed back by the stub handler
+        ServerHello serverHello = ChannelModel.getDefaultModel().newServerHello(SERVER_SOURCE, 2 * HEARTBEAT_INTERVAL_MS);
+        inputSubject.onNext(ChannelNotification.newHello(serverHello));
+        assertThat(testSubscriber.takeNext().getKind(), is(equalTo(ChannelNotification.Kind.Hello)));
+
+        // Busy channel
+        for (int i = 0; i < 10; i++) {
+            testScheduler.advanceTimeBy(HEARTBEAT_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            inputSubject.onNext(CHANNEL_INSTANCE_NOTIFICATION);
+            assertThat(testSubscriber.takeNext().getKind(), is(equalTo(ChannelNotification.Kind.Data)));
+        }
+        assertThat(nextHandler.getHeartbeatCounter(), is(equalTo(0)));
+
+        // Idle channel
+        testScheduler.advanceTimeBy(2 * HEARTBEAT_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        assertThat(nextHandler.getHeartbeatCounter(), is(equalTo(1)));
+        testScheduler.advanceTimeBy(2 * HEARTBEAT_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        assertThat(nextHandler.getHeartbeatCounter(), is(equalTo(2)));
+        testSubscriber.assertOpen();
+    }
+
     private void testHeartbeatCycle(int count) {
         int initial = nextHandler.getHeartbeatCounter();
         for (int i = 1; i <= count; i++) {
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.eureka2.client.channel2.interest;
+
+import com.netflix.eureka2.client.channel.interest.InterestLoopDetectorHandler;
+import com.netflix.eureka2.client.channel.interest.InterestLoopException;
+import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.interest.Interest;
+import com.netflix.eureka2.model.notification.ChangeNotification;
+import com.netflix.eureka2.spi.channel.ChannelNotification;
+import com.netflix.eureka2.spi.channel.ChannelPipeline;
+import com.netflix.eureka2.spi.channel.InterestHandler;
+import com.netflix.eureka2.spi.model.ChannelModel;
+import com.netflix.eureka2.testkit.internal.rx.ExtTestSubscriber;
+import org.junit.Test;
+import rx.subjects.PublishSubject;
+
+import static com.netflix.eureka2.channel.ChannelTestkit.CHANNEL_INTEREST_NOTIFICATION_STREAM;
+import static com.netflix.eureka2.channel.ChannelTestkit.CLIENT_SOURCE;
+import static com.netflix.eureka2.channel.ChannelTestkit.SERVER_SOURCE;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ */
+public class InterestLoopDetectorHandlerTest {
+
+    private final InterestHandler nextHandler = mock(InterestHandler.class);
+
+    private final PublishSubject<ChannelNotification<ChangeNotification<InstanceInfo>>> replySubject = PublishSubject.create();
+
+    private final ExtTestSubscriber<ChannelNotification<ChangeNotification<InstanceInfo>>> testSubscriber = new ExtTestSubscriber<>();
+
+    @Test
+    public void testConnectionToItselfIsRejected() throws Exception {
+        connect(new InterestLoopDetectorHandler(CLIENT_SOURCE));
+
+        replySubject.onNext(ChannelNotification.newHello(ChannelModel.getDefaultModel().newServerHello(CLIENT_SOURCE)));
+        testSubscriber.assertOnError(InterestLoopException.class);
+    }
+
+    @Test
+    public void testConnectionToHigherTierIsAccepted() throws Exception {
+        connect(new InterestLoopDetectorHandler(CLIENT_SOURCE, 2));
+
+        replySubject.onNext(ChannelNotification.newHello(ChannelModel.getDefaultModel().newServerHello(SERVER_SOURCE, 0, false, 1)));
+        assertThat(testSubscriber.takeNext().getKind(), is(equalTo(ChannelNotification.Kind.Hello)));
+        testSubscriber.assertOpen();
+    }
+
+    @Test
+    public void testConnectionToSameTierIsRejected() throws Exception {
+        connect(new InterestLoopDetectorHandler(CLIENT_SOURCE, 2));
+
+        replySubject.onNext(ChannelNotification.newHello(ChannelModel.getDefaultModel().newServerHello(SERVER_SOURCE, 0, false, 2)));
+        testSubscriber.assertOnError(InterestLoopException.class);
+    }
+
+    @Test
+    public void testConnectionToLowerTierIsRejected() throws Exception {
+        connect(new InterestLoopDetectorHandler(CLIENT_SOURCE, 1));
+
+        replySubject.onNext(ChannelNotification.newHello(ChannelModel.getDefaultModel().newServerHello(SERVER_SOURCE, 0, false, 2)));
+        testSubscriber.assertOnError(InterestLoopException.class);
+    }
+
+    @Test
+    public void testUntieredClientAcceptsAnyTier() throws Exception {
+        connect(new InterestLoopDetectorHandler(CLIENT_SOURCE));
+
+        replySubject.onNext(ChannelNotification.newHello(ChannelModel.getDefaultModel().newServerHello(SERVER_SOURCE, 0, false, 3)));
+        assertThat(testSubscriber.takeNext().getKind(), is(equalTo(ChannelNotification.Kind.Hello)));
+        testSubscriber.assertOpen();
+    }
+
+    private void connect(InterestLoopDetectorHandler handler) {
+        new ChannelPipeline<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>>("loopDetector", handler, nextHandler);
+        when(nextHandler.handle(any())).thenReturn(replySubject);
+        handler.handle(CHANNEL_INTEREST_NOTIFICATION_STREAM).subscribe(testSubscriber);
+    }
+}
@@ -24,6 +24,7 @@ import com.netflix.eureka2.spi.channel.ChannelNotification;
 import com.netflix.eureka2.spi.channel.ChannelPipeline;
 import com.netflix.eureka2.spi.channel.ChannelPipelineFactory;
 import com.netflix.eureka2.spi.channel.InterestHandler;
+import com.netflix.eureka2.spi.channel.ServerOverloadedException;
 import com.netflix.eureka2.testkit.data.builder.SampleInstanceInfo;
 import com.netflix.eureka2.testkit.internal.rx.ExtTestSubscriber;
 import org.junit.Before;
@@ -42,6 +43,8 @@ import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -97,4 +100,22 @@ public class RetryableInterestClientHandlerTest {
         testScheduler.triggerActions();
         assertThat(testSubscriber.takeNextOrWait().getKind(), is(equalTo(ChannelNotification.Kind.Data)));
     }
+
+    @Test
+    public void testRetryDelayHonorsServerOverloadHint() throws Exception {
+        PublishSubject<ChannelNotification<ChangeNotification<InstanceInfo>>> replySubject = PublishSubject.create();
+        when(nextHandler.handle(any())).thenReturn(replySubject);
+
+        handler.handle(CHANNEL_INTEREST_NOTIFICATION_STREAM).subscribe(testSubscriber);
+        testScheduler.triggerActions();
+        verify(nextHandler, times(1)).handle(any());
+
+        // Server asks to come back later than the configured retry delay
+        replySubject.onError(new ServerOverloadedException("Simulated overload", 4 * RETRY_DELAY_MS));
+        testScheduler.advanceTimeBy(2 * RETRY_DELAY_MS, TimeUnit.MILLISECONDS);
+        verify(nextHandler, times(1)).handle(any());
+
+        testScheduler.advanceTimeBy(2 * RETRY_DELAY_MS, TimeUnit.MILLISECONDS);
+        verify(nextHandler, times(2)).handle(any());
+    }
 }
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2015 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.eureka2.client.endpoint;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.netflix.eureka2.client.EurekaInterestClient;
+import com.netflix.eureka2.client.endpoint.EndpointView.Endpoints;
+import com.netflix.eureka2.junit.categories.LongRunningTest;
+import com.netflix.eureka2.model.InstanceModel;
+import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.instance.InstanceInfo.Status;
+import com.netflix.eureka2.model.instance.ServiceEndpoint;
+import com.netflix.eureka2.model.interest.Interests;
+import com.netflix.eureka2.model.notification.ChangeNotification;
+import com.netflix.eureka2.model.notification.ChangeNotification.Kind;
+import com.netflix.eureka2.model.selector.ServiceSelector;
+import com.netflix.eureka2.testkit.data.builder.SampleInstanceInfo;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rx.subjects.PublishSubject;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assume.assumeTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ */
+public class EndpointViewTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(EndpointViewTest.class);
+
+    private static final ServiceSelector SELECTOR = ServiceSelector.selectBy().secure(false).publicIp(false);
+
+    private final EurekaInterestClient interestClient = mock(EurekaInterestClient.class);
+    private final PublishSubject<ChangeNotification<InstanceInfo>> interestSubject = PublishSubject.create();
+
+    private EndpointView endpointView;
+
+    @Before
+    public void setUp() throws Exception {
+        when(interestClient.forInterest(any())).thenReturn(interestSubject);
+        endpointView = new EndpointView(interestClient, Interests.forFullRegistry(), SELECTOR);
+    }
+
+    @Test
+    public void testEndpointsArePublishedAfterInitialBuffer() throws Exception {
+        List<InstanceInfo> cluster = SampleInstanceInfo.WebServer.clusterOf(2);
+        interestSubject.onNext(new ChangeNotification<>(Kind.Add, cluster.get(0)));
+        interestSubject.onNext(new ChangeNotification<>(Kind.Add, cluster.get(1)));
+        assertThat(endpointView.current().isEmpty(), is(true));
+        assertThat(endpointView.nextAddress(), is(nullValue()));
+
+        interestSubject.onNext(ChangeNotification.<InstanceInfo>bufferSentinel());
+        Endpoints endpoints = endpointView.current();
+        assertThat(endpoints.size(), is(equalTo(2)));
+        assertThat(endpoints.getInstance(0), is(equalTo(cluster.get(0))));
+        assertThat(endpoints.getAddress(0), is(equalTo(selectAddress(cluster.get(0)))));
+
+        // Round robin over all endpoints
+        Set<InetSocketAddress> picked = new HashSet<>();
+        picked.add(endpointView.nextAddress());
+        picked.add(endpointView.nextAddress());
+        assertThat(picked.size(), is(equalTo(2)));
+    }
+
+    @Test
+    public void testChangesReplaceEndpointsSnapshot() throws Exception {
+        List<InstanceInfo> cluster = SampleInstanceInfo.WebServer.clusterOf(2);
+        interestSubject.onNext(new ChangeNotification<>(Kind.Add, cluster.get(0)));
+        interestSubject.onNext(ChangeNotification.<InstanceInfo>bufferSentinel());
+        Endpoints initial = endpointView.current();
+
+        interestSubject.onNext(new ChangeNotification<>(Kind.Add, cluster.get(1)));
+        assertThat(endpointView.current().size(), is(equalTo(2)));
+        assertThat(initial.size(), is(equalTo(1)));
+
+        // Instances that are not UP are not included
+        InstanceInfo down = InstanceModel.getDefaultModel().newInstanceInfo().withInstanceInfo(cluster.get(0)).withStatus(Status.DOWN).build();
+        interestSubject.onNext(new ChangeNotification<>(Kind.Modify, down));
+        assertThat(endpointView.current().size(), is(equalTo(1)));
+        assertThat(endpointView.current().getInstance(0), is(equalTo(cluster.get(1))));
+
+        interestSubject.onNext(new ChangeNotification<>(Kind.Delete, cluster.get(1)));
+        assertThat(endpointView.current().isEmpty(), is(true));
+    }
+
+    /**
+     * Compare cost of picking a server address per request, by evaluating service selector on each call,
+     * and by reading it from the endpoint view. IP addresses are used in both cases, to exclude DNS lookup cost.
+     * Address lookup from the view must not allocate, and must be cheaper than the per request selector.
+     */
+    @Test
+    @Category(LongRunningTest.class)
+    public void testLookupCost() throws Exception {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported() && threadMXBean.isThreadAllocatedMemoryEnabled());
+
+        int clusterSize = 100;
+        int lookups = 10000000;
+
+        List<InstanceInfo> cluster = SampleInstanceInfo.WebServer.clusterOf(clusterSize);
+        for (InstanceInfo instanceInfo : cluster) {
+            interestSubject.onNext(new ChangeNotification<>(Kind.Add, instanceInfo));
+        }
+        interestSubject.onNext(ChangeNotification.<InstanceInfo>bufferSentinel());
+        InstanceInfo[] instances = cluster.toArray(new InstanceInfo[clusterSize]);
+
+        // Last round runs on warmed up code, and is the one checked
+        long selectorNs = 0, selectorAllocated = 0, viewNs = 0, viewAllocated = 0;
+        for (int round = 0; round < 3; round++) {
+            selectorAllocated = allocatedBytes(threadMXBean);
+            long selectorStart = System.nanoTime();
+            int hash = 0;
+            for (int i = 0; i < lookups; i++) {
+                hash += selectAddress(instances[i % clusterSize]).getPort();
+            }
+            selectorNs = System.nanoTime() - selectorStart;
+            selectorAllocated = allocatedBytes(threadMXBean) - selectorAllocated;
+
+            viewAllocated = allocatedBytes(threadMXBean);
+            long viewStart = System.nanoTime();
+            for (int i = 0; i < lookups; i++) {
+                hash += endpointView.nextAddress().getPort();
+            }
+            viewNs = System.nanoTime() - viewStart;
+            viewAllocated = allocatedBytes(threadMXBean) - viewAllocated;
+
+            logger.info("Round {} (hash {}): service selector {}ns and {} bytes per lookup; endpoint view {}ns and {} bytes per lookup",
+                    round, hash, selectorNs / lookups, selectorAllocated / lookups, viewNs / lookups, viewAllocated / lookups);
+        }
+
+        assertThat(viewAllocated / lookups, is(equalTo(0L)));
+        assertThat(viewNs, is(lessThan(selectorNs)));
+    }
+
+    private static InetSocketAddress selectAddress(InstanceInfo instanceInfo) {
+        ServiceEndpoint endpoint = SELECTOR.returnServiceEndpoint(instanceInfo);
+        return new InetSocketAddress(endpoint.getAddress().getIpAddress(), endpoint.getServicePort().getPort());
+    }
+
+    private static long allocatedBytes(com.sun.management.ThreadMXBean threadMXBean) {
+        return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -17,6 +17,9 @@
 package com.netflix.eureka2.client.interest;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
 
 import com.netflix.eureka2.client.resolver.ServerResolver;
 import com.netflix.eureka2.config.EurekaTransportConfig;
@@ -25,6 +28,7 @@ import com.netflix.eureka2.model.Server;
 import com.netflix.eureka2.model.Source;
 import com.netflix.eureka2.model.instance.InstanceInfo;
 import com.netflix.eureka2.model.interest.Interest;
+import com.netflix.eureka2.model.interest.MultipleInterests;
 import com.netflix.eureka2.model.notification.ChangeNotification;
 import com.netflix.eureka2.model.notification.StreamStateNotification;
 import com.netflix.eureka2.registry.EurekaRegistry;
@@ -97,12 +101,14 @@ public class AbstractInterestClientTest {
 
     protected class InterestHandlerStub implements InterestHandler {
 
-        private final ChangeNotification<InstanceInfo> notification = new ChangeNotification<>(
-                ChangeNotification.Kind.Add, SampleInstanceInfo.Backend.build()
-        );
+        private volatile Source replySource = serverSource;
+        private volatile List<InstanceInfo> content = Collections.singletonList(SampleInstanceInfo.Backend.build());
 
         private volatile PublishSubject<ChannelNotification<ChangeNotification<InstanceInfo>>> replySubject;
 
+        // If set, buffers are sent per atomic interest, as a server does, except for the withheld ones
+        private volatile Set<Interest<InstanceInfo>> withheldInterests;
+
         @Override
         public void init(ChannelContext<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>> channelContext) {
         }
@@ -119,15 +125,24 @@ public class AbstractInterestClientTest {
                         inputNotification -> {
                             if (inputNotification.getKind() == ChannelNotification.Kind.Hello) {
                                 myReplySubject.onNext(ChannelNotification.newHello(
-                                        ChannelModel.getDefaultModel().newServerHello(serverSource)
+                                        ChannelModel.getDefaultModel().newServerHello(replySource)
                                 ));
                             } else if (inputNotification.getKind() == ChannelNotification.Kind.Heartbeat) {
                                 myReplySubject.onNext(ChannelNotification.newHeartbeat());
                             } else {
                                 Interest<InstanceInfo> interest = inputNotification.getData();
-                                myReplySubject.onNext(ChannelNotification.newData(StreamStateNotification.bufferStartNotification(interest)));
-                                myReplySubject.onNext(ChannelNotification.newData(notification));
-                                myReplySubject.onNext(ChannelNotification.newData(StreamStateNotification.bufferEndNotification(interest)));
+                                if (withheldInterests == null) {
+                                    sendBuffer(myReplySubject, interest, false);
+                                } else {
+                                    Set<Interest<InstanceInfo>> atomicInterests = interest instanceof MultipleInterests
+                                            ? ((MultipleInterests<InstanceInfo>) interest).flatten()
+                                            : Collections.singleton(interest);
+                                    for (Interest<InstanceInfo> atomicInterest : atomicInterests) {
+                                        if (!withheldInterests.contains(atomicInterest)) {
+                                            sendBuffer(myReplySubject, atomicInterest, true);
+                                        }
+                                    }
+                                }
                             }
                         },
                         e -> {
@@ -142,8 +157,45 @@ public class AbstractInterestClientTest {
             });
         }
 
+        private void sendBuffer(PublishSubject<ChannelNotification<ChangeNotification<InstanceInfo>>> myReplySubject,
+                                Interest<InstanceInfo> interest,
+                                boolean matchingOnly) {
+            myReplySubject.onNext(ChannelNotification.newData(StreamStateNotification.bufferStartNotification(interest)));
+            for (InstanceInfo instance : content) {
+                if (!matchingOnly || interest.matches(instance)) {
+                    myReplySubject.onNext(ChannelNotification.newData(new ChangeNotification<>(ChangeNotification.Kind.Add, instance)));
+                }
+            }
+            myReplySubject.onNext(ChannelNotification.newData(StreamStateNotification.bufferEndNotification(interest)));
+        }
+
+        /**
+         * Send buffers per atomic interest, delaying the given ones until {@link #releaseBuffer(Interest)} is called.
+         */
+        void withholdBuffers(Set<Interest<InstanceInfo>> withheldInterests) {
+            this.withheldInterests = withheldInterests;
+        }
+
+        void releaseBuffer(Interest<InstanceInfo> interest) {
+            withheldInterests.remove(interest);
+            sendBuffer(replySubject, interest, true);
+        }
+
+        void setContent(List<InstanceInfo> content) {
+            this.content = content;
+        }
+
         void disconnect() {
             replySubject.onError(new IOException("Simulated transport error"));
         }
+
+        /**
+         * Disconnect, and reply on next connection as a different server, with the given registry content.
+         */
+        void failoverTo(Source newServerSource, List<InstanceInfo> newContent) {
+            this.replySource = newServerSource;
+            this.content = newContent;
+            disconnect();
+        }
     }
 }
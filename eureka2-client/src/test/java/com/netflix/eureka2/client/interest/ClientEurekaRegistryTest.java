@@ -0,0 +1,312 @@
+/*
+ * Copyright 2015 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.eureka2.client.interest;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.netflix.eureka2.junit.categories.LongRunningTest;
+import com.netflix.eureka2.metric.EurekaRegistryMetricFactory;
+import com.netflix.eureka2.model.InstanceModel;
+import com.netflix.eureka2.model.Source;
+import com.netflix.eureka2.model.Source.Origin;
+import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.instance.InstanceInfo.Status;
+import com.netflix.eureka2.model.interest.Interest;
+import com.netflix.eureka2.model.interest.Interests;
+import com.netflix.eureka2.model.notification.ChangeNotification;
+import com.netflix.eureka2.model.notification.ChangeNotification.Kind;
+import com.netflix.eureka2.model.notification.SourcedStreamStateNotification;
+import com.netflix.eureka2.model.notification.StreamStateNotification;
+import com.netflix.eureka2.model.notification.StreamStateNotification.BufferState;
+import com.netflix.eureka2.registry.EurekaRegistry;
+import com.netflix.eureka2.registry.EurekaRegistryImpl;
+import com.netflix.eureka2.registry.MultiSourcedDataHolder;
+import com.netflix.eureka2.testkit.data.builder.SampleInstanceInfo;
+import com.netflix.eureka2.testkit.internal.rx.ExtTestSubscriber;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rx.Subscriber;
+import rx.Subscription;
+import rx.subjects.PublishSubject;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ */
+public class ClientEurekaRegistryTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientEurekaRegistryTest.class);
+
+    private static final Source SERVER_A = InstanceModel.getDefaultModel().createSource(Origin.INTERESTED, "serverA");
+    private static final Source SERVER_B = InstanceModel.getDefaultModel().createSource(Origin.INTERESTED, "serverB");
+
+    private final ClientEurekaRegistry registry = new ClientEurekaRegistry(EurekaRegistryMetricFactory.registryMetrics());
+
+    private final PublishSubject<ChangeNotification<InstanceInfo>> serverAUpdates = PublishSubject.create();
+    private final PublishSubject<ChangeNotification<InstanceInfo>> serverBUpdates = PublishSubject.create();
+
+    @Test
+    public void testInterestSubscriptionGetsSnapshotFollowedByMatchingChanges() throws Exception {
+        InstanceInfo webServer = SampleInstanceInfo.WebServer.build();
+        InstanceInfo backend = SampleInstanceInfo.Backend.build();
+        registry.connect(SERVER_A, serverAUpdates).subscribe();
+        serverAUpdates.onNext(new ChangeNotification<>(Kind.Add, webServer));
+
+        ExtTestSubscriber<ChangeNotification<InstanceInfo>> testSubscriber = new ExtTestSubscriber<>();
+        registry.forInterest(Interests.forApplications(webServer.getApp())).subscribe(testSubscriber);
+
+        assertBufferMarker(testSubscriber.takeNext(), BufferState.BufferStart);
+        assertChange(testSubscriber.takeNext(), Kind.Add, webServer);
+        assertBufferMarker(testSubscriber.takeNext(), BufferState.BufferEnd);
+
+        // Not matching instance is filtered out
+        serverAUpdates.onNext(new ChangeNotification<>(Kind.Add, backend));
+        assertThat(testSubscriber.takeNext(), is(nullValue()));
+
+        InstanceInfo webServerDown = InstanceModel.getDefaultModel().newInstanceInfo().withInstanceInfo(webServer).withStatus(Status.DOWN).build();
+        serverAUpdates.onNext(new ChangeNotification<>(Kind.Modify, webServerDown));
+        assertChange(testSubscriber.takeNext(), Kind.Modify, webServerDown);
+
+        // No notification if content did not change
+        serverAUpdates.onNext(new ChangeNotification<>(Kind.Modify, webServerDown));
+        assertThat(testSubscriber.takeNext(), is(nullValue()));
+
+        serverAUpdates.onNext(new ChangeNotification<>(Kind.Delete, webServerDown));
+        assertChange(testSubscriber.takeNext(), Kind.Delete, webServerDown);
+        assertThat(registry.size(), is(equalTo(1)));
+    }
+
+    @Test
+    public void testFailoverPublishesOnlyDifferences() throws Exception {
+        List<InstanceInfo> cluster = SampleInstanceInfo.WebServer.clusterOf(3);
+        InstanceInfo unchanged = cluster.get(0);
+        InstanceInfo removed = cluster.get(1);
+        InstanceInfo stillOnServerA = cluster.get(2);
+        InstanceInfo added = SampleInstanceInfo.Backend.build();
+
+        registry.connect(SERVER_A, serverAUpdates).subscribe();
+        for (InstanceInfo instanceInfo : cluster) {
+            serverAUpdates.onNext(new ChangeNotification<>(Kind.Add, instanceInfo));
+        }
+
+        ExtTestSubscriber<ChangeNotification<InstanceInfo>> testSubscriber = new ExtTestSubscriber<>();
+        registry.forInterest(Interests.forFullRegistry()).subscribe(testSubscriber);
+        assertThat(takeDataChanges(testSubscriber).size(), is(equalTo(3)));
+
+        // Server B has the same copy of one instance, and a new one
+        registry.connect(SERVER_B, serverBUpdates).subscribe();
+        serverBUpdates.onNext(new ChangeNotification<>(Kind.Add, unchanged));
+        serverBUpdates.onNext(new ChangeNotification<>(Kind.Add, added));
+        assertChange(testSubscriber.takeNext(), Kind.Add, added);
+        assertThat(testSubscriber.takeNext(), is(nullValue()));
+
+        // Delete from a source that does not own the entry is ignored
+        serverBUpdates.onNext(new ChangeNotification<>(Kind.Delete, stillOnServerA));
+        assertThat(testSubscriber.takeNext(), is(nullValue()));
+
+        // Eviction of server A removes the entries not confirmed by server B
+        assertThat(registry.evictAll(Source.matcherFor(SERVER_A)).toBlocking().first(), is(equalTo(2L)));
+        List<ChangeNotification<InstanceInfo>> changes = takeDataChanges(testSubscriber);
+        assertThat(changes.size(), is(equalTo(2)));
+        for (ChangeNotification<InstanceInfo> change : changes) {
+            assertThat(change.getKind(), is(equalTo(Kind.Delete)));
+        }
+        assertThat(registry.forSnapshot(Interests.forFullRegistry()).count().toBlocking().first(), is(equalTo(2)));
+        assertThat(registry.forSnapshot(Interests.forFullRegistry()).toList().toBlocking().first().contains(removed), is(false));
+    }
+
+    @Test
+    public void testServerBufferMarkersArePassedToSubscribers() throws Exception {
+        registry.connect(SERVER_A, serverAUpdates).subscribe();
+
+        ExtTestSubscriber<ChangeNotification<InstanceInfo>> testSubscriber = new ExtTestSubscriber<>();
+        registry.forInterest(Interests.forFullRegistry()).subscribe(testSubscriber);
+        assertBufferMarker(testSubscriber.takeNext(), BufferState.BufferStart);
+        assertBufferMarker(testSubscriber.takeNext(), BufferState.BufferEnd);
+
+        Interest<InstanceInfo> interest = Interests.forFullRegistry();
+        serverAUpdates.onNext(SourcedStreamStateNotification.bufferStartNotification(interest, SERVER_A));
+        serverAUpdates.onNext(new ChangeNotification<>(Kind.Add, SampleInstanceInfo.WebServer.build()));
+        serverAUpdates.onNext(SourcedStreamStateNotification.bufferEndNotification(interest, SERVER_A));
+
+        assertBufferMarker(testSubscriber.takeNext(), BufferState.BufferStart);
+        assertThat(testSubscriber.takeNext().getKind(), is(equalTo(Kind.Add)));
+        assertBufferMarker(testSubscriber.takeNext(), BufferState.BufferEnd);
+    }
+
+    @Test
+    public void testShutdownCompletesSubscriptions() throws Exception {
+        ExtTestSubscriber<ChangeNotification<InstanceInfo>> testSubscriber = new ExtTestSubscriber<>();
+        registry.forInterest(Interests.forFullRegistry()).subscribe(testSubscriber);
+
+        registry.shutdown();
+        testSubscriber.assertOnCompleted();
+    }
+
+    @Test(timeout = 30000)
+    public void testSubscriberCallbacksAreNotCalledWhileHoldingRegistryLock() throws Exception {
+        registry.connect(SERVER_A, serverAUpdates).subscribe();
+
+        final AtomicInteger sizeSeenFromOtherThread = new AtomicInteger(-1);
+        registry.forInterest(Interests.forFullRegistry()).subscribe(new Subscriber<ChangeNotification<InstanceInfo>>() {
+            @Override
+            public void onCompleted() {
+            }
+
+            @Override
+            public void onError(Throwable e) {
+            }
+
+            @Override
+            public void onNext(ChangeNotification<InstanceInfo> notification) {
+                if (!notification.isDataNotification()) {
+                    return;
+                }
+                Thread reader = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        sizeSeenFromOtherThread.set(registry.size());
+                    }
+                });
+                reader.start();
+                try {
+                    reader.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+
+        serverAUpdates.onNext(new ChangeNotification<>(Kind.Add, SampleInstanceInfo.WebServer.build()));
+        assertThat(sizeSeenFromOtherThread.get(), is(equalTo(1)));
+    }
+
+    @Test
+    public void testHoldersAreSingleSourceViewsOfRegistryEntries() throws Exception {
+        InstanceInfo webServer = SampleInstanceInfo.WebServer.build();
+        registry.connect(SERVER_A, serverAUpdates).subscribe();
+        serverAUpdates.onNext(new ChangeNotification<>(Kind.Add, webServer));
+
+        ExtTestSubscriber<ChangeNotification<InstanceInfo>> testSubscriber = new ExtTestSubscriber<>();
+        registry.forInterest(Interests.forFullRegistry()).subscribe(testSubscriber);
+        assertThat(takeDataChanges(testSubscriber).size(), is(equalTo(1)));
+
+        List<? extends MultiSourcedDataHolder<InstanceInfo>> holders = registry.getHolders().toList().toBlocking().first();
+        assertThat(holders.size(), is(equalTo(1)));
+        MultiSourcedDataHolder<InstanceInfo> holder = holders.get(0);
+        assertThat(holder.getId(), is(equalTo(webServer.getId())));
+        assertThat(holder.size(), is(equalTo(1)));
+        assertThat(holder.get(), is(equalTo(webServer)));
+        assertThat(holder.get(SERVER_B), is(nullValue()));
+        assertThat(holder.getSource(), is(equalTo(SERVER_A)));
+
+        // Only the owner can remove the entry
+        assertThat(holder.remove(SERVER_B).length, is(equalTo(0)));
+        assertThat(holder.remove(SERVER_A).length, is(equalTo(1)));
+        assertThat(holder.isEmpty(), is(true));
+        assertChange(testSubscriber.takeNext(), Kind.Delete, webServer);
+        assertThat(registry.size(), is(equalTo(0)));
+    }
+
+    /**
+     * Compare heap used by the server registry, and the client registry, with the same content and
+     * interest subscriptions.
+     */
+    @Test
+    @Category(LongRunningTest.class)
+    public void testFootprint() throws Exception {
+        int registrySize = 20000;
+        int appCount = 100;
+        int subscriptions = 10;
+
+        List<InstanceInfo> instances = new ArrayList<>(registrySize);
+        for (int i = 0; i < registrySize; i++) {
+            instances.add(SampleInstanceInfo.WebServer.builder()
+                    .withId("instance#" + i)
+                    .withApp("app#" + i % appCount)
+                    .build());
+        }
+
+        long serverRegistryBytes = measure(new EurekaRegistryImpl(EurekaRegistryMetricFactory.registryMetrics()), instances, subscriptions);
+        long clientRegistryBytes = measure(new ClientEurekaRegistry(EurekaRegistryMetricFactory.registryMetrics()), instances, subscriptions);
+
+        logger.info("Heap used for {} instances and {} interest subscriptions: server registry {}KB, client registry {}KB",
+                registrySize, subscriptions, serverRegistryBytes / 1024, clientRegistryBytes / 1024);
+        assertThat(clientRegistryBytes < serverRegistryBytes, is(true));
+    }
+
+    private static long measure(EurekaRegistry<InstanceInfo> registry, List<InstanceInfo> instances, int subscriptions) throws Exception {
+        long before = usedHeap();
+
+        PublishSubject<ChangeNotification<InstanceInfo>> updates = PublishSubject.create();
+        registry.connect(SERVER_A, updates).subscribe();
+        for (InstanceInfo instance : instances) {
+            updates.onNext(new ChangeNotification<>(Kind.Add, instance));
+        }
+        while (registry.size() < instances.size()) {
+            Thread.sleep(10);
+        }
+        List<Subscription> subscriptionList = new ArrayList<>();
+        for (int i = 0; i < subscriptions; i++) {
+            subscriptionList.add(registry.forInterest(Interests.forApplications("app#" + i)).subscribe());
+        }
+
+        long used = usedHeap() - before;
+
+        for (Subscription subscription : subscriptionList) {
+            subscription.unsubscribe();
+        }
+        registry.shutdown();
+        return used;
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static List<ChangeNotification<InstanceInfo>> takeDataChanges(ExtTestSubscriber<ChangeNotification<InstanceInfo>> testSubscriber) {
+        List<ChangeNotification<InstanceInfo>> changes = new ArrayList<>();
+        ChangeNotification<InstanceInfo> next;
+        while ((next = testSubscriber.takeNext()) != null) {
+            if (next.isDataNotification()) {
+                changes.add(next);
+            }
+        }
+        return changes;
+    }
+
+    private static void assertChange(ChangeNotification<InstanceInfo> notification, Kind kind, InstanceInfo instanceInfo) {
+        assertThat(notification.getKind(), is(equalTo(kind)));
+        assertThat(notification.getData(), is(equalTo(instanceInfo)));
+    }
+
+    private static void assertBufferMarker(ChangeNotification<InstanceInfo> notification, BufferState bufferState) {
+        assertThat(notification instanceof StreamStateNotification, is(true));
+        assertThat(((StreamStateNotification<InstanceInfo>) notification).getBufferState(), is(equalTo(bufferState)));
+    }
+}
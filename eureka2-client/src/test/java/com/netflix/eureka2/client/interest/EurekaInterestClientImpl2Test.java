@@ -16,19 +16,44 @@
 
 package com.netflix.eureka2.client.interest;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
+import com.netflix.eureka2.metric.EurekaRegistryMetricFactory;
+import com.netflix.eureka2.model.InstanceModel;
+import com.netflix.eureka2.model.Source;
 import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.instance.InstanceInfo.Status;
+import com.netflix.eureka2.model.interest.Interest;
 import com.netflix.eureka2.model.interest.Interests;
 import com.netflix.eureka2.model.notification.ChangeNotification;
+import com.netflix.eureka2.model.notification.ChangeNotification.Kind;
 import com.netflix.eureka2.registry.EurekaRegistry;
+import com.netflix.eureka2.registry.EurekaRegistryImpl;
+import com.netflix.eureka2.registry.index.IndexRegistryImpl;
+import com.netflix.eureka2.testkit.data.builder.SampleInstanceInfo;
 import com.netflix.eureka2.testkit.internal.rx.ExtTestSubscriber;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import rx.subjects.PublishSubject;
 
 import static com.netflix.eureka2.testkit.junit.EurekaMatchers.addChangeNotification;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
 
@@ -37,6 +62,10 @@ import static org.mockito.Mockito.mock;
 public class EurekaInterestClientImpl2Test extends AbstractInterestClientTest {
 
     private static final long RETRY_DELAY_MS = 1000;
+    private static final long CACHE_SAVE_INTERVAL_MS = 30000;
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
 
     private final EurekaRegistry<InstanceInfo> eurekaRegistry = mock(EurekaRegistry.class);
     private final PublishSubject<ChangeNotification<InstanceInfo>> registrySubject = PublishSubject.create();
@@ -71,4 +100,172 @@ public class EurekaInterestClientImpl2Test extends AbstractInterestClientTest {
         assertThat(testSubscriber.takeNext(), is(addChangeNotification()));
         assertThat(testSubscriber.takeNext(), is(ChangeNotification.bufferSentinel()));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testCachedRegistryIsServedUntilServerBufferArrives() throws Exception {
+        testCachedRegistryIsServedUntilServerBufferArrives(new EurekaRegistryImpl(
+                new IndexRegistryImpl<InstanceInfo>(), EurekaRegistryMetricFactory.registryMetrics(), testScheduler));
+    }
+
+    @Test
+    public void testCachedRegistryIsServedUntilServerBufferArrivesWithClientRegistry() throws Exception {
+        testCachedRegistryIsServedUntilServerBufferArrives(new ClientEurekaRegistry(EurekaRegistryMetricFactory.registryMetrics()));
+    }
+
+    @Test
+    public void testFailoverReconcilesRegistryContent() throws Exception {
+        testFailoverReconcilesRegistryContent(new EurekaRegistryImpl(
+                new IndexRegistryImpl<InstanceInfo>(), EurekaRegistryMetricFactory.registryMetrics(), testScheduler));
+    }
+
+    @Test
+    public void testFailoverReconcilesRegistryContentWithClientRegistry() throws Exception {
+        testFailoverReconcilesRegistryContent(new ClientEurekaRegistry(EurekaRegistryMetricFactory.registryMetrics()));
+    }
+
+    private void testCachedRegistryIsServedUntilServerBufferArrives(EurekaRegistry<InstanceInfo> registry) throws Exception {
+        InstanceInfo cachedInstance = SampleInstanceInfo.WebServer.build();
+        RegistryCache registryCache = new RegistryCache(new File(temporaryFolder.getRoot(), "registry.cache"));
+        registryCache.save(Collections.singletonList(cachedInstance));
+
+        EurekaInterestClientImpl cachingClient = newCachingClient(registry, registryCache);
+
+        // Before server connection, cached content is available
+        testScheduler.triggerActions();
+        assertThat(cachingClient.isStale(), is(true));
+        assertThat(registrySnapshot(registry), contains(cachedInstance));
+
+        // Server content replaces cached content
+        ExtTestSubscriber<ChangeNotification<InstanceInfo>> testSubscriber = new ExtTestSubscriber<>();
+        cachingClient.forInterest(Interests.forFullRegistry()).subscribe(testSubscriber);
+        testScheduler.triggerActions();
+
+        assertThat(cachingClient.isStale(), is(false));
+        List<InstanceInfo> serverContent = registrySnapshot(registry);
+        assertThat(serverContent.size(), is(equalTo(1)));
+        assertThat(serverContent.get(0).getApp(), is(equalTo(SampleInstanceInfo.Backend.build().getApp())));
+
+        // Fresh content is saved back to the cache file
+        testScheduler.advanceTimeBy(CACHE_SAVE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        assertThat(registryCache.load().getInstances(), contains(serverContent.get(0)));
+
+        cachingClient.shutdown();
+    }
+
+    @Test
+    public void testCachedEntriesAreReconciledPerInterest() throws Exception {
+        testCachedEntriesAreReconciledPerInterest(new EurekaRegistryImpl(
+                new IndexRegistryImpl<InstanceInfo>(), EurekaRegistryMetricFactory.registryMetrics(), testScheduler));
+    }
+
+    @Test
+    public void testCachedEntriesAreReconciledPerInterestWithClientRegistry() throws Exception {
+        testCachedEntriesAreReconciledPerInterest(new ClientEurekaRegistry(EurekaRegistryMetricFactory.registryMetrics()));
+    }
+
+    private void testCachedEntriesAreReconciledPerInterest(EurekaRegistry<InstanceInfo> registry) throws Exception {
+        InstanceInfo webInstance = SampleInstanceInfo.WebServer.build();
+        InstanceInfo removedWebInstance = SampleInstanceInfo.WebServer.build();
+        InstanceInfo backendInstance = SampleInstanceInfo.Backend.build();
+        RegistryCache registryCache = new RegistryCache(new File(temporaryFolder.getRoot(), "registry.cache"));
+        registryCache.save(Arrays.asList(webInstance, removedWebInstance, backendInstance));
+
+        Interest<InstanceInfo> webInterest = Interests.forApplications(webInstance.getApp());
+        Interest<InstanceInfo> backendInterest = Interests.forApplications(backendInstance.getApp());
+        transportHandler.setContent(Arrays.asList(webInstance, backendInstance));
+        transportHandler.withholdBuffers(new HashSet<>(Collections.singleton(backendInterest)));
+
+        EurekaInterestClientImpl cachingClient = newCachingClient(registry, registryCache);
+        ExtTestSubscriber<ChangeNotification<InstanceInfo>> webSubscriber = new ExtTestSubscriber<>();
+        ExtTestSubscriber<ChangeNotification<InstanceInfo>> backendSubscriber = new ExtTestSubscriber<>();
+        cachingClient.forInterest(webInterest).subscribe(webSubscriber);
+        cachingClient.forInterest(backendInterest).subscribe(backendSubscriber);
+        testScheduler.triggerActions();
+
+        // Web interest is reconciled, but cached backend entries are kept until their buffer arrives
+        assertThat(cachingClient.isStale(), is(true));
+        Map<String, List<Kind>> webChanges = takeDataChangeHistory(webSubscriber);
+        assertThat(webChanges.get(removedWebInstance.getId()), contains(Kind.Add, Kind.Delete));
+        assertThat(webChanges.get(webInstance.getId()), not(hasItem(Kind.Delete)));
+        assertThat(takeDataChangeHistory(backendSubscriber).get(backendInstance.getId()), contains(Kind.Add));
+
+        transportHandler.releaseBuffer(backendInterest);
+        testScheduler.triggerActions();
+        assertThat(cachingClient.isStale(), is(false));
+        List<Kind> backendChanges = takeDataChangeHistory(backendSubscriber).get(backendInstance.getId());
+        assertThat(backendChanges == null || !backendChanges.contains(Kind.Delete), is(true));
+        assertThat(registrySnapshot(registry), containsInAnyOrder(webInstance, backendInstance));
+
+        cachingClient.shutdown();
+    }
+
+    private void testFailoverReconcilesRegistryContent(EurekaRegistry<InstanceInfo> registry) throws Exception {
+        List<InstanceInfo> cluster = SampleInstanceInfo.WebServer.clusterOf(3);
+        InstanceInfo unchanged = cluster.get(0);
+        InstanceInfo modified = cluster.get(1);
+        InstanceInfo removed = cluster.get(2);
+        InstanceInfo added = SampleInstanceInfo.Backend.build();
+        transportHandler.setContent(Arrays.asList(unchanged, modified, removed));
+
+        EurekaInterestClientImpl reconcilingClient = new EurekaInterestClientImpl(clientSource, serverResolver, transportFactory,
+                transportConfig, registry, RETRY_DELAY_MS, testScheduler);
+
+        ExtTestSubscriber<ChangeNotification<InstanceInfo>> testSubscriber = new ExtTestSubscriber<>();
+        reconcilingClient.forInterest(Interests.forFullRegistry()).subscribe(testSubscriber);
+        testScheduler.triggerActions();
+        assertThat(takeDataChanges(testSubscriber).size(), is(equalTo(3)));
+
+        // Fail over to another server, which content differs
+        InstanceInfo modifiedUpdate = InstanceModel.getDefaultModel().newInstanceInfo().withInstanceInfo(modified).withStatus(Status.DOWN).build();
+        Source newServerSource = InstanceModel.getDefaultModel().createSource(Source.Origin.INTERESTED, "newTestServer");
+        transportHandler.failoverTo(newServerSource, Arrays.asList(unchanged, modifiedUpdate, added));
+        testScheduler.advanceTimeBy(RETRY_DELAY_MS, TimeUnit.MILLISECONDS);
+
+        Map<String, Kind> changes = takeDataChanges(testSubscriber);
+        assertThat(changes.size(), is(equalTo(3)));
+        assertThat(changes.get(modified.getId()), is(equalTo(Kind.Modify)));
+        assertThat(changes.get(removed.getId()), is(equalTo(Kind.Delete)));
+        assertThat(changes.get(added.getId()), is(equalTo(Kind.Add)));
+
+        reconcilingClient.shutdown();
+    }
+
+    private EurekaInterestClientImpl newCachingClient(EurekaRegistry<InstanceInfo> registry, RegistryCache registryCache) {
+        return new EurekaInterestClientImpl(clientSource, serverResolver, transportFactory, transportConfig, registry,
+                registryCache, CACHE_SAVE_INTERVAL_MS, 0, null, RETRY_DELAY_MS, testScheduler, testScheduler);
+    }
+
+    /**
+     * @return change kind per instance id, with at most one change expected for each instance
+     */
+    private static Map<String, Kind> takeDataChanges(ExtTestSubscriber<ChangeNotification<InstanceInfo>> testSubscriber) {
+        Map<String, Kind> changes = new HashMap<>();
+        ChangeNotification<InstanceInfo> next;
+        while ((next = testSubscriber.takeNext()) != null) {
+            if (next.isDataNotification()) {
+                assertThat(changes.put(next.getData().getId(), next.getKind()), is(nullValue()));
+            }
+        }
+        return changes;
+    }
+
+    private static Map<String, List<Kind>> takeDataChangeHistory(ExtTestSubscriber<ChangeNotification<InstanceInfo>> testSubscriber) {
+        Map<String, List<Kind>> changes = new HashMap<>();
+        ChangeNotification<InstanceInfo> next;
+        while ((next = testSubscriber.takeNext()) != null) {
+            if (next.isDataNotification()) {
+                List<Kind> instanceChanges = changes.get(next.getData().getId());
+                if (instanceChanges == null) {
+                    instanceChanges = new ArrayList<>();
+                    changes.put(next.getData().getId(), instanceChanges);
+                }
+                instanceChanges.add(next.getKind());
+            }
+        }
+        return changes;
+    }
+
+    private static List<InstanceInfo> registrySnapshot(EurekaRegistry<InstanceInfo> registry) {
+        return registry.forSnapshot(Interests.forFullRegistry()).toList().toBlocking().first();
+    }
+}
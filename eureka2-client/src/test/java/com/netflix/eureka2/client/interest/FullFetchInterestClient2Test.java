@@ -19,6 +19,7 @@ package com.netflix.eureka2.client.interest;
 import java.util.concurrent.TimeUnit;
 
 import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.interest.Interest;
 import com.netflix.eureka2.model.interest.Interests;
 import com.netflix.eureka2.model.notification.ChangeNotification;
 import com.netflix.eureka2.registry.EurekaRegistry;
@@ -31,6 +32,7 @@ import static com.netflix.eureka2.testkit.junit.EurekaMatchers.*;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 public class FullFetchInterestClient2Test extends AbstractInterestClientTest {
 
@@ -69,4 +71,12 @@ public class FullFetchInterestClient2Test extends AbstractInterestClientTest {
         assertThat(testSubscriber.takeNext(), is(addChangeNotification()));
         assertThat(testSubscriber.takeNext(), is(bufferEndNotification()));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testInterestIsServedFromRegistryForRequestedInterest() throws Exception {
+        Interest<InstanceInfo> interest = Interests.forApplications("testApp");
+        client.forInterest(interest).subscribe(new ExtTestSubscriber<>());
+
+        verify(eurekaRegistry).forInterest(interest);
+    }
+}
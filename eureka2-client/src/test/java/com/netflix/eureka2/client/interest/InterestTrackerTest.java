@@ -0,0 +1,108 @@
+/*
+ * Copyright 2015 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.eureka2.client.interest;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.interest.Interest;
+import com.netflix.eureka2.model.interest.Interests;
+import com.netflix.eureka2.model.interest.MultipleInterests;
+import com.netflix.eureka2.testkit.internal.rx.ExtTestSubscriber;
+import org.junit.Before;
+import org.junit.Test;
+import rx.schedulers.TestScheduler;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ */
+public class InterestTrackerTest {
+
+    private static final long UPDATE_DELAY_MS = 100;
+
+    private static final Interest<InstanceInfo> INTEREST_A = Interests.forApplications("appA");
+    private static final Interest<InstanceInfo> INTEREST_B = Interests.forApplications("appB");
+    private static final Interest<InstanceInfo> INTEREST_C = Interests.forApplications("appC");
+
+    private final TestScheduler testScheduler = new TestScheduler();
+    private final InterestTracker interestTracker = new InterestTracker(UPDATE_DELAY_MS, testScheduler);
+
+    private final ExtTestSubscriber<Interest<InstanceInfo>> testSubscriber = new ExtTestSubscriber<>();
+
+    @Before
+    public void setUp() throws Exception {
+        interestTracker.interestChangeStream().subscribe(testSubscriber);
+    }
+
+    @Test
+    public void testFirstChangeIsEmittedImmediately() throws Exception {
+        interestTracker.appendInterest(INTEREST_A);
+        assertThat(interestsOf(testSubscriber.takeNextOrFail()), containsInAnyOrder(INTEREST_A));
+    }
+
+    @Test
+    public void testChangesWithinUpdateDelayAreCoalesced() throws Exception {
+        interestTracker.appendInterest(INTEREST_A);
+        testSubscriber.takeNextOrFail();
+
+        interestTracker.appendInterest(INTEREST_B);
+        interestTracker.appendInterest(INTEREST_C);
+        interestTracker.removeInterest(INTEREST_A);
+        assertThat(testSubscriber.takeNext(), is(nullValue()));
+
+        testScheduler.advanceTimeBy(UPDATE_DELAY_MS, TimeUnit.MILLISECONDS);
+        assertThat(interestsOf(testSubscriber.takeNextOrFail()), containsInAnyOrder(INTEREST_B, INTEREST_C));
+        assertThat(testSubscriber.takeNext(), is(nullValue()));
+    }
+
+    @Test
+    public void testAppendAndRemoveWithinUpdateDelayCancelOut() throws Exception {
+        interestTracker.appendInterest(INTEREST_A);
+        testSubscriber.takeNextOrFail();
+
+        interestTracker.appendInterest(INTEREST_B);
+        interestTracker.removeInterest(INTEREST_B);
+        testScheduler.advanceTimeBy(UPDATE_DELAY_MS, TimeUnit.MILLISECONDS);
+        assertThat(testSubscriber.takeNext(), is(nullValue()));
+
+        // Removal of the last interest is still propagated
+        interestTracker.removeInterest(INTEREST_A);
+        assertThat(interestsOf(testSubscriber.takeNextOrFail()), is(empty()));
+    }
+
+    @Test
+    public void testNoDelayEmitsEachChange() throws Exception {
+        InterestTracker immediateTracker = new InterestTracker();
+        ExtTestSubscriber<Interest<InstanceInfo>> immediateSubscriber = new ExtTestSubscriber<>();
+        immediateTracker.interestChangeStream().subscribe(immediateSubscriber);
+
+        immediateTracker.appendInterest(INTEREST_A);
+        immediateTracker.appendInterest(INTEREST_B);
+        assertThat(interestsOf(immediateSubscriber.takeNextOrFail()), containsInAnyOrder(INTEREST_A));
+        assertThat(interestsOf(immediateSubscriber.takeNextOrFail()), containsInAnyOrder(INTEREST_A, INTEREST_B));
+    }
+
+    private static Set<Interest<InstanceInfo>> interestsOf(Interest<InstanceInfo> interest) {
+        return ((MultipleInterests<InstanceInfo>) interest).flatten();
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2015 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.eureka2.client.interest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.spi.codec.EurekaCodec;
+import com.netflix.eureka2.testkit.data.builder.SampleInstanceInfo;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+/**
+ */
+public class RegistryCacheTest {
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testSnapshotRoundTrip() throws Exception {
+        RegistryCache registryCache = new RegistryCache(new File(temporaryFolder.getRoot(), "registry.cache"));
+        List<InstanceInfo> instances = Arrays.asList(SampleInstanceInfo.WebServer.build(), SampleInstanceInfo.Backend.build());
+        registryCache.save(instances);
+
+        RegistryCache.Snapshot snapshot = registryCache.load();
+        assertThat(snapshot.getInstances(), contains(instances.get(0), instances.get(1)));
+    }
+
+    @Test
+    public void testMissingFileIsIgnored() throws Exception {
+        RegistryCache registryCache = new RegistryCache(new File(temporaryFolder.getRoot(), "registry.cache"));
+        assertThat(registryCache.load(), is(nullValue()));
+    }
+
+    @Test
+    public void testCorruptedFileIsIgnored() throws Exception {
+        File cacheFile = new File(temporaryFolder.getRoot(), "registry.cache");
+        RegistryCache registryCache = new RegistryCache(cacheFile);
+        registryCache.save(Arrays.asList(SampleInstanceInfo.WebServer.build(), SampleInstanceInfo.Backend.build()));
+
+        // Flip one byte within an entry, keeping gzip container valid
+        byte[] content;
+        try (GZIPInputStream in = new GZIPInputStream(new FileInputStream(cacheFile))) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buf = new byte[4096];
+            int len;
+            while ((len = in.read(buf)) > 0) {
+                out.write(buf, 0, len);
+            }
+            content = out.toByteArray();
+        }
+        content[content.length / 2] ^= 0x01;
+        try (GZIPOutputStream out = new GZIPOutputStream(new FileOutputStream(cacheFile))) {
+            out.write(content);
+        }
+        assertThat(registryCache.load(), is(nullValue()));
+
+        // Truncated file
+        try (RandomAccessFile file = new RandomAccessFile(cacheFile, "rw")) {
+            file.setLength(file.length() / 2);
+        }
+        assertThat(registryCache.load(), is(nullValue()));
+    }
+
+    @Test
+    public void testFailedSaveKeepsPreviousSnapshotAndRemovesTemporaryFile() throws Exception {
+        File cacheFile = new File(temporaryFolder.getRoot(), "registry.cache");
+        InstanceInfo savedInstance = SampleInstanceInfo.WebServer.build();
+        new RegistryCache(cacheFile).save(Collections.singletonList(savedInstance));
+
+        EurekaCodec failingCodec = mock(EurekaCodec.class);
+        doThrow(new IOException("simulated encoding error")).when(failingCodec).encode(any(), any(OutputStream.class));
+        try {
+            new RegistryCache(cacheFile, failingCodec).save(Collections.singletonList(SampleInstanceInfo.Backend.build()));
+            fail("Expected save failure");
+        } catch (IOException e) {
+            // Expected
+        }
+
+        assertThat(new File(temporaryFolder.getRoot(), "registry.cache.tmp").exists(), is(false));
+        assertThat(new RegistryCache(cacheFile).load().getInstances(), contains(savedInstance));
+    }
+}
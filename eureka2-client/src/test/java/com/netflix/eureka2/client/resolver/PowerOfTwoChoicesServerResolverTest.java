@@ -0,0 +1,104 @@
+package com.netflix.eureka2.client.resolver;
+
+import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.netflix.eureka2.Names;
+import com.netflix.eureka2.model.InstanceModel;
+import com.netflix.eureka2.model.Server;
+import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.instance.InstanceInfo.Status;
+import com.netflix.eureka2.model.instance.NetworkAddress.ProtocolType;
+import com.netflix.eureka2.model.notification.ChangeNotification;
+import com.netflix.eureka2.model.selector.ServiceSelector;
+import com.netflix.eureka2.testkit.data.builder.SampleInstanceInfo;
+import org.junit.Test;
+import rx.Notification;
+import rx.Notification.Kind;
+import rx.Observable;
+
+import static com.netflix.eureka2.utils.ExtCollections.asSet;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class PowerOfTwoChoicesServerResolverTest extends AbstractResolverTest {
+
+    private static final ServiceSelector EUREKA_SELECTOR =
+            ServiceSelector.selectBy().serviceLabel(Names.EUREKA_SERVICE).protocolType(ProtocolType.IPv4);
+
+    private static final Iterator<InstanceInfo> INSTANCE_INFO_IT =
+            SampleInstanceInfo.collectionOf("load-resolver-test", SampleInstanceInfo.EurekaReadServer.build());
+    private static final InstanceInfo INSTANCE_1 = INSTANCE_INFO_IT.next();
+    private static final InstanceInfo INSTANCE_2 = INSTANCE_INFO_IT.next();
+
+    @Test(timeout = 30000)
+    public void testPicksLessLoadedServer() throws Exception {
+        ServerResolver resolver = newResolver(
+                Observable.just(addOf(withLoad(INSTANCE_1, "100")), addOf(withLoad(INSTANCE_2, "5")), ChangeNotification.<InstanceInfo>bufferSentinel())
+        );
+
+        // With two servers, both are always compared
+        for (int i = 0; i < 10; i++) {
+            assertThat(takeNext(resolver), is(equalTo(toServer(INSTANCE_2))));
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void testServersWithUnknownLoadAreStillResolved() throws Exception {
+        ServerResolver resolver = newResolver(
+                Observable.just(addOf(withLoad(INSTANCE_1, null)), addOf(withLoad(INSTANCE_2, "invalid")), ChangeNotification.<InstanceInfo>bufferSentinel())
+        );
+
+        Set<Server> actual = new HashSet<>();
+        for (int i = 0; i < 20; i++) {
+            actual.add(takeNext(resolver));
+        }
+        assertThat(actual, is(equalTo(asSet(toServer(INSTANCE_1), toServer(INSTANCE_2)))));
+    }
+
+    @Test(timeout = 30000)
+    public void testServersNotUpAreExcluded() throws Exception {
+        InstanceInfo down = InstanceModel.getDefaultModel().newInstanceInfo()
+                .withInstanceInfo(withLoad(INSTANCE_1, "0")).withStatus(Status.DOWN).build();
+        ServerResolver resolver = newResolver(
+                Observable.just(addOf(down), addOf(withLoad(INSTANCE_2, "100")), ChangeNotification.<InstanceInfo>bufferSentinel())
+        );
+
+        assertThat(takeNext(resolver), is(equalTo(toServer(INSTANCE_2))));
+    }
+
+    @Test(timeout = 30000)
+    public void testReturnsErrorIfNoServersAvailable() throws Exception {
+        ServerResolver resolver = newResolver(Observable.<ChangeNotification<InstanceInfo>>never());
+
+        Notification<Server> notification = resolver.resolve().materialize().toBlocking().first();
+        assertThat(notification.getKind(), is(equalTo(Kind.OnError)));
+    }
+
+    private static ServerResolver newResolver(Observable<ChangeNotification<InstanceInfo>> source) {
+        return new PowerOfTwoChoicesServerResolver(source, EUREKA_SELECTOR, 100, TimeUnit.MILLISECONDS, new Random(0));
+    }
+
+    private static InstanceInfo withLoad(InstanceInfo instance, String load) {
+        return InstanceModel.getDefaultModel().newInstanceInfo()
+                .withInstanceInfo(instance)
+                .withStatus(Status.UP)
+                .withMetaData(load == null ? Collections.<String, String>emptyMap() : Collections.singletonMap(Names.META_EUREKA_SERVER_LOAD, load))
+                .build();
+    }
+
+    private static ChangeNotification<InstanceInfo> addOf(InstanceInfo instance) {
+        return new ChangeNotification<>(ChangeNotification.Kind.Add, instance);
+    }
+
+    private static Server toServer(InstanceInfo instance) {
+        InetSocketAddress address = EUREKA_SELECTOR.returnServiceAddress(instance);
+        return new Server(address.getHostString(), address.getPort());
+    }
+}
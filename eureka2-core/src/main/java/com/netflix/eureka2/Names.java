@@ -30,6 +30,11 @@ public final class Names {
     public static final String REGISTRATION_CLIENT = "registrationClient";
     public static final String INTEREST_CLIENT = "interestClient";
 
+    /**
+     * Meta-data key under which Eureka read servers advertise their current load (number of open connections).
+     */
+    public static final String META_EUREKA_SERVER_LOAD = "eureka2.serverLoad";
+
     private Names() {
     }
 }
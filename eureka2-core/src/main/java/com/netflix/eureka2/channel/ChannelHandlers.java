@@ -17,6 +17,7 @@
 package com.netflix.eureka2.channel;
 
 import com.netflix.eureka2.model.Source;
+import com.netflix.eureka2.model.instance.InstanceInfoProjection;
 import com.netflix.eureka2.spi.channel.ChannelNotification;
 
 /**
@@ -25,6 +26,7 @@ public final class ChannelHandlers {
 
     public static final String CLIENT_SOURCE = "client.source";
     public static final String SERVER_SOURCE = "server.source";
+    public static final String FIELD_PROJECTION = InstanceInfoProjection.CHANNEL_CONTEXT_KEY;
 
     private ChannelHandlers() {
     }
@@ -44,4 +46,12 @@ public final class ChannelHandlers {
     public static <T> ChannelNotification<T> setServerSource(ChannelNotification<T> notification, Source serverSource) {
         return notification.setContext(CLIENT_SOURCE, serverSource);
     }
+
+    public static <T> InstanceInfoProjection getFieldProjection(ChannelNotification<T> notification) {
+        return (InstanceInfoProjection) notification.getContext().get(FIELD_PROJECTION);
+    }
+
+    public static <T> ChannelNotification<T> setFieldProjection(ChannelNotification<T> notification, InstanceInfoProjection projection) {
+        return projection == null ? notification : notification.setContext(FIELD_PROJECTION, projection);
+    }
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2015 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.eureka2.channel;
+
+/**
+ * Single channel life cycle event recorded by {@link ChannelTracer}. Message counters are the totals observed
+ * on the channel at the time the event was recorded.
+ */
+public class ChannelTraceEvent {
+
+    public enum EventType {
+        InputSubscribed,
+        InputUnsubscribed,
+        InputCompleted,
+        InputError,
+        ReplySubscribed,
+        ReplyUnsubscribed,
+        ReplyCompleted,
+        ReplyError,
+        HelloSent,
+        HelloReceived
+    }
+
+    private final long timestamp;
+    private final String pipelineId;
+    private final EventType eventType;
+    private final long dataSent;
+    private final long heartbeatsSent;
+    private final long dataReceived;
+    private final long heartbeatsReceived;
+    private final String details;
+
+    public ChannelTraceEvent(long timestamp,
+                             String pipelineId,
+                             EventType eventType,
+                             long dataSent,
+                             long heartbeatsSent,
+                             long dataReceived,
+                             long heartbeatsReceived,
+                             String details) {
+        this.timestamp = timestamp;
+        this.pipelineId = pipelineId;
+        this.eventType = eventType;
+        this.dataSent = dataSent;
+        this.heartbeatsSent = heartbeatsSent;
+        this.dataReceived = dataReceived;
+        this.heartbeatsReceived = heartbeatsReceived;
+        this.details = details;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getPipelineId() {
+        return pipelineId;
+    }
+
+    public EventType getEventType() {
+        return eventType;
+    }
+
+    public long getDataSent() {
+        return dataSent;
+    }
+
+    public long getHeartbeatsSent() {
+        return heartbeatsSent;
+    }
+
+    public long getDataReceived() {
+        return dataReceived;
+    }
+
+    public long getHeartbeatsReceived() {
+        return heartbeatsReceived;
+    }
+
+    public String getDetails() {
+        return details;
+    }
+
+    @Override
+    public String toString() {
+        return "ChannelTraceEvent{" +
+                "timestamp=" + timestamp +
+                ", pipelineId='" + pipelineId + '\'' +
+                ", eventType=" + eventType +
+                ", dataSent=" + dataSent +
+                ", heartbeatsSent=" + heartbeatsSent +
+                ", dataReceived=" + dataReceived +
+                ", heartbeatsReceived=" + heartbeatsReceived +
+                ", details='" + details + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2015 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.eureka2.channel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.netflix.eureka2.config.SystemConfigLoader;
+
+/**
+ * Keeps the most recent {@link ChannelTraceEvent}s in a fixed size ring buffer. Tracing is disabled by default.
+ * When enabled, only the given percentage of channels is traced, which is decided once, when a channel
+ * is created. The initial sample percentage can be set with the {@value #SAMPLE_PERCENTAGE_PROPERTY} system
+ * property, and changed at runtime with {@link #setSamplePercentage(int)}.
+ */
+public class ChannelTracer {
+
+    public static final String SAMPLE_PERCENTAGE_PROPERTY = "eureka2.channel.trace.samplePercentage";
+    public static final String BUFFER_SIZE_PROPERTY = "eureka2.channel.trace.bufferSize";
+
+    public static final int DEFAULT_BUFFER_SIZE = 1024;
+
+    private static final ChannelTracer DEFAULT_TRACER = new ChannelTracer(
+            SystemConfigLoader.getFromSystemPropertySafe(SAMPLE_PERCENTAGE_PROPERTY, 0),
+            SystemConfigLoader.getFromSystemPropertySafe(BUFFER_SIZE_PROPERTY, DEFAULT_BUFFER_SIZE)
+    );
+
+    private final AtomicReferenceArray<ChannelTraceEvent> events;
+    private final AtomicLong sequence = new AtomicLong();
+
+    private volatile int samplePercentage;
+
+    public ChannelTracer(int samplePercentage, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Trace buffer size must be positive; is " + bufferSize);
+        }
+        this.events = new AtomicReferenceArray<>(bufferSize);
+        setSamplePercentage(samplePercentage);
+    }
+
+    /**
+     * @return tracer instance shared by all channel pipelines
+     */
+    public static ChannelTracer getDefault() {
+        return DEFAULT_TRACER;
+    }
+
+    public int getSamplePercentage() {
+        return samplePercentage;
+    }
+
+    public void setSamplePercentage(int samplePercentage) {
+        this.samplePercentage = Math.max(0, Math.min(100, samplePercentage));
+    }
+
+    public boolean isEnabled() {
+        return samplePercentage > 0;
+    }
+
+    /**
+     * @return true if a new channel should be traced
+     */
+    public boolean shouldSample() {
+        int percentage = samplePercentage;
+        if (percentage <= 0) {
+            return false;
+        }
+        return percentage >= 100 || ThreadLocalRandom.current().nextInt(100) < percentage;
+    }
+
+    public void record(ChannelTraceEvent event) {
+        long position = sequence.getAndIncrement();
+        events.set((int) (position % events.length()), event);
+    }
+
+    /**
+     * @return recorded events, starting from the oldest one
+     */
+    public List<ChannelTraceEvent> getEvents() {
+        long end = sequence.get();
+        long start = Math.max(0, end - events.length());
+        List<ChannelTraceEvent> result = new ArrayList<>((int) (end - start));
+        for (long i = start; i < end; i++) {
+            ChannelTraceEvent event = events.get((int) (i % events.length()));
+            if (event != null) {
+                result.add(event);
+            }
+        }
+        return result;
+    }
+
+    public void clear() {
+        for (int i = 0; i < events.length(); i++) {
+            events.set(i, null);
+        }
+    }
+}
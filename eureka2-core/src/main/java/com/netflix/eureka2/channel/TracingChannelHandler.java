@@ -0,0 +1,129 @@
+/*
+ * Copyright 2015 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.eureka2.channel;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.netflix.eureka2.channel.ChannelTraceEvent.EventType;
+import com.netflix.eureka2.spi.channel.ChannelContext;
+import com.netflix.eureka2.spi.channel.ChannelHandler;
+import com.netflix.eureka2.spi.channel.ChannelNotification;
+import rx.Observable;
+
+/**
+ * Records channel life cycle events in {@link ChannelTracer}. If the channel is not sampled, the input stream is
+ * passed to the next handler as is, so there is no per message cost. For sampled channels, data and heartbeat
+ * messages are only counted, and the counters are attached to the recorded life cycle events.
+ * <p>
+ * Use {@link LoggingChannelHandler} to log the content of each message when debugging.
+ */
+public class TracingChannelHandler<I, O> implements ChannelHandler<I, O> {
+
+    private final ChannelTracer tracer;
+
+    private ChannelContext<I, O> channelContext;
+
+    public TracingChannelHandler() {
+        this(ChannelTracer.getDefault());
+    }
+
+    public TracingChannelHandler(ChannelTracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public void init(ChannelContext<I, O> channelContext) {
+        if (!channelContext.hasNext()) {
+            throw new IllegalStateException("Expected next handler in the pipeline");
+        }
+        this.channelContext = channelContext;
+    }
+
+    @Override
+    public Observable<ChannelNotification<O>> handle(Observable<ChannelNotification<I>> inputStream) {
+        if (!tracer.shouldSample()) {
+            return channelContext.next().handle(inputStream);
+        }
+
+        ChannelTrace trace = new ChannelTrace(channelContext.getPipeline().getPipelineId());
+        return channelContext.next()
+                .handle(
+                        inputStream
+                                .doOnSubscribe(() -> trace.record(EventType.InputSubscribed, null))
+                                .doOnUnsubscribe(() -> trace.record(EventType.InputUnsubscribed, null))
+                                .doOnNext(next -> {
+                                    switch (next.getKind()) {
+                                        case Heartbeat:
+                                            trace.heartbeatsSent.incrementAndGet();
+                                            break;
+                                        case Hello:
+                                            trace.record(EventType.HelloSent, String.valueOf(next.<Object>getHello()));
+                                            break;
+                                        case Data:
+                                            trace.dataSent.incrementAndGet();
+                                            break;
+                                    }
+                                })
+                                .doOnError(e -> trace.record(EventType.InputError, e.toString()))
+                                .doOnCompleted(() -> trace.record(EventType.InputCompleted, null))
+                )
+                .doOnSubscribe(() -> trace.record(EventType.ReplySubscribed, null))
+                .doOnUnsubscribe(() -> trace.record(EventType.ReplyUnsubscribed, null))
+                .doOnNext(next -> {
+                    switch (next.getKind()) {
+                        case Heartbeat:
+                            trace.heartbeatsReceived.incrementAndGet();
+                            break;
+                        case Hello:
+                            trace.record(EventType.HelloReceived, String.valueOf(next.<Object>getHello()));
+                            break;
+                        case Data:
+                            trace.dataReceived.incrementAndGet();
+                            break;
+                    }
+                })
+                .doOnError(e -> trace.record(EventType.ReplyError, e.toString()))
+                .doOnCompleted(() -> trace.record(EventType.ReplyCompleted, null));
+    }
+
+    private class ChannelTrace {
+
+        private final String pipelineId;
+
+        private final AtomicLong dataSent = new AtomicLong();
+        private final AtomicLong heartbeatsSent = new AtomicLong();
+        private final AtomicLong dataReceived = new AtomicLong();
+        private final AtomicLong heartbeatsReceived = new AtomicLong();
+
+        private ChannelTrace(String pipelineId) {
+            this.pipelineId = pipelineId;
+        }
+
+        private void record(EventType eventType, String details) {
+            tracer.record(new ChannelTraceEvent(
+                    System.currentTimeMillis(),
+                    pipelineId,
+                    eventType,
+                    dataSent.get(),
+                    heartbeatsSent.get(),
+                    dataReceived.get(),
+                    heartbeatsReceived.get(),
+                    details
+            ));
+        }
+    }
+}
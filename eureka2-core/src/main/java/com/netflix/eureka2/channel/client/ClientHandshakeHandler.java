@@ -41,10 +41,20 @@ public abstract class ClientHandshakeHandler<I, O> implements ChannelHandler<I,
 
     private final SourceIdGenerator idGenerator;
 
+    /**
+     * Heartbeat interval proposed to the server in the client hello, or 0 if heartbeats are not negotiated.
+     */
+    protected final long heartbeatIntervalMs;
+
     protected ChannelContext<I, O> channelContext;
 
     protected ClientHandshakeHandler(SourceIdGenerator idGenerator) {
+        this(idGenerator, 0);
+    }
+
+    protected ClientHandshakeHandler(SourceIdGenerator idGenerator, long heartbeatIntervalMs) {
         this.idGenerator = idGenerator;
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
     }
 
     @Override
@@ -19,17 +19,26 @@ package com.netflix.eureka2.channel.client;
 import com.netflix.eureka2.spi.channel.ChannelContext;
 import com.netflix.eureka2.spi.channel.ChannelHandler;
 import com.netflix.eureka2.spi.channel.ChannelNotification;
+import com.netflix.eureka2.spi.model.channel.ServerHello;
+import com.netflix.eureka2.utils.rx.HashedWheelTimeoutService;
+import com.netflix.eureka2.utils.rx.HashedWheelTimeoutService.Timeout;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rx.Observable;
 import rx.Scheduler;
 import rx.Subscription;
+import rx.subjects.PublishSubject;
 
 import java.io.IOException;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicLong;
 
 /**
+ * Heartbeats of all connections created with the same {@link HashedWheelTimeoutService} are driven
+ * by its single timer task.
+ * <p>
+ * If the server hello carries a negotiated heartbeat interval, any message received from the server counts
+ * as its liveness signal, and explicit heartbeats are sent only when the channel is idle (nothing was sent, or
+ * nothing was received within the negotiated interval). Otherwise heartbeats are sent at the fixed interval,
+ * as expected by servers not supporting the negotiation.
  */
 public class ClientHeartbeatHandler<I, O> implements ChannelHandler<I, O> {
 
@@ -37,18 +46,20 @@ public class ClientHeartbeatHandler<I, O> implements ChannelHandler<I, O> {
 
     private static final Throwable HEARTBEAT_TIMEOUT = new IOException("Heartbeat timeout");
 
+    private static final int MISSED_HEARTBEATS_LIMIT = 3;  // FIXME make heartbeat timeout configurable
+
     private final ChannelNotification<I> heartbeat = ChannelNotification.newHeartbeat();
 
     private final long heartbeatIntervalMs;
-    private final long heartbeatTimeoutMs;
     private final Scheduler scheduler;
+    private final HashedWheelTimeoutService timeoutService;
 
     private ChannelContext<I, O> channelContext;
 
-    public ClientHeartbeatHandler(long heartbeatIntervalMs, Scheduler scheduler) {
+    public ClientHeartbeatHandler(long heartbeatIntervalMs, Scheduler scheduler, HashedWheelTimeoutService timeoutService) {
         this.heartbeatIntervalMs = heartbeatIntervalMs;
-        this.heartbeatTimeoutMs = heartbeatIntervalMs * 3;  // FIXME make heartbeat timeout configurable
         this.scheduler = scheduler;
+        this.timeoutService = timeoutService;
     }
 
     @Override
@@ -64,29 +75,36 @@ public class ClientHeartbeatHandler<I, O> implements ChannelHandler<I, O> {
         return Observable.create(subscriber -> {
             logger.debug("Subscription to ClientHeartbeatHandler started");
 
-            AtomicLong lastHeartbeatReply = new AtomicLong(-1);
+            ChannelActivity activity = new ChannelActivity(scheduler.now());
+
+            PublishSubject<ChannelNotification<I>> heartbeats = PublishSubject.create();
+            Timeout heartbeatTask = timeoutService.newPeriodic(heartbeatIntervalMs, () -> {
+                long now = scheduler.now();
+                if (activity.isLate(now)) {
+                    logger.debug("No message from server received in {}ms", activity.timeoutMs());
+                    heartbeats.onError(HEARTBEAT_TIMEOUT);
+                } else if (activity.isIdle(now)) {
+                    logger.debug("Sending heartbeat to the server");
+                    activity.lastSent = now;
+                    heartbeats.onNext(heartbeat);
+                }
+            });
+            subscriber.add(heartbeatTask);
+
+            Observable<ChannelNotification<I>> trackedInput = inputStream.doOnNext(next -> activity.lastSent = scheduler.now());
 
             Subscription subscription = channelContext.next()
-                    .handle(
-                            inputStream.mergeWith(
-                                    Observable.interval(heartbeatIntervalMs, heartbeatIntervalMs, TimeUnit.MILLISECONDS, scheduler)
-                                            .flatMap(tick -> {
-                                                if (isLate(lastHeartbeatReply)) {
-                                                    logger.debug("No heartbeat reply from server received in {}ms", heartbeatTimeoutMs);
-                                                    return Observable.error(HEARTBEAT_TIMEOUT);
-                                                }
-                                                logger.debug("Sending heartbeat to the server");
-                                                return Observable.just(heartbeat);
-                                            })
-                            )
-                    )
+                    .handle(trackedInput.mergeWith(heartbeats.doOnTerminate(() -> heartbeatTask.unsubscribe())))
                     .doOnUnsubscribe(() -> logger.debug("Unsubscribing from ClientHeartbeatHandler"))
                     .subscribe(
                             next -> {
+                                activity.lastReceived = scheduler.now();
                                 if (next.getKind() == ChannelNotification.Kind.Heartbeat) {
                                     logger.debug("Heartbeat reply from server received");
-                                    lastHeartbeatReply.set(scheduler.now());
                                 } else {
+                                    if (next.getKind() == ChannelNotification.Kind.Hello && next.getHello() instanceof ServerHello) {
+                                        activity.negotiatedIntervalMs = ((ServerHello) next.getHello()).getHeartbeatIntervalMs();
+                                    }
                                     subscriber.onNext(next);
                                 }
                             },
@@ -103,12 +121,34 @@ public class ClientHeartbeatHandler<I, O> implements ChannelHandler<I, O> {
         });
     }
 
-    private boolean isLate(AtomicLong lastHeartbeatReply) {
-        if (lastHeartbeatReply.get() < 0) {
-            lastHeartbeatReply.set(scheduler.now());
-            return false;
+    private class ChannelActivity {
+
+        private volatile long lastSent;
+        private volatile long lastReceived;
+        private volatile long negotiatedIntervalMs;
+
+        private ChannelActivity(long now) {
+            this.lastSent = now;
+            this.lastReceived = now;
+        }
+
+        private long intervalMs() {
+            return negotiatedIntervalMs > 0 ? negotiatedIntervalMs : heartbeatIntervalMs;
+        }
+
+        private long timeoutMs() {
+            return intervalMs() * MISSED_HEARTBEATS_LIMIT;
+        }
+
+        private boolean isLate(long now) {
+            return now - lastReceived > timeoutMs();
+        }
+
+        private boolean isIdle(long now) {
+            if (negotiatedIntervalMs <= 0) {
+                return true;
+            }
+            return now - lastSent >= negotiatedIntervalMs || now - lastReceived >= negotiatedIntervalMs;
         }
-        long delay = scheduler.now() - lastHeartbeatReply.get();
-        return delay > heartbeatTimeoutMs;
     }
 }
@@ -1,6 +1,9 @@
 package com.netflix.eureka2.config;
 
 import static com.netflix.eureka2.config.ConfigurationNames.RegistryNames.evictionAllowedPercentageDropName;
+import static com.netflix.eureka2.config.ConfigurationNames.RegistryNames.evictionBurstSizeName;
+import static com.netflix.eureka2.config.ConfigurationNames.RegistryNames.evictionRatePerSecondName;
+import static com.netflix.eureka2.config.ConfigurationNames.RegistryNames.evictionWindowMsName;
 
 /**
  * basic eureka registry config that reads properties from System.properties if available,
@@ -10,11 +13,21 @@ import static com.netflix.eureka2.config.ConfigurationNames.RegistryNames.evicti
 public class BasicEurekaRegistryConfig implements EurekaRegistryConfig {
 
     public static final int EVICTION_ALLOWED_PERCENTAGE_DROP = 20;
+    public static final int EVICTION_RATE_PER_SECOND = 100;
+    public static final int EVICTION_BURST_SIZE = 1000;
+    public static final long EVICTION_WINDOW_MS = 5 * 60 * 1000;
 
     private final int evictionAllowedPercentageDrop;
+    private final int evictionRatePerSecond;
+    private final int evictionBurstSize;
+    private final long evictionWindowMs;
 
-    private BasicEurekaRegistryConfig(int evictionAllowedPercentageDrop) {
+    private BasicEurekaRegistryConfig(int evictionAllowedPercentageDrop, int evictionRatePerSecond,
+                                      int evictionBurstSize, long evictionWindowMs) {
         this.evictionAllowedPercentageDrop = evictionAllowedPercentageDrop;
+        this.evictionRatePerSecond = evictionRatePerSecond;
+        this.evictionBurstSize = evictionBurstSize;
+        this.evictionWindowMs = evictionWindowMs;
     }
 
     @Override
@@ -22,25 +35,67 @@ public class BasicEurekaRegistryConfig implements EurekaRegistryConfig {
         return evictionAllowedPercentageDrop;
     }
 
+    @Override
+    public int getEvictionRatePerSecond() {
+        return evictionRatePerSecond;
+    }
+
+    @Override
+    public int getEvictionBurstSize() {
+        return evictionBurstSize;
+    }
+
+    @Override
+    public long getEvictionWindowMs() {
+        return evictionWindowMs;
+    }
+
     @Override
     public String toString() {
         return "BasicEurekaRegistryConfig{" +
                 "evictionAllowedPercentageDrop=" + evictionAllowedPercentageDrop +
+                ", evictionRatePerSecond=" + evictionRatePerSecond +
+                ", evictionBurstSize=" + evictionBurstSize +
+                ", evictionWindowMs=" + evictionWindowMs +
                 '}';
     }
 
     public static class Builder {
         private int evictionAllowedPercentageDrop = SystemConfigLoader.
                 getFromSystemPropertySafe(evictionAllowedPercentageDropName, EVICTION_ALLOWED_PERCENTAGE_DROP);
+        private int evictionRatePerSecond = SystemConfigLoader.
+                getFromSystemPropertySafe(evictionRatePerSecondName, EVICTION_RATE_PER_SECOND);
+        private int evictionBurstSize = SystemConfigLoader.
+                getFromSystemPropertySafe(evictionBurstSizeName, EVICTION_BURST_SIZE);
+        private long evictionWindowMs = SystemConfigLoader.
+                getFromSystemPropertySafe(evictionWindowMsName, EVICTION_WINDOW_MS);
 
         public Builder withEvictionAllowedPercentageDrop(int evictionAllowedPercentageDrop) {
             this.evictionAllowedPercentageDrop = evictionAllowedPercentageDrop;
             return this;
         }
 
+        public Builder withEvictionRatePerSecond(int evictionRatePerSecond) {
+            this.evictionRatePerSecond = evictionRatePerSecond;
+            return this;
+        }
+
+        public Builder withEvictionBurstSize(int evictionBurstSize) {
+            this.evictionBurstSize = evictionBurstSize;
+            return this;
+        }
+
+        public Builder withEvictionWindowMs(long evictionWindowMs) {
+            this.evictionWindowMs = evictionWindowMs;
+            return this;
+        }
+
         public BasicEurekaRegistryConfig build() {
             return new BasicEurekaRegistryConfig(
-                    evictionAllowedPercentageDrop);
+                    evictionAllowedPercentageDrop,
+                    evictionRatePerSecond,
+                    evictionBurstSize,
+                    evictionWindowMs);
         }
     }
 }
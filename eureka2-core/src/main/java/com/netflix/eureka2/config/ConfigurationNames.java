@@ -19,5 +19,8 @@ public final class ConfigurationNames {
         private static final String PREFIX = "registry.";
 
         public static final String evictionAllowedPercentageDropName = EUREKA_PREFIX + PREFIX + "evictionAllowedPercentageDrop";
+        public static final String evictionRatePerSecondName = EUREKA_PREFIX + PREFIX + "evictionRatePerSecond";
+        public static final String evictionBurstSizeName = EUREKA_PREFIX + PREFIX + "evictionBurstSize";
+        public static final String evictionWindowMsName = EUREKA_PREFIX + PREFIX + "evictionWindowMs";
     }
 }
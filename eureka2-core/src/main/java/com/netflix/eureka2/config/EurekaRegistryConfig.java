@@ -5,4 +5,20 @@ package com.netflix.eureka2.config;
  */
 public interface EurekaRegistryConfig {
     int getEvictionAllowedPercentageDrop();
+
+    /**
+     * Sustained rate at which eviction permits are granted. A value <= 0 disables rate limiting.
+     */
+    int getEvictionRatePerSecond();
+
+    /**
+     * Maximum number of eviction permits that can be granted at once.
+     */
+    int getEvictionBurstSize();
+
+    /**
+     * Length of the sliding window, within which the registry size may not drop by more than
+     * {@link #getEvictionAllowedPercentageDrop()} percent, due to evictions.
+     */
+    long getEvictionWindowMs();
 }
@@ -37,4 +37,9 @@ public final class SystemConfigLoader {
 
         return result;
     }
+
+    public static boolean getFromSystemPropertySafe(String key, boolean defaultValue) {
+        String value = System.getProperty(key);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
 }
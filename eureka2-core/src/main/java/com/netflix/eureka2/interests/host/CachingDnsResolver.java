@@ -0,0 +1,210 @@
+/*
+ * Copyright 2015 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.eureka2.interests.host;
+
+import javax.naming.NamingException;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.netflix.eureka2.model.notification.ChangeNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rx.Observable;
+import rx.Observable.OnSubscribe;
+import rx.Scheduler;
+import rx.Scheduler.Worker;
+import rx.Subscriber;
+import rx.functions.Action0;
+import rx.schedulers.Schedulers;
+import rx.subjects.AsyncSubject;
+
+/**
+ * DNS resolver with a shared, TTL bound cache of resolved names. Lookups run on a small, dedicated thread pool,
+ * so DNS latency never blocks the caller, and concurrent requests for the same name are coalesced into
+ * a single lookup. Failed lookups are cached as well, for a shorter time, to avoid hammering a failing DNS server.
+ * If a refresh of a previously resolved name fails, the last known addresses are returned until the next retry.
+ * <p>
+ * The JNDI DNS provider does not expose the record TTLs, so the cache entries expire after the configured
+ * time to live.
+ */
+public class CachingDnsResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachingDnsResolver.class);
+
+    public static final long DEFAULT_TTL_MS = 30 * 1000;
+    public static final long DEFAULT_NEGATIVE_TTL_MS = 5 * 1000;
+    public static final int DEFAULT_LOOKUP_THREADS = 2;
+
+    private static final CachingDnsResolver DEFAULT_RESOLVER = new CachingDnsResolver(
+            DEFAULT_TTL_MS, DEFAULT_NEGATIVE_TTL_MS, TimeUnit.MILLISECONDS, Schedulers.from(newLookupExecutor(DEFAULT_LOOKUP_THREADS)));
+
+    private final long ttlMs;
+    private final long negativeTtlMs;
+    private final Scheduler scheduler;
+    private final DnsLookup dnsLookup;
+
+    private final ConcurrentMap<String, CacheEntry> cache = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AsyncSubject<Set<ChangeNotification<String>>>> pendingLookups = new ConcurrentHashMap<>();
+
+    public CachingDnsResolver(long ttl, long negativeTtl, TimeUnit timeUnit, Scheduler scheduler) {
+        this(ttl, negativeTtl, timeUnit, scheduler, new DnsLookup() {
+            @Override
+            public Set<ChangeNotification<String>> lookup(String domainName) throws NamingException {
+                return DnsResolver.resolveServerDN(domainName);
+            }
+        });
+    }
+
+    /* visible for testing */ CachingDnsResolver(long ttl, long negativeTtl, TimeUnit timeUnit, Scheduler scheduler, DnsLookup dnsLookup) {
+        this.ttlMs = timeUnit.toMillis(ttl);
+        this.negativeTtlMs = timeUnit.toMillis(negativeTtl);
+        this.scheduler = scheduler;
+        this.dnsLookup = dnsLookup;
+    }
+
+    /**
+     * @return resolver instance shared by all DNS based change notification sources and server resolvers
+     */
+    public static CachingDnsResolver getDefault() {
+        return DEFAULT_RESOLVER;
+    }
+
+    /**
+     * @return scheduler running the DNS lookups
+     */
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Emit the addresses of the given domain name, and complete. If the name is cached, the result is emitted
+     * immediately on the subscriber thread. Otherwise it is emitted from the lookup thread pool.
+     */
+    public Observable<Set<ChangeNotification<String>>> resolve(final String domainName) {
+        return Observable.create(new OnSubscribe<Set<ChangeNotification<String>>>() {
+            @Override
+            public void call(Subscriber<? super Set<ChangeNotification<String>>> subscriber) {
+                CacheEntry entry = cache.get(domainName);
+                if (entry != null && !entry.isExpired(scheduler.now())) {
+                    entry.emit(subscriber);
+                    return;
+                }
+                pendingLookupFor(domainName).subscribe(subscriber);
+            }
+        });
+    }
+
+    private Observable<Set<ChangeNotification<String>>> pendingLookupFor(final String domainName) {
+        AsyncSubject<Set<ChangeNotification<String>>> newLookup = AsyncSubject.create();
+        AsyncSubject<Set<ChangeNotification<String>>> pending = pendingLookups.putIfAbsent(domainName, newLookup);
+        if (pending != null) {
+            return pending;
+        }
+
+        final AsyncSubject<Set<ChangeNotification<String>>> lookupSubject = newLookup;
+        final Worker worker = scheduler.createWorker();
+        worker.schedule(new Action0() {
+            @Override
+            public void call() {
+                try {
+                    CacheEntry entry = lookup(domainName);
+                    pendingLookups.remove(domainName, lookupSubject);
+                    if (entry.error != null) {
+                        lookupSubject.onError(entry.error);
+                    } else {
+                        lookupSubject.onNext(entry.addresses);
+                        lookupSubject.onCompleted();
+                    }
+                } finally {
+                    worker.unsubscribe();
+                }
+            }
+        });
+        return lookupSubject;
+    }
+
+    private CacheEntry lookup(String domainName) {
+        CacheEntry entry;
+        try {
+            entry = new CacheEntry(Collections.unmodifiableSet(dnsLookup.lookup(domainName)), null, scheduler.now() + ttlMs);
+        } catch (NamingException e) {
+            CacheEntry previous = cache.get(domainName);
+            long expiresAt = scheduler.now() + negativeTtlMs;
+            if (previous != null && previous.error == null) {
+                logger.warn("DNS lookup of {} failed; using last known addresses {}", domainName, previous.addresses, e);
+                entry = new CacheEntry(previous.addresses, null, expiresAt);
+            } else {
+                entry = new CacheEntry(null, e, expiresAt);
+            }
+        } catch (RuntimeException e) {
+            NamingException namingException = new NamingException("DNS lookup of " + domainName + " failed");
+            namingException.setRootCause(e);
+            entry = new CacheEntry(null, namingException, scheduler.now() + negativeTtlMs);
+        }
+        cache.put(domainName, entry);
+        return entry;
+    }
+
+    private static ExecutorService newLookupExecutor(int threads) {
+        return Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private final AtomicInteger counter = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "eureka2-dns-resolver-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    interface DnsLookup {
+        Set<ChangeNotification<String>> lookup(String domainName) throws NamingException;
+    }
+
+    static class CacheEntry {
+        final Set<ChangeNotification<String>> addresses;
+        final NamingException error;
+        final long expiresAt;
+
+        CacheEntry(Set<ChangeNotification<String>> addresses, NamingException error, long expiresAt) {
+            this.addresses = addresses;
+            this.error = error;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+
+        void emit(Subscriber<? super Set<ChangeNotification<String>>> subscriber) {
+            if (error != null) {
+                subscriber.onError(error);
+            } else {
+                subscriber.onNext(addresses);
+                subscriber.onCompleted();
+            }
+        }
+    }
+}
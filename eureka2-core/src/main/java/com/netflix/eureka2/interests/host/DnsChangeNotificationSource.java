@@ -34,7 +34,9 @@ import rx.Scheduler;
 import rx.schedulers.Schedulers;
 
 /**
- * Change notification from DNS lookup.
+ * Change notification from DNS lookup. Lookups go through the shared {@link CachingDnsResolver}, so they run
+ * on its lookup thread pool, and are coalesced with concurrent lookups of the same name. The periodic reload
+ * task only waits for the result, so it must not run on the lookup pool itself.
  *
  * @author Tomasz Bak
  */
@@ -44,15 +46,27 @@ public class DnsChangeNotificationSource implements ChangeNotificationSource<Str
     public static final long IDLE_TIMEOUT = 300;
 
     private final String domainName;
+    private final CachingDnsResolver dnsResolver;
     private final Observable<ChangeNotification<String>> resolverObservable;
 
     public DnsChangeNotificationSource(String domainName) {
-        this(domainName, DNS_LOOKUP_INTERVAL, IDLE_TIMEOUT, TimeUnit.SECONDS, Schedulers.io());
+        this(domainName, DNS_LOOKUP_INTERVAL, IDLE_TIMEOUT, TimeUnit.SECONDS, CachingDnsResolver.getDefault());
+    }
+
+    public DnsChangeNotificationSource(String domainName, long reloadInterval, long idleTimeout, TimeUnit reloadUnit,
+                                       CachingDnsResolver dnsResolver) {
+        this(domainName, reloadInterval, idleTimeout, reloadUnit, dnsResolver, Schedulers.io());
     }
 
     public DnsChangeNotificationSource(String domainName, long reloadInterval, long idleTimeout, TimeUnit reloadUnit,
                                        Scheduler scheduler) {
+        this(domainName, reloadInterval, idleTimeout, reloadUnit, CachingDnsResolver.getDefault(), scheduler);
+    }
+
+    private DnsChangeNotificationSource(String domainName, long reloadInterval, long idleTimeout, TimeUnit reloadUnit,
+                                        CachingDnsResolver dnsResolver, Scheduler scheduler) {
         this.domainName = domainName;
+        this.dnsResolver = dnsResolver;
         if ("localhost".equals(domainName)) {
             this.resolverObservable = Observable.just(new ChangeNotification<>(Kind.Add, domainName));
         } else {
@@ -80,14 +94,16 @@ public class DnsChangeNotificationSource implements ChangeNotificationSource<Str
         @Override
         public ResourceUpdate<ChangeNotification<String>> reload(Set<ChangeNotification<String>> currentSnapshot) {
             try {
-                Set<ChangeNotification<String>> newAddresses = DnsResolver.resolveServerDN(domainName);
+                Set<ChangeNotification<String>> newAddresses = dnsResolver.resolve(domainName).toBlocking().first();
                 succeededOnce = true;
                 return new ResourceUpdate<>(newAddresses, cancellationSet(currentSnapshot, newAddresses), sentinel);
-            } catch (NamingException e) {
+            } catch (RuntimeException e) {
+                // Checked lookup errors are wrapped by the blocking observable
+                Throwable cause = e.getCause() instanceof NamingException ? e.getCause() : e;
                 if (succeededOnce) {
-                    throw new ResourceLoaderException("DNS failure on subsequent access", true, e);
+                    throw new ResourceLoaderException("DNS failure on subsequent access", true, cause);
                 } else {
-                    throw new ResourceLoaderException("Cannot resolve DNS entry on startup", false, e);
+                    throw new ResourceLoaderException("Cannot resolve DNS entry on startup", false, cause);
                 }
             }
         }
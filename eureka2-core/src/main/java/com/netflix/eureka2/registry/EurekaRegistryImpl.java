@@ -1,13 +1,18 @@
 package com.netflix.eureka2.registry;
 
 import javax.inject.Inject;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.concurrent.atomic.AtomicLong;
 
 import com.netflix.eureka2.model.interest.Interest;
+import com.netflix.eureka2.model.interest.MetadataInterest;
 import com.netflix.eureka2.model.interest.MultipleInterests;
+import com.netflix.eureka2.model.interest.StatusFilteredInterest;
+import com.netflix.eureka2.model.interest.ZoneAffinityInterest;
 import com.netflix.eureka2.metric.EurekaRegistryMetricFactory;
 import com.netflix.eureka2.metric.EurekaRegistryMetrics;
 import com.netflix.eureka2.model.InstanceModel;
@@ -20,6 +25,10 @@ import com.netflix.eureka2.model.notification.StreamStateNotification;
 import com.netflix.eureka2.registry.index.IndexRegistry;
 import com.netflix.eureka2.registry.index.IndexRegistryImpl;
 import com.netflix.eureka2.registry.index.InstanceInfoInitStateHolder;
+import com.netflix.eureka2.registry.index.PatternInterestDispatcher;
+import com.netflix.eureka2.registry.index.StatusTransitionFunc;
+import com.netflix.eureka2.registry.index.ZoneAffinityFunc;
+import com.netflix.eureka2.registry.index.ZoneAffinityInitStateHolder;
 import com.netflix.eureka2.utils.ExtCollections;
 import com.netflix.eureka2.utils.functions.BufferMarkerMergeFunctions;
 import com.netflix.eureka2.utils.functions.RxFunctions;
@@ -46,6 +55,8 @@ public class EurekaRegistryImpl implements EurekaRegistry<InstanceInfo> {
     protected final Scheduler.Worker worker;  // worker to schedule on for all work to the internal datastores
     protected final Source localSource = InstanceModel.getDefaultModel().createSource(Source.Origin.LOCAL);
     protected final EurekaRegistryMetrics metrics;
+    protected final InstanceMetadataIndex metadataIndex = new InstanceMetadataIndex();
+    protected final PatternInterestDispatcher patternDispatcher = new PatternInterestDispatcher();
 
     private final BufferMarkerMergeFunctions bufferMergeFunc = new BufferMarkerMergeFunctions(logger);
 
@@ -77,6 +88,7 @@ public class EurekaRegistryImpl implements EurekaRegistry<InstanceInfo> {
         this.indexRegistry = indexRegistry;
         this.worker = scheduler.createWorker();
         this.registryChangeSubject = PauseableSubject.create();
+        this.registryChangeSubject.subscribe(patternDispatcher);
 
         this.metrics = metricFactory.getEurekaServerRegistryMetrics();
     }
@@ -113,18 +125,14 @@ public class EurekaRegistryImpl implements EurekaRegistry<InstanceInfo> {
                         ChangeNotification<InstanceInfo>[] notifications = internalStore.update(instanceInfo, source);
                         if (notifications.length != 0) {
                             metrics.setRegistrySize(internalStore.size());
-                            for (ChangeNotification<InstanceInfo> n : notifications) {
-                                registryChangeSubject.onNext(n);
-                            }
+                            publish(instanceInfo.getId(), notifications);
                         }
                         break;
                     case Delete:
                         notifications = internalStore.remove(instanceInfo.getId(), source);
                         if (notifications.length != 0) {
                             metrics.setRegistrySize(internalStore.size());
-                            for (ChangeNotification<InstanceInfo> n : notifications) {
-                                registryChangeSubject.onNext(n);
-                            }
+                            publish(instanceInfo.getId(), notifications);
                         }
                         break;
                     default:
@@ -138,6 +146,22 @@ public class EurekaRegistryImpl implements EurekaRegistry<InstanceInfo> {
         }
     }
 
+    /**
+     * Bring the metadata index up to date with the registry content for the given instance id, prior to
+     * sending the change notifications to the subscribers.
+     */
+    private void publish(String id, ChangeNotification<InstanceInfo>[] notifications) {
+        if (notifications.length == 0) {
+            return;
+        }
+        MultiSourcedDataHolder<InstanceInfo> holder = internalStore.get(id);
+        ChangeNotification<InstanceInfo> current = holder == null ? null : holder.getChangeNotification();
+        metadataIndex.update(id, current == null ? null : current.getData());
+        for (ChangeNotification<InstanceInfo> n : notifications) {
+            registryChangeSubject.onNext(n);
+        }
+    }
+
     @Override
     public Observable<Void> connect(final Source source, Observable<ChangeNotification<InstanceInfo>> registrationUpdates) {
         return registrationUpdates
@@ -180,11 +204,14 @@ public class EurekaRegistryImpl implements EurekaRegistry<InstanceInfo> {
                     worker.schedule(new Action0() {
                         @Override
                         public void call() {
-                            metrics.setRegistrySize(internalStore.size());
-                            for (ChangeNotification<InstanceInfo> notification : internalStore.remove(holder.get(source).getId(), source)) {
-                                registryChangeSubject.onNext(notification);
+                            // The copy may have been removed by an update processed after this eviction was scheduled
+                            InstanceInfo copy = holder.get(source);
+                            if (copy == null) {
+                                return;
                             }
                             metrics.setRegistrySize(internalStore.size());
+                            publish(holder.getId(), internalStore.remove(copy.getId(), source));
+                            metrics.setRegistrySize(internalStore.size());
                             evictionResult.onNext(count.incrementAndGet());
                         }
                     });
@@ -226,7 +253,7 @@ public class EurekaRegistryImpl implements EurekaRegistry<InstanceInfo> {
      */
     @Override
     public Observable<InstanceInfo> forSnapshot(final Interest<InstanceInfo> interest) {
-        return Observable.from(internalStore.values())
+        return Observable.from(candidateHoldersFor(interest))
                 .map(new Func1<MultiSourcedDataHolder<InstanceInfo>, InstanceInfo>() {
                     @Override
                     public InstanceInfo call(MultiSourcedDataHolder<InstanceInfo> holder) {
@@ -304,8 +331,23 @@ public class EurekaRegistryImpl implements EurekaRegistry<InstanceInfo> {
             if (interest instanceof MultipleInterests) {
                 return indexRegistry.forCompositeInterest((MultipleInterests) interest, this);
             } else {
-                return indexRegistry.forInterest(interest, registryChangeSubject,
-                        new InstanceInfoInitStateHolder(currentSnapshot, interest));
+                if (interest instanceof ZoneAffinityInterest) {
+                    ZoneAffinityInterest<InstanceInfo> zoneInterest = (ZoneAffinityInterest<InstanceInfo>) interest;
+                    ZoneAffinityFunc zoneAffinityFunc = new ZoneAffinityFunc(zoneInterest, currentSnapshot);
+                    return indexRegistry.forInterest(
+                            interest,
+                            registryChangeSubject.flatMap(zoneAffinityFunc),
+                            new ZoneAffinityInitStateHolder(zoneAffinityFunc.visibleSnapshot(), zoneInterest)
+                    );
+                }
+                InstanceInfoInitStateHolder initStateHolder = new InstanceInfoInitStateHolder(currentSnapshot, interest);
+                Observable<ChangeNotification<InstanceInfo>> dataSource = registryChangeSubject;
+                if (interest instanceof StatusFilteredInterest) {
+                    dataSource = registryChangeSubject.map(new StatusTransitionFunc((StatusFilteredInterest<InstanceInfo>) interest, initStateHolder));
+                } else if (PatternInterestDispatcher.isDispatched(interest)) {
+                    dataSource = patternDispatcher.forInterest(interest);
+                }
+                return indexRegistry.forInterest(interest, dataSource, initStateHolder);
             }
         } finally {
             registryChangeSubject.resume();
@@ -314,10 +356,35 @@ public class EurekaRegistryImpl implements EurekaRegistry<InstanceInfo> {
 
 
     private Iterator<ChangeNotification<InstanceInfo>> getSnapshotForInterest(final Interest<InstanceInfo> interest) {
-        final Collection<MultiSourcedDataHolder<InstanceInfo>> eurekaHolders = internalStore.values();
+        final Collection<MultiSourcedDataHolder<InstanceInfo>> eurekaHolders = candidateHoldersFor(interest);
         return new FilteredIterator(interest, eurekaHolders.iterator());
     }
 
+    /**
+     * Metadata interests are resolved from the metadata index, instead of a full registry scan. The candidates
+     * are still verified with the interest matcher, as the index may change while the snapshot is taken.
+     */
+    private Collection<MultiSourcedDataHolder<InstanceInfo>> candidateHoldersFor(Interest<InstanceInfo> interest) {
+        if (interest instanceof StatusFilteredInterest) {
+            return candidateHoldersFor(((StatusFilteredInterest<InstanceInfo>) interest).getInterest());
+        }
+        if (interest instanceof ZoneAffinityInterest) {
+            return candidateHoldersFor(((ZoneAffinityInterest<InstanceInfo>) interest).getInterest());
+        }
+        if (!(interest instanceof MetadataInterest)) {
+            return internalStore.values();
+        }
+        MetadataInterest<InstanceInfo> metadataInterest = (MetadataInterest<InstanceInfo>) interest;
+        List<MultiSourcedDataHolder<InstanceInfo>> holders = new ArrayList<>();
+        for (String id : metadataIndex.lookup(metadataInterest.getKey(), metadataInterest.getPattern())) {
+            MultiSourcedDataHolder<InstanceInfo> holder = internalStore.get(id);
+            if (holder != null) {
+                holders.add(holder);
+            }
+        }
+        return holders;
+    }
+
     @Override
     public Source getSource() {
         return localSource;
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.eureka2.registry;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.netflix.eureka2.model.instance.InstanceInfo;
+
+/**
+ * Inverted index of instance metadata entries (key -> value -> instance ids), used to resolve
+ * metadata interest snapshots without scanning the whole registry. The index is updated from
+ * the registry's single processing thread, and read concurrently by interest subscribers.
+ */
+public class InstanceMetadataIndex {
+
+    private final ConcurrentMap<String, ConcurrentMap<String, Set<String>>> idsByKeyValue = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Map<String, String>> indexedMetadata = new ConcurrentHashMap<>();
+
+    /**
+     * Replace index entries of the given instance with its current metadata.
+     *
+     * @param current current registry content for the instance id, or null if the instance was removed
+     */
+    public void update(String id, InstanceInfo current) {
+        Map<String, String> newMetadata = current == null ? null : current.getMetaData();
+        if (newMetadata != null && newMetadata.isEmpty()) {
+            newMetadata = null;
+        }
+        Map<String, String> oldMetadata = newMetadata == null ? indexedMetadata.remove(id) : indexedMetadata.put(id, newMetadata);
+        if (oldMetadata == newMetadata) {
+            return;
+        }
+        if (oldMetadata != null) {
+            for (Map.Entry<String, String> entry : oldMetadata.entrySet()) {
+                if (newMetadata == null || !entry.getValue().equals(newMetadata.get(entry.getKey()))) {
+                    removeEntry(entry.getKey(), entry.getValue(), id);
+                }
+            }
+        }
+        if (newMetadata != null) {
+            for (Map.Entry<String, String> entry : newMetadata.entrySet()) {
+                if (entry.getKey() != null && entry.getValue() != null) {
+                    addEntry(entry.getKey(), entry.getValue(), id);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return ids of instances that have the given metadata entry. The returned set is a live view.
+     */
+    public Set<String> lookup(String key, String value) {
+        ConcurrentMap<String, Set<String>> valueMap = idsByKeyValue.get(key);
+        Set<String> ids = valueMap == null ? null : valueMap.get(value);
+        return ids == null ? Collections.<String>emptySet() : ids;
+    }
+
+    public int size() {
+        return indexedMetadata.size();
+    }
+
+    private void addEntry(String key, String value, String id) {
+        ConcurrentMap<String, Set<String>> valueMap = idsByKeyValue.get(key);
+        if (valueMap == null) {
+            valueMap = new ConcurrentHashMap<>();
+            idsByKeyValue.put(key, valueMap);
+        }
+        Set<String> ids = valueMap.get(value);
+        if (ids == null) {
+            ids = ConcurrentHashMap.newKeySet();
+            valueMap.put(value, ids);
+        }
+        ids.add(id);
+    }
+
+    private void removeEntry(String key, String value, String id) {
+        ConcurrentMap<String, Set<String>> valueMap = idsByKeyValue.get(key);
+        if (valueMap == null) {
+            return;
+        }
+        Set<String> ids = valueMap.get(value);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            valueMap.remove(value);
+            if (valueMap.isEmpty()) {
+                idsByKeyValue.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.eureka2.registry.index;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.netflix.eureka2.model.Source;
+import com.netflix.eureka2.model.Sourced;
+import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.notification.ChangeNotification;
+import com.netflix.eureka2.model.notification.ChangeNotification.Kind;
+import com.netflix.eureka2.model.notification.SourcedChangeNotification;
+import rx.Observable;
+import rx.Observer;
+import rx.Producer;
+import rx.Subscriber;
+
+/**
+ * Buffer for real time changes of an {@link Index} subscription, holding them while the initial state is replayed,
+ * and afterwards as long as the subscriber has no outstanding demand.
+ *
+ * Pending changes are kept per instance and source, so a new change of an instance replaces the pending one
+ * at its position in the queue, instead of being queued after it. Two changes are merged into the latest one if it is a delete, or into an add
+ * with the latest data otherwise (modify notifications carry deltas relative to the previous version, so they
+ * can not be merged). The buffer size is thus bounded by the number of instances matching the interest, not by
+ * the rate of changes or the time the subscriber takes to consume them.
+ *
+ * The buffer has a single subscriber, which receives changes only as requested.
+ *
+ * @param <T> Type of data held in the change notifications.
+ */
+public class CompactingChangeBuffer<T> implements Observer<ChangeNotification<T>> {
+
+    private final Object lock = new Object();
+    private final LinkedHashMap<Object, ChangeNotification<T>> pending = new LinkedHashMap<>();
+    private boolean done;
+    private Throwable error;
+
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private volatile Subscriber<? super ChangeNotification<T>> subscriber;
+
+    private final Observable<ChangeNotification<T>> observable = Observable.create(new Observable.OnSubscribe<ChangeNotification<T>>() {
+        @Override
+        public void call(Subscriber<? super ChangeNotification<T>> newSubscriber) {
+            synchronized (lock) {
+                if (subscriber != null) {
+                    newSubscriber.onError(new IllegalStateException("Only one subscriber allowed"));
+                    return;
+                }
+                subscriber = newSubscriber;
+            }
+            newSubscriber.setProducer(new Producer() {
+                @Override
+                public void request(long n) {
+                    if (n < 0) {
+                        throw new IllegalArgumentException("Negative request " + n);
+                    }
+                    if (n > 0) {
+                        addRequested(n);
+                        drain();
+                    }
+                }
+            });
+        }
+    });
+
+    public Observable<ChangeNotification<T>> asObservable() {
+        return observable;
+    }
+
+    /**
+     * @return number of changes not yet delivered to the subscriber
+     */
+    public int size() {
+        synchronized (lock) {
+            return pending.size();
+        }
+    }
+
+    @Override
+    public void onNext(ChangeNotification<T> notification) {
+        synchronized (lock) {
+            if (done) {
+                return;
+            }
+            if (notification.isDataNotification()) {
+                Object key = keyOf(notification);
+                // Replaced in place, so the change never moves past the buffer markers queued after the previous one
+                pending.put(key, pending.containsKey(key) ? merge(notification) : notification);
+            } else {
+                // Stream state notifications delimit batches of data, so they are never merged
+                pending.put(new Object(), notification);
+            }
+        }
+        drain();
+    }
+
+    @Override
+    public void onCompleted() {
+        synchronized (lock) {
+            done = true;
+        }
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable e) {
+        synchronized (lock) {
+            error = e;
+            done = true;
+        }
+        drain();
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        do {
+            Subscriber<? super ChangeNotification<T>> current = subscriber;
+            if (current != null) {
+                long toEmit = requested.get();
+                long emitted = 0;
+                while (true) {
+                    if (current.isUnsubscribed()) {
+                        return;
+                    }
+                    ChangeNotification<T> next = null;
+                    boolean terminated;
+                    Throwable terminalError;
+                    synchronized (lock) {
+                        if (emitted != toEmit && !pending.isEmpty()) {
+                            Iterator<ChangeNotification<T>> it = pending.values().iterator();
+                            next = it.next();
+                            it.remove();
+                        }
+                        terminated = done && pending.isEmpty();
+                        terminalError = error;
+                    }
+                    if (next != null) {
+                        current.onNext(next);
+                        emitted++;
+                    } else if (terminated) {
+                        // Leave the work counter set, so no other notification is delivered afterwards
+                        if (terminalError != null) {
+                            current.onError(terminalError);
+                        } else {
+                            current.onCompleted();
+                        }
+                        return;
+                    } else {
+                        break;
+                    }
+                }
+                if (emitted > 0 && toEmit != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+            }
+        } while (wip.decrementAndGet() != 0);
+    }
+
+    private void addRequested(long n) {
+        while (true) {
+            long current = requested.get();
+            long next = current + n;
+            if (next < 0) {
+                next = Long.MAX_VALUE;
+            }
+            if (requested.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    private static <T> Object keyOf(ChangeNotification<T> notification) {
+        T data = notification.getData();
+        Object id = data instanceof InstanceInfo ? ((InstanceInfo) data).getId() : data;
+        Source source = notification instanceof Sourced ? ((Sourced) notification).getSource() : null;
+        return Arrays.asList(id, source);
+    }
+
+    private static <T> ChangeNotification<T> merge(ChangeNotification<T> latest) {
+        if (latest.getKind() != Kind.Modify) {
+            return latest;
+        }
+        if (latest instanceof Sourced) {
+            return new SourcedChangeNotification<>(Kind.Add, latest.getData(), ((Sourced) latest).getSource());
+        }
+        return new ChangeNotification<>(Kind.Add, latest.getData());
+    }
+}
@@ -4,7 +4,6 @@ import java.util.Iterator;
 
 import com.netflix.eureka2.model.notification.ChangeNotification;
 import com.netflix.eureka2.model.interest.Interest;
-import com.netflix.eureka2.utils.rx.PauseableSubject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rx.Observable;
@@ -67,7 +66,14 @@ import rx.subjects.Subject;
  *
  * We cache all change notifications from the real time data source, till all the notifications from the initial data
  * source is sent to the subscriber. Hence, the change notifications from the real time data source never reaches the
- * subscriber till the init state is completed.
+ * subscriber till the init state is completed. The cached notifications are compacted per instance (see
+ * {@link CompactingChangeBuffer}), so their number is bounded by the size of the index, and not by the time it takes
+ * to replay the init state.
+ *
+ * <h2>Backpressure</h2>
+ *
+ * Both sources emit notifications only as requested by the subscriber. Real time changes arriving while the
+ * subscriber has no outstanding demand are kept in the compacting buffer.
  *
  * @author Nitesh Kant
  */
@@ -86,22 +92,19 @@ public class Index<T> extends Subject<ChangeNotification<T>, ChangeNotification<
                 // Because new instance holder updates will be added while we replay them, they will be
                 // partially visible by the subscriber. When we replay buffered real time updates,
                 // they may overlap with what was already sent from the init holder.
-                // TODO can we make this buffering cheaper?
-                final PauseableSubject<ChangeNotification<T>> realTimeSubject = PauseableSubject.create();
-                realTimeSubject.pause();
-                final Subscription realTimeSubscription = dataSourceSubject.subscribe(realTimeSubject);
+                // Buffered changes are compacted per instance, and both sources are emitted only as
+                // requested by the subscriber, so a slow subscriber does not grow the buffer without limit.
+                final CompactingChangeBuffer<T> realTimeBuffer = new CompactingChangeBuffer<>();
+                final Subscription realTimeSubscription = dataSourceSubject.subscribe(realTimeBuffer);
 
-                realTimeSubject.mergeWith(Observable.from(initStateHolder).doOnCompleted(new Action0() {
-                    @Override
-                    public void call() {
-                        realTimeSubject.resume();
-                    }
-                })).doOnUnsubscribe(new Action0() {
-                    @Override
-                    public void call() {
-                        realTimeSubscription.unsubscribe();
-                    }
-                }).subscribe(subscriber);
+                Observable.from(initStateHolder)
+                        .concatWith(realTimeBuffer.asObservable())
+                        .doOnUnsubscribe(new Action0() {
+                            @Override
+                            public void call() {
+                                realTimeSubscription.unsubscribe();
+                            }
+                        }).subscribe(subscriber);
             }
         });
 
@@ -1,8 +1,12 @@
 package com.netflix.eureka2.registry.index;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.netflix.eureka2.model.interest.Interest;
 import com.netflix.eureka2.model.Source;
@@ -22,6 +26,11 @@ import static com.netflix.eureka2.utils.ExtCollections.concat;
  * An {@link Index.InitStateHolder} implementation for {@link InstanceInfo}.
  * As the cached state is backed by {@link ConcurrentHashMap}, the order of notifications
  * is not preserved, which is fine as there is exactly one item per {@link InstanceInfo} object.
+ * <p>
+ * The content is versioned, and the snapshot of a given version is materialized at most once, when the first
+ * subscriber asks for it. All subsequent subscribers up to the next change share it, which avoids repeated
+ * iterations over the same content when many clients subscribe at the same time (for example during a
+ * reconnect storm after a read server fleet restart).
  *
  * @author Nitesh Kant
  */
@@ -39,6 +48,9 @@ public class InstanceInfoInitStateHolder extends Index.InitStateHolder<InstanceI
     protected final ChangeNotification<InstanceInfo> bufferEndNotification;
     protected final ChangeNotification<InstanceInfo> bufferUnknownNotification;
 
+    private final AtomicLong version = new AtomicLong();
+    private volatile VersionedSnapshot cachedSnapshot;
+
     public InstanceInfoInitStateHolder(Iterator<ChangeNotification<InstanceInfo>> initialRegistry, Interest<InstanceInfo> interest) {
         this.bufferStartNotification = new StreamStateNotification<>(BufferState.BufferStart, interest);
         this.bufferEndNotification = new StreamStateNotification<>(BufferState.BufferEnd, interest);
@@ -62,8 +74,10 @@ public class InstanceInfoInitStateHolder extends Index.InitStateHolder<InstanceI
             ChangeNotification<InstanceInfo> updated = processNext(current, notification);
             if (updated != null) {
                 notificationMap.put(id, updated);
+                version.incrementAndGet();
             } else if (current != null) {
                 notificationMap.remove(id);
+                version.incrementAndGet();
             }
         } else if (notification instanceof StreamStateNotification) {
             StreamStateNotification<InstanceInfo> stateNotification = (StreamStateNotification<InstanceInfo>) notification;
@@ -88,20 +102,51 @@ public class InstanceInfoInitStateHolder extends Index.InitStateHolder<InstanceI
         } // else, no-op
     }
 
+    /**
+     * Returns the notification of the given instance, as it would be sent to a new subscriber, or null if
+     * the instance is not part of the index content.
+     */
+    ChangeNotification<InstanceInfo> getCurrent(String id) {
+        return notificationMap.get(id);
+    }
+
     @Override
     public void clearAllNotifications() {
         notificationMap.clear();
+        version.incrementAndGet();
     }
 
     @Override
     public Iterator<ChangeNotification<InstanceInfo>> _newIterator() {
         return concat(
                 bufferStarts.values().iterator(),
-                notificationMap.values().iterator(),
+                currentSnapshot().iterator(),
                 bufferEnds.values().iterator()
         );
     }
 
+    /**
+     * Version is read before the content is copied, so a snapshot may contain changes newer than its version.
+     * This is safe, as such a snapshot is never reused after the version is updated, and the index delivers
+     * these changes to the subscriber again from its real time stream.
+     */
+    List<ChangeNotification<InstanceInfo>> currentSnapshot() {
+        long currentVersion = version.get();
+        VersionedSnapshot snapshot = cachedSnapshot;
+        if (snapshot == null || snapshot.version != currentVersion) {
+            snapshot = new VersionedSnapshot(currentVersion, orderSnapshot(new ArrayList<>(notificationMap.values())));
+            cachedSnapshot = snapshot;
+        }
+        return snapshot.notifications;
+    }
+
+    /**
+     * Order of notifications in a materialized snapshot. By default it is the iteration order of the backing map.
+     */
+    protected List<ChangeNotification<InstanceInfo>> orderSnapshot(List<ChangeNotification<InstanceInfo>> notifications) {
+        return notifications;
+    }
+
     private static ChangeNotification<InstanceInfo> processNext(ChangeNotification<InstanceInfo> current,
                                                                 ChangeNotification<InstanceInfo> update) {
         switch (update.getKind()) {
@@ -138,4 +183,15 @@ public class InstanceInfoInitStateHolder extends Index.InitStateHolder<InstanceI
                 return source.getOriginNamePair();
         }
     }
+
+    private static class VersionedSnapshot {
+
+        private final long version;
+        private final List<ChangeNotification<InstanceInfo>> notifications;
+
+        private VersionedSnapshot(long version, List<ChangeNotification<InstanceInfo>> notifications) {
+            this.version = version;
+            this.notifications = Collections.unmodifiableList(notifications);
+        }
+    }
 }
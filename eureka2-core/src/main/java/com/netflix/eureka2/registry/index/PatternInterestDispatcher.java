@@ -0,0 +1,129 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.eureka2.registry.index;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.interest.Interest;
+import com.netflix.eureka2.model.interest.Interest.Operator;
+import com.netflix.eureka2.model.interest.Interest.QueryType;
+import com.netflix.eureka2.model.interest.LikePattern;
+import com.netflix.eureka2.model.interest.MultiPatternMatcher;
+import com.netflix.eureka2.model.interest.StatusFilteredInterest;
+import com.netflix.eureka2.model.notification.ChangeNotification;
+import rx.Observable;
+import rx.Observer;
+import rx.subjects.PublishSubject;
+
+/**
+ * Routes registry change notifications to the indexes of application, vip, secure vip and instance interests.
+ * Instead of each index evaluating its interest against every registry change, the patterns of all registered
+ * interests of a given type are matched against the instance value in one pass with {@link MultiPatternMatcher},
+ * and the notification is sent to the matching indexes only. Stream state notifications are sent to all of them.
+ * <p>
+ * Indexes are never removed from the index registry, so neither are the interests registered here.
+ */
+public class PatternInterestDispatcher implements Observer<ChangeNotification<InstanceInfo>> {
+
+    private final Map<QueryType, MultiPatternMatcher<Interest<InstanceInfo>>> matchers = new EnumMap<>(QueryType.class);
+    private final ConcurrentHashMap<Interest<InstanceInfo>, PublishSubject<ChangeNotification<InstanceInfo>>> interestSubjects = new ConcurrentHashMap<>();
+
+    public PatternInterestDispatcher() {
+        matchers.put(QueryType.Application, new MultiPatternMatcher<Interest<InstanceInfo>>());
+        matchers.put(QueryType.Vip, new MultiPatternMatcher<Interest<InstanceInfo>>());
+        matchers.put(QueryType.SecureVip, new MultiPatternMatcher<Interest<InstanceInfo>>());
+        matchers.put(QueryType.Instance, new MultiPatternMatcher<Interest<InstanceInfo>>());
+    }
+
+    public static boolean isDispatched(Interest<InstanceInfo> interest) {
+        if (!interest.isAtomicInterest() || interest instanceof StatusFilteredInterest) {
+            return false;
+        }
+        switch (interest.getQueryType()) {
+            case Application:
+            case Vip:
+            case SecureVip:
+            case Instance:
+                return interest.getPattern() != null && interest.getOperator() != null;
+        }
+        return false;
+    }
+
+    /**
+     * Returns stream of registry changes matching the given interest. The interest must be one for which
+     * {@link #isDispatched(Interest)} is true.
+     */
+    public Observable<ChangeNotification<InstanceInfo>> forInterest(Interest<InstanceInfo> interest) {
+        PublishSubject<ChangeNotification<InstanceInfo>> subject = interestSubjects.get(interest);
+        if (subject == null) {
+            PublishSubject<ChangeNotification<InstanceInfo>> newSubject = PublishSubject.create();
+            subject = interestSubjects.putIfAbsent(interest, newSubject);
+            if (subject == null) {
+                subject = newSubject;
+                LikePattern pattern = interest.getOperator() == Operator.Like
+                        ? LikePattern.compile(interest.getPattern())
+                        : LikePattern.literal(interest.getPattern());
+                matchers.get(interest.getQueryType()).add(interest, pattern);
+            }
+        }
+        return subject;
+    }
+
+    @Override
+    public void onNext(ChangeNotification<InstanceInfo> notification) {
+        if (!notification.isDataNotification()) {
+            for (PublishSubject<ChangeNotification<InstanceInfo>> subject : interestSubjects.values()) {
+                subject.onNext(notification);
+            }
+            return;
+        }
+        InstanceInfo instanceInfo = notification.getData();
+        for (Map.Entry<QueryType, MultiPatternMatcher<Interest<InstanceInfo>>> entry : matchers.entrySet()) {
+            for (Interest<InstanceInfo> interest : entry.getValue().match(valueOf(entry.getKey(), instanceInfo))) {
+                interestSubjects.get(interest).onNext(notification);
+            }
+        }
+    }
+
+    @Override
+    public void onCompleted() {
+        for (PublishSubject<ChangeNotification<InstanceInfo>> subject : interestSubjects.values()) {
+            subject.onCompleted();
+        }
+    }
+
+    @Override
+    public void onError(Throwable e) {
+        for (PublishSubject<ChangeNotification<InstanceInfo>> subject : interestSubjects.values()) {
+            subject.onError(e);
+        }
+    }
+
+    private static String valueOf(QueryType queryType, InstanceInfo instanceInfo) {
+        switch (queryType) {
+            case Application:
+                return instanceInfo.getApp();
+            case Vip:
+                return instanceInfo.getVipAddress();
+            case SecureVip:
+                return instanceInfo.getSecureVipAddress();
+        }
+        return instanceInfo.getId();
+    }
+}
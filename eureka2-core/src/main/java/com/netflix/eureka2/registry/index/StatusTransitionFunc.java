@@ -0,0 +1,69 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.eureka2.registry.index;
+
+import com.netflix.eureka2.model.Sourced;
+import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.interest.StatusFilteredInterest;
+import com.netflix.eureka2.model.notification.ChangeNotification;
+import com.netflix.eureka2.model.notification.ChangeNotification.Kind;
+import com.netflix.eureka2.model.notification.SourcedChangeNotification;
+import rx.functions.Func1;
+
+/**
+ * Rewrites registry change notifications for an index of a {@link StatusFilteredInterest}, so instances entering
+ * or leaving the filtered status set through a modify are added to, or removed from the subscribers view.
+ * An instance is part of the view if it is present in the index init state holder, which is updated with
+ * the output of this function prior to any subscriber. All notifications are processed by the single registry
+ * processing thread, so the holder content always reflects the previously emitted notifications.
+ * The delete is scoped to this interest view only. A server forwards it to a client only if the instance is
+ * not visible through any other interest of the same client.
+ */
+public class StatusTransitionFunc implements Func1<ChangeNotification<InstanceInfo>, ChangeNotification<InstanceInfo>> {
+
+    private final StatusFilteredInterest<InstanceInfo> interest;
+    private final InstanceInfoInitStateHolder initStateHolder;
+
+    public StatusTransitionFunc(StatusFilteredInterest<InstanceInfo> interest, InstanceInfoInitStateHolder initStateHolder) {
+        this.interest = interest;
+        this.initStateHolder = initStateHolder;
+    }
+
+    @Override
+    public ChangeNotification<InstanceInfo> call(ChangeNotification<InstanceInfo> notification) {
+        if (!notification.isDataNotification() || notification.getKind() == Kind.Delete) {
+            return notification;
+        }
+        InstanceInfo instanceInfo = notification.getData();
+        ChangeNotification<InstanceInfo> current = initStateHolder.getCurrent(instanceInfo.getId());
+        boolean matches = interest.matches(instanceInfo);
+        if (matches && current == null && notification.getKind() == Kind.Modify) {
+            return withKind(notification, Kind.Add, instanceInfo);
+        }
+        if (!matches && current != null) {
+            // Delete with the last visible version, which is matching the interest
+            return withKind(notification, Kind.Delete, current.getData());
+        }
+        return notification;
+    }
+
+    private static ChangeNotification<InstanceInfo> withKind(ChangeNotification<InstanceInfo> notification, Kind kind, InstanceInfo data) {
+        if (notification instanceof Sourced) {
+            return new SourcedChangeNotification<>(kind, data, ((Sourced) notification).getSource());
+        }
+        return new ChangeNotification<>(kind, data);
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.eureka2.registry.index;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import com.netflix.eureka2.model.Sourced;
+import com.netflix.eureka2.model.datacenter.AwsDataCenterInfo;
+import com.netflix.eureka2.model.datacenter.DataCenterInfo;
+import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.instance.InstanceInfo.Status;
+import com.netflix.eureka2.model.interest.Interest;
+import com.netflix.eureka2.model.interest.ZoneAffinityInterest;
+import com.netflix.eureka2.model.notification.ChangeNotification;
+import com.netflix.eureka2.model.notification.ChangeNotification.Kind;
+import com.netflix.eureka2.model.notification.SourcedChangeNotification;
+import rx.Observable;
+import rx.functions.Func1;
+
+/**
+ * Rewrites registry change notifications for an index of a {@link ZoneAffinityInterest}. The function tracks all
+ * instances matching the underlying interest, and keeps the number of UP instances in the interest zone up to
+ * date with each change, so the failover decision costs nothing extra per notification. While instances of other
+ * zones are excluded, their changes are not sent. When the zone UP count drops below the threshold, all tracked
+ * instances of other zones are sent as adds, and when it is restored, they are sent as deletes. A modify taking an
+ * instance in or out of the view is sent as an add or delete, the same way as in {@link StatusTransitionFunc}.
+ * All notifications are processed by the single registry processing thread. As with status filtered interests,
+ * a server forwards the deletes to a client only for instances not visible through its other interests.
+ */
+public class ZoneAffinityFunc implements Func1<ChangeNotification<InstanceInfo>, Observable<ChangeNotification<InstanceInfo>>> {
+
+    private final Interest<InstanceInfo> interest;
+    private final String zone;
+    private final int minLocalUpInstances;
+
+    private final List<ChangeNotification<InstanceInfo>> initialStreamStates = new ArrayList<>();
+    private final Map<String, ChangeNotification<InstanceInfo>> localInstances = new HashMap<>();
+    private final Map<String, ChangeNotification<InstanceInfo>> otherZoneInstances = new HashMap<>();
+    private int localUpCount;
+    private boolean failover;
+
+    public ZoneAffinityFunc(ZoneAffinityInterest<InstanceInfo> interest, Iterator<ChangeNotification<InstanceInfo>> initialRegistry) {
+        this.interest = interest.getInterest();
+        this.zone = interest.getZone();
+        this.minLocalUpInstances = interest.getMinLocalUpInstances();
+        while (initialRegistry.hasNext()) {
+            ChangeNotification<InstanceInfo> notification = initialRegistry.next();
+            if (notification.isDataNotification()) {
+                track(notification);
+            } else {
+                initialStreamStates.add(notification);
+            }
+        }
+        this.failover = isFailover();
+    }
+
+    /**
+     * Registry snapshot content, which is visible to subscribers of the interest, with instances of the interest
+     * zone first.
+     */
+    public Iterator<ChangeNotification<InstanceInfo>> visibleSnapshot() {
+        List<ChangeNotification<InstanceInfo>> visible = new ArrayList<>(initialStreamStates);
+        visible.addAll(localInstances.values());
+        if (!isExcluding() || failover) {
+            visible.addAll(otherZoneInstances.values());
+        }
+        return visible.iterator();
+    }
+
+    @Override
+    public Observable<ChangeNotification<InstanceInfo>> call(ChangeNotification<InstanceInfo> notification) {
+        if (!notification.isDataNotification()) {
+            return Observable.just(notification);
+        }
+        InstanceInfo instanceInfo = notification.getData();
+        ChangeNotification<InstanceInfo> previous = untrack(instanceInfo.getId());
+        boolean wasVisible = previous != null && isVisible(previous.getData());
+        boolean tracked = notification.getKind() != Kind.Delete && interest.matches(instanceInfo);
+        if (tracked) {
+            track(notification);
+        }
+
+        boolean wasFailover = failover;
+        failover = isFailover();
+        boolean nowVisible = tracked && isVisible(instanceInfo);
+
+        List<ChangeNotification<InstanceInfo>> result = new ArrayList<>(1);
+        if (nowVisible) {
+            result.add(wasVisible ? notification : withKind(notification, Kind.Add, instanceInfo));
+        } else if (wasVisible) {
+            // Delete with the last visible version, which is matching the interest
+            result.add(withKind(notification, Kind.Delete, previous.getData()));
+        }
+        if (failover != wasFailover) {
+            Kind kind = failover ? Kind.Add : Kind.Delete;
+            for (ChangeNotification<InstanceInfo> otherZoneInstance : otherZoneInstances.values()) {
+                if (!otherZoneInstance.getData().getId().equals(instanceInfo.getId())) {
+                    result.add(withKind(otherZoneInstance, kind, otherZoneInstance.getData()));
+                }
+            }
+        }
+        return result.size() == 1 ? Observable.just(result.get(0)) : Observable.from(result);
+    }
+
+    private void track(ChangeNotification<InstanceInfo> notification) {
+        InstanceInfo instanceInfo = notification.getData();
+        if (isLocal(instanceInfo)) {
+            localInstances.put(instanceInfo.getId(), notification);
+            if (instanceInfo.getStatus() == Status.UP) {
+                localUpCount++;
+            }
+        } else {
+            otherZoneInstances.put(instanceInfo.getId(), notification);
+        }
+    }
+
+    private ChangeNotification<InstanceInfo> untrack(String id) {
+        ChangeNotification<InstanceInfo> previous = localInstances.remove(id);
+        if (previous == null) {
+            return otherZoneInstances.remove(id);
+        }
+        if (previous.getData().getStatus() == Status.UP) {
+            localUpCount--;
+        }
+        return previous;
+    }
+
+    private boolean isExcluding() {
+        return minLocalUpInstances > 0;
+    }
+
+    private boolean isFailover() {
+        return isExcluding() && localUpCount < minLocalUpInstances;
+    }
+
+    private boolean isVisible(InstanceInfo instanceInfo) {
+        return !isExcluding() || failover || isLocal(instanceInfo);
+    }
+
+    private boolean isLocal(InstanceInfo instanceInfo) {
+        return zone.equals(zoneOf(instanceInfo));
+    }
+
+    static String zoneOf(InstanceInfo instanceInfo) {
+        DataCenterInfo dataCenterInfo = instanceInfo.getDataCenterInfo();
+        return dataCenterInfo instanceof AwsDataCenterInfo ? ((AwsDataCenterInfo) dataCenterInfo).getZone() : null;
+    }
+
+    private static ChangeNotification<InstanceInfo> withKind(ChangeNotification<InstanceInfo> notification, Kind kind, InstanceInfo data) {
+        if (notification.getKind() == kind && notification.getData() == data) {
+            return notification;
+        }
+        if (notification instanceof Sourced) {
+            return new SourcedChangeNotification<>(kind, data, ((Sourced) notification).getSource());
+        }
+        return new ChangeNotification<>(kind, data);
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.eureka2.registry.index;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.interest.ZoneAffinityInterest;
+import com.netflix.eureka2.model.notification.ChangeNotification;
+
+/**
+ * An {@link InstanceInfoInitStateHolder} of a {@link ZoneAffinityInterest} index, which sends instances of the
+ * interest zone before instances of other zones. The ordering is done once per snapshot version, and shared by
+ * all subscribers of this version.
+ */
+public class ZoneAffinityInitStateHolder extends InstanceInfoInitStateHolder {
+
+    private final String zone;
+
+    public ZoneAffinityInitStateHolder(Iterator<ChangeNotification<InstanceInfo>> initialRegistry, ZoneAffinityInterest<InstanceInfo> interest) {
+        super(initialRegistry, interest);
+        this.zone = interest.getZone();
+    }
+
+    @Override
+    protected List<ChangeNotification<InstanceInfo>> orderSnapshot(List<ChangeNotification<InstanceInfo>> notifications) {
+        List<ChangeNotification<InstanceInfo>> ordered = new ArrayList<>(notifications.size());
+        for (ChangeNotification<InstanceInfo> notification : notifications) {
+            if (zone.equals(ZoneAffinityFunc.zoneOf(notification.getData()))) {
+                ordered.add(notification);
+            }
+        }
+        for (ChangeNotification<InstanceInfo> notification : notifications) {
+            if (!zone.equals(ZoneAffinityFunc.zoneOf(notification.getData()))) {
+                ordered.add(notification);
+            }
+        }
+        return ordered;
+    }
+}
@@ -25,7 +25,10 @@ import com.netflix.eureka2.model.Sourced;
 import com.netflix.eureka2.model.instance.Delta;
 import com.netflix.eureka2.model.instance.InstanceInfo;
 import com.netflix.eureka2.model.interest.Interest;
+import com.netflix.eureka2.model.interest.MetadataInterest;
 import com.netflix.eureka2.model.interest.MultipleInterests;
+import com.netflix.eureka2.model.interest.StatusFilteredInterest;
+import com.netflix.eureka2.model.interest.ZoneAffinityInterest;
 import com.netflix.eureka2.model.notification.ChangeNotification;
 import com.netflix.eureka2.model.notification.ModifyNotification;
 import com.netflix.eureka2.model.notification.StreamStateNotification;
@@ -140,17 +143,43 @@ public final class EurekaTextFormatters {
         queryKeyName.put(Interest.QueryType.Instance, "instance");
         queryKeyName.put(Interest.QueryType.SecureVip, "secureVip");
         queryKeyName.put(Interest.QueryType.Vip, "vip");
+        queryKeyName.put(Interest.QueryType.Metadata, "metadata");
         queryKeyName.put(Interest.QueryType.Any, "any");
         queryKeyName.put(Interest.QueryType.Composite, "composite");
         queryKeyName.put(Interest.QueryType.None, "none");
     }
 
     private static <T> void toQuery(StringBuilder output, Interest<T> interest) {
+        if (interest instanceof StatusFilteredInterest) {
+            StatusFilteredInterest<T> filtered = (StatusFilteredInterest<T>) interest;
+            toQuery(output, filtered.getInterest());
+            output.append(" [status=");
+            Iterator<InstanceInfo.Status> it = filtered.getStatuses().iterator();
+            output.append(it.next());
+            while (it.hasNext()) {
+                output.append('|').append(it.next());
+            }
+            output.append(']');
+            return;
+        }
+        if (interest instanceof ZoneAffinityInterest) {
+            ZoneAffinityInterest<T> zoneInterest = (ZoneAffinityInterest<T>) interest;
+            toQuery(output, zoneInterest.getInterest());
+            output.append(" [zone=").append(zoneInterest.getZone());
+            if (zoneInterest.getMinLocalUpInstances() > 0) {
+                output.append(", minLocalUp=").append(zoneInterest.getMinLocalUpInstances());
+            }
+            output.append(']');
+            return;
+        }
         Interest.QueryType query = interest.getQueryType();
         if (query == Interest.QueryType.Any || query == Interest.QueryType.None) {
             output.append(queryKeyName.get(query));
         } else if (query != Interest.QueryType.Composite) {
             output.append(queryKeyName.get(query));
+            if (interest instanceof MetadataInterest) {
+                output.append('.').append(((MetadataInterest<T>) interest).getKey());
+            }
             output.append(interest.getOperator() == Interest.Operator.Equals ? '=' : "~=");
             output.append(interest.getPattern());
         } else {
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2015 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.eureka2.utils.rx;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rx.Scheduler;
+import rx.Scheduler.Worker;
+import rx.Subscription;
+import rx.functions.Action0;
+
+/**
+ * Timeout service shared by many connections, that replaces per connection timers with a single
+ * periodic task running on a hashed wheel. Timeouts are not moved within the wheel when touched
+ * ({@link Timeout#touch()} only records the current time), but are re-evaluated lazily when their
+ * wheel bucket is visited. All timeouts that expired within a tick are fired together in that tick.
+ * <p>
+ * Timeout actions are executed on the wheel worker thread, and thus must not block.
+ * The timer task is active only when there are registered timeouts.
+ */
+public class HashedWheelTimeoutService {
+
+    private static final Logger logger = LoggerFactory.getLogger(HashedWheelTimeoutService.class);
+
+    public static final long DEFAULT_TICK_DURATION_MS = 100;
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    private static final int STATE_ACTIVE = 0;
+    private static final int STATE_CANCELLED = 1;
+    private static final int STATE_EXPIRED = 2;
+
+    private final long tickDurationMs;
+    private final int mask;
+    private final Scheduler scheduler;
+    private final Worker worker;
+
+    // Accessed only from the worker thread
+    private final Timeout[] wheel;
+    private long currentTick;
+
+    private final ConcurrentLinkedQueue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile Subscription tickerSubscription;
+
+    public HashedWheelTimeoutService(Scheduler scheduler) {
+        this(DEFAULT_TICK_DURATION_MS, DEFAULT_WHEEL_SIZE, scheduler);
+    }
+
+    public HashedWheelTimeoutService(long tickDurationMs, int wheelSize, Scheduler scheduler) {
+        if (tickDurationMs <= 0) {
+            throw new IllegalArgumentException("Tick duration must be > 0");
+        }
+        int normalizedSize = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.tickDurationMs = tickDurationMs;
+        this.wheel = new Timeout[normalizedSize];
+        this.mask = normalizedSize - 1;
+        this.scheduler = scheduler;
+        this.worker = scheduler.createWorker();
+    }
+
+    /**
+     * Register a timeout, that fires if not touched within the given time.
+     */
+    public Timeout newTimeout(long timeoutMs, Action0 onTimeout) {
+        return register(new Timeout(timeoutMs, false, onTimeout));
+    }
+
+    /**
+     * Register a periodic task, that is executed at fixed rate on the wheel worker thread.
+     */
+    public Timeout newPeriodic(long periodMs, Action0 action) {
+        return register(new Timeout(periodMs, true, action));
+    }
+
+    /**
+     * @return number of active timeouts
+     */
+    public int size() {
+        return activeCount.get();
+    }
+
+    public void shutdown() {
+        worker.unsubscribe();
+    }
+
+    private Timeout register(Timeout timeout) {
+        activeCount.incrementAndGet();
+        pendingTimeouts.add(timeout);
+        if (running.compareAndSet(false, true)) {
+            startTicker();
+        }
+        return timeout;
+    }
+
+    private void startTicker() {
+        tickerSubscription = worker.schedulePeriodically(new Action0() {
+            @Override
+            public void call() {
+                tick();
+            }
+        }, tickDurationMs, tickDurationMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void tick() {
+        long now = scheduler.now();
+        currentTick++;
+
+        Timeout pending;
+        while ((pending = pendingTimeouts.poll()) != null) {
+            if (pending.state == STATE_ACTIVE) {
+                schedule(pending, pending.nextDeadline(), now);
+            }
+        }
+
+        int bucketIdx = (int) (currentTick & mask);
+        Timeout next = wheel[bucketIdx];
+        wheel[bucketIdx] = null;
+        while (next != null) {
+            Timeout timeout = next;
+            next = timeout.next;
+            timeout.next = null;
+            process(timeout, now);
+        }
+
+        if (activeCount.get() == 0) {
+            stopTicker();
+        }
+    }
+
+    private void process(Timeout timeout, long now) {
+        if (timeout.state != STATE_ACTIVE) {
+            return;
+        }
+        if (timeout.remainingRounds > 0) {
+            timeout.remainingRounds--;
+            link(timeout, (int) (currentTick & mask));
+            return;
+        }
+        long deadline = timeout.nextDeadline();
+        if (deadline > now) {
+            schedule(timeout, deadline, now);
+            return;
+        }
+        if (timeout.periodic) {
+            timeout.lastFired = deadline;
+            fire(timeout);
+            if (timeout.state == STATE_ACTIVE) {
+                schedule(timeout, timeout.nextDeadline(), now);
+            }
+        } else if (STATE_UPDATER.compareAndSet(timeout, STATE_ACTIVE, STATE_EXPIRED)) {
+            activeCount.decrementAndGet();
+            fire(timeout);
+        }
+    }
+
+    private void schedule(Timeout timeout, long deadline, long now) {
+        long ticks = Math.max(1, (deadline - now + tickDurationMs - 1) / tickDurationMs);
+        timeout.remainingRounds = (ticks - 1) / wheel.length;
+        link(timeout, (int) ((currentTick + ticks) & mask));
+    }
+
+    private void link(Timeout timeout, int bucketIdx) {
+        timeout.next = wheel[bucketIdx];
+        wheel[bucketIdx] = timeout;
+    }
+
+    private static void fire(Timeout timeout) {
+        try {
+            timeout.action.call();
+        } catch (Throwable e) {
+            logger.warn("Timeout action failed", e);
+        }
+    }
+
+    private void stopTicker() {
+        Subscription current = tickerSubscription;
+        running.set(false);
+        current.unsubscribe();
+        // Timeout registered concurrently with the stop request
+        if (activeCount.get() > 0 && running.compareAndSet(false, true)) {
+            startTicker();
+        }
+    }
+
+    private static final AtomicIntegerFieldUpdater<Timeout> STATE_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+    public final class Timeout implements Subscription {
+
+        private volatile long timeoutMs;
+        private final boolean periodic;
+        private final Action0 action;
+
+        volatile int state = STATE_ACTIVE;
+        private volatile long lastTouched;
+        private long lastFired;
+
+        // Wheel bookkeeping, accessed only from the worker thread
+        private long remainingRounds;
+        private Timeout next;
+
+        private Timeout(long timeoutMs, boolean periodic, Action0 action) {
+            this.timeoutMs = timeoutMs;
+            this.periodic = periodic;
+            this.action = action;
+            this.lastTouched = scheduler.now();
+            this.lastFired = lastTouched;
+        }
+
+        /**
+         * Restart the timeout countdown. This is a constant time operation, that does not move the
+         * timeout within the wheel.
+         */
+        public void touch() {
+            lastTouched = scheduler.now();
+        }
+
+        /**
+         * Change the timeout value, and restart the countdown. The new value is taken into account when the
+         * timeout is next evaluated by the wheel, so shortening it may delay the expiry until the
+         * previously scheduled evaluation time.
+         */
+        public void setTimeoutMs(long timeoutMs) {
+            this.timeoutMs = timeoutMs;
+            this.lastTouched = scheduler.now();
+        }
+
+        public boolean isExpired() {
+            return state == STATE_EXPIRED;
+        }
+
+        @Override
+        public void unsubscribe() {
+            if (STATE_UPDATER.compareAndSet(this, STATE_ACTIVE, STATE_CANCELLED)) {
+                activeCount.decrementAndGet();
+            }
+        }
+
+        @Override
+        public boolean isUnsubscribed() {
+            return state != STATE_ACTIVE;
+        }
+
+        private long nextDeadline() {
+            return (periodic ? lastFired : lastTouched) + timeoutMs;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.netflix.eureka2.channel;
+
+import java.util.List;
+
+import com.netflix.eureka2.channel.ChannelTraceEvent.EventType;
+import com.netflix.eureka2.channel.LoggingChannelHandler.LogLevel;
+import com.netflix.eureka2.junit.categories.LongRunningTest;
+import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.interest.Interest;
+import com.netflix.eureka2.model.interest.Interests;
+import com.netflix.eureka2.model.notification.ChangeNotification;
+import com.netflix.eureka2.model.notification.ChangeNotification.Kind;
+import com.netflix.eureka2.spi.channel.ChannelContext;
+import com.netflix.eureka2.spi.channel.ChannelHandler;
+import com.netflix.eureka2.spi.channel.ChannelNotification;
+import com.netflix.eureka2.spi.channel.ChannelPipeline;
+import com.netflix.eureka2.testkit.data.builder.SampleInstanceInfo;
+import com.netflix.eureka2.testkit.internal.rx.ExtTestSubscriber;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rx.Observable;
+import rx.Subscription;
+import rx.functions.Func1;
+import rx.subjects.PublishSubject;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class TracingChannelHandlerTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(TracingChannelHandlerTest.class);
+
+    private static final Interest<InstanceInfo> INTEREST = Interests.forFullRegistry();
+    private static final ChangeNotification<InstanceInfo> CHANGE = new ChangeNotification<>(Kind.Add, SampleInstanceInfo.WebServer.build());
+
+    private final PublishSubject<ChannelNotification<Interest<InstanceInfo>>> inputStream = PublishSubject.create();
+    private final ExtTestSubscriber<ChannelNotification<ChangeNotification<InstanceInfo>>> testSubscriber = new ExtTestSubscriber<>();
+
+    @Test
+    public void testChannelIsNotTracedIfDisabled() throws Exception {
+        ChannelTracer tracer = new ChannelTracer(0, 16);
+        Subscription subscription = handle(new TracingChannelHandler<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>>(tracer));
+
+        inputStream.onNext(ChannelNotification.newData(INTEREST));
+        assertThat(testSubscriber.takeNext().getKind(), is(equalTo(ChannelNotification.Kind.Data)));
+        subscription.unsubscribe();
+
+        assertThat(tracer.getEvents().isEmpty(), is(true));
+    }
+
+    @Test
+    public void testSampledChannelRecordsLifecycleEventsWithMessageCounts() throws Exception {
+        ChannelTracer tracer = new ChannelTracer(100, 16);
+        Subscription subscription = handle(new TracingChannelHandler<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>>(tracer));
+
+        inputStream.onNext(ChannelNotification.newHello("hello"));
+        inputStream.onNext(ChannelNotification.newHeartbeat());
+        inputStream.onNext(ChannelNotification.newData(INTEREST));
+        inputStream.onNext(ChannelNotification.newData(INTEREST));
+        subscription.unsubscribe();
+
+        List<ChannelTraceEvent> events = tracer.getEvents();
+        assertThat(events.get(0).getEventType(), is(equalTo(EventType.ReplySubscribed)));
+        assertThat(events.get(1).getEventType(), is(equalTo(EventType.InputSubscribed)));
+        assertThat(events.get(2).getEventType(), is(equalTo(EventType.HelloSent)));
+        assertThat(events.get(3).getEventType(), is(equalTo(EventType.HelloReceived)));
+
+        ChannelTraceEvent last = events.get(events.size() - 1);
+        assertThat(last.getPipelineId(), is(equalTo("trace")));
+        assertThat(last.getDataSent(), is(equalTo(2L)));
+        assertThat(last.getHeartbeatsSent(), is(equalTo(1L)));
+        assertThat(last.getDataReceived(), is(equalTo(2L)));
+        assertThat(last.getHeartbeatsReceived(), is(equalTo(1L)));
+    }
+
+    @Test
+    public void testErrorIsRecorded() throws Exception {
+        ChannelTracer tracer = new ChannelTracer(100, 16);
+        handle(new TracingChannelHandler<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>>(tracer));
+
+        inputStream.onError(new RuntimeException("simulated error"));
+        testSubscriber.assertOnError();
+
+        boolean found = false;
+        for (ChannelTraceEvent event : tracer.getEvents()) {
+            if (event.getEventType() == EventType.ReplyError) {
+                assertThat(event.getDetails().contains("simulated error"), is(true));
+                found = true;
+            }
+        }
+        assertThat(found, is(true));
+    }
+
+    @Test
+    public void testRingBufferKeepsMostRecentEvents() throws Exception {
+        ChannelTracer tracer = new ChannelTracer(100, 3);
+        for (int i = 0; i < 5; i++) {
+            tracer.record(new ChannelTraceEvent(i, "pipeline#" + i, EventType.InputSubscribed, 0, 0, 0, 0, null));
+        }
+
+        List<ChannelTraceEvent> events = tracer.getEvents();
+        assertThat(events.size(), is(equalTo(3)));
+        assertThat(events.get(0).getPipelineId(), is(equalTo("pipeline#2")));
+        assertThat(events.get(2).getPipelineId(), is(equalTo("pipeline#4")));
+    }
+
+    /**
+     * Measure per message cost of the logging handler, and the tracing handler, on an interest channel
+     * delivering change notifications.
+     */
+    @Test
+    @Category(LongRunningTest.class)
+    public void testPerMessageOverhead() throws Exception {
+        int messages = 20000;
+        int rounds = 5;
+
+        long noHandlerNs = 0;
+        long loggingNs = 0;
+        long disabledTracingNs = 0;
+        long sampledTracingNs = 0;
+        for (int i = 0; i < rounds; i++) {
+            noHandlerNs = measure(null, messages);
+            loggingNs = measure(new LoggingChannelHandler<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>>(LogLevel.INFO), messages);
+            disabledTracingNs = measure(new TracingChannelHandler<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>>(new ChannelTracer(0, 1024)), messages);
+            sampledTracingNs = measure(new TracingChannelHandler<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>>(new ChannelTracer(100, 1024)), messages);
+        }
+        logger.warn("Per message cost: no handler {}ns, logging {}ns, tracing disabled {}ns, tracing sampled {}ns",
+                noHandlerNs / messages, loggingNs / messages, disabledTracingNs / messages, sampledTracingNs / messages);
+    }
+
+    private static long measure(ChannelHandler<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>> handler, int messages) {
+        PublishSubject<ChannelNotification<Interest<InstanceInfo>>> input = PublishSubject.create();
+        ChannelHandler<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>> first;
+        if (handler == null) {
+            first = new InterestChannelStub();
+            new ChannelPipeline<>("overhead", first);
+        } else {
+            first = handler;
+            new ChannelPipeline<>("overhead", handler, new InterestChannelStub());
+        }
+        Subscription subscription = first.handle(input).subscribe();
+
+        ChannelNotification<Interest<InstanceInfo>> notification = ChannelNotification.newData(INTEREST);
+        long startTime = System.nanoTime();
+        for (int i = 0; i < messages; i++) {
+            input.onNext(notification);
+        }
+        long elapsed = System.nanoTime() - startTime;
+        subscription.unsubscribe();
+        return elapsed;
+    }
+
+    private Subscription handle(ChannelHandler<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>> handler) {
+        new ChannelPipeline<>("trace", handler, new InterestChannelStub());
+        return handler.handle(inputStream).subscribe(testSubscriber);
+    }
+
+    /**
+     * Replies with a change notification to each data item, and passes other notifications back as they are.
+     */
+    static class InterestChannelStub implements ChannelHandler<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>> {
+
+        @Override
+        public void init(ChannelContext<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>> channelContext) {
+        }
+
+        @Override
+        public Observable<ChannelNotification<ChangeNotification<InstanceInfo>>> handle(Observable<ChannelNotification<Interest<InstanceInfo>>> inputStream) {
+            return inputStream.map(new Func1<ChannelNotification<Interest<InstanceInfo>>, ChannelNotification<ChangeNotification<InstanceInfo>>>() {
+                @Override
+                public ChannelNotification<ChangeNotification<InstanceInfo>> call(ChannelNotification<Interest<InstanceInfo>> notification) {
+                    switch (notification.getKind()) {
+                        case Hello:
+                            return ChannelNotification.newHello(notification.getHello());
+                        case Heartbeat:
+                            return ChannelNotification.newHeartbeat();
+                        default:
+                            return ChannelNotification.newData(CHANGE);
+                    }
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.netflix.eureka2.interests.host;
+
+import javax.naming.NamingException;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.netflix.eureka2.model.notification.ChangeNotification;
+import com.netflix.eureka2.model.notification.ChangeNotification.Kind;
+import com.netflix.eureka2.testkit.internal.rx.ExtTestSubscriber;
+import org.junit.Test;
+import rx.schedulers.Schedulers;
+import rx.schedulers.TestScheduler;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class CachingDnsResolverTest {
+
+    private static final String DOMAIN_NAME = "eureka.test";
+    private static final long TTL_MS = 30000;
+    private static final long NEGATIVE_TTL_MS = 5000;
+
+    private final TestScheduler testScheduler = new TestScheduler();
+    private final AtomicInteger lookupCounter = new AtomicInteger();
+    private volatile Set<ChangeNotification<String>> lookupResult = addressesOf("10.0.0.1");
+    private volatile NamingException lookupError;
+
+    private final CachingDnsResolver resolver = new CachingDnsResolver(TTL_MS, NEGATIVE_TTL_MS, TimeUnit.MILLISECONDS, testScheduler,
+            new CachingDnsResolver.DnsLookup() {
+                @Override
+                public Set<ChangeNotification<String>> lookup(String domainName) throws NamingException {
+                    lookupCounter.incrementAndGet();
+                    if (lookupError != null) {
+                        throw lookupError;
+                    }
+                    return lookupResult;
+                }
+            });
+
+    @Test
+    public void testConcurrentRequestsAreCoalesced() throws Exception {
+        ExtTestSubscriber<Set<ChangeNotification<String>>> first = new ExtTestSubscriber<>();
+        ExtTestSubscriber<Set<ChangeNotification<String>>> second = new ExtTestSubscriber<>();
+        resolver.resolve(DOMAIN_NAME).subscribe(first);
+        resolver.resolve(DOMAIN_NAME).subscribe(second);
+
+        // Lookup runs on the resolver scheduler, not on the subscriber thread
+        assertThat(first.takeNext(), is(nullValue()));
+
+        testScheduler.triggerActions();
+        assertThat(lookupCounter.get(), is(equalTo(1)));
+        assertThat(first.takeNext(), is(equalTo(lookupResult)));
+        assertThat(second.takeNext(), is(equalTo(lookupResult)));
+        first.assertOnCompleted();
+        second.assertOnCompleted();
+    }
+
+    @Test
+    public void testCachedEntryIsReturnedUntilTtlExpires() throws Exception {
+        resolveAndTrigger();
+
+        // Cache hit is emitted synchronously
+        ExtTestSubscriber<Set<ChangeNotification<String>>> cached = new ExtTestSubscriber<>();
+        resolver.resolve(DOMAIN_NAME).subscribe(cached);
+        assertThat(cached.takeNext(), is(equalTo(lookupResult)));
+        assertThat(lookupCounter.get(), is(equalTo(1)));
+
+        testScheduler.advanceTimeBy(TTL_MS, TimeUnit.MILLISECONDS);
+        lookupResult = addressesOf("10.0.0.2");
+        assertThat(resolveAndTrigger().takeNext(), is(equalTo(lookupResult)));
+        assertThat(lookupCounter.get(), is(equalTo(2)));
+    }
+
+    @Test
+    public void testFailedLookupIsCachedForNegativeTtl() throws Exception {
+        lookupError = new NamingException("test error");
+        resolveAndTrigger().assertOnError();
+        resolveAndTrigger().assertOnError();
+        assertThat(lookupCounter.get(), is(equalTo(1)));
+
+        testScheduler.advanceTimeBy(NEGATIVE_TTL_MS, TimeUnit.MILLISECONDS);
+        lookupError = null;
+        assertThat(resolveAndTrigger().takeNext(), is(equalTo(lookupResult)));
+        assertThat(lookupCounter.get(), is(equalTo(2)));
+    }
+
+    @Test
+    public void testLastKnownAddressesAreReturnedIfRefreshFails() throws Exception {
+        Set<ChangeNotification<String>> initial = lookupResult;
+        resolveAndTrigger();
+
+        testScheduler.advanceTimeBy(TTL_MS, TimeUnit.MILLISECONDS);
+        lookupError = new NamingException("test error");
+        assertThat(resolveAndTrigger().takeNext(), is(equalTo(initial)));
+        assertThat(resolveAndTrigger().takeNext(), is(equalTo(initial)));
+        assertThat(lookupCounter.get(), is(equalTo(2)));
+    }
+
+    @Test(timeout = 30000)
+    public void testChangeNotificationSourceLooksUpOnResolverThreads() throws Exception {
+        ExecutorService lookupExecutor = Executors.newSingleThreadExecutor();
+        try {
+            final AtomicReference<Thread> lookupThread = new AtomicReference<>();
+            final Thread executorThread = lookupExecutor.submit(new Callable<Thread>() {
+                @Override
+                public Thread call() {
+                    return Thread.currentThread();
+                }
+            }).get();
+            CachingDnsResolver poolResolver = new CachingDnsResolver(TTL_MS, NEGATIVE_TTL_MS, TimeUnit.MILLISECONDS, Schedulers.from(lookupExecutor),
+                    new CachingDnsResolver.DnsLookup() {
+                        @Override
+                        public Set<ChangeNotification<String>> lookup(String domainName) throws NamingException {
+                            lookupCounter.incrementAndGet();
+                            lookupThread.set(Thread.currentThread());
+                            return lookupResult;
+                        }
+                    });
+            DnsChangeNotificationSource source = new DnsChangeNotificationSource(DOMAIN_NAME, 30, 0, TimeUnit.SECONDS, poolResolver);
+
+            ChangeNotification<String> first = source.forInterest(null).toBlocking().first();
+            assertThat(first, is(equalTo(lookupResult.iterator().next())));
+            assertThat(lookupThread.get(), is(equalTo(executorThread)));
+            assertThat(lookupCounter.get(), is(equalTo(1)));
+        } finally {
+            lookupExecutor.shutdownNow();
+        }
+    }
+
+    private ExtTestSubscriber<Set<ChangeNotification<String>>> resolveAndTrigger() {
+        ExtTestSubscriber<Set<ChangeNotification<String>>> testSubscriber = new ExtTestSubscriber<>();
+        resolver.resolve(DOMAIN_NAME).subscribe(testSubscriber);
+        testScheduler.triggerActions();
+        return testSubscriber;
+    }
+
+    private static Set<ChangeNotification<String>> addressesOf(String address) {
+        return Collections.singleton(new ChangeNotification<>(Kind.Add, address));
+    }
+}
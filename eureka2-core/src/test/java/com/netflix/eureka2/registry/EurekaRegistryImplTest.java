@@ -13,12 +13,14 @@ import com.netflix.eureka2.model.Source.Origin;
 import com.netflix.eureka2.model.Sourced;
 import com.netflix.eureka2.model.instance.InstanceInfo;
 import com.netflix.eureka2.model.instance.InstanceInfo.Status;
+import com.netflix.eureka2.model.interest.Interest;
 import com.netflix.eureka2.model.interest.Interests;
 import com.netflix.eureka2.model.notification.ChangeNotification;
 import com.netflix.eureka2.model.notification.SourcedStreamStateNotification;
 import com.netflix.eureka2.model.notification.StreamStateNotification;
 import com.netflix.eureka2.model.notification.StreamStateNotification.BufferState;
 import com.netflix.eureka2.registry.index.IndexRegistryImpl;
+import com.netflix.eureka2.testkit.data.builder.SampleAwsDataCenterInfo;
 import com.netflix.eureka2.testkit.data.builder.SampleInstanceInfo;
 import com.netflix.eureka2.testkit.internal.rx.ExtTestSubscriber;
 import com.netflix.eureka2.utils.functions.ChangeNotifications;
@@ -146,6 +148,192 @@ public class EurekaRegistryImplTest {
         assertThat(new HashSet<>(returnedIds), containsInAnyOrder(discovery1.getId(), discovery2.getId(), discovery3.getId()));
     }
 
+    @Test(timeout = 60000)
+    public void testMetadataInterestSnapshotFollowsMetadataChanges() throws Exception {
+        InstanceInfo shard1 = SampleInstanceInfo.DiscoveryServer.builder().withMetaData("shard", "shard1").build();
+        InstanceInfo shard2 = SampleInstanceInfo.DiscoveryServer.builder().withMetaData("shard", "shard2").build();
+        InstanceInfo noShard = SampleInstanceInfo.DiscoveryServer.build();
+
+        localDataStream.register(shard1);
+        localDataStream.register(shard2);
+        localDataStream.register(noShard);
+        testScheduler.triggerActions();
+
+        assertThat(registry.forSnapshot(Interests.forMetadata("shard", "shard1")).toList().toBlocking().first(), contains(shard1));
+
+        // Move the instance to another shard
+        InstanceInfo movedShard1 = InstanceModel.getDefaultModel().newInstanceInfo()
+                .withInstanceInfo(shard1)
+                .withMetaData("shard", "shard2")
+                .build();
+        localDataStream.register(movedShard1);
+        testScheduler.triggerActions();
+
+        assertThat(registry.forSnapshot(Interests.forMetadata("shard", "shard1")).toList().toBlocking().first(), is(empty()));
+        assertThat(registry.forSnapshot(Interests.forMetadata("shard", "shard2")).toList().toBlocking().first(),
+                containsInAnyOrder(movedShard1, shard2));
+
+        // Removed instances are not returned anymore
+        localDataStream.unregister(shard2.getId());
+        testScheduler.triggerActions();
+
+        ExtTestSubscriber<ChangeNotification<InstanceInfo>> interestSubscriber = new ExtTestSubscriber<>();
+        registry.forInterest(Interests.forMetadata("shard", "shard2")).filter(dataOnlyFilter()).subscribe(interestSubscriber);
+        testScheduler.triggerActions();
+
+        assertThat(interestSubscriber.takeNextOrFail(), is(addChangeNotificationOf(movedShard1)));
+        assertThat(interestSubscriber.takeNext(), is(nullValue()));
+    }
+
+    @Test
+    public void testPatternInterestsGetOnlyMatchingChanges() throws Exception {
+        InstanceInfo webServer = SampleInstanceInfo.WebServer.builder().withApp("web-frontend").build();
+        InstanceInfo backend = SampleInstanceInfo.Backend.builder().withApp("backend").build();
+
+        ExtTestSubscriber<ChangeNotification<InstanceInfo>> likeSubscriber = new ExtTestSubscriber<>();
+        registry.forInterest(Interests.forApplications(Interest.Operator.Like, "web.*")).filter(dataOnlyFilter()).subscribe(likeSubscriber);
+        ExtTestSubscriber<ChangeNotification<InstanceInfo>> equalsSubscriber = new ExtTestSubscriber<>();
+        registry.forInterest(Interests.forApplications("backend")).filter(dataOnlyFilter()).subscribe(equalsSubscriber);
+        testScheduler.triggerActions();
+
+        localDataStream.register(webServer);
+        localDataStream.register(backend);
+        testScheduler.triggerActions();
+
+        assertThat(likeSubscriber.takeNextOrFail(), is(addChangeNotificationOf(webServer)));
+        assertThat(likeSubscriber.takeNext(), is(nullValue()));
+        assertThat(equalsSubscriber.takeNextOrFail(), is(addChangeNotificationOf(backend)));
+        assertThat(equalsSubscriber.takeNext(), is(nullValue()));
+
+        localDataStream.unregister(webServer.getId());
+        testScheduler.triggerActions();
+        assertThat(likeSubscriber.takeNextOrFail(), is(deleteChangeNotificationOf(webServer)));
+        assertThat(equalsSubscriber.takeNext(), is(nullValue()));
+    }
+
+    @Test
+    public void testStatusFilteredInterestFollowsStatusTransitions() throws Exception {
+        InstanceInfo starting = SampleInstanceInfo.WebServer.builder().withStatus(Status.STARTING).build();
+        InstanceInfo up = InstanceModel.getDefaultModel().newInstanceInfo().withInstanceInfo(starting).withStatus(Status.UP).build();
+        InstanceInfo down = InstanceModel.getDefaultModel().newInstanceInfo().withInstanceInfo(up).withStatus(Status.DOWN).build();
+        InstanceInfo downUpdated = InstanceModel.getDefaultModel().newInstanceInfo().withInstanceInfo(down).withHomePageUrl("http://newHomePage").build();
+        InstanceInfo upAgain = InstanceModel.getDefaultModel().newInstanceInfo().withInstanceInfo(downUpdated).withStatus(Status.UP).build();
+
+        localDataStream.register(starting);
+        testScheduler.triggerActions();
+
+        ExtTestSubscriber<ChangeNotification<InstanceInfo>> testSubscriber = new ExtTestSubscriber<>();
+        registry.forInterest(Interests.withStatus(Interests.forApplications(starting.getApp()), Status.UP))
+                .filter(dataOnlyFilter())
+                .subscribe(testSubscriber);
+        testScheduler.triggerActions();
+        assertThat(testSubscriber.takeNext(), is(nullValue()));
+
+        // Entering the filtered set is an add
+        localDataStream.register(up);
+        testScheduler.triggerActions();
+        assertThat(testSubscriber.takeNextOrFail(), is(addChangeNotificationOf(up)));
+
+        // Leaving the filtered set is a delete
+        localDataStream.register(down);
+        testScheduler.triggerActions();
+        assertThat(testSubscriber.takeNextOrFail(), is(deleteChangeNotificationOf(up)));
+
+        // Changes outside of the filtered set are not sent
+        localDataStream.register(downUpdated);
+        testScheduler.triggerActions();
+        assertThat(testSubscriber.takeNext(), is(nullValue()));
+
+        localDataStream.register(upAgain);
+        testScheduler.triggerActions();
+        assertThat(testSubscriber.takeNextOrFail(), is(addChangeNotificationOf(upAgain)));
+
+        // New subscribers get the current filtered set only
+        ExtTestSubscriber<ChangeNotification<InstanceInfo>> newSubscriber = new ExtTestSubscriber<>();
+        registry.forInterest(Interests.withStatus(Interests.forApplications(starting.getApp()), Status.UP))
+                .filter(dataOnlyFilter())
+                .subscribe(newSubscriber);
+        testScheduler.triggerActions();
+        assertThat(newSubscriber.takeNextOrFail(), is(addChangeNotificationOf(upAgain)));
+        assertThat(newSubscriber.takeNext(), is(nullValue()));
+    }
+
+    @Test
+    public void testZoneAffinityInterestSendsLocalZoneFirst() throws Exception {
+        InstanceInfo remote1 = zoneInstance("remote1", SampleAwsDataCenterInfo.UsEast1c, Status.UP);
+        InstanceInfo local1 = zoneInstance("local1", SampleAwsDataCenterInfo.UsEast1a, Status.UP);
+        InstanceInfo remote2 = zoneInstance("remote2", SampleAwsDataCenterInfo.UsEast1c, Status.UP);
+        InstanceInfo local2 = zoneInstance("local2", SampleAwsDataCenterInfo.UsEast1a, Status.UP);
+        for (InstanceInfo instance : Arrays.asList(remote1, local1, remote2, local2)) {
+            localDataStream.register(instance);
+        }
+        testScheduler.triggerActions();
+
+        ExtTestSubscriber<ChangeNotification<InstanceInfo>> testSubscriber = new ExtTestSubscriber<>();
+        registry.forInterest(Interests.withZoneAffinity(Interests.forApplications(local1.getApp()), "US-East-1a"))
+                .filter(dataOnlyFilter())
+                .subscribe(testSubscriber);
+        testScheduler.triggerActions();
+
+        Set<InstanceInfo> localFirst = new HashSet<>(Arrays.asList(testSubscriber.takeNextOrFail().getData(), testSubscriber.takeNextOrFail().getData()));
+        assertThat(localFirst, containsInAnyOrder(local1, local2));
+        Set<InstanceInfo> others = new HashSet<>(Arrays.asList(testSubscriber.takeNextOrFail().getData(), testSubscriber.takeNextOrFail().getData()));
+        assertThat(others, containsInAnyOrder(remote1, remote2));
+        assertThat(testSubscriber.takeNext(), is(nullValue()));
+    }
+
+    @Test
+    public void testZoneAffinityInterestFailsOverToOtherZones() throws Exception {
+        InstanceInfo local1 = zoneInstance("local1", SampleAwsDataCenterInfo.UsEast1a, Status.UP);
+        InstanceInfo local2 = zoneInstance("local2", SampleAwsDataCenterInfo.UsEast1a, Status.UP);
+        InstanceInfo remote = zoneInstance("remote", SampleAwsDataCenterInfo.UsEast1c, Status.UP);
+        InstanceInfo local2Down = InstanceModel.getDefaultModel().newInstanceInfo().withInstanceInfo(local2).withStatus(Status.DOWN).build();
+        InstanceInfo local2Up = InstanceModel.getDefaultModel().newInstanceInfo().withInstanceInfo(local2Down).withStatus(Status.UP).build();
+        localDataStream.register(local1);
+        localDataStream.register(local2);
+        localDataStream.register(remote);
+        testScheduler.triggerActions();
+
+        Interest<InstanceInfo> interest = Interests.withZoneAffinity(Interests.forApplications(local1.getApp()), "US-East-1a", 2);
+        ExtTestSubscriber<ChangeNotification<InstanceInfo>> testSubscriber = new ExtTestSubscriber<>();
+        registry.forInterest(interest).filter(dataOnlyFilter()).subscribe(testSubscriber);
+        testScheduler.triggerActions();
+
+        // Enough UP instances in the local zone, so other zones are excluded
+        Set<InstanceInfo> initial = new HashSet<>(Arrays.asList(testSubscriber.takeNextOrFail().getData(), testSubscriber.takeNextOrFail().getData()));
+        assertThat(initial, containsInAnyOrder(local1, local2));
+        assertThat(testSubscriber.takeNext(), is(nullValue()));
+
+        // Local UP count drops below the threshold, so instances of other zones are added
+        localDataStream.register(local2Down);
+        testScheduler.triggerActions();
+        assertThat(testSubscriber.takeNextOrFail().getData(), is(equalTo(local2Down)));
+        assertThat(testSubscriber.takeNextOrFail(), is(addChangeNotificationOf(remote)));
+        assertThat(testSubscriber.takeNext(), is(nullValue()));
+
+        ExtTestSubscriber<ChangeNotification<InstanceInfo>> failoverSubscriber = new ExtTestSubscriber<>();
+        registry.forInterest(interest).filter(dataOnlyFilter()).subscribe(failoverSubscriber);
+        testScheduler.triggerActions();
+        Set<InstanceInfo> failoverLocalFirst = new HashSet<>(Arrays.asList(failoverSubscriber.takeNextOrFail().getData(), failoverSubscriber.takeNextOrFail().getData()));
+        assertThat(failoverLocalFirst, containsInAnyOrder(local1, local2Down));
+        assertThat(failoverSubscriber.takeNextOrFail(), is(addChangeNotificationOf(remote)));
+
+        // Local zone recovered, so instances of other zones are removed again
+        localDataStream.register(local2Up);
+        testScheduler.triggerActions();
+        assertThat(testSubscriber.takeNextOrFail().getData(), is(equalTo(local2Up)));
+        assertThat(testSubscriber.takeNextOrFail(), is(deleteChangeNotificationOf(remote)));
+        assertThat(testSubscriber.takeNext(), is(nullValue()));
+    }
+
+    private static InstanceInfo zoneInstance(String id, SampleAwsDataCenterInfo dataCenterInfo, Status status) {
+        return SampleInstanceInfo.WebServer.builder()
+                .withId(id)
+                .withDataCenterInfo(dataCenterInfo.build())
+                .withStatus(status)
+                .build();
+    }
+
     @Test
     public void testConnect() throws Exception {
         InstanceInfo original = SampleInstanceInfo.WebServer.builder().withStatus(InstanceInfo.Status.UP).build();
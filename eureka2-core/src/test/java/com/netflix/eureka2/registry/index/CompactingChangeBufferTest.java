@@ -0,0 +1,243 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.eureka2.registry.index;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.netflix.eureka2.model.InstanceModel;
+import com.netflix.eureka2.model.Source;
+import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.interest.Interest;
+import com.netflix.eureka2.model.interest.Interests;
+import com.netflix.eureka2.model.notification.ChangeNotification;
+import com.netflix.eureka2.model.notification.ChangeNotification.Kind;
+import com.netflix.eureka2.model.notification.SourcedChangeNotification;
+import com.netflix.eureka2.model.notification.SourcedModifyNotification;
+import com.netflix.eureka2.model.notification.SourcedStreamStateNotification;
+import com.netflix.eureka2.model.notification.StreamStateNotification.BufferState;
+import com.netflix.eureka2.testkit.data.builder.SampleInstanceInfo;
+import org.junit.Test;
+import rx.observers.TestSubscriber;
+import rx.subjects.PublishSubject;
+
+import static com.netflix.eureka2.utils.functions.ChangeNotifications.dataOnlyFilter;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+public class CompactingChangeBufferTest {
+
+    private final Source localSource = InstanceModel.getDefaultModel().createSource(Source.Origin.LOCAL, "local");
+    private final Source remoteSource = InstanceModel.getDefaultModel().createSource(Source.Origin.REPLICATED, "remote");
+
+    private final InstanceInfo first = SampleInstanceInfo.WebServer.builder().withId("id1").build();
+    private final InstanceInfo firstDown = SampleInstanceInfo.WebServer.builder().withId("id1").withStatus(InstanceInfo.Status.DOWN).build();
+    private final InstanceInfo second = SampleInstanceInfo.WebServer.builder().withId("id2").build();
+
+    private final CompactingChangeBuffer<InstanceInfo> buffer = new CompactingChangeBuffer<>();
+    private final TestSubscriber<ChangeNotification<InstanceInfo>> testSubscriber = new TestSubscriber<>(0);
+
+    @Test
+    public void testChangesOfSameInstanceAreMerged() throws Exception {
+        buffer.asObservable().subscribe(testSubscriber);
+
+        buffer.onNext(add(first, localSource));
+        buffer.onNext(add(second, localSource));
+        buffer.onNext(modify(firstDown, first, localSource));
+        assertThat(buffer.size(), is(equalTo(2)));
+
+        testSubscriber.requestMore(Long.MAX_VALUE);
+        // Modify notification merged with a previous change becomes an add of the latest version, in its place
+        assertThat(testSubscriber.getOnNextEvents(), contains(add(firstDown, localSource), add(second, localSource)));
+    }
+
+    @Test
+    public void testChangeAfterBufferEndIsMergedWithoutPassingTheMarker() throws Exception {
+        Interest<InstanceInfo> interest = Interests.forFullRegistry();
+        ChangeNotification<InstanceInfo> bufferStart = new SourcedStreamStateNotification<>(BufferState.BufferStart, interest, localSource);
+        ChangeNotification<InstanceInfo> bufferEnd = new SourcedStreamStateNotification<>(BufferState.BufferEnd, interest, localSource);
+        buffer.asObservable().subscribe(testSubscriber);
+
+        buffer.onNext(bufferStart);
+        buffer.onNext(add(first, localSource));
+        buffer.onNext(add(second, localSource));
+        buffer.onNext(bufferEnd);
+        buffer.onNext(modify(firstDown, first, localSource));
+
+        // The instance stays part of the batch, with its latest version
+        testSubscriber.requestMore(Long.MAX_VALUE);
+        assertThat(testSubscriber.getOnNextEvents(), contains(bufferStart, add(firstDown, localSource), add(second, localSource), bufferEnd));
+    }
+
+    @Test
+    public void testDeleteReplacesPendingChanges() throws Exception {
+        buffer.asObservable().subscribe(testSubscriber);
+
+        buffer.onNext(add(first, localSource));
+        buffer.onNext(modify(firstDown, first, localSource));
+        buffer.onNext(delete(firstDown, localSource));
+
+        testSubscriber.requestMore(Long.MAX_VALUE);
+        assertThat(testSubscriber.getOnNextEvents(), contains(delete(firstDown, localSource)));
+    }
+
+    @Test
+    public void testChangesFromDifferentSourcesAreNotMerged() throws Exception {
+        buffer.asObservable().subscribe(testSubscriber);
+
+        buffer.onNext(add(first, localSource));
+        buffer.onNext(add(first, remoteSource));
+        buffer.onNext(delete(first, localSource));
+
+        // The local copy delete takes the place of its add, so the remote copy is the one left visible
+        testSubscriber.requestMore(Long.MAX_VALUE);
+        assertThat(testSubscriber.getOnNextEvents(), contains(delete(first, localSource), add(first, remoteSource)));
+    }
+
+    @Test
+    public void testSingleModifyIsKept() throws Exception {
+        buffer.asObservable().subscribe(testSubscriber);
+
+        ChangeNotification<InstanceInfo> modify = modify(firstDown, first, localSource);
+        buffer.onNext(modify);
+
+        testSubscriber.requestMore(1);
+        assertThat(testSubscriber.getOnNextEvents(), contains(modify));
+    }
+
+    @Test
+    public void testStreamStateNotificationsAreKeptInOrder() throws Exception {
+        Interest<InstanceInfo> interest = Interests.forFullRegistry();
+        ChangeNotification<InstanceInfo> bufferStart = new SourcedStreamStateNotification<>(BufferState.BufferStart, interest, localSource);
+        ChangeNotification<InstanceInfo> bufferEnd = new SourcedStreamStateNotification<>(BufferState.BufferEnd, interest, localSource);
+        buffer.asObservable().subscribe(testSubscriber);
+
+        buffer.onNext(bufferStart);
+        buffer.onNext(add(first, localSource));
+        buffer.onNext(bufferEnd);
+        buffer.onNext(bufferStart);
+        buffer.onNext(bufferEnd);
+
+        testSubscriber.requestMore(Long.MAX_VALUE);
+        assertThat(testSubscriber.getOnNextEvents(), contains(bufferStart, add(first, localSource), bufferEnd, bufferStart, bufferEnd));
+    }
+
+    @Test
+    public void testChangesAreEmittedOnlyAsRequested() throws Exception {
+        buffer.asObservable().subscribe(testSubscriber);
+
+        buffer.onNext(add(first, localSource));
+        buffer.onNext(add(second, localSource));
+        buffer.onCompleted();
+        testSubscriber.assertNoValues();
+
+        testSubscriber.requestMore(1);
+        assertThat(testSubscriber.getOnNextEvents(), contains(add(first, localSource)));
+        testSubscriber.assertNoTerminalEvent();
+
+        testSubscriber.requestMore(1);
+        assertThat(testSubscriber.getOnNextEvents(), contains(add(first, localSource), add(second, localSource)));
+        testSubscriber.assertCompleted();
+    }
+
+    @Test
+    public void testErrorIsDeliveredAfterPendingChanges() throws Exception {
+        buffer.asObservable().subscribe(testSubscriber);
+
+        buffer.onNext(add(first, localSource));
+        buffer.onError(new Exception("simulated error"));
+        testSubscriber.assertNoTerminalEvent();
+
+        testSubscriber.requestMore(1);
+        assertThat(testSubscriber.getOnNextEvents(), contains(add(first, localSource)));
+        assertThat(testSubscriber.getOnErrorEvents().size(), is(equalTo(1)));
+    }
+
+    @Test
+    public void testSecondSubscriberIsRejected() throws Exception {
+        buffer.asObservable().subscribe(testSubscriber);
+
+        TestSubscriber<ChangeNotification<InstanceInfo>> secondSubscriber = new TestSubscriber<>();
+        buffer.asObservable().subscribe(secondSubscriber);
+        assertThat(secondSubscriber.getOnErrorEvents().size(), is(equalTo(1)));
+    }
+
+    @Test
+    public void testIndexSnapshotIsDeliveredWithBackpressure() throws Exception {
+        int snapshotSize = 100;
+        int updatedInstances = 5;
+        Interest<InstanceInfo> interest = Interests.forFullRegistry();
+
+        List<InstanceInfo> instances = new ArrayList<>();
+        List<ChangeNotification<InstanceInfo>> initialContent = new ArrayList<>();
+        for (int i = 0; i < snapshotSize; i++) {
+            InstanceInfo instance = SampleInstanceInfo.WebServer.builder().withId("id_" + i).build();
+            instances.add(instance);
+            initialContent.add(add(instance, localSource));
+        }
+        PublishSubject<ChangeNotification<InstanceInfo>> dataSource = PublishSubject.create();
+        Index<InstanceInfo> index = Index.forInterest(interest, dataSource,
+                new InstanceInfoInitStateHolder(initialContent.iterator(), interest));
+
+        TestSubscriber<ChangeNotification<InstanceInfo>> indexSubscriber = new TestSubscriber<>(10);
+        index.filter(dataOnlyFilter()).subscribe(indexSubscriber);
+        assertThat(indexSubscriber.getOnNextEvents().size(), is(equalTo(10)));
+
+        // Real time changes made while the snapshot is paused are compacted per instance
+        for (int round = 0; round < 100; round++) {
+            for (int i = 0; i < updatedInstances; i++) {
+                InstanceInfo previous = instances.get(i);
+                InstanceInfo updated = SampleInstanceInfo.WebServer.builder()
+                        .withId(previous.getId())
+                        .withVipAddress("vip_" + round)
+                        .build();
+                instances.set(i, updated);
+                dataSource.onNext(modify(updated, previous, localSource));
+            }
+        }
+        assertThat(indexSubscriber.getOnNextEvents().size(), is(equalTo(10)));
+
+        indexSubscriber.requestMore(Long.MAX_VALUE);
+        List<ChangeNotification<InstanceInfo>> received = indexSubscriber.getOnNextEvents();
+        assertThat(received.size(), is(equalTo(snapshotSize + updatedInstances)));
+        for (int i = 0; i < updatedInstances; i++) {
+            ChangeNotification<InstanceInfo> change = received.get(snapshotSize + i);
+            assertThat(change.getKind(), is(equalTo(Kind.Add)));
+            assertThat(change.getData(), is(equalTo(instances.get(i))));
+        }
+
+        // After the snapshot, changes are delivered as they come
+        InstanceInfo updated = SampleInstanceInfo.WebServer.builder().withId("id_0").build();
+        ChangeNotification<InstanceInfo> modify = modify(updated, instances.get(0), localSource);
+        dataSource.onNext(modify);
+        assertThat(indexSubscriber.getOnNextEvents().get(snapshotSize + updatedInstances), is(equalTo(modify)));
+    }
+
+    private static ChangeNotification<InstanceInfo> add(InstanceInfo instance, Source source) {
+        return new SourcedChangeNotification<>(Kind.Add, instance, source);
+    }
+
+    private static ChangeNotification<InstanceInfo> delete(InstanceInfo instance, Source source) {
+        return new SourcedChangeNotification<>(Kind.Delete, instance, source);
+    }
+
+    private static ChangeNotification<InstanceInfo> modify(InstanceInfo instance, InstanceInfo previous, Source source) {
+        return new SourcedModifyNotification<>(instance, instance.diffOlder(previous), source);
+    }
+}
@@ -226,6 +226,27 @@ public class InstanceInfoInitStateHolderTest {
         assertThat(output.subList(7, 9), containsInAnyOrder(source1ngBufferEnd, source2BufferEnd));
     }
 
+    @Test
+    public void testSnapshotIsSharedUntilContentChanges() throws Exception {
+        List<ChangeNotification<InstanceInfo>> snapshot = initStateHolder.currentSnapshot();
+        assertThat(initStateHolder.currentSnapshot(), is(sameInstance(snapshot)));
+
+        // Buffer markers are not part of the snapshot
+        initStateHolder.addNotification(source1BufferStart);
+        assertThat(initStateHolder.currentSnapshot(), is(sameInstance(snapshot)));
+
+        // Data change creates new version
+        initStateHolder.addNotification(cn1);
+        List<ChangeNotification<InstanceInfo>> updatedSnapshot = initStateHolder.currentSnapshot();
+        assertThat(updatedSnapshot, is(not(sameInstance(snapshot))));
+        assertThat(updatedSnapshot, containsInAnyOrder(collapse(initialRegistry, cn1)));
+        assertThat(initStateHolder.currentSnapshot(), is(sameInstance(updatedSnapshot)));
+
+        // Removal creates new version
+        initStateHolder.addNotification(new SourcedChangeNotification<>(ChangeNotification.Kind.Delete, cn1.getData(), localSource));
+        assertThat(initStateHolder.currentSnapshot(), containsInAnyOrder(initialRegistry.toArray()));
+    }
+
 
     private static List<ChangeNotification<InstanceInfo>> collect(InstanceInfoInitStateHolder initStateHolder) {
         List<ChangeNotification<InstanceInfo>> result = new ArrayList<>();
@@ -38,6 +38,27 @@ public class EurekaTextFormattersTest {
         assertThat(query, is(equalTo("Interest{application=testApp}")));
     }
 
+    @Test
+    public void testMetadataQueryFormatting() throws Exception {
+        Interest<InstanceInfo> metadataInterest = Interests.forMetadata("shard", "shard1");
+        String query = toQuery(metadataInterest);
+        assertThat(query, is(equalTo("Interest{metadata.shard=shard1}")));
+    }
+
+    @Test
+    public void testStatusFilteredQueryFormatting() throws Exception {
+        Interest<InstanceInfo> filteredInterest = Interests.withStatus(Interests.forApplications("app1"), InstanceInfo.Status.UP, InstanceInfo.Status.STARTING);
+        String query = toQuery(filteredInterest);
+        assertThat(query, is(equalTo("Interest{application=app1 [status=UP|STARTING]}")));
+    }
+
+    @Test
+    public void testZoneAffinityQueryFormatting() throws Exception {
+        Interest<InstanceInfo> zoneInterest = Interests.withZoneAffinity(Interests.forVips("vip1"), "us-east-1c", 2);
+        String query = toQuery(zoneInterest);
+        assertThat(query, is(equalTo("Interest{vip=vip1 [zone=us-east-1c, minLocalUp=2]}")));
+    }
+
     @Test
     public void testNoneQueryFormatting() throws Exception {
         Interest<InstanceInfo> appInterest = Interests.forNone();
@@ -0,0 +1,168 @@
+package com.netflix.eureka2.utils.rx;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.netflix.eureka2.junit.categories.LongRunningTest;
+import com.netflix.eureka2.utils.rx.HashedWheelTimeoutService.Timeout;
+import org.junit.Assume;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rx.Observable;
+import rx.Subscription;
+import rx.schedulers.Schedulers;
+import rx.schedulers.TestScheduler;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class HashedWheelTimeoutServiceTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(HashedWheelTimeoutServiceTest.class);
+
+    private static final long TICK_MS = 100;
+    private static final int WHEEL_SIZE = 16;
+
+    private final TestScheduler testScheduler = Schedulers.test();
+    private final HashedWheelTimeoutService timeoutService = new HashedWheelTimeoutService(TICK_MS, WHEEL_SIZE, testScheduler);
+
+    private final AtomicInteger fired = new AtomicInteger();
+
+    @Test
+    public void testTimeoutExpiresWhenNotTouched() throws Exception {
+        Timeout timeout = timeoutService.newTimeout(1000, fired::incrementAndGet);
+
+        testScheduler.advanceTimeBy(900, TimeUnit.MILLISECONDS);
+        assertThat(fired.get(), is(equalTo(0)));
+
+        testScheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        assertThat(fired.get(), is(equalTo(1)));
+        assertThat(timeout.isExpired(), is(true));
+        assertThat(timeoutService.size(), is(equalTo(0)));
+    }
+
+    @Test
+    public void testTouchPostponesExpiry() throws Exception {
+        Timeout timeout = timeoutService.newTimeout(1000, fired::incrementAndGet);
+
+        for (int i = 0; i < 10; i++) {
+            testScheduler.advanceTimeBy(500, TimeUnit.MILLISECONDS);
+            timeout.touch();
+        }
+        assertThat(fired.get(), is(equalTo(0)));
+
+        testScheduler.advanceTimeBy(1000, TimeUnit.MILLISECONDS);
+        assertThat(fired.get(), is(equalTo(1)));
+    }
+
+    @Test
+    public void testTimeoutLongerThanWheelRotation() throws Exception {
+        long timeoutMs = 5 * WHEEL_SIZE * TICK_MS + 50;
+        timeoutService.newTimeout(timeoutMs, fired::incrementAndGet);
+
+        testScheduler.advanceTimeBy(timeoutMs - TICK_MS, TimeUnit.MILLISECONDS);
+        assertThat(fired.get(), is(equalTo(0)));
+
+        testScheduler.advanceTimeBy(2 * TICK_MS, TimeUnit.MILLISECONDS);
+        assertThat(fired.get(), is(equalTo(1)));
+    }
+
+    @Test
+    public void testCancelledTimeoutDoesNotFire() throws Exception {
+        Timeout timeout = timeoutService.newTimeout(1000, fired::incrementAndGet);
+        timeout.unsubscribe();
+        assertThat(timeoutService.size(), is(equalTo(0)));
+
+        testScheduler.advanceTimeBy(2000, TimeUnit.MILLISECONDS);
+        assertThat(fired.get(), is(equalTo(0)));
+        assertThat(timeout.isExpired(), is(false));
+    }
+
+    @Test
+    public void testPeriodicTaskRunsAtFixedRate() throws Exception {
+        Timeout periodic = timeoutService.newPeriodic(1000, fired::incrementAndGet);
+
+        for (int i = 1; i <= 5; i++) {
+            testScheduler.advanceTimeBy(1000, TimeUnit.MILLISECONDS);
+            assertThat(fired.get(), is(equalTo(i)));
+        }
+
+        periodic.unsubscribe();
+        testScheduler.advanceTimeBy(5000, TimeUnit.MILLISECONDS);
+        assertThat(fired.get(), is(equalTo(5)));
+    }
+
+    @Test
+    public void testIdleTimeoutsExpireInBulk() throws Exception {
+        int count = 100000;
+        for (int i = 0; i < count; i++) {
+            timeoutService.newTimeout(1000, fired::incrementAndGet);
+        }
+        assertThat(timeoutService.size(), is(equalTo(count)));
+
+        testScheduler.advanceTimeBy(1000, TimeUnit.MILLISECONDS);
+        assertThat(fired.get(), is(equalTo(count)));
+        assertThat(timeoutService.size(), is(equalTo(0)));
+    }
+
+    /**
+     * Compare CPU usage of 100k idle channel timeouts, with a timer task per channel and with the shared wheel.
+     */
+    @Test
+    @Category(LongRunningTest.class)
+    public void testCpuUsageWithIdleChannels() throws Exception {
+        int channels = 100000;
+        long timeoutMs = 1000;
+        long runTimeMs = 10000;
+
+        long intervalCpuMs = measureCpuMs(runTimeMs, () -> {
+            List<Subscription> subscriptions = new ArrayList<>(channels);
+            for (int i = 0; i < channels; i++) {
+                subscriptions.add(Observable.interval(timeoutMs, timeoutMs, TimeUnit.MILLISECONDS, Schedulers.computation()).subscribe());
+            }
+            return subscriptions;
+        });
+
+        HashedWheelTimeoutService wheelService = new HashedWheelTimeoutService(Schedulers.computation());
+        long wheelCpuMs = measureCpuMs(runTimeMs, () -> {
+            List<Timeout> timeouts = new ArrayList<>(channels);
+            for (int i = 0; i < channels; i++) {
+                timeouts.add(wheelService.newTimeout(timeoutMs, () -> {
+                }));
+            }
+            List<Subscription> subscriptions = new ArrayList<>(timeouts);
+            // Keep the timeouts alive, as if heartbeats were received
+            subscriptions.add(wheelService.newPeriodic(timeoutMs / 2, () -> {
+                for (Timeout timeout : timeouts) {
+                    timeout.touch();
+                }
+            }));
+            return subscriptions;
+        });
+        wheelService.shutdown();
+
+        logger.info("CPU time with {} idle channels over {}ms: per channel timer={}ms, hashed wheel={}ms",
+                channels, runTimeMs, intervalCpuMs, wheelCpuMs);
+        assertThat(wheelCpuMs < intervalCpuMs, is(true));
+    }
+
+    private static long measureCpuMs(long runTimeMs, rx.functions.Func0<List<Subscription>> setup) throws InterruptedException {
+        Assume.assumeTrue("Process CPU time not available", ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean);
+        com.sun.management.OperatingSystemMXBean osBean =
+                (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        List<Subscription> subscriptions = setup.call();
+        long startCpu = osBean.getProcessCpuTime();
+        Thread.sleep(runTimeMs);
+        long cpuMs = (osBean.getProcessCpuTime() - startCpu) / 1000000;
+        for (Subscription subscription : subscriptions) {
+            subscription.unsubscribe();
+        }
+        return cpuMs;
+    }
+}
@@ -32,23 +32,28 @@ public class GrpcChannelModel extends ChannelModel {
     }
 
     @Override
-    public ClientHello newClientHello(Source clientSource) {
-        return GrpcClientHelloWrapper.newClientHello(clientSource);
+    public ClientHello newClientHello(Source clientSource, long heartbeatIntervalMs) {
+        return GrpcClientHelloWrapper.newClientHello(clientSource, heartbeatIntervalMs);
     }
 
     @Override
-    public ReplicationClientHello newReplicationClientHello(Source clientSource, int registrySize) {
-        return GrpcReplicationClientHelloWrapper.newClientHello(clientSource, registrySize);
+    public ReplicationClientHello newReplicationClientHello(Source clientSource, int registrySize, long heartbeatIntervalMs) {
+        return GrpcReplicationClientHelloWrapper.newClientHello(clientSource, registrySize, heartbeatIntervalMs);
     }
 
     @Override
-    public ServerHello newServerHello(Source serverSource) {
-        return GrpcServerHelloWrapper.newServerHello(serverSource);
+    public ServerHello newServerHello(Source serverSource, long heartbeatIntervalMs) {
+        return GrpcServerHelloWrapper.newServerHello(serverSource, heartbeatIntervalMs);
     }
 
     @Override
-    public ReplicationServerHello newReplicationServerHello(Source serverSource) {
-        return GrpcReplicationServerHelloWrapper.newServerHello(serverSource);
+    public ServerHello newServerHello(Source serverSource, long heartbeatIntervalMs, boolean deltaUpdates, int serverTier) {
+        return GrpcServerHelloWrapper.newServerHello(serverSource, heartbeatIntervalMs, serverTier);
+    }
+
+    @Override
+    public ReplicationServerHello newReplicationServerHello(Source serverSource, long heartbeatIntervalMs) {
+        return GrpcReplicationServerHelloWrapper.newServerHello(serverSource, heartbeatIntervalMs);
     }
 
     public static ChannelModel getGrpcModel() {
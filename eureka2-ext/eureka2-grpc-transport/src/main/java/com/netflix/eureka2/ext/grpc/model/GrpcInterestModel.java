@@ -62,6 +62,37 @@ public class GrpcInterestModel extends InterestModel {
         return new GrpcInstanceInterestWrapper(instanceId, operator);
     }
 
+    @Override
+    public Interest<InstanceInfo> newMetadataInterest(String key, String value) {
+        if (key == null) {
+            throw new IllegalArgumentException("Expected non null metadata key");
+        }
+        checkNotNull(value, Interest.Operator.Equals);
+        return new GrpcMetadataInterestWrapper(key, value);
+    }
+
+    @Override
+    public Interest<InstanceInfo> newStatusFilteredInterest(Interest<InstanceInfo> interest, InstanceInfo.Status... statuses) {
+        if (!(interest instanceof GrpcInterestWrapper) || !interest.isAtomicInterest()) {
+            throw new IllegalArgumentException("Expected atomic GRPC interest, and got " + interest);
+        }
+        if (statuses.length == 0) {
+            throw new IllegalArgumentException("Expected at least one status");
+        }
+        return new GrpcStatusFilteredInterestWrapper((GrpcInterestWrapper) interest, statuses);
+    }
+
+    @Override
+    public Interest<InstanceInfo> newZoneAffinityInterest(Interest<InstanceInfo> interest, String zone, int minLocalUpInstances) {
+        if (!(interest instanceof GrpcInterestWrapper) || !interest.isAtomicInterest()) {
+            throw new IllegalArgumentException("Expected atomic GRPC interest, and got " + interest);
+        }
+        if (zone == null || minLocalUpInstances < 0) {
+            throw new IllegalArgumentException("Expected non null zone and non negative minLocalUpInstances");
+        }
+        return new GrpcZoneAffinityInterestWrapper((GrpcInterestWrapper) interest, zone, minLocalUpInstances);
+    }
+
     @Override
     public MultipleInterests<InstanceInfo> newMultipleInterests(Interest<InstanceInfo>... interests) {
         return new GrpcMultipleInterestWrapper(interests);
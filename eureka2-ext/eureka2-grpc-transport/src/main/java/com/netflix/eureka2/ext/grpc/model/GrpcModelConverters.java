@@ -34,6 +34,8 @@ import com.netflix.eureka2.grpc.Eureka2;
 import com.netflix.eureka2.model.datacenter.DataCenterInfo;
 import com.netflix.eureka2.model.instance.Delta;
 import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.instance.InstanceInfoField;
+import com.netflix.eureka2.model.instance.InstanceInfoProjection;
 import com.netflix.eureka2.model.interest.Interest;
 import com.netflix.eureka2.model.interest.Interests;
 import com.netflix.eureka2.model.interest.MultipleInterests;
@@ -114,6 +116,20 @@ public final class GrpcModelConverters {
         return interests;
     }
 
+    public static InstanceInfoProjection toFieldProjection(Eureka2.GrpcInterestRegistration grpcInterestRegistration) {
+        if (grpcInterestRegistration.getFieldProjectionCount() == 0) {
+            return null;
+        }
+        List<InstanceInfoField.Name> names = new ArrayList<>();
+        for (String fieldName : grpcInterestRegistration.getFieldProjectionList()) {
+            InstanceInfoField.Name name = InstanceInfoField.Name.forName(fieldName);
+            if (name != null) {
+                names.add(name);
+            }
+        }
+        return new InstanceInfoProjection(names.toArray(new InstanceInfoField.Name[names.size()]));
+    }
+
     public static Interest<InstanceInfo> toInterest(Eureka2.GrpcInterestRegistration grpcInterestRegistration) {
         List<Eureka2.GrpcInterest> grpcInterestsList = grpcInterestRegistration.getInterestsList();
         if (grpcInterestsList.isEmpty()) {
@@ -216,7 +232,16 @@ public final class GrpcModelConverters {
     }
 
     public static Eureka2.GrpcInterestRegistration toGrpcInterestRegistration(Interest<InstanceInfo> interest) {
+        return toGrpcInterestRegistration(interest, null);
+    }
+
+    public static Eureka2.GrpcInterestRegistration toGrpcInterestRegistration(Interest<InstanceInfo> interest, InstanceInfoProjection projection) {
         Eureka2.GrpcInterestRegistration.Builder builder = Eureka2.GrpcInterestRegistration.newBuilder();
+        if (projection != null) {
+            for (InstanceInfoField.Name name : projection.getFields()) {
+                builder.addFieldProjection(name.name());
+            }
+        }
 
         if (interest instanceof MultipleInterests) {
             for (Interest<InstanceInfo> atomic : ((MultipleInterests<InstanceInfo>) interest).flatten()) {
@@ -29,6 +29,7 @@ import com.netflix.eureka2.ext.grpc.model.transport.notification.GrpcStreamState
 import com.netflix.eureka2.ext.grpc.model.transport.notification.GrpcUpdateInstanceInfoWrapper;
 import com.netflix.eureka2.model.instance.Delta;
 import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.instance.InstanceInfoField;
 import com.netflix.eureka2.model.interest.Interest;
 import com.netflix.eureka2.model.notification.StreamStateNotification;
 import com.netflix.eureka2.spi.model.TransportModel;
@@ -88,6 +89,11 @@ public class GrpcTransportModel extends TransportModel {
         return GrpcInterestRegistrationWrapper.newInterestRegistration(interest);
     }
 
+    @Override
+    public InterestRegistration newInterestRegistration(Interest<InstanceInfo> interest, InstanceInfoField.Name[] fieldProjection) {
+        return GrpcInterestRegistrationWrapper.newInterestRegistration(interest, fieldProjection);
+    }
+
     public static TransportModel getGrpcModel() {
         return INSTANCE;
     }
@@ -42,6 +42,11 @@ public class GrpcClientHelloWrapper implements GrpcObjectWrapper<Eureka2.GrpcCli
         return clientSource;
     }
 
+    @Override
+    public long getHeartbeatIntervalMs() {
+        return grpcClientHello.getHeartbeatIntervalMs();
+    }
+
     @Override
     public Eureka2.GrpcClientHello getGrpcObject() {
         return grpcClientHello;
@@ -65,10 +70,11 @@ public class GrpcClientHelloWrapper implements GrpcObjectWrapper<Eureka2.GrpcCli
         return grpcClientHello.toString();
     }
 
-    public static ClientHello newClientHello(Source clientSource) {
+    public static ClientHello newClientHello(Source clientSource, long heartbeatIntervalMs) {
         return new GrpcClientHelloWrapper(
                 Eureka2.GrpcClientHello.newBuilder()
                         .setClientSource(((GrpcSourceWrapper) clientSource).getGrpcObject())
+                        .setHeartbeatIntervalMs(heartbeatIntervalMs)
                         .build()
         );
     }
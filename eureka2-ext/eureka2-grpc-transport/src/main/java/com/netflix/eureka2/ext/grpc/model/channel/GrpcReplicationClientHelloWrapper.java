@@ -47,6 +47,11 @@ public class GrpcReplicationClientHelloWrapper implements GrpcObjectWrapper<Eure
         return clientSource;
     }
 
+    @Override
+    public long getHeartbeatIntervalMs() {
+        return grpcClientHello.getHeartbeatIntervalMs();
+    }
+
     @Override
     public Eureka2.GrpcReplicationClientHello getGrpcObject() {
         return grpcClientHello;
@@ -70,11 +75,12 @@ public class GrpcReplicationClientHelloWrapper implements GrpcObjectWrapper<Eure
         return grpcClientHello.toString();
     }
 
-    public static ReplicationClientHello newClientHello(Source clientSource, int registrySize) {
+    public static ReplicationClientHello newClientHello(Source clientSource, int registrySize, long heartbeatIntervalMs) {
         return new GrpcReplicationClientHelloWrapper(
                 Eureka2.GrpcReplicationClientHello.newBuilder()
                         .setClientSource(((GrpcSourceWrapper) clientSource).getGrpcObject())
                         .setRegistrySize(registrySize)
+                        .setHeartbeatIntervalMs(heartbeatIntervalMs)
                         .build()
         );
     }
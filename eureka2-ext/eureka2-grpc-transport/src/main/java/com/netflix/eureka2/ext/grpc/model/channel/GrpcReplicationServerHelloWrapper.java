@@ -41,6 +41,11 @@ public class GrpcReplicationServerHelloWrapper implements GrpcObjectWrapper<Eure
         return serverSource;
     }
 
+    @Override
+    public long getHeartbeatIntervalMs() {
+        return grpcServerHello.getHeartbeatIntervalMs();
+    }
+
     @Override
     public Eureka2.GrpcReplicationServerHello getGrpcObject() {
         return grpcServerHello;
@@ -64,10 +69,11 @@ public class GrpcReplicationServerHelloWrapper implements GrpcObjectWrapper<Eure
         return grpcServerHello.toString();
     }
 
-    public static ReplicationServerHello newServerHello(Source serverSource) {
+    public static ReplicationServerHello newServerHello(Source serverSource, long heartbeatIntervalMs) {
         return new GrpcReplicationServerHelloWrapper(
                 Eureka2.GrpcReplicationServerHello.newBuilder()
                         .setServerSource(((GrpcSourceWrapper) serverSource).getGrpcObject())
+                        .setHeartbeatIntervalMs(heartbeatIntervalMs)
                         .build()
         );
     }
@@ -42,6 +42,16 @@ public class GrpcServerHelloWrapper implements GrpcObjectWrapper<Eureka2.GrpcSer
         return serverSource;
     }
 
+    @Override
+    public long getHeartbeatIntervalMs() {
+        return grpcServerHello.getHeartbeatIntervalMs();
+    }
+
+    @Override
+    public int getServerTier() {
+        return grpcServerHello.getServerTier();
+    }
+
     @Override
     public Eureka2.GrpcServerHello getGrpcObject() {
         return grpcServerHello;
@@ -65,10 +75,16 @@ public class GrpcServerHelloWrapper implements GrpcObjectWrapper<Eureka2.GrpcSer
         return grpcServerHello.toString();
     }
 
-    public static ServerHello newServerHello(Source serverSource) {
+    public static ServerHello newServerHello(Source serverSource, long heartbeatIntervalMs) {
+        return newServerHello(serverSource, heartbeatIntervalMs, 0);
+    }
+
+    public static ServerHello newServerHello(Source serverSource, long heartbeatIntervalMs, int serverTier) {
         return new GrpcServerHelloWrapper(
                 Eureka2.GrpcServerHello.newBuilder()
                         .setServerSource(((GrpcSourceWrapper) serverSource).getGrpcObject())
+                        .setHeartbeatIntervalMs(heartbeatIntervalMs)
+                        .setServerTier(serverTier)
                         .build()
         );
     }
@@ -65,6 +65,12 @@ public abstract class GrpcInterestWrapper implements Interest<InstanceInfo>, Grp
                 return GrpcSecureVipInterestWrapper.getInstance(grpcInterest);
             case INSTANCE:
                 return GrpcInstanceInterestWrapper.getInstance(grpcInterest);
+            case METADATA:
+                return GrpcMetadataInterestWrapper.getInstance(grpcInterest);
+            case STATUSFILTERED:
+                return GrpcStatusFilteredInterestWrapper.getInstance(grpcInterest);
+            case ZONEAFFINITY:
+                return GrpcZoneAffinityInterestWrapper.getInstance(grpcInterest);
         }
         return null;
     }
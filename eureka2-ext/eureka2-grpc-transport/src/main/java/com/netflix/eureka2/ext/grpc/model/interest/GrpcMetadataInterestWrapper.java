@@ -0,0 +1,86 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.eureka2.ext.grpc.model.interest;
+
+import java.util.Map;
+
+import com.netflix.eureka2.grpc.Eureka2;
+import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.interest.MetadataInterest;
+
+/**
+ */
+public class GrpcMetadataInterestWrapper extends GrpcPatternInterestWrapper implements MetadataInterest<InstanceInfo> {
+
+    public GrpcMetadataInterestWrapper(String key, String value) {
+        super(Eureka2.GrpcInterest.newBuilder().setMetadata(
+                Eureka2.GrpcInterest.GrpcMetadataInterest.newBuilder()
+                        .setKey(key)
+                        .setValue(value)
+                        .build()
+                ).build()
+        );
+    }
+
+    public GrpcMetadataInterestWrapper(Eureka2.GrpcInterest grpcInterest) {
+        super(grpcInterest);
+    }
+
+    public static GrpcInterestWrapper getInstance(Eureka2.GrpcInterest grpcInterest) {
+        return new GrpcMetadataInterestWrapper(grpcInterest);
+    }
+
+    @Override
+    public QueryType getQueryType() {
+        return QueryType.Metadata;
+    }
+
+    @Override
+    public Operator getOperator() {
+        return Operator.Equals;
+    }
+
+    @Override
+    public String getKey() {
+        return getGrpcObject().getMetadata().getKey();
+    }
+
+    @Override
+    public String getPattern() {
+        return getGrpcObject().getMetadata().getValue();
+    }
+
+    @Override
+    protected String getValue(InstanceInfo data) {
+        Map<String, String> metaData = data.getMetaData();
+        return metaData == null ? null : metaData.get(getKey());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return super.equals(o) && getKey().equals(((GrpcMetadataInterestWrapper) o).getKey());
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + getKey().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "GrpcMetadataInterestWrapper{key='" + getKey() + "', value='" + getPattern() + "'}";
+    }
+}
@@ -18,8 +18,7 @@ package com.netflix.eureka2.ext.grpc.model.interest;
 
 import com.netflix.eureka2.grpc.Eureka2;
 import com.netflix.eureka2.model.instance.InstanceInfo;
-
-import java.util.regex.Pattern;
+import com.netflix.eureka2.model.interest.LikePattern;
 
 /**
  */
@@ -27,7 +26,7 @@ public abstract class GrpcPatternInterestWrapper extends GrpcInterestWrapper {
 
     private final Eureka2.GrpcInterest grpcInterest;
 
-    private volatile Pattern compiledPattern;
+    private volatile LikePattern compiledPattern;
 
     protected GrpcPatternInterestWrapper(Eureka2.GrpcInterest grpcInterest) {
         this.grpcInterest = grpcInterest;
@@ -43,9 +42,9 @@ public abstract class GrpcPatternInterestWrapper extends GrpcInterestWrapper {
             return getPattern().equals(value);
         }
         if (compiledPattern == null) {
-            compiledPattern = Pattern.compile(getPattern());
+            compiledPattern = LikePattern.compile(getPattern());
         }
-        return compiledPattern.matcher(value).matches();
+        return compiledPattern.matches(value);
     }
 
     protected abstract String getValue(InstanceInfo data);
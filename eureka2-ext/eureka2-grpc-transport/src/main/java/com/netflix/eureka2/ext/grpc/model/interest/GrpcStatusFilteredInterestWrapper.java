@@ -0,0 +1,122 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.eureka2.ext.grpc.model.interest;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import com.netflix.eureka2.ext.grpc.model.instance.GrpcInstanceInfoWrapper;
+import com.netflix.eureka2.grpc.Eureka2;
+import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.instance.InstanceInfo.Status;
+import com.netflix.eureka2.model.interest.Interest;
+import com.netflix.eureka2.model.interest.StatusFilteredInterest;
+
+/**
+ */
+public class GrpcStatusFilteredInterestWrapper extends GrpcInterestWrapper implements StatusFilteredInterest<InstanceInfo> {
+
+    private final Eureka2.GrpcInterest grpcInterest;
+    private final GrpcInterestWrapper interest;
+    private final Set<Status> statuses;
+
+    public GrpcStatusFilteredInterestWrapper(GrpcInterestWrapper interest, Status... statuses) {
+        Eureka2.GrpcInterest.GrpcStatusFilteredInterest.Builder builder = Eureka2.GrpcInterest.GrpcStatusFilteredInterest.newBuilder()
+                .setInterest(interest.getGrpcObject());
+        this.statuses = EnumSet.noneOf(Status.class);
+        for (Status status : statuses) {
+            builder.addStatuses(status == Status.UNKNOWN ? Eureka2.GrpcInstanceInfo.GrpcStatus.UNKNOWN : GrpcInstanceInfoWrapper.toGrpcStatus(status));
+            this.statuses.add(status);
+        }
+        this.grpcInterest = Eureka2.GrpcInterest.newBuilder().setStatusFiltered(builder.build()).build();
+        this.interest = interest;
+    }
+
+    public GrpcStatusFilteredInterestWrapper(Eureka2.GrpcInterest grpcInterest) {
+        this.grpcInterest = grpcInterest;
+        this.interest = toInterest(grpcInterest.getStatusFiltered().getInterest());
+        this.statuses = EnumSet.noneOf(Status.class);
+        for (Eureka2.GrpcInstanceInfo.GrpcStatus grpcStatus : grpcInterest.getStatusFiltered().getStatusesList()) {
+            statuses.add(GrpcInstanceInfoWrapper.toStatus(grpcStatus));
+        }
+    }
+
+    public static GrpcInterestWrapper getInstance(Eureka2.GrpcInterest grpcInterest) {
+        return new GrpcStatusFilteredInterestWrapper(grpcInterest);
+    }
+
+    @Override
+    public Eureka2.GrpcInterest getGrpcObject() {
+        return grpcInterest;
+    }
+
+    @Override
+    public Interest<InstanceInfo> getInterest() {
+        return interest;
+    }
+
+    @Override
+    public Set<Status> getStatuses() {
+        return Collections.unmodifiableSet(statuses);
+    }
+
+    @Override
+    public QueryType getQueryType() {
+        return interest.getQueryType();
+    }
+
+    @Override
+    public Operator getOperator() {
+        return interest.getOperator();
+    }
+
+    @Override
+    public String getPattern() {
+        return interest.getPattern();
+    }
+
+    @Override
+    public boolean matches(InstanceInfo data) {
+        return statuses.contains(data.getStatus()) && interest.matches(data);
+    }
+
+    @Override
+    public boolean isAtomicInterest() {
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+
+        GrpcStatusFilteredInterestWrapper that = (GrpcStatusFilteredInterestWrapper) o;
+        return interest.equals(that.interest) && statuses.equals(that.statuses);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * interest.hashCode() + statuses.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "GrpcStatusFilteredInterestWrapper{interest=" + interest + ", statuses=" + statuses + '}';
+    }
+}
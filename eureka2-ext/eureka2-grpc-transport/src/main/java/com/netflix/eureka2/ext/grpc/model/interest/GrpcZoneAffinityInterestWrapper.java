@@ -0,0 +1,114 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.eureka2.ext.grpc.model.interest;
+
+import com.netflix.eureka2.grpc.Eureka2;
+import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.interest.Interest;
+import com.netflix.eureka2.model.interest.ZoneAffinityInterest;
+
+/**
+ */
+public class GrpcZoneAffinityInterestWrapper extends GrpcInterestWrapper implements ZoneAffinityInterest<InstanceInfo> {
+
+    private final Eureka2.GrpcInterest grpcInterest;
+    private final GrpcInterestWrapper interest;
+
+    public GrpcZoneAffinityInterestWrapper(GrpcInterestWrapper interest, String zone, int minLocalUpInstances) {
+        Eureka2.GrpcInterest.GrpcZoneAffinityInterest grpcZoneAffinity = Eureka2.GrpcInterest.GrpcZoneAffinityInterest.newBuilder()
+                .setInterest(interest.getGrpcObject())
+                .setZone(zone)
+                .setMinLocalUpInstances(minLocalUpInstances)
+                .build();
+        this.grpcInterest = Eureka2.GrpcInterest.newBuilder().setZoneAffinity(grpcZoneAffinity).build();
+        this.interest = interest;
+    }
+
+    public GrpcZoneAffinityInterestWrapper(Eureka2.GrpcInterest grpcInterest) {
+        this.grpcInterest = grpcInterest;
+        this.interest = toInterest(grpcInterest.getZoneAffinity().getInterest());
+    }
+
+    public static GrpcInterestWrapper getInstance(Eureka2.GrpcInterest grpcInterest) {
+        return new GrpcZoneAffinityInterestWrapper(grpcInterest);
+    }
+
+    @Override
+    public Eureka2.GrpcInterest getGrpcObject() {
+        return grpcInterest;
+    }
+
+    @Override
+    public Interest<InstanceInfo> getInterest() {
+        return interest;
+    }
+
+    @Override
+    public String getZone() {
+        return grpcInterest.getZoneAffinity().getZone();
+    }
+
+    @Override
+    public int getMinLocalUpInstances() {
+        return grpcInterest.getZoneAffinity().getMinLocalUpInstances();
+    }
+
+    @Override
+    public QueryType getQueryType() {
+        return interest.getQueryType();
+    }
+
+    @Override
+    public Operator getOperator() {
+        return interest.getOperator();
+    }
+
+    @Override
+    public String getPattern() {
+        return interest.getPattern();
+    }
+
+    @Override
+    public boolean matches(InstanceInfo data) {
+        return interest.matches(data);
+    }
+
+    @Override
+    public boolean isAtomicInterest() {
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+
+        GrpcZoneAffinityInterestWrapper that = (GrpcZoneAffinityInterestWrapper) o;
+        return grpcInterest.equals(that.grpcInterest);
+    }
+
+    @Override
+    public int hashCode() {
+        return grpcInterest.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "GrpcZoneAffinityInterestWrapper{interest=" + interest + ", zone=" + getZone() + ", minLocalUpInstances=" + getMinLocalUpInstances() + '}';
+    }
+}
@@ -21,6 +21,8 @@ import com.netflix.eureka2.ext.grpc.model.GrpcObjectWrapper;
 import com.netflix.eureka2.ext.grpc.util.TextPrinter;
 import com.netflix.eureka2.grpc.Eureka2;
 import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.instance.InstanceInfoField;
+import com.netflix.eureka2.model.instance.InstanceInfoProjection;
 import com.netflix.eureka2.model.interest.Interest;
 import com.netflix.eureka2.spi.model.transport.InterestRegistration;
 
@@ -50,6 +52,11 @@ public class GrpcInterestRegistrationWrapper implements InterestRegistration, Gr
         return interests;
     }
 
+    @Override
+    public InstanceInfoField.Name[] getFieldProjection() {
+        return InstanceInfoProjection.asArray(GrpcModelConverters.toFieldProjection(grpcInterestRegistration));
+    }
+
     @Override
     public boolean equals(Object o) {
         if (o instanceof GrpcInterestRegistrationWrapper) {
@@ -74,6 +81,12 @@ public class GrpcInterestRegistrationWrapper implements InterestRegistration, Gr
         );
     }
 
+    public static InterestRegistration newInterestRegistration(Interest<InstanceInfo> interest, InstanceInfoField.Name[] fieldProjection) {
+        return new GrpcInterestRegistrationWrapper(
+                GrpcModelConverters.toGrpcInterestRegistration(interest, InstanceInfoProjection.fromArray(fieldProjection))
+        );
+    }
+
     public static InterestRegistration asInterestRegistration(Eureka2.GrpcInterestRegistration grpcInterestRegistration) {
         return new GrpcInterestRegistrationWrapper(grpcInterestRegistration);
     }
@@ -22,6 +22,7 @@ import com.netflix.eureka2.model.InstanceModel;
 import com.netflix.eureka2.model.Server;
 import com.netflix.eureka2.model.Source;
 import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.instance.InstanceInfoProjection;
 import com.netflix.eureka2.model.interest.Interest;
 import com.netflix.eureka2.model.notification.ChangeNotification;
 import com.netflix.eureka2.spi.channel.ChannelContext;
@@ -102,7 +103,10 @@ public class GrpcInterestClientTransportHandler implements InterestHandler {
             case Hello:
                 return Eureka2.GrpcInterestRequest.newBuilder().setClientHello(toGrpcClientHello(interest.getHello())).build();
             case Data:
-                return Eureka2.GrpcInterestRequest.newBuilder().setInterestRegistration(toGrpcInterestRegistration(interest.getData())).build();
+                InstanceInfoProjection projection = (InstanceInfoProjection) interest.getContext().get(InstanceInfoProjection.CHANNEL_CONTEXT_KEY);
+                return Eureka2.GrpcInterestRequest.newBuilder()
+                        .setInterestRegistration(toGrpcInterestRegistration(interest.getData(), projection))
+                        .build();
         }
         throw new IllegalStateException("Unrecognized channel notification type " + interest.getKind());
     }
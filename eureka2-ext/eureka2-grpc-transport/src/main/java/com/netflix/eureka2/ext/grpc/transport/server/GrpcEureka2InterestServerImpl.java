@@ -22,6 +22,7 @@ import com.netflix.eureka2.ext.grpc.model.GrpcModelConverters;
 import com.netflix.eureka2.grpc.Eureka2;
 import com.netflix.eureka2.grpc.Eureka2InterestGrpc;
 import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.instance.InstanceInfoProjection;
 import com.netflix.eureka2.model.interest.Interest;
 import com.netflix.eureka2.model.notification.ChangeNotification;
 import com.netflix.eureka2.spi.channel.ChannelNotification;
@@ -96,7 +97,13 @@ class GrpcEureka2InterestServerImpl implements Eureka2InterestGrpc.Eureka2Intere
                     interestSubject.onNext(ChannelNotification.newHeartbeat());
                     break;
                 case INTERESTREGISTRATION:
-                    interestSubject.onNext(ChannelNotification.newData(toInterest(grpcInterestRequest.getInterestRegistration())));
+                    Eureka2.GrpcInterestRegistration registration = grpcInterestRequest.getInterestRegistration();
+                    ChannelNotification<Interest<InstanceInfo>> interestNotification = ChannelNotification.newData(toInterest(registration));
+                    InstanceInfoProjection projection = GrpcModelConverters.toFieldProjection(registration);
+                    if (projection != null) {
+                        interestNotification = interestNotification.setContext(InstanceInfoProjection.CHANNEL_CONTEXT_KEY, projection);
+                    }
+                    interestSubject.onNext(interestNotification);
                     break;
                 default:
                     logger.error("Unrecognized interest request notification type {}", kind);
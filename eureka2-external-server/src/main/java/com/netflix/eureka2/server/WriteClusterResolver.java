@@ -13,7 +13,6 @@ import com.netflix.eureka2.server.resolver.EurekaClusterResolver;
 import com.netflix.eureka2.server.resolver.EurekaClusterResolvers;
 import rx.Observable;
 import rx.functions.Func1;
-import rx.schedulers.Schedulers;
 
 /**
  * @author Tomasz Bak
@@ -52,7 +51,21 @@ public class WriteClusterResolver extends RoundRobinServerResolver {
         return new WriteClusterResolver(createEurekaEndpointResolver(config));
     }
 
+    /**
+     * Registry source of a read server. Tier 1 read servers fetch the registry from the write cluster, and read
+     * servers of higher tiers from the upstream read cluster, so adding read capacity does not increase the number
+     * of connections served by write servers.
+     */
+    public static ServerResolver createReadServerInterestResolver(EurekaClusterDiscoveryConfig config) {
+        if (config.getReadServerTier() > 1) {
+            return new WriteClusterResolver(EurekaClusterResolvers.readClusterResolverFromConfiguration(
+                    config.getUpstreamReadClusterResolverType(), Arrays.asList(config.getUpstreamReadClusterAddresses())
+            ));
+        }
+        return createInterestResolver(config);
+    }
+
     private static EurekaClusterResolver createEurekaEndpointResolver(EurekaClusterDiscoveryConfig config) {
-        return EurekaClusterResolvers.writeClusterResolverFromConfiguration(config.getClusterResolverType(), Arrays.asList(config.getClusterAddresses()), Schedulers.computation());
+        return EurekaClusterResolvers.writeClusterResolverFromConfiguration(config.getClusterResolverType(), Arrays.asList(config.getClusterAddresses()));
     }
 }
@@ -22,6 +22,8 @@ import com.google.inject.Provides;
 import com.netflix.eureka2.client.EurekaInterestClient;
 import com.netflix.eureka2.client.EurekaRegistrationClient;
 import com.netflix.eureka2.registry.EurekaRegistryView;
+import com.netflix.eureka2.server.channel.interest.InterestAdmissionController;
+import com.netflix.eureka2.server.config.EurekaClusterDiscoveryConfig;
 import com.netflix.eureka2.server.config.EurekaInstanceInfoConfig;
 import com.netflix.eureka2.server.config.EurekaServerTransportConfig;
 import com.netflix.eureka2.server.registry.EurekaReadServerRegistryView;
@@ -76,8 +78,11 @@ public class EurekaReadServerModule extends AbstractEurekaServerModule {
     public EurekaTransportServer getTransportServer(EurekaServerTransportFactory transportFactory,
                                                     EurekaServerTransportConfig config,
                                                     EurekaInstanceInfoConfig instanceInfoConfig,
-                                                    EurekaRegistryView registryView) {
-        return new EurekaTransportServer(transportFactory, config, null, null, null, registryView, instanceInfoConfig, Schedulers.computation());
+                                                    EurekaClusterDiscoveryConfig clusterDiscoveryConfig,
+                                                    EurekaRegistryView registryView,
+                                                    InterestAdmissionController admissionController) {
+        return new EurekaTransportServer(transportFactory, config, null, null, null, registryView, instanceInfoConfig, admissionController,
+                clusterDiscoveryConfig.getReadServerTier(), Schedulers.computation());
     }
 
     protected void bindRegistryComponents() {
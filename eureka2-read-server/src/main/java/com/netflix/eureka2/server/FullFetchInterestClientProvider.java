@@ -14,6 +14,7 @@ import com.netflix.eureka2.model.Source;
 import com.netflix.eureka2.model.instance.InstanceInfo;
 import com.netflix.eureka2.registry.EurekaRegistry;
 import com.netflix.eureka2.registry.EurekaRegistryImpl;
+import com.netflix.eureka2.server.config.EurekaClusterDiscoveryConfig;
 import com.netflix.eureka2.server.config.EurekaServerConfig;
 import com.netflix.eureka2.spi.transport.EurekaClientTransportFactory;
 import rx.schedulers.Schedulers;
@@ -50,12 +51,14 @@ public class FullFetchInterestClientProvider implements Provider<FullFetchIntere
         if (client == null) {
             EurekaRegistry<InstanceInfo> registry = new EurekaRegistryImpl(registryMetricFactory);
             BasicEurekaTransportConfig transportConfig = new BasicEurekaTransportConfig.Builder().build();
-            ServerResolver discoveryResolver = WriteClusterResolver.createInterestResolver(config.getEurekaClusterDiscovery());
+            EurekaClusterDiscoveryConfig clusterDiscoveryConfig = config.getEurekaClusterDiscovery();
+            ServerResolver discoveryResolver = WriteClusterResolver.createReadServerInterestResolver(clusterDiscoveryConfig);
 
             // FIXME Use own instance id
             Source clientSource = InstanceModel.getDefaultModel().createSource(Source.Origin.INTERESTED, EUREKA_READ_CLIENT_ID);
 
-            client = new FullFetchInterestClient(clientSource, discoveryResolver, transportFactory, transportConfig, registry, RETRY_DELAY_MS, Schedulers.computation());
+            client = new FullFetchInterestClient(clientSource, clusterDiscoveryConfig.getReadServerTier(), discoveryResolver,
+                    transportFactory, transportConfig, registry, RETRY_DELAY_MS, Schedulers.computation());
         }
 
         return client;
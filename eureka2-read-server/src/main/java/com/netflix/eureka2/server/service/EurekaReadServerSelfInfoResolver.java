@@ -12,18 +12,30 @@ import com.netflix.eureka2.server.service.selfinfo.*;
 import com.netflix.eureka2.server.spi.ExtAbstractModule.ServerType;
 import com.netflix.eureka2.server.transport.EurekaTransportServer;
 import rx.Observable;
+import rx.functions.Func0;
 import rx.functions.Func1;
+import rx.schedulers.Schedulers;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
 
 /**
+ * Apart from the standard read server information, the load of the server (number of open connections) is
+ * periodically advertised in the {@link Names#META_EUREKA_SERVER_LOAD} meta-data entry, so clients can
+ * spread their connections evenly across the read cluster. The connection count changes almost continuously,
+ * so a new value is published only when it differs significantly from the last published one (see
+ * {@link ServerLoadChangeFilter}). Otherwise each read server would send a registration update on every refresh
+ * to all clients subscribed to the read cluster.
+ *
  * @author David Liu
  */
 @Singleton
 public class EurekaReadServerSelfInfoResolver implements SelfInfoResolver {
 
+    private static final long LOAD_REFRESH_INTERVAL_SEC = 30;
+
     private final SelfInfoResolver delegate;
 
     @Inject
@@ -46,9 +58,27 @@ public class EurekaReadServerSelfInfoResolver implements SelfInfoResolver {
                             }
                         })
                 ),
-                new ChainableSelfInfoResolver(Observable.just(InstanceModel.getDefaultModel().newInstanceInfo()
-                        .withMetaData(META_EUREKA_SERVER_TYPE, ServerType.Read.name())
-                )),
+                new ChainableSelfInfoResolver(Observable.defer(new Func0<Observable<InstanceInfoBuilder>>() {
+                    @Override
+                    public Observable<InstanceInfoBuilder> call() {
+                        return Observable.timer(0, LOAD_REFRESH_INTERVAL_SEC, TimeUnit.SECONDS, Schedulers.computation())
+                                .map(new Func1<Long, Integer>() {
+                                    @Override
+                                    public Integer call(Long tick) {
+                                        return discoveryServer.getConnectionCount();
+                                    }
+                                })
+                                .filter(new ServerLoadChangeFilter())
+                                .map(new Func1<Integer, InstanceInfoBuilder>() {
+                                    @Override
+                                    public InstanceInfoBuilder call(Integer load) {
+                                        return InstanceModel.getDefaultModel().newInstanceInfo()
+                                                .withMetaData(META_EUREKA_SERVER_TYPE, ServerType.Read.name())
+                                                .withMetaData(Names.META_EUREKA_SERVER_LOAD, Integer.toString(load));
+                                    }
+                                });
+                    }
+                })),
                 new PeriodicDataCenterInfoResolver(config.getEurekaInstance(), config.getEurekaTransport())
         );
 
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.eureka2.server.service;
+
+import rx.functions.Func1;
+
+/**
+ * Passes the first server load value, and next only values that differ from the last passed one by at least
+ * {@link #MIN_LOAD_CHANGE} connections, and {@link #MIN_RELATIVE_LOAD_CHANGE} of the last value. Clients
+ * compare loads of two servers, so small differences do not matter for the choice they make.
+ */
+class ServerLoadChangeFilter implements Func1<Integer, Boolean> {
+
+    static final int MIN_LOAD_CHANGE = 10;
+    static final double MIN_RELATIVE_LOAD_CHANGE = 0.2;
+
+    private Integer lastPublished;
+
+    @Override
+    public Boolean call(Integer load) {
+        if (lastPublished != null) {
+            int change = Math.abs(load - lastPublished);
+            if (change < MIN_LOAD_CHANGE || change < lastPublished * MIN_RELATIVE_LOAD_CHANGE) {
+                return false;
+            }
+        }
+        lastPublished = load;
+        return true;
+    }
+}
@@ -0,0 +1,201 @@
+package com.netflix.eureka2.server.registry;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.netflix.eureka2.StdTransportInjector;
+import com.netflix.eureka2.client.interest.FullFetchInterestClient;
+import com.netflix.eureka2.client.resolver.ServerResolver;
+import com.netflix.eureka2.codec.jackson.JacksonEurekaCodecFactory;
+import com.netflix.eureka2.config.EurekaTransportConfig;
+import com.netflix.eureka2.junit.categories.LongRunningTest;
+import com.netflix.eureka2.metric.EurekaRegistryMetricFactory;
+import com.netflix.eureka2.model.InstanceModel;
+import com.netflix.eureka2.model.Source;
+import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.interest.Interest;
+import com.netflix.eureka2.model.interest.Interests;
+import com.netflix.eureka2.model.notification.ChangeNotification;
+import com.netflix.eureka2.model.notification.ChangeNotification.Kind;
+import com.netflix.eureka2.registry.EurekaRegistry;
+import com.netflix.eureka2.registry.EurekaRegistryImpl;
+import com.netflix.eureka2.registry.index.IndexRegistryImpl;
+import com.netflix.eureka2.spi.codec.EurekaCodec;
+import com.netflix.eureka2.spi.model.transport.ProtocolMessageEnvelope.ProtocolType;
+import com.netflix.eureka2.spi.transport.EurekaClientTransportFactory;
+import com.netflix.eureka2.testkit.data.builder.SampleInstanceInfo;
+import com.netflix.eureka2.testkit.internal.rx.ExtTestSubscriber;
+import com.netflix.eureka2.transport.ProtocolConverters;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rx.Observable;
+import rx.Subscription;
+import rx.schedulers.Schedulers;
+import rx.schedulers.TestScheduler;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Read server serves interests from its locally replicated registry. Each interest channel shall get only
+ * the instances matching its interest, not the full registry content.
+ */
+public class EurekaReadServerRegistryViewTest {
+
+    static {
+        StdTransportInjector.inject();
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(EurekaReadServerRegistryViewTest.class);
+
+    private static final int APPLICATIONS = 20;
+    private static final int INSTANCES_PER_APPLICATION = 5;
+
+    private final Source clientSource = InstanceModel.getDefaultModel().createSource(Source.Origin.LOCAL, "readServer");
+    private final Source writeServerSource = InstanceModel.getDefaultModel().createSource(Source.Origin.INTERESTED, "writeServer");
+
+    private final TestScheduler testScheduler = Schedulers.test();
+    private final EurekaRegistry<InstanceInfo> eurekaRegistry = new EurekaRegistryImpl(
+            new IndexRegistryImpl<InstanceInfo>(), EurekaRegistryMetricFactory.registryMetrics(), testScheduler);
+
+    private final ServerResolver serverResolver = mock(ServerResolver.class);
+    private final EurekaClientTransportFactory transportFactory = mock(EurekaClientTransportFactory.class);
+    private final EurekaTransportConfig transportConfig = mock(EurekaTransportConfig.class);
+
+    private final EurekaCodec codec = new JacksonEurekaCodecFactory().getCodec();
+
+    private Subscription replicationSubscription;
+    private FullFetchInterestClient interestClient;
+    private EurekaReadServerRegistryView registryView;
+
+    @Before
+    public void setUp() throws Exception {
+        // Registry content is replicated directly, so the interest client never connects to a write server
+        when(serverResolver.resolve()).thenReturn(Observable.never());
+        when(transportConfig.getHeartbeatIntervalMs()).thenReturn(30000L);
+
+        interestClient = new FullFetchInterestClient(clientSource, serverResolver, transportFactory, transportConfig, eurekaRegistry, 1000, testScheduler);
+        registryView = new EurekaReadServerRegistryView(interestClient);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (replicationSubscription != null) {
+            replicationSubscription.unsubscribe();
+        }
+        interestClient.shutdown();
+    }
+
+    @Test(timeout = 30000)
+    public void testApplicationInterestGetsOnlyItsInstances() throws Exception {
+        replicate(APPLICATIONS, INSTANCES_PER_APPLICATION);
+
+        List<ChangeNotification<InstanceInfo>> snapshot = takeSnapshot(Interests.forApplications("app_3"));
+
+        assertThat(snapshot.size(), is(equalTo(INSTANCES_PER_APPLICATION)));
+        for (ChangeNotification<InstanceInfo> notification : snapshot) {
+            assertThat(notification.getData().getApp(), is(equalTo("app_3")));
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void testCompositeInterestGetsOnlyMatchingInstances() throws Exception {
+        replicate(APPLICATIONS, INSTANCES_PER_APPLICATION);
+
+        List<ChangeNotification<InstanceInfo>> snapshot = takeSnapshot(Interests.forSome(
+                Interests.forApplications("app_1"),
+                Interests.forApplications("app_2")
+        ));
+
+        assertThat(snapshot.size(), is(equalTo(2 * INSTANCES_PER_APPLICATION)));
+    }
+
+    @Test(timeout = 30000)
+    public void testNarrowInterestBytesSentPerClient() throws Exception {
+        replicate(APPLICATIONS, INSTANCES_PER_APPLICATION);
+
+        long fullRegistryBytes = encodedSize(takeSnapshot(Interests.forFullRegistry()));
+        long applicationBytes = encodedSize(takeSnapshot(Interests.forApplications("app_0")));
+
+        assertThat(applicationBytes * (APPLICATIONS / 2), is(lessThan(fullRegistryBytes)));
+    }
+
+    @Test
+    @Category(LongRunningTest.class)
+    public void testNarrowInterestBytesSentPerClientAtScale() throws Exception {
+        int applications = 1000;
+        int instancesPerApplication = 10;
+        int clients = 1000;
+        replicate(applications, instancesPerApplication);
+
+        long fullRegistryBytes = 0;
+        long startTime = System.nanoTime();
+        for (int i = 0; i < clients / 10; i++) {
+            fullRegistryBytes += encodedSize(takeSnapshot(Interests.forFullRegistry()));
+        }
+        long fullRegistryNs = (System.nanoTime() - startTime) / (clients / 10);
+
+        long applicationBytes = 0;
+        startTime = System.nanoTime();
+        for (int i = 0; i < clients; i++) {
+            applicationBytes += encodedSize(takeSnapshot(Interests.forApplications("app_" + (i % applications))));
+        }
+        long applicationNs = (System.nanoTime() - startTime) / clients;
+
+        logger.warn("Bytes sent per client: full registry {} ({}us), single application {} ({}us)",
+                fullRegistryBytes / (clients / 10), fullRegistryNs / 1000, applicationBytes / clients, applicationNs / 1000);
+    }
+
+    private void replicate(int applications, int instancesPerApplication) {
+        List<ChangeNotification<InstanceInfo>> updates = new ArrayList<>();
+        for (int a = 0; a < applications; a++) {
+            for (int i = 0; i < instancesPerApplication; i++) {
+                InstanceInfo instance = SampleInstanceInfo.WebServer.builder()
+                        .withId("id_" + a + '_' + i)
+                        .withApp("app_" + a)
+                        .build();
+                updates.add(new ChangeNotification<>(Kind.Add, instance));
+            }
+        }
+        replicationSubscription = eurekaRegistry.connect(writeServerSource, Observable.from(updates).concatWith(Observable.never())).subscribe();
+        testScheduler.triggerActions();
+    }
+
+    /**
+     * Collect data notifications of the initial buffer. The registry emits them synchronously on the
+     * test scheduler, so the snapshot is complete once the subscriber queue is drained.
+     */
+    private List<ChangeNotification<InstanceInfo>> takeSnapshot(Interest<InstanceInfo> interest) throws InterruptedException {
+        ExtTestSubscriber<ChangeNotification<InstanceInfo>> testSubscriber = new ExtTestSubscriber<>();
+        Subscription subscription = registryView.forInterest(interest).subscribe(testSubscriber);
+        testScheduler.triggerActions();
+
+        List<ChangeNotification<InstanceInfo>> snapshot = new ArrayList<>();
+        ChangeNotification<InstanceInfo> next;
+        while ((next = testSubscriber.takeNext()) != null) {
+            if (next.isDataNotification()) {
+                snapshot.add(next);
+            }
+        }
+        subscription.unsubscribe();
+        return snapshot;
+    }
+
+    private long encodedSize(List<ChangeNotification<InstanceInfo>> notifications) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        for (ChangeNotification<InstanceInfo> notification : notifications) {
+            codec.encode(ProtocolConverters.asProtocolEnvelope(ProtocolType.Interest, notification), output);
+        }
+        return output.size();
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.eureka2.server.service;
+
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ServerLoadChangeFilterTest {
+
+    private final ServerLoadChangeFilter filter = new ServerLoadChangeFilter();
+
+    @Test
+    public void testFirstLoadIsPublished() throws Exception {
+        assertThat(filter.call(3), is(true));
+    }
+
+    @Test
+    public void testSmallAbsoluteChangeIsNotPublished() throws Exception {
+        filter.call(5);
+        assertThat(filter.call(5 + ServerLoadChangeFilter.MIN_LOAD_CHANGE - 1), is(false));
+        assertThat(filter.call(5 + ServerLoadChangeFilter.MIN_LOAD_CHANGE), is(true));
+    }
+
+    @Test
+    public void testSmallRelativeChangeIsNotPublished() throws Exception {
+        filter.call(1000);
+        assertThat(filter.call(1100), is(false));
+        assertThat(filter.call(900), is(false));
+        assertThat(filter.call(1200), is(true));
+    }
+
+    @Test
+    public void testChangesAreComparedWithLastPublishedLoad() throws Exception {
+        filter.call(1000);
+        // Slow drift is published once the accumulated change crosses the threshold
+        for (int load = 1001; load < 1200; load++) {
+            assertThat(filter.call(load), is(false));
+        }
+        assertThat(filter.call(1200), is(true));
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2015 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.eureka2.server.channel;
+
+import rx.functions.Func0;
+
+/**
+ * Heartbeat interval negotiated with a client during the handshake is the longer of the interval proposed
+ * by the client, and the interval advertised by the server. The server advertises its base interval until
+ * the number of open connections reaches the high load threshold. Above it, the advertised interval grows
+ * proportionally to the number of connections (up to the configured maximum), so the total heartbeat
+ * message rate stays roughly constant.
+ * <p>
+ * Clients that do not propose any interval (0) are not negotiated with, and keep sending heartbeats
+ * at their own fixed rate.
+ */
+public class AdaptiveHeartbeatPolicy {
+
+    private final long baseIntervalMs;
+    private final long maxIntervalMs;
+    private final int highLoadConnections;
+    private final Func0<Integer> connectionCounter;
+
+    public AdaptiveHeartbeatPolicy(long baseIntervalMs, long maxIntervalMs, int highLoadConnections, Func0<Integer> connectionCounter) {
+        this.baseIntervalMs = baseIntervalMs;
+        this.maxIntervalMs = Math.max(baseIntervalMs, maxIntervalMs);
+        this.highLoadConnections = Math.max(1, highLoadConnections);
+        this.connectionCounter = connectionCounter;
+    }
+
+    public long getAdvertisedIntervalMs() {
+        int connections = connectionCounter.call();
+        if (connections <= highLoadConnections) {
+            return baseIntervalMs;
+        }
+        return Math.min(maxIntervalMs, baseIntervalMs * connections / highLoadConnections);
+    }
+
+    /**
+     * @return heartbeat interval for a client proposing the given value, or 0 if heartbeats are not negotiated
+     */
+    public long negotiate(long clientIntervalMs) {
+        if (clientIntervalMs <= 0) {
+            return 0;
+        }
+        return Math.max(clientIntervalMs, getAdvertisedIntervalMs());
+    }
+}
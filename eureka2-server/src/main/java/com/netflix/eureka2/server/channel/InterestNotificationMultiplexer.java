@@ -16,18 +16,24 @@
 
 package com.netflix.eureka2.server.channel;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 
 import com.netflix.eureka2.model.interest.Interest;
 import com.netflix.eureka2.model.interest.MultipleInterests;
+import com.netflix.eureka2.model.interest.StatusFilteredInterest;
+import com.netflix.eureka2.model.interest.ZoneAffinityInterest;
 import com.netflix.eureka2.model.instance.InstanceInfo;
 import com.netflix.eureka2.model.notification.ChangeNotification;
+import com.netflix.eureka2.model.notification.ChangeNotification.Kind;
 import com.netflix.eureka2.registry.EurekaRegistryView;
 import com.netflix.eureka2.utils.rx.BreakerSwitchOperator;
 import rx.Observable;
+import rx.functions.Func1;
 import rx.subjects.PublishSubject;
 
 /**
@@ -41,6 +47,15 @@ import rx.subjects.PublishSubject;
  * of the onComplete state of the individual upgrade streams. The only way to onComplete is to explicitly
  * call .unregister() on the multiplexer.
  *
+ * A client keeps a single copy of each instance, regardless of how many of its atomic interests match it, but
+ * filtered interests (status or zone affinity) send a delete when an instance leaves their view, while an overlapping interest may still
+ * match it. To not remove such an instance from the client, once a channel subscribes to a filtered interest, the
+ * multiplexer tracks through which filtered interests each instance is visible, and forwards a filtered delete
+ * only when the instance is not visible through another filtered interest, and is not matched by any unfiltered
+ * interest of the channel. Unfiltered interests send deletes only for instances removed from the registry, so
+ * their notifications are not tracked. The tracking is done on the merged stream, so the decisions follow
+ * the order in which the notifications are sent to the client.
+ *
  * @author Tomasz Bak
  */
 public class InterestNotificationMultiplexer {
@@ -49,8 +64,26 @@ public class InterestNotificationMultiplexer {
 
     private final Map<Interest<InstanceInfo>, BreakerSwitchOperator> subscriptionBreakers = new HashMap<>();
 
-    private final PublishSubject<Observable<ChangeNotification<InstanceInfo>>> upgrades = PublishSubject.create();
-    private final Observable<ChangeNotification<InstanceInfo>> aggregatedStream = Observable.merge(upgrades);
+    /**
+     * Created with the first filtered interest of the channel, and null for channels with unfiltered interests only.
+     */
+    private volatile InstanceVisibility instanceVisibility;
+
+    private final PublishSubject<Observable<InterestChange>> upgrades = PublishSubject.create();
+    private final Observable<ChangeNotification<InstanceInfo>> aggregatedStream = Observable.merge(upgrades)
+            .filter(new Func1<InterestChange, Boolean>() {
+                @Override
+                public Boolean call(InterestChange interestChange) {
+                    InstanceVisibility visibility = instanceVisibility;
+                    return visibility == null || visibility.accept(interestChange.interest, interestChange.notification);
+                }
+            })
+            .map(new Func1<InterestChange, ChangeNotification<InstanceInfo>>() {
+                @Override
+                public ChangeNotification<InstanceInfo> call(InterestChange interestChange) {
+                    return interestChange.notification;
+                }
+            });
 
     public InterestNotificationMultiplexer(EurekaRegistryView<InstanceInfo> eurekaRegistry) {
         this.eurekaRegistryView = eurekaRegistry;
@@ -88,14 +121,29 @@ public class InterestNotificationMultiplexer {
         }
     }
 
-    private void subscribeToInterest(Interest<InstanceInfo> newInterest) {
+    private void subscribeToInterest(final Interest<InstanceInfo> newInterest) {
         BreakerSwitchOperator<ChangeNotification<InstanceInfo>> breaker = new BreakerSwitchOperator<>();
-        upgrades.onNext(eurekaRegistryView.forInterest(newInterest).lift(breaker));
+        if (instanceVisibility == null && isFiltered(newInterest)) {
+            instanceVisibility = new InstanceVisibility(subscriptionBreakers.keySet());
+        }
+        if (instanceVisibility != null) {
+            instanceVisibility.addInterest(newInterest);
+        }
+        upgrades.onNext(eurekaRegistryView.forInterest(newInterest).lift(breaker).map(
+                new Func1<ChangeNotification<InstanceInfo>, InterestChange>() {
+                    @Override
+                    public InterestChange call(ChangeNotification<InstanceInfo> notification) {
+                        return new InterestChange(newInterest, notification);
+                    }
+                }));
         subscriptionBreakers.put(newInterest, breaker);
     }
 
     private void removeInterest(Interest<InstanceInfo> currentInterest) {
         subscriptionBreakers.remove(currentInterest).close();
+        if (instanceVisibility != null) {
+            instanceVisibility.removeInterest(currentInterest);
+        }
     }
 
     public void unregister() {
@@ -106,6 +154,10 @@ public class InterestNotificationMultiplexer {
         upgrades.onCompleted();
     }
 
+    boolean isTrackingVisibility() {
+        return instanceVisibility != null;
+    }
+
     /**
      * Interest channel creates a single subscription to this observable prior to
      * registering any interest set. We can safely use hot observable, which
@@ -114,4 +166,109 @@ public class InterestNotificationMultiplexer {
     public Observable<ChangeNotification<InstanceInfo>> changeNotifications() {
         return aggregatedStream;
     }
+
+    /**
+     * Filtered interests send deletes for instances leaving their view, which may still be present in the registry.
+     */
+    static boolean isFiltered(Interest<InstanceInfo> interest) {
+        return interest instanceof StatusFilteredInterest || interest instanceof ZoneAffinityInterest;
+    }
+
+    static class InterestChange {
+        final Interest<InstanceInfo> interest;
+        final ChangeNotification<InstanceInfo> notification;
+
+        InterestChange(Interest<InstanceInfo> interest, ChangeNotification<InstanceInfo> notification) {
+            this.interest = interest;
+            this.notification = notification;
+        }
+    }
+
+    /**
+     * Filtered interests through which each instance was last added or modified. Accessed from the channel thread
+     * on interest upgrades, and from the merged notification stream.
+     */
+    static class InstanceVisibility {
+
+        private final Set<Interest<InstanceInfo>> activeInterests;
+        private final Map<String, Set<Interest<InstanceInfo>>> visibleThrough = new HashMap<>();
+
+        InstanceVisibility(Set<Interest<InstanceInfo>> activeInterests) {
+            this.activeInterests = new HashSet<>(activeInterests);
+        }
+
+        synchronized void addInterest(Interest<InstanceInfo> interest) {
+            activeInterests.add(interest);
+        }
+
+        /**
+         * No deletes are sent for instances visible only through the removed interest, so interest
+         * upgrades behave as before.
+         */
+        synchronized void removeInterest(Interest<InstanceInfo> interest) {
+            activeInterests.remove(interest);
+            if (!isFiltered(interest)) {
+                return;
+            }
+            Iterator<Set<Interest<InstanceInfo>>> it = visibleThrough.values().iterator();
+            while (it.hasNext()) {
+                Set<Interest<InstanceInfo>> interests = it.next();
+                if (interests.contains(interest)) {
+                    if (interests.size() == 1) {
+                        it.remove();
+                    } else {
+                        interests.remove(interest);
+                    }
+                }
+            }
+        }
+
+        synchronized boolean accept(Interest<InstanceInfo> interest, ChangeNotification<InstanceInfo> notification) {
+            if (!isFiltered(interest) || !notification.isDataNotification()) {
+                return true;
+            }
+            if (!activeInterests.contains(interest)) {
+                // In flight notification of a removed interest
+                return false;
+            }
+            InstanceInfo instance = notification.getData();
+            Set<Interest<InstanceInfo>> interests = visibleThrough.get(instance.getId());
+            if (notification.getKind() == Kind.Delete) {
+                if (interests != null) {
+                    if (!interests.contains(interest)) {
+                        return false;
+                    }
+                    if (interests.size() > 1) {
+                        // Still visible through another filtered interest, which sends its own changes of this instance
+                        interests.remove(interest);
+                        return false;
+                    }
+                    visibleThrough.remove(instance.getId());
+                }
+                return !isMatchedByUnfilteredInterest(instance);
+            }
+            if (interests == null) {
+                // Most instances are matched by a single interest, so avoid a set allocation per instance
+                visibleThrough.put(instance.getId(), Collections.singleton(interest));
+            } else if (!interests.contains(interest)) {
+                Set<Interest<InstanceInfo>> extended = new HashSet<>(interests);
+                extended.add(interest);
+                visibleThrough.put(instance.getId(), extended);
+            }
+            return true;
+        }
+
+        /**
+         * Unfiltered interests delete an instance only when it is removed from the registry, so an instance matched
+         * by one of them stays visible to the client.
+         */
+        private boolean isMatchedByUnfilteredInterest(InstanceInfo instance) {
+            for (Interest<InstanceInfo> active : activeInterests) {
+                if (!isFiltered(active) && active.matches(instance)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
 }
@@ -29,22 +29,33 @@ import com.netflix.eureka2.spi.model.channel.ServerHello;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rx.Observable;
+import rx.functions.Func1;
 import rx.observers.SerializedSubscriber;
 
 /**
+ * If created with {@link AdaptiveHeartbeatPolicy}, the server hello reply carries the heartbeat interval
+ * negotiated with the client.
  */
 public class ServerHandshakeHandler<I, O> implements ChannelHandler<I, O> {
 
     private static final Logger logger = LoggerFactory.getLogger(ServerHandshakeHandler.class);
 
-    private final ServerHello serverHello;
+    private final Func1<Long, ? extends ServerHello> serverHelloFactory;
+    private final AdaptiveHeartbeatPolicy heartbeatPolicy;
     private final SourceIdGenerator idGenerator;
 
     private ChannelContext<I, O> channelContext;
 
     public ServerHandshakeHandler(ServerHello serverHello, SourceIdGenerator idGenerator) {
+        this(heartbeatIntervalMs -> serverHello, null, idGenerator);
+    }
+
+    public ServerHandshakeHandler(Func1<Long, ? extends ServerHello> serverHelloFactory,
+                                  AdaptiveHeartbeatPolicy heartbeatPolicy,
+                                  SourceIdGenerator idGenerator) {
+        this.serverHelloFactory = serverHelloFactory;
+        this.heartbeatPolicy = heartbeatPolicy;
         this.idGenerator = idGenerator;
-        this.serverHello = serverHello;
     }
 
     @Override
@@ -71,7 +82,8 @@ public class ServerHandshakeHandler<I, O> implements ChannelHandler<I, O> {
                 logger.info("Received client hello {}", clientHello);
                 clientSource.set(idGenerator.nextOf(clientHello.getClientSource()));
 
-                serializedSubscriber.onNext(ChannelNotification.newHello(serverHello));
+                long heartbeatIntervalMs = heartbeatPolicy == null ? 0 : heartbeatPolicy.negotiate(clientHello.getHeartbeatIntervalMs());
+                serializedSubscriber.onNext(ChannelNotification.newHello(serverHelloFactory.call(heartbeatIntervalMs)));
                 return Observable.empty();
             });
 
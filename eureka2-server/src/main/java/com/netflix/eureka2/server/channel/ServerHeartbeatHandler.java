@@ -19,30 +19,39 @@ package com.netflix.eureka2.server.channel;
 import com.netflix.eureka2.spi.channel.ChannelContext;
 import com.netflix.eureka2.spi.channel.ChannelHandler;
 import com.netflix.eureka2.spi.channel.ChannelNotification;
+import com.netflix.eureka2.spi.model.channel.ServerHello;
 import com.netflix.eureka2.utils.rx.ExtObservable;
+import com.netflix.eureka2.utils.rx.HashedWheelTimeoutService;
+import com.netflix.eureka2.utils.rx.HashedWheelTimeoutService.Timeout;
 import rx.Observable;
-import rx.Scheduler;
 import rx.Subscription;
 import rx.subjects.PublishSubject;
 
 import java.io.IOException;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
+ * Heartbeat timeouts of all connections are tracked by a shared {@link HashedWheelTimeoutService}, so
+ * there is no timer task per connection. Any message received from the client counts as its liveness signal.
+ * <p>
+ * If the server hello sent back to the client carries a negotiated heartbeat interval, the timeout is
+ * extended accordingly, and a heartbeat is replied to only if no data was sent to the client since the
+ * previous heartbeat (the data itself proves the server liveness to the client).
  */
 public class ServerHeartbeatHandler<I, O> implements ChannelHandler<I, O> {
 
     private static final IOException HEARTBEAT_TIMEOUT = new IOException("Heartbeat timeout");
 
+    private static final int MISSED_HEARTBEATS_LIMIT = 3;
+
     private final long heartbeatTimeoutMs;
-    private final Scheduler scheduler;
+    private final HashedWheelTimeoutService timeoutService;
 
     private ChannelContext<I, O> channelContext;
 
-    public ServerHeartbeatHandler(long heartbeatTimeoutMs, Scheduler scheduler) {
+    public ServerHeartbeatHandler(long heartbeatTimeoutMs, HashedWheelTimeoutService timeoutService) {
         this.heartbeatTimeoutMs = heartbeatTimeoutMs;
-        this.scheduler = scheduler;
+        this.timeoutService = timeoutService;
     }
 
     @Override
@@ -55,30 +64,39 @@ public class ServerHeartbeatHandler<I, O> implements ChannelHandler<I, O> {
         return Observable.create(subscriber -> {
 
             PublishSubject<ChannelNotification<O>> heartbeatReplies = PublishSubject.create();
-            AtomicLong lastTimeoutUpdate = new AtomicLong(scheduler.now());
+            PublishSubject<ChannelNotification<O>> timeoutTrigger = PublishSubject.create();
+            Timeout heartbeatTimeout = timeoutService.newTimeout(heartbeatTimeoutMs, () -> timeoutTrigger.onError(HEARTBEAT_TIMEOUT));
+            subscriber.add(heartbeatTimeout);
+
+            AtomicBoolean negotiated = new AtomicBoolean();
+            AtomicBoolean dataSent = new AtomicBoolean();
 
             // Intercept heartbeats from input
             Observable<ChannelNotification<I>> interceptedInput = inputStream.flatMap(inputNotification -> {
+                heartbeatTimeout.touch();
                 if (inputNotification.getKind() == ChannelNotification.Kind.Heartbeat) {
-                    heartbeatReplies.onNext((ChannelNotification<O>) inputNotification); // Send back heartbeat
-                    lastTimeoutUpdate.set(scheduler.now());
+                    if (!negotiated.get() || !dataSent.getAndSet(false)) {
+                        heartbeatReplies.onNext((ChannelNotification<O>) inputNotification); // Send back heartbeat
+                    }
                     return Observable.empty();
                 }
                 return Observable.just(inputNotification);
             }).doOnUnsubscribe(() -> heartbeatReplies.onCompleted());
 
-            // Create heartbeat timeout trigger
-            Observable<ChannelNotification<O>> timeoutTrigger = Observable.interval(heartbeatTimeoutMs, heartbeatTimeoutMs, TimeUnit.MILLISECONDS, scheduler)
-                    .flatMap(tick -> {
-                        long delay = scheduler.now() - lastTimeoutUpdate.get();
-                        if (delay >= heartbeatTimeoutMs) {
-                            return Observable.error(HEARTBEAT_TIMEOUT);
-                        }
-                        return Observable.empty();
-                    });
+            Observable<ChannelNotification<O>> output = channelContext.next().handle(interceptedInput).doOnNext(outputNotification -> {
+                if (outputNotification.getKind() == ChannelNotification.Kind.Data) {
+                    dataSent.set(true);
+                } else if (outputNotification.getKind() == ChannelNotification.Kind.Hello && outputNotification.getHello() instanceof ServerHello) {
+                    long intervalMs = ((ServerHello) outputNotification.getHello()).getHeartbeatIntervalMs();
+                    if (intervalMs > 0) {
+                        negotiated.set(true);
+                        heartbeatTimeout.setTimeoutMs(Math.max(heartbeatTimeoutMs, intervalMs * MISSED_HEARTBEATS_LIMIT));
+                    }
+                }
+            });
 
             Subscription subscription = ExtObservable.mergeWhenAllActive(
-                    channelContext.next().handle(interceptedInput).mergeWith(heartbeatReplies),
+                    output.mergeWith(heartbeatReplies),
                     timeoutTrigger
             ).subscribe(subscriber);
             subscriber.add(subscription);
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.eureka2.server.channel.interest;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.netflix.eureka2.health.AbstractHealthStatusProvider;
+import com.netflix.eureka2.health.HealthStatusProvider;
+import com.netflix.eureka2.health.HealthStatusUpdate;
+import com.netflix.eureka2.health.SubsystemDescriptor;
+import com.netflix.eureka2.model.instance.InstanceInfo.Status;
+import com.netflix.eureka2.server.config.EurekaServerTransportConfig;
+import com.netflix.eureka2.spi.channel.ServerOverloadedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rx.Observable;
+import rx.Subscriber;
+import rx.subscriptions.Subscriptions;
+
+/**
+ * Limits the number of interest channels that are sent their initial registry snapshot at the same time.
+ * Channels above the limit wait in a FIFO queue, and are admitted in the order of arrival as the earlier
+ * snapshot transfers complete. If the queue is full, new channels are rejected with
+ * {@link ServerOverloadedException}, which the transport sends to the client as a retry hint.
+ * <p>
+ * While rejecting channels the controller reports {@link Status#OUT_OF_SERVICE}, so clients and load
+ * balancers pick other servers. It goes back to {@link Status#UP} once the queue drains to half of its size.
+ */
+@Singleton
+public class InterestAdmissionController implements HealthStatusProvider<InterestAdmissionController> {
+
+    private static final Logger logger = LoggerFactory.getLogger(InterestAdmissionController.class);
+
+    private static final SubsystemDescriptor<InterestAdmissionController> DESCRIPTOR = new SubsystemDescriptor<>(
+            InterestAdmissionController.class,
+            "Interest admission control",
+            "Limits the number of concurrent initial snapshot transfers to interest clients."
+    );
+
+    private final int maxConcurrent;
+    private final int maxQueueSize;
+    private final long retryAfterMs;
+
+    private final InterestAdmissionHealth healthProvider = new InterestAdmissionHealth();
+
+    // Guarded by this
+    private final Queue<Subscriber<? super Permit>> pending = new ArrayDeque<>();
+    private int active;
+
+    @Inject
+    public InterestAdmissionController(EurekaServerTransportConfig config) {
+        this(config.getInterestSnapshotMaxConcurrent(), config.getInterestSnapshotQueueSize(), config.getInterestOverloadRetryAfterMs());
+    }
+
+    public InterestAdmissionController(int maxConcurrent, int maxQueueSize, long retryAfterMs) {
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.maxQueueSize = Math.max(0, maxQueueSize);
+        this.retryAfterMs = retryAfterMs;
+    }
+
+    /**
+     * Returns observable that emits a single permit once the channel is admitted, or an error if the server is
+     * overloaded. The permit must be released when the initial snapshot is sent, or the channel is closed.
+     * Unsubscribing before the permit is granted removes the channel from the queue.
+     */
+    public Observable<Permit> admit() {
+        return Observable.create(subscriber -> {
+            Permit permit = null;
+            boolean rejected = false;
+            synchronized (this) {
+                if (active < maxConcurrent) {
+                    active++;
+                    permit = new Permit();
+                } else if (pending.size() < maxQueueSize) {
+                    pending.add(subscriber);
+                    subscriber.add(Subscriptions.create(() -> cancel(subscriber)));
+                } else {
+                    rejected = true;
+                    if (healthProvider.moveHealthTo(Status.OUT_OF_SERVICE)) {
+                        logger.warn("Interest admission queue full ({} channels waiting); rejecting new interest channels", maxQueueSize);
+                    }
+                }
+            }
+            if (permit != null) {
+                grant(subscriber, permit);
+            } else if (rejected) {
+                subscriber.onError(new ServerOverloadedException("Too many interest channels waiting for initial snapshot", retryAfterMs));
+            }
+        });
+    }
+
+    public synchronized int getActiveCount() {
+        return active;
+    }
+
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    @Override
+    public Observable<HealthStatusUpdate<InterestAdmissionController>> healthStatus() {
+        return healthProvider.healthStatus();
+    }
+
+    private void release() {
+        Subscriber<? super Permit> next;
+        synchronized (this) {
+            next = pending.poll();
+            if (next == null) {
+                active--;
+            }
+            updateHealth();
+        }
+        if (next != null) {
+            // Permit is handed over, so the number of active transfers does not change
+            grant(next, new Permit());
+        }
+    }
+
+    private synchronized void cancel(Subscriber<? super Permit> subscriber) {
+        pending.remove(subscriber);
+        updateHealth();
+    }
+
+    // Must be called when holding the lock
+    private void updateHealth() {
+        if (pending.size() <= maxQueueSize / 2 && healthProvider.moveHealthTo(Status.UP)) {
+            logger.info("Interest admission queue drained; accepting new interest channels");
+        }
+    }
+
+    private static void grant(Subscriber<? super Permit> subscriber, Permit permit) {
+        if (subscriber.isUnsubscribed()) {
+            permit.release();
+            return;
+        }
+        subscriber.onNext(permit);
+        subscriber.onCompleted();
+    }
+
+    /**
+     * Admission of a single channel. Releasing it more than once has no effect.
+     */
+    public class Permit {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                InterestAdmissionController.this.release();
+            }
+        }
+    }
+
+    static class InterestAdmissionHealth extends AbstractHealthStatusProvider<InterestAdmissionController> {
+
+        InterestAdmissionHealth() {
+            super(Status.UP, DESCRIPTOR);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.eureka2.server.channel.interest;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.interest.Interest;
+import com.netflix.eureka2.model.interest.MultipleInterests;
+import com.netflix.eureka2.model.notification.ChangeNotification;
+import com.netflix.eureka2.model.notification.StreamStateNotification;
+import com.netflix.eureka2.model.notification.StreamStateNotification.BufferState;
+import com.netflix.eureka2.server.channel.interest.InterestAdmissionController.Permit;
+import com.netflix.eureka2.spi.channel.ChannelContext;
+import com.netflix.eureka2.spi.channel.ChannelNotification;
+import com.netflix.eureka2.spi.channel.InterestHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rx.Observable;
+
+/**
+ * Holds the first interest subscription of a channel until it is admitted by {@link InterestAdmissionController}.
+ * The admission permit is kept until the initial snapshot is sent (buffer end markers for all atomic interests
+ * of the first subscription are seen), or the channel is closed. Subsequent interest updates are not subject
+ * to admission control.
+ */
+public class InterestAdmissionHandler implements InterestHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(InterestAdmissionHandler.class);
+
+    private final InterestAdmissionController admissionController;
+
+    private ChannelContext<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>> channelContext;
+
+    public InterestAdmissionHandler(InterestAdmissionController admissionController) {
+        this.admissionController = admissionController;
+    }
+
+    @Override
+    public void init(ChannelContext<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>> channelContext) {
+        if (!channelContext.hasNext()) {
+            throw new IllegalStateException("InterestAdmissionHandler cannot be last handler in the pipeline");
+        }
+        this.channelContext = channelContext;
+    }
+
+    @Override
+    public Observable<ChannelNotification<ChangeNotification<InstanceInfo>>> handle(Observable<ChannelNotification<Interest<InstanceInfo>>> inputStream) {
+        return Observable.defer(() -> {
+            AtomicReference<Permit> permitRef = new AtomicReference<>();
+            AtomicInteger pendingBufferEnds = new AtomicInteger(-1);
+
+            // Notifications following the first interest subscription are buffered by concatMap until it is admitted
+            Observable<ChannelNotification<Interest<InstanceInfo>>> admittedInput = inputStream.concatMap(notification -> {
+                if (notification.getKind() != ChannelNotification.Kind.Data || pendingBufferEnds.get() >= 0) {
+                    return Observable.just(notification);
+                }
+                pendingBufferEnds.set(atomicInterestCount(notification.getData()));
+                return admissionController.admit().map(permit -> {
+                    permitRef.set(permit);
+                    return notification;
+                });
+            });
+
+            return channelContext.next().handle(admittedInput)
+                    .doOnNext(reply -> {
+                        if (permitRef.get() != null && isBufferEnd(reply) && pendingBufferEnds.decrementAndGet() == 0) {
+                            logger.debug("Initial snapshot sent; releasing admission permit");
+                            permitRef.get().release();
+                        }
+                    })
+                    .doOnTerminate(() -> releasePermit(permitRef))
+                    .doOnUnsubscribe(() -> releasePermit(permitRef));
+        });
+    }
+
+    private static void releasePermit(AtomicReference<Permit> permitRef) {
+        if (permitRef.get() != null) {
+            permitRef.get().release();
+        }
+    }
+
+    private static boolean isBufferEnd(ChannelNotification<ChangeNotification<InstanceInfo>> reply) {
+        return reply.getKind() == ChannelNotification.Kind.Data
+                && reply.getData() instanceof StreamStateNotification
+                && ((StreamStateNotification<InstanceInfo>) reply.getData()).getBufferState() == BufferState.BufferEnd;
+    }
+
+    private static int atomicInterestCount(Interest<InstanceInfo> interest) {
+        if (interest instanceof MultipleInterests) {
+            return Math.max(1, ((MultipleInterests<InstanceInfo>) interest).flatten().size());
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.eureka2.server.channel.interest;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.netflix.eureka2.channel.ChannelHandlers;
+import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.instance.InstanceInfoProjection;
+import com.netflix.eureka2.model.interest.Interest;
+import com.netflix.eureka2.model.notification.ChangeNotification;
+import com.netflix.eureka2.spi.channel.ChannelContext;
+import com.netflix.eureka2.spi.channel.ChannelNotification;
+import com.netflix.eureka2.spi.channel.InterestHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rx.Observable;
+
+/**
+ * Applies the field projection requested by a client to the change notifications sent to it. Add notifications
+ * carry projected instances only, and modify notifications changing non-projected fields only are not sent at all.
+ * The requested projection is taken from the first interest subscription of a channel, and kept for the channel
+ * lifetime, as the client holds instances built from the already sent projected data. It is extended with the
+ * fields each subscribed interest is matched on by the client (see {@link InstanceInfoProjection#withFieldsRequiredBy}).
+ * Instances matching a new interest are sent again with the extended fields, when the interest subscription is
+ * upgraded.
+ */
+public class InterestProjectionHandler implements InterestHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(InterestProjectionHandler.class);
+
+    private ChannelContext<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>> channelContext;
+
+    @Override
+    public void init(ChannelContext<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>> channelContext) {
+        if (!channelContext.hasNext()) {
+            throw new IllegalStateException("InterestProjectionHandler cannot be last handler in the pipeline");
+        }
+        this.channelContext = channelContext;
+    }
+
+    @Override
+    public Observable<ChannelNotification<ChangeNotification<InstanceInfo>>> handle(Observable<ChannelNotification<Interest<InstanceInfo>>> inputStream) {
+        return Observable.defer(() -> {
+            AtomicReference<InstanceInfoProjection> projectionRef = new AtomicReference<>();
+            AtomicBoolean subscribed = new AtomicBoolean();
+
+            Observable<ChannelNotification<Interest<InstanceInfo>>> trackedInput = inputStream.doOnNext(notification -> {
+                if (notification.getKind() != ChannelNotification.Kind.Data) {
+                    return;
+                }
+                InstanceInfoProjection projection;
+                if (subscribed.compareAndSet(false, true)) {
+                    projection = ChannelHandlers.getFieldProjection(notification);
+                } else {
+                    projection = projectionRef.get();
+                }
+                if (projection == null || projection.isFullProjection()) {
+                    return;
+                }
+                InstanceInfoProjection extended = projection.withFieldsRequiredBy(notification.getData());
+                if (extended != projectionRef.get()) {
+                    logger.debug("Sending instance fields {} to client {}", extended.getFields(), ChannelHandlers.getClientSource(notification));
+                    projectionRef.set(extended.isFullProjection() ? null : extended);
+                }
+            });
+
+            return channelContext.next().handle(trackedInput).flatMap(reply -> {
+                InstanceInfoProjection projection = projectionRef.get();
+                if (projection == null || reply.getKind() != ChannelNotification.Kind.Data) {
+                    return Observable.just(reply);
+                }
+                ChangeNotification<InstanceInfo> projected = projection.project(reply.getData());
+                return projected == null ? Observable.<ChannelNotification<ChangeNotification<InstanceInfo>>>empty() : Observable.just(reply.setData(projected));
+            });
+        });
+    }
+}
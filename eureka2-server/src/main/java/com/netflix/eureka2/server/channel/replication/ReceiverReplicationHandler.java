@@ -41,9 +41,11 @@ public class ReceiverReplicationHandler implements ReplicationHandler {
     private static final IllegalStateException REPLICATION_SOURCE_NOT_FOUND = new IllegalStateException("Replication source not found");
 
     private final EurekaRegistry<InstanceInfo> registry;
+    private final ReplicationLaneSessions laneSessions;
 
-    public ReceiverReplicationHandler(EurekaRegistry<InstanceInfo> registry) {
+    public ReceiverReplicationHandler(EurekaRegistry<InstanceInfo> registry, ReplicationLaneSessions laneSessions) {
         this.registry = registry;
+        this.laneSessions = laneSessions;
     }
 
     @Override
@@ -68,7 +70,8 @@ public class ReceiverReplicationHandler implements ReplicationHandler {
                         if(change instanceof StreamStateNotification) {
                             StreamStateNotification<InstanceInfo> stateChange = (StreamStateNotification<InstanceInfo>) change;
                             if (stateChange.getBufferState() == StreamStateNotification.BufferState.BufferEnd) {
-                                registry.evictAll(new EvictSourceMatcher(replicationSource)).subscribe(new LoggingSubscriber<Long>(logger));
+                                long sessionMinId = laneSessions.laneCompleted(replicationSource);
+                                registry.evictAll(new EvictSourceMatcher(replicationSource, sessionMinId)).subscribe(new LoggingSubscriber<Long>(logger));
                             }
                         }
                     });
@@ -78,19 +81,37 @@ public class ReceiverReplicationHandler implements ReplicationHandler {
         }));
     }
 
+    /**
+     * Matches older sources of the same replication lane. If the sender uses multiple replication lanes,
+     * sources of the other active lanes from the same sender are left intact. Sources from a previous session
+     * with a different number of lanes are matched only once all lanes of the current session have completed
+     * their buffers, and only if they are older than each of them.
+     */
     private static class EvictSourceMatcher extends Source.SourceMatcher {
 
         private final Source currentSource;
+        private final String currentServerName;
+        private final int currentLaneCount;
+        private final long sessionMinId;
 
-        EvictSourceMatcher(Source currentSource) {
+        EvictSourceMatcher(Source currentSource, long sessionMinId) {
             this.currentSource = currentSource;
+            this.currentServerName = ReplicationLanes.serverNameOf(currentSource);
+            this.currentLaneCount = ReplicationLanes.laneCountOf(currentSource);
+            this.sessionMinId = sessionMinId;
         }
 
         @Override
         public boolean match(Source another) {
-            return another.getOrigin() == currentSource.getOrigin() &&
-                    another.getName().equals(currentSource.getName()) &&
-                    another.getId() < currentSource.getId();
+            if (another.getOrigin() != currentSource.getOrigin() || another.getId() >= currentSource.getId()) {
+                return false;
+            }
+            if (another.getName().equals(currentSource.getName())) {
+                return true;
+            }
+            return another.getId() < sessionMinId
+                    && currentServerName.equals(ReplicationLanes.serverNameOf(another))
+                    && currentLaneCount != ReplicationLanes.laneCountOf(another);
         }
 
         @Override
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.eureka2.server.channel.replication;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import com.netflix.eureka2.model.Source;
+
+/**
+ * Tracks which lanes of a multi-lane replication session have delivered their initial buffer. A session is
+ * identified by the sending server name and the number of lanes. When the sender changes the number of lanes,
+ * the lanes of its previous session may only be evicted once every lane of the new session has replicated its
+ * buffer, as until then the old lanes still hold instances the new session has not sent yet.
+ * <p>
+ * A single instance must be shared by all replication channels of a server.
+ */
+public class ReplicationLaneSessions {
+
+    /**
+     * Server name -> lane count -> lane index -> id of the source that completed the lane buffer.
+     */
+    private final Map<String, Map<Integer, Map<Integer, Long>>> completedLanes = new HashMap<>();
+
+    /**
+     * Record a buffer end in the given lane.
+     *
+     * @return lowest source id of the lane session, if all its lanes have completed their buffers, or -1 otherwise.
+     * Lanes of other sessions of the same server with lower ids are stale, and can be evicted.
+     */
+    public synchronized long laneCompleted(Source laneSource) {
+        String serverName = ReplicationLanes.serverNameOf(laneSource);
+        if (serverName == null) {
+            return -1;
+        }
+        int laneCount = ReplicationLanes.laneCountOf(laneSource);
+
+        Map<Integer, Map<Integer, Long>> serverSessions = completedLanes.get(serverName);
+        if (serverSessions == null) {
+            serverSessions = new HashMap<>();
+            completedLanes.put(serverName, serverSessions);
+        }
+        Map<Integer, Long> sessionLanes = serverSessions.get(laneCount);
+        if (sessionLanes == null) {
+            sessionLanes = new HashMap<>();
+            serverSessions.put(laneCount, sessionLanes);
+        }
+        sessionLanes.put(ReplicationLanes.laneIndexOf(laneSource), laneSource.getId());
+
+        if (sessionLanes.size() < laneCount) {
+            return -1;
+        }
+
+        // Session complete, so progress of any other session from this server is no longer relevant
+        for (Iterator<Integer> it = serverSessions.keySet().iterator(); it.hasNext(); ) {
+            if (it.next() != laneCount) {
+                it.remove();
+            }
+        }
+        long minId = Long.MAX_VALUE;
+        for (long id : sessionLanes.values()) {
+            minId = Math.min(minId, id);
+        }
+        return minId;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2015 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.eureka2.server.channel.replication;
+
+import com.netflix.eureka2.model.InstanceModel;
+import com.netflix.eureka2.model.Source;
+
+/**
+ * Replication from one write server to its peer can be split into multiple lanes (independent replication
+ * channels), with each instance assigned to exactly one lane by its id hash. Ordering of updates
+ * is thus preserved per instance. Each lane identifies itself with its own source name, that
+ * is composed of the sending server name and lane coordinates (lane index and the total number of lanes).
+ * A single lane setup uses a plain server name, and is compatible with servers that do not know about lanes.
+ */
+public final class ReplicationLanes {
+
+    public static final char LANE_SEPARATOR = '#';
+    public static final char COUNT_SEPARATOR = '/';
+
+    private ReplicationLanes() {
+    }
+
+    /**
+     * @return lane index in range [0, laneCount) for the given instance id
+     */
+    public static int laneOf(String instanceId, int laneCount) {
+        if (laneCount <= 1) {
+            return 0;
+        }
+        return (instanceId.hashCode() & Integer.MAX_VALUE) % laneCount;
+    }
+
+    public static Source laneSource(Source serverSource, int lane, int laneCount) {
+        if (laneCount <= 1) {
+            return serverSource;
+        }
+        String laneName = serverSource.getName() + LANE_SEPARATOR + lane + COUNT_SEPARATOR + laneCount;
+        return InstanceModel.getDefaultModel().createSource(serverSource.getOrigin(), laneName, serverSource.getId());
+    }
+
+    /**
+     * @return server name, with the lane suffix (if any) removed
+     */
+    public static String serverNameOf(Source source) {
+        String name = source.getName();
+        if (name == null) {
+            return null;
+        }
+        int idx = laneSuffixIndex(name);
+        return idx < 0 ? name : name.substring(0, idx);
+    }
+
+    /**
+     * @return total number of lanes, the source is part of, or 1 if this is a single lane source
+     */
+    public static int laneCountOf(Source source) {
+        String name = source.getName();
+        int idx = name == null ? -1 : laneSuffixIndex(name);
+        if (idx < 0) {
+            return 1;
+        }
+        return Integer.parseInt(name.substring(name.indexOf(COUNT_SEPARATOR, idx) + 1));
+    }
+
+    /**
+     * @return index of the lane, the source represents, or 0 if this is a single lane source
+     */
+    public static int laneIndexOf(Source source) {
+        String name = source.getName();
+        int idx = name == null ? -1 : laneSuffixIndex(name);
+        if (idx < 0) {
+            return 0;
+        }
+        return Integer.parseInt(name.substring(idx + 1, name.indexOf(COUNT_SEPARATOR, idx)));
+    }
+
+    /**
+     * Lane suffix is '#<lane>/<count>' where both values are non-negative integers.
+     */
+    private static int laneSuffixIndex(String name) {
+        int idx = name.lastIndexOf(LANE_SEPARATOR);
+        if (idx < 0) {
+            return -1;
+        }
+        int countIdx = name.indexOf(COUNT_SEPARATOR, idx);
+        if (countIdx < 0 || !isNumber(name, idx + 1, countIdx) || !isNumber(name, countIdx + 1, name.length())) {
+            return -1;
+        }
+        return idx;
+    }
+
+    private static boolean isNumber(String text, int from, int to) {
+        if (from >= to) {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            if (!Character.isDigit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -35,14 +35,19 @@ public class SenderReplicationHandshakeHandler extends ClientHandshakeHandler<Ch
     private final EurekaRegistry<InstanceInfo> eurekaRegistry;
 
     public SenderReplicationHandshakeHandler(Source clientSource, SourceIdGenerator serverIdGenerator, EurekaRegistry<InstanceInfo> eurekaRegistry) {
-        super(serverIdGenerator);
+        this(clientSource, serverIdGenerator, eurekaRegistry, 0);
+    }
+
+    public SenderReplicationHandshakeHandler(Source clientSource, SourceIdGenerator serverIdGenerator, EurekaRegistry<InstanceInfo> eurekaRegistry,
+                                             long heartbeatIntervalMs) {
+        super(serverIdGenerator, heartbeatIntervalMs);
         this.clientSource = clientSource;
         this.eurekaRegistry = eurekaRegistry;
     }
 
     @Override
     protected ChannelNotification<ChangeNotification<InstanceInfo>> createClientHello() {
-        ReplicationClientHello clientHello = ChannelModel.getDefaultModel().newReplicationClientHello(clientSource, eurekaRegistry.size());
+        ReplicationClientHello clientHello = ChannelModel.getDefaultModel().newReplicationClientHello(clientSource, eurekaRegistry.size(), heartbeatIntervalMs);
         return ChannelNotification.newHello(clientHello);
     }
 }
@@ -55,7 +55,8 @@ public class SenderReplicationLoopDetectorHandler implements ReplicationHandler
             if (next.getKind() == ChannelNotification.Kind.Hello) {
                 ServerHello serverHello = next.getHello();
                 Source serverSource = serverHello.getServerSource();
-                if (clientSource.getName().equals(serverSource.getName())) {
+                // Compare server names only, as with multiple replication lanes each lane has its own source name
+                if (ReplicationLanes.serverNameOf(clientSource).equals(ReplicationLanes.serverNameOf(serverSource))) {
                     logger.info("Replication loop detected; disconnecting the replication channel");
                     return Observable.error(ReplicationLoopException.INSTANCE);
                 }
@@ -17,4 +17,20 @@ public interface EurekaClusterDiscoveryConfig {
 
     @DefaultValue("eureka2-read")
     String getReadClusterVipAddress();
+
+    /**
+     * Position of a read server in a tiered read cluster topology. Tier 1 read servers fetch the registry content
+     * from the write cluster, and read servers of a higher tier from the upstream read cluster. Ignored by write servers.
+     */
+    @DefaultValue("1")
+    int getReadServerTier();
+
+    @DefaultValue("Fixed")
+    ResolverType getUpstreamReadClusterResolverType();
+
+    /**
+     * Addresses of read servers one tier above this one. Used only by read servers of tier 2 or higher.
+     */
+    @DefaultValue("localhost:12102")
+    ClusterAddress[] getUpstreamReadClusterAddresses();
 }
@@ -13,8 +13,23 @@ import com.netflix.eureka2.config.EurekaRegistryConfig;
 public interface EurekaServerRegistryConfig extends EurekaRegistryConfig {
 
     int DEFAULT_EVICTION_ALLOWED_PERCENTAGE_DROP = 20;
+    int DEFAULT_EVICTION_RATE_PER_SECOND = 100;
+    int DEFAULT_EVICTION_BURST_SIZE = 1000;
+    long DEFAULT_EVICTION_WINDOW_MS = 5 * 60 * 1000;
 
     @Override
     @DefaultValue("" + DEFAULT_EVICTION_ALLOWED_PERCENTAGE_DROP)
     int getEvictionAllowedPercentageDrop();
+
+    @Override
+    @DefaultValue("" + DEFAULT_EVICTION_RATE_PER_SECOND)
+    int getEvictionRatePerSecond();
+
+    @Override
+    @DefaultValue("" + DEFAULT_EVICTION_BURST_SIZE)
+    int getEvictionBurstSize();
+
+    @Override
+    @DefaultValue("" + DEFAULT_EVICTION_WINDOW_MS)
+    long getEvictionWindowMs();
 }
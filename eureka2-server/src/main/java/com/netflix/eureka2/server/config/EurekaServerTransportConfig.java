@@ -14,6 +14,11 @@ public interface EurekaServerTransportConfig extends EurekaTransportConfig {
     int DEFAULT_SERVER_PORT = 12102;
     long DEFAULT_HEARTBEAT_INTERVAL_MS = 30000;
     long DEFAULT_CONNECTION_AUTO_TIMEOUT_MS = 30 * 60 * 1000;
+    long DEFAULT_HEARTBEAT_MAX_INTERVAL_MS = 10 * DEFAULT_HEARTBEAT_INTERVAL_MS;
+    int DEFAULT_HEARTBEAT_HIGH_LOAD_CONNECTIONS = 5000;
+    int DEFAULT_INTEREST_SNAPSHOT_MAX_CONCURRENT = 64;
+    int DEFAULT_INTEREST_SNAPSHOT_QUEUE_SIZE = 2000;
+    long DEFAULT_INTEREST_OVERLOAD_RETRY_AFTER_MS = 30 * 1000;
 
     @DefaultValue("" + DEFAULT_HTTP_PORT)
     int getHttpPort();
@@ -34,4 +39,35 @@ public interface EurekaServerTransportConfig extends EurekaTransportConfig {
     @Override
     @DefaultValue("" + DEFAULT_CONNECTION_AUTO_TIMEOUT_MS)
     long getConnectionAutoTimeoutMs();
+
+    /**
+     * Upper bound for the heartbeat interval advertised to clients under high load.
+     */
+    @DefaultValue("" + DEFAULT_HEARTBEAT_MAX_INTERVAL_MS)
+    long getHeartbeatMaxIntervalMs();
+
+    /**
+     * Number of open connections above which the server advertises heartbeat intervals longer than the base one.
+     */
+    @DefaultValue("" + DEFAULT_HEARTBEAT_HIGH_LOAD_CONNECTIONS)
+    int getHeartbeatHighLoadConnections();
+
+    /**
+     * Maximum number of interest channels, for which the initial registry snapshot is sent at the same time.
+     */
+    @DefaultValue("" + DEFAULT_INTEREST_SNAPSHOT_MAX_CONCURRENT)
+    int getInterestSnapshotMaxConcurrent();
+
+    /**
+     * Maximum number of new interest channels waiting for their initial snapshot. New channels above
+     * this limit are rejected with a retry hint.
+     */
+    @DefaultValue("" + DEFAULT_INTEREST_SNAPSHOT_QUEUE_SIZE)
+    int getInterestSnapshotQueueSize();
+
+    /**
+     * Delay after which a client of a rejected interest channel is asked to reconnect.
+     */
+    @DefaultValue("" + DEFAULT_INTEREST_OVERLOAD_RETRY_AFTER_MS)
+    long getInterestOverloadRetryAfterMs();
 }
@@ -12,12 +12,24 @@ public class EurekaClusterDiscoveryConfigBean implements EurekaClusterDiscoveryC
     private final ResolverType clusterResolverType;
     private final ClusterAddress[] clusterAddresses;
     private final String readClusterVipAddress;
+    private final int readServerTier;
+    private final ResolverType upstreamReadClusterResolverType;
+    private final ClusterAddress[] upstreamReadClusterAddresses;
 
     public EurekaClusterDiscoveryConfigBean(ResolverType clusterResolverType, ClusterAddress[] clusterAddresses,
                                             String readClusterVipAddress) {
+        this(clusterResolverType, clusterAddresses, readClusterVipAddress, 1, ResolverType.Fixed, clusterAddresses);
+    }
+
+    public EurekaClusterDiscoveryConfigBean(ResolverType clusterResolverType, ClusterAddress[] clusterAddresses,
+                                            String readClusterVipAddress, int readServerTier,
+                                            ResolverType upstreamReadClusterResolverType, ClusterAddress[] upstreamReadClusterAddresses) {
         this.clusterResolverType = clusterResolverType;
         this.clusterAddresses = clusterAddresses;
         this.readClusterVipAddress = readClusterVipAddress;
+        this.readServerTier = readServerTier;
+        this.upstreamReadClusterResolverType = upstreamReadClusterResolverType;
+        this.upstreamReadClusterAddresses = upstreamReadClusterAddresses;
     }
 
     @Override
@@ -35,6 +47,21 @@ public class EurekaClusterDiscoveryConfigBean implements EurekaClusterDiscoveryC
         return readClusterVipAddress;
     }
 
+    @Override
+    public int getReadServerTier() {
+        return readServerTier;
+    }
+
+    @Override
+    public ResolverType getUpstreamReadClusterResolverType() {
+        return upstreamReadClusterResolverType;
+    }
+
+    @Override
+    public ClusterAddress[] getUpstreamReadClusterAddresses() {
+        return upstreamReadClusterAddresses;
+    }
+
     public static Builder anEurekaClusterDiscoveryConfig() {
         return new Builder();
     }
@@ -43,6 +70,9 @@ public class EurekaClusterDiscoveryConfigBean implements EurekaClusterDiscoveryC
         private ResolverType clusterResolverType = ResolverType.Fixed;
         private ClusterAddress[] clusterAddresses = {ClusterAddress.valueOf("localhost", 12102)};
         private String readClusterVipAddress = "eureka2-read";
+        private int readServerTier = 1;
+        private ResolverType upstreamReadClusterResolverType = ResolverType.Fixed;
+        private ClusterAddress[] upstreamReadClusterAddresses = {ClusterAddress.valueOf("localhost", 12102)};
 
         private Builder() {
         }
@@ -62,13 +92,31 @@ public class EurekaClusterDiscoveryConfigBean implements EurekaClusterDiscoveryC
             return this;
         }
 
+        public Builder withReadServerTier(int readServerTier) {
+            this.readServerTier = readServerTier;
+            return this;
+        }
+
+        public Builder withUpstreamReadClusterResolverType(ResolverType upstreamReadClusterResolverType) {
+            this.upstreamReadClusterResolverType = upstreamReadClusterResolverType;
+            return this;
+        }
+
+        public Builder withUpstreamReadClusterAddresses(ClusterAddress... upstreamReadClusterAddresses) {
+            this.upstreamReadClusterAddresses = upstreamReadClusterAddresses;
+            return this;
+        }
+
         public Builder but() {
-            return anEurekaClusterDiscoveryConfig().withClusterResolverType(clusterResolverType).withClusterAddresses(clusterAddresses).withReadClusterVipAddress(readClusterVipAddress);
+            return anEurekaClusterDiscoveryConfig().withClusterResolverType(clusterResolverType).withClusterAddresses(clusterAddresses).withReadClusterVipAddress(readClusterVipAddress)
+                    .withReadServerTier(readServerTier).withUpstreamReadClusterResolverType(upstreamReadClusterResolverType)
+                    .withUpstreamReadClusterAddresses(upstreamReadClusterAddresses);
         }
 
         public EurekaClusterDiscoveryConfigBean build() {
             EurekaClusterDiscoveryConfigBean eurekaClusterDiscoveryConfigBean = new EurekaClusterDiscoveryConfigBean(
-                    clusterResolverType, clusterAddresses, readClusterVipAddress);
+                    clusterResolverType, clusterAddresses, readClusterVipAddress, readServerTier,
+                    upstreamReadClusterResolverType, upstreamReadClusterAddresses);
             return eurekaClusterDiscoveryConfigBean;
         }
     }
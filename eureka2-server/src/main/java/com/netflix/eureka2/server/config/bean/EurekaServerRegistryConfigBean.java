@@ -8,9 +8,16 @@ import com.netflix.eureka2.server.config.EurekaServerRegistryConfig;
 public class EurekaServerRegistryConfigBean implements EurekaServerRegistryConfig {
 
     private final int evictionAllowedPercentageDrop;
+    private final int evictionRatePerSecond;
+    private final int evictionBurstSize;
+    private final long evictionWindowMs;
 
-    public EurekaServerRegistryConfigBean(int evictionAllowedPercentageDrop) {
+    public EurekaServerRegistryConfigBean(int evictionAllowedPercentageDrop, int evictionRatePerSecond,
+                                          int evictionBurstSize, long evictionWindowMs) {
         this.evictionAllowedPercentageDrop = evictionAllowedPercentageDrop;
+        this.evictionRatePerSecond = evictionRatePerSecond;
+        this.evictionBurstSize = evictionBurstSize;
+        this.evictionWindowMs = evictionWindowMs;
     }
 
     public static Builder anEurekaServerRegistryConfig() {
@@ -22,8 +29,26 @@ public class EurekaServerRegistryConfigBean implements EurekaServerRegistryConfi
         return evictionAllowedPercentageDrop;
     }
 
+    @Override
+    public int getEvictionRatePerSecond() {
+        return evictionRatePerSecond;
+    }
+
+    @Override
+    public int getEvictionBurstSize() {
+        return evictionBurstSize;
+    }
+
+    @Override
+    public long getEvictionWindowMs() {
+        return evictionWindowMs;
+    }
+
     public static class Builder {
         private int evictionAllowedPercentageDrop = DEFAULT_EVICTION_ALLOWED_PERCENTAGE_DROP;
+        private int evictionRatePerSecond = DEFAULT_EVICTION_RATE_PER_SECOND;
+        private int evictionBurstSize = DEFAULT_EVICTION_BURST_SIZE;
+        private long evictionWindowMs = DEFAULT_EVICTION_WINDOW_MS;
 
         private Builder() {
         }
@@ -33,12 +58,32 @@ public class EurekaServerRegistryConfigBean implements EurekaServerRegistryConfi
             return this;
         }
 
+        public Builder withEvictionRatePerSecond(int evictionRatePerSecond) {
+            this.evictionRatePerSecond = evictionRatePerSecond;
+            return this;
+        }
+
+        public Builder withEvictionBurstSize(int evictionBurstSize) {
+            this.evictionBurstSize = evictionBurstSize;
+            return this;
+        }
+
+        public Builder withEvictionWindowMs(long evictionWindowMs) {
+            this.evictionWindowMs = evictionWindowMs;
+            return this;
+        }
+
         public Builder but() {
-            return anEurekaServerRegistryConfig().withEvictionAllowedPercentageDrop(evictionAllowedPercentageDrop);
+            return anEurekaServerRegistryConfig()
+                    .withEvictionAllowedPercentageDrop(evictionAllowedPercentageDrop)
+                    .withEvictionRatePerSecond(evictionRatePerSecond)
+                    .withEvictionBurstSize(evictionBurstSize)
+                    .withEvictionWindowMs(evictionWindowMs);
         }
 
         public EurekaServerRegistryConfigBean build() {
-            return new EurekaServerRegistryConfigBean(evictionAllowedPercentageDrop);
+            return new EurekaServerRegistryConfigBean(evictionAllowedPercentageDrop, evictionRatePerSecond,
+                    evictionBurstSize, evictionWindowMs);
         }
     }
 }
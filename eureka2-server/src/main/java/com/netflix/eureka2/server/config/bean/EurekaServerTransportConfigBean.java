@@ -13,16 +13,28 @@ public class EurekaServerTransportConfigBean implements EurekaServerTransportCon
     private final int registrationPort;
     private final long heartbeatIntervalMs;
     private final long connectionAutoTimeoutMs;
+    private final long heartbeatMaxIntervalMs;
+    private final int heartbeatHighLoadConnections;
+    private final int interestSnapshotMaxConcurrent;
+    private final int interestSnapshotQueueSize;
+    private final long interestOverloadRetryAfterMs;
 
     public EurekaServerTransportConfigBean(int httpPort, int shutDownPort, int webAdminPort,
                                            int registrationPort, long heartbeatIntervalMs,
-                                           long connectionAutoTimeoutMs) {
+                                           long connectionAutoTimeoutMs, long heartbeatMaxIntervalMs,
+                                           int heartbeatHighLoadConnections, int interestSnapshotMaxConcurrent,
+                                           int interestSnapshotQueueSize, long interestOverloadRetryAfterMs) {
         this.httpPort = httpPort;
         this.shutDownPort = shutDownPort;
         this.webAdminPort = webAdminPort;
         this.registrationPort = registrationPort;
         this.heartbeatIntervalMs = heartbeatIntervalMs;
         this.connectionAutoTimeoutMs = connectionAutoTimeoutMs;
+        this.heartbeatMaxIntervalMs = heartbeatMaxIntervalMs;
+        this.heartbeatHighLoadConnections = heartbeatHighLoadConnections;
+        this.interestSnapshotMaxConcurrent = interestSnapshotMaxConcurrent;
+        this.interestSnapshotQueueSize = interestSnapshotQueueSize;
+        this.interestOverloadRetryAfterMs = interestOverloadRetryAfterMs;
     }
 
     @Override
@@ -55,6 +67,31 @@ public class EurekaServerTransportConfigBean implements EurekaServerTransportCon
         return connectionAutoTimeoutMs;
     }
 
+    @Override
+    public long getHeartbeatMaxIntervalMs() {
+        return heartbeatMaxIntervalMs;
+    }
+
+    @Override
+    public int getHeartbeatHighLoadConnections() {
+        return heartbeatHighLoadConnections;
+    }
+
+    @Override
+    public int getInterestSnapshotMaxConcurrent() {
+        return interestSnapshotMaxConcurrent;
+    }
+
+    @Override
+    public int getInterestSnapshotQueueSize() {
+        return interestSnapshotQueueSize;
+    }
+
+    @Override
+    public long getInterestOverloadRetryAfterMs() {
+        return interestOverloadRetryAfterMs;
+    }
+
     public static Builder anEurekaServerTransportConfig() {
         return new Builder();
     }
@@ -66,7 +103,12 @@ public class EurekaServerTransportConfigBean implements EurekaServerTransportCon
                 .withWebAdminPort(original.getWebAdminPort())
                 .withServerPort(original.getServerPort())
                 .withHeartbeatIntervalMs(original.getHeartbeatIntervalMs())
-                .withConnectionAutoTimeoutMs(original.getConnectionAutoTimeoutMs());
+                .withConnectionAutoTimeoutMs(original.getConnectionAutoTimeoutMs())
+                .withHeartbeatMaxIntervalMs(original.getHeartbeatMaxIntervalMs())
+                .withHeartbeatHighLoadConnections(original.getHeartbeatHighLoadConnections())
+                .withInterestSnapshotMaxConcurrent(original.getInterestSnapshotMaxConcurrent())
+                .withInterestSnapshotQueueSize(original.getInterestSnapshotQueueSize())
+                .withInterestOverloadRetryAfterMs(original.getInterestOverloadRetryAfterMs());
     }
 
     public static class Builder {
@@ -76,6 +118,11 @@ public class EurekaServerTransportConfigBean implements EurekaServerTransportCon
         private int serverPort = DEFAULT_SERVER_PORT;
         private long heartbeatIntervalMs = DEFAULT_HEARTBEAT_INTERVAL_MS;
         private long connectionAutoTimeoutMs = DEFAULT_CONNECTION_AUTO_TIMEOUT_MS;
+        private long heartbeatMaxIntervalMs = DEFAULT_HEARTBEAT_MAX_INTERVAL_MS;
+        private int heartbeatHighLoadConnections = DEFAULT_HEARTBEAT_HIGH_LOAD_CONNECTIONS;
+        private int interestSnapshotMaxConcurrent = DEFAULT_INTEREST_SNAPSHOT_MAX_CONCURRENT;
+        private int interestSnapshotQueueSize = DEFAULT_INTEREST_SNAPSHOT_QUEUE_SIZE;
+        private long interestOverloadRetryAfterMs = DEFAULT_INTEREST_OVERLOAD_RETRY_AFTER_MS;
 
         private Builder() {
         }
@@ -110,6 +157,31 @@ public class EurekaServerTransportConfigBean implements EurekaServerTransportCon
             return this;
         }
 
+        public Builder withHeartbeatMaxIntervalMs(long heartbeatMaxIntervalMs) {
+            this.heartbeatMaxIntervalMs = heartbeatMaxIntervalMs;
+            return this;
+        }
+
+        public Builder withHeartbeatHighLoadConnections(int heartbeatHighLoadConnections) {
+            this.heartbeatHighLoadConnections = heartbeatHighLoadConnections;
+            return this;
+        }
+
+        public Builder withInterestSnapshotMaxConcurrent(int interestSnapshotMaxConcurrent) {
+            this.interestSnapshotMaxConcurrent = interestSnapshotMaxConcurrent;
+            return this;
+        }
+
+        public Builder withInterestSnapshotQueueSize(int interestSnapshotQueueSize) {
+            this.interestSnapshotQueueSize = interestSnapshotQueueSize;
+            return this;
+        }
+
+        public Builder withInterestOverloadRetryAfterMs(long interestOverloadRetryAfterMs) {
+            this.interestOverloadRetryAfterMs = interestOverloadRetryAfterMs;
+            return this;
+        }
+
         public Builder but() {
             return anEurekaServerTransportConfig()
                     .withHttpPort(httpPort)
@@ -117,11 +189,18 @@ public class EurekaServerTransportConfigBean implements EurekaServerTransportCon
                     .withWebAdminPort(webAdminPort)
                     .withServerPort(serverPort)
                     .withHeartbeatIntervalMs(heartbeatIntervalMs)
-                    .withConnectionAutoTimeoutMs(connectionAutoTimeoutMs);
+                    .withConnectionAutoTimeoutMs(connectionAutoTimeoutMs)
+                    .withHeartbeatMaxIntervalMs(heartbeatMaxIntervalMs)
+                    .withHeartbeatHighLoadConnections(heartbeatHighLoadConnections)
+                    .withInterestSnapshotMaxConcurrent(interestSnapshotMaxConcurrent)
+                    .withInterestSnapshotQueueSize(interestSnapshotQueueSize)
+                    .withInterestOverloadRetryAfterMs(interestOverloadRetryAfterMs);
         }
 
         public EurekaServerTransportConfigBean build() {
-            EurekaServerTransportConfigBean eurekaServerTransportConfigBean = new EurekaServerTransportConfigBean(httpPort, shutDownPort, webAdminPort, serverPort, heartbeatIntervalMs, connectionAutoTimeoutMs);
+            EurekaServerTransportConfigBean eurekaServerTransportConfigBean = new EurekaServerTransportConfigBean(httpPort, shutDownPort, webAdminPort, serverPort, heartbeatIntervalMs, connectionAutoTimeoutMs,
+                    heartbeatMaxIntervalMs, heartbeatHighLoadConnections, interestSnapshotMaxConcurrent, interestSnapshotQueueSize,
+                    interestOverloadRetryAfterMs);
             return eurekaServerTransportConfigBean;
         }
     }
@@ -1,8 +1,11 @@
 package com.netflix.eureka2.server.registry;
 
-import java.util.concurrent.Semaphore;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.netflix.eureka2.config.EurekaRegistryConfig;
 import com.netflix.eureka2.model.instance.InstanceInfo;
@@ -12,29 +15,27 @@ import org.slf4j.LoggerFactory;
 import rx.Observable;
 import rx.Observable.OnSubscribe;
 import rx.Producer;
+import rx.Scheduler;
+import rx.Scheduler.Worker;
 import rx.Subscriber;
+import rx.functions.Action0;
+import rx.schedulers.Schedulers;
 import rx.subjects.PublishSubject;
 import rx.subjects.SerializedSubject;
 import rx.subjects.Subject;
 
 /**
- * A quota provider which target is to restore the original registry size
- * from the time the first eviction request is received.
- * The following algorithm is applied when the latter case happens:
+ * A quota provider, that grants eviction permits in batches, at a rate controlled by a token bucket.
+ * The following algorithm is applied:
  * <ul>
- *     <li>1. eviction quota is calculated as a % of current registry size</li>
- *     <li>2. eviction grants are permitted up to the quota limit</li>
- *     <li>3. until registry size is restored, quota limit is not changed</li>
- * </ul>
- * <p>
- * This is first implementation, but other can be envisaged:
- * <ul>
- *     <li>eviction grants are issued at a configurable rate</li>
- *     <li>erasure policy can be applied to compensate for ungraceful shutdowns</li>
- *     <li>delayed eviction strategy to differentiate singular disconnects from bulk once</li>
- *     <li>adaptive eviction strategy based on the drop out rate</li>
- *     <li>cross check analysis of local registrations vs registry holder copies to better interact with replication channels</li>
+ *     <li>1. the registry size is tracked over a sliding window, and the largest size within this window is the reference size</li>
+ *     <li>2. eviction grants are permitted as long as the registry size stays above the allowed % drop of the reference size</li>
+ *     <li>3. all pending requests that fit in the self preservation limit are granted at once, up to the number of available tokens</li>
+ *     <li>4. tokens are replenished at a configurable rate, up to the configured burst size</li>
  * </ul>
+ * A mass disconnect is thus cleaned up at a predictable rate, and if the drop out rate exceeds the configured
+ * limit, evictions are suspended until either the registry size is restored, or the window slides past the
+ * registry size peak.
  *
  * @author Tomasz Bak
  */
@@ -42,20 +43,35 @@ public class EvictionQuotaKeeperImpl implements EvictionQuotaKeeper {
 
     private static final Logger logger = LoggerFactory.getLogger(EvictionQuotaKeeperImpl.class);
 
-    protected final Semaphore quotaRequests = new Semaphore(0);
+    protected final AtomicLong quotaRequests = new AtomicLong();
 
     private final EurekaRegistrationProcessor<InstanceInfo> registrationProcessor;
     private final EurekaRegistryConfig config;
+    private final Scheduler scheduler;
+    private final Worker worker;
 
     private final Subscriber<Integer> sizeSubscriber;
 
     private final Subject<Long, Long> quotaSubject = new SerializedSubject<>(PublishSubject.<Long>create());
 
-    private final AtomicReference<EvictionState> evictionStateRef = new AtomicReference<>();
+    private final AtomicInteger evaluationWip = new AtomicInteger();
+    private final AtomicBoolean evaluationScheduled = new AtomicBoolean();
+
+    // Accessed only from within the evaluation loop
+    private final EvictionState evictionState;
+    private final TokenBucket tokenBucket;
 
     public EvictionQuotaKeeperImpl(final EurekaRegistrationProcessor registrationProcessor, EurekaRegistryConfig config) {
+        this(registrationProcessor, config, Schedulers.computation());
+    }
+
+    public EvictionQuotaKeeperImpl(final EurekaRegistrationProcessor registrationProcessor, EurekaRegistryConfig config, Scheduler scheduler) {
         this.registrationProcessor = registrationProcessor;
         this.config = config;
+        this.scheduler = scheduler;
+        this.worker = scheduler.createWorker();
+        this.evictionState = new EvictionState(registrationProcessor.size());
+        this.tokenBucket = new TokenBucket(config.getEvictionRatePerSecond(), config.getEvictionBurstSize(), scheduler.now());
         this.sizeSubscriber = new Subscriber<Integer>() {
             @Override
             public void onCompleted() {
@@ -90,8 +106,10 @@ public class EvictionQuotaKeeperImpl implements EvictionQuotaKeeper {
                 subscriber.setProducer(new Producer() {
                     @Override
                     public void request(long n) {
-                        quotaRequests.release((int) n);
-                        evaluate();
+                        if (n > 0) {
+                            addRequest(n);
+                            evaluate();
+                        }
                     }
                 });
                 quotaSubject.subscribe(subscriber);
@@ -101,44 +119,182 @@ public class EvictionQuotaKeeperImpl implements EvictionQuotaKeeper {
 
     public void shutdown() {
         sizeSubscriber.unsubscribe();
+        worker.unsubscribe();
+    }
+
+    private void addRequest(long n) {
+        while (true) {
+            long current = quotaRequests.get();
+            long next = current + n < 0 ? Long.MAX_VALUE : current + n;
+            if (quotaRequests.compareAndSet(current, next)) {
+                return;
+            }
+        }
     }
 
     /**
-     * This method may be execute by quota and interest channel subscriptions concurrently.
+     * This method may be executed by quota and interest channel subscriptions concurrently, and
+     * recursively, as granted permits change the registry size. Only one thread at a time runs the evaluation
+     * loop, and it re-evaluates the state if it was requested in the meantime.
      */
     private void evaluate() {
-        if (evictionStateRef.get() == null && quotaRequests.availablePermits() == 0) {
+        if (evaluationWip.getAndIncrement() != 0) {
             return;
         }
-
-        synchronized (evictionStateRef) {
-            if (quotaRequests.availablePermits() == 0) {
-                evictionStateRef.getAndSet(null);
-                return;
-            }
-            if (evictionStateRef.get() == null) {
-                evictionStateRef.set(new EvictionState(registrationProcessor.size()));
+        int missed = 1;
+        do {
+            try {
+                grantPermits();
+            } catch (Exception e) {
+                logger.error("Eviction quota evaluation failure", e);
             }
+            missed = evaluationWip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void grantPermits() {
+        long now = scheduler.now();
+        int allowed = evictionState.allowedEvictions(now);
+        long requested = quotaRequests.get();
+        if (requested == 0) {
+            return;
         }
-        EvictionState evictionState = evictionStateRef.get();
-        while (evictionState.isEvictionAllowed() && quotaRequests.tryAcquire()) {
-            quotaSubject.onNext(1L);
+        if (allowed == 0) {
+            scheduleEvaluation(evictionState.timeToPeakExpiry(now));
+            return;
+        }
+        long granted = tokenBucket.tryAcquire(Math.min(requested, allowed), now);
+        if (granted > 0) {
+            quotaRequests.addAndGet(-granted);
+            quotaSubject.onNext(granted);
+        }
+        if (granted < Math.min(requested, allowed)) {
+            scheduleEvaluation(tokenBucket.timeToNextToken(now));
         }
     }
 
+    private void scheduleEvaluation(long delayMs) {
+        if (delayMs <= 0 || !evaluationScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        worker.schedule(new Action0() {
+            @Override
+            public void call() {
+                evaluationScheduled.set(false);
+                evaluate();
+            }
+        }, delayMs, TimeUnit.MILLISECONDS);
+    }
+
     /**
-     * This class encapsulates state related to pending evictions.
+     * This class encapsulates the self preservation state. It keeps registry size samples from the sliding
+     * window, in decreasing size order (sliding window maximum), so the reference size is always at the head.
      */
     class EvictionState {
-        private final int steadyStateRegistrySize;
 
-        EvictionState(int steadyStateRegistrySize) {
-            this.steadyStateRegistrySize = steadyStateRegistrySize;
+        private final Deque<SizeSample> samples = new ArrayDeque<>();
+        private boolean preserving;
+
+        EvictionState(int initialRegistrySize) {
+            samples.add(new SizeSample(scheduler.now(), initialRegistrySize));
         }
 
         public boolean isEvictionAllowed() {
-            int potentialSize = registrationProcessor.size() - 1;
-            return potentialSize * 100.0 / steadyStateRegistrySize >= (100.0 - config.getEvictionAllowedPercentageDrop());
+            return allowedEvictions(scheduler.now()) > 0;
+        }
+
+        /**
+         * @return number of registrations that can be evicted without crossing the allowed registry size drop
+         */
+        int allowedEvictions(long now) {
+            int currentSize = registrationProcessor.size();
+            addSample(now, currentSize);
+
+            int referenceSize = samples.peekFirst().size;
+            long minSize = ((long) referenceSize * (100 - config.getEvictionAllowedPercentageDrop()) + 99) / 100;
+            int allowed = (int) Math.max(0, currentSize - minSize);
+
+            if (allowed == 0 && !preserving && currentSize < referenceSize) {
+                logger.warn("Registry size dropped from {} to {} within {}ms; suspending evictions",
+                        referenceSize, currentSize, config.getEvictionWindowMs());
+            } else if (allowed > 0 && preserving) {
+                logger.info("Registry size {} within eviction limit of reference size {}; resuming evictions",
+                        currentSize, referenceSize);
+            }
+            preserving = allowed == 0 && currentSize < referenceSize;
+            return allowed;
+        }
+
+        long timeToPeakExpiry(long now) {
+            SizeSample head = samples.peekFirst();
+            return samples.size() > 1 ? head.timestamp + config.getEvictionWindowMs() - now + 1 : 0;
+        }
+
+        private void addSample(long now, int size) {
+            SizeSample tail;
+            while ((tail = samples.peekLast()) != null && tail.size <= size) {
+                samples.pollLast();
+            }
+            samples.addLast(new SizeSample(now, size));
+
+            long windowStart = now - config.getEvictionWindowMs();
+            while (samples.size() > 1 && samples.peekFirst().timestamp < windowStart) {
+                samples.pollFirst();
+            }
+        }
+    }
+
+    static class SizeSample {
+        final long timestamp;
+        final int size;
+
+        SizeSample(long timestamp, int size) {
+            this.timestamp = timestamp;
+            this.size = size;
+        }
+    }
+
+    /**
+     * Eviction permits refilled at a constant rate, up to the bucket capacity. Non positive rate disables the limit.
+     */
+    static class TokenBucket {
+        private final int ratePerSecond;
+        private final int capacity;
+
+        private double tokens;
+        private long lastRefill;
+
+        TokenBucket(int ratePerSecond, int capacity, long now) {
+            this.ratePerSecond = ratePerSecond;
+            this.capacity = Math.max(1, capacity);
+            this.tokens = this.capacity;
+            this.lastRefill = now;
+        }
+
+        long tryAcquire(long requested, long now) {
+            if (ratePerSecond <= 0) {
+                return requested;
+            }
+            refill(now);
+            long granted = Math.min(requested, (long) tokens);
+            tokens -= granted;
+            return granted;
+        }
+
+        long timeToNextToken(long now) {
+            if (ratePerSecond <= 0) {
+                return 0;
+            }
+            refill(now);
+            double missing = 1 - tokens;
+            return missing <= 0 ? 0 : (long) Math.ceil(missing * 1000 / ratePerSecond);
+        }
+
+        private void refill(long now) {
+            if (now > lastRefill) {
+                tokens = Math.min(capacity, tokens + (now - lastRefill) * ratePerSecond / 1000.0);
+                lastRefill = now;
+            }
         }
     }
 }
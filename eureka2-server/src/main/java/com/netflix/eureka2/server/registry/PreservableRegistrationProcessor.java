@@ -5,8 +5,10 @@ import javax.inject.Inject;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.netflix.eureka2.config.EurekaRegistryConfig;
 import com.netflix.eureka2.model.InstanceModel;
@@ -14,22 +16,22 @@ import com.netflix.eureka2.model.Source;
 import com.netflix.eureka2.model.Sourced;
 import com.netflix.eureka2.model.instance.InstanceInfo;
 import com.netflix.eureka2.model.notification.ChangeNotification;
-import com.netflix.eureka2.model.notification.SourcedChangeNotification;
 import com.netflix.eureka2.registry.EurekaRegistry;
-import com.netflix.eureka2.utils.functions.RxFunctions;
 import com.netflix.eureka2.utils.rx.LoggingSubscriber;
-import com.netflix.eureka2.utils.rx.SettableSubscriber;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import rx.Notification;
 import rx.Observable;
 import rx.Subscriber;
 import rx.functions.Action0;
-import rx.functions.Func1;
 import rx.subjects.BehaviorSubject;
 import rx.subjects.PublishSubject;
 
 /**
+ * Registration updates from all registrants are put into a single lock-free queue, and are applied to the
+ * registry in batches (group commit). The thread that finds the queue not being drained, drains it, including
+ * updates enqueued concurrently by other registrants. This keeps the per update overhead to a single queue entry,
+ * and the registry state (approved registrations, size) is updated by one thread at a time.
+ *
  * @author Tomasz Bak
  */
 public class PreservableRegistrationProcessor implements EurekaRegistrationProcessor<InstanceInfo>, Sourced {
@@ -38,10 +40,9 @@ public class PreservableRegistrationProcessor implements EurekaRegistrationProce
 
     protected final EurekaRegistry<InstanceInfo> registry;
 
-    private final PublishSubject<Observable<SourcedChangeNotification<InstanceInfo>>> registrationSubject = PublishSubject.create();
+    private final PublishSubject<ChangeNotification<InstanceInfo>> registrationStream = PublishSubject.create();
     private final BehaviorSubject<Integer> sizeSubject = BehaviorSubject.create();
 
-    private final Observable<ChangeNotification<InstanceInfo>> registrationStream;
     private final Subscriber<Void> processorSubscriber;
     private final Source selfSource;
 
@@ -51,12 +52,15 @@ public class PreservableRegistrationProcessor implements EurekaRegistrationProce
     private volatile EvictionQuotaKeeper evictionQuotaKeeper;
 
     /**
-     * All registrations are serialized, and each registration subscription updates this data structure. If there is
-     * another subscription with the given id, it is ignored.
-     * The source sent from the Registration channels is unique per instanceId:connection.
+     * Each registration subscription updates this data structure. If there is another subscription with the given id,
+     * it is ignored. The source sent from the Registration channels is unique per instanceId:connection.
+     * Modified only while draining the commit queue.
      */
     private final ConcurrentMap<String, Registrant> approvedRegistrations = new ConcurrentHashMap<>();
 
+    private final Queue<RegistrationEvent> commitQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger commitWip = new AtomicInteger();
+
     private final AtomicBoolean isShutdown = new AtomicBoolean();
 
     @Inject
@@ -72,37 +76,6 @@ public class PreservableRegistrationProcessor implements EurekaRegistrationProce
         this.processorSubscriber = new LoggingSubscriber<>(logger);
 
         this.evictionQuotaKeeper = new EvictionQuotaKeeperImpl(this, registryConfig);
-
-        this.registrationStream = Observable.merge(registrationSubject)
-                .map(new Func1<SourcedChangeNotification<InstanceInfo>, ChangeNotification<InstanceInfo>>() {
-                    @Override
-                    public ChangeNotification<InstanceInfo> call(SourcedChangeNotification<InstanceInfo> notification) {
-                        Source thisSource = notification.getSource();
-                        if (notification.isDataNotification()) {
-                            // first check to see if this is a notification from the latest "generation" for the given id
-                            // if not, do nothing
-                            Registrant latest = approvedRegistrations.get(notification.getSource().getName());
-                            if (latest == null || !latest.source.equals(thisSource)) {
-                                return null;
-                            }
-
-                            // if this is a deletion, remove from the approvedRegistrationsMap as well
-                            if (notification.getKind() == ChangeNotification.Kind.Delete) {
-                                Registrant registrant = approvedRegistrations.remove(thisSource.getName());
-                                registrant.settableSubscriber.setOnComplete();  // safe to do
-                            }
-
-                            // finally update size and move on
-                            sizeSubject.onNext(approvedRegistrations.size());
-                            return notification.toBaseNotification();
-                        } else {
-                            logger.warn("Should not see StreamStateNotification in registration processor {}", notification);
-                            return null;
-                        }
-                    }
-                })
-                .filter(RxFunctions.filterNullValuesFunc())
-                .onErrorResumeNext(Observable.<ChangeNotification<InstanceInfo>>empty());  // ignore all errors
     }
 
     @PostConstruct
@@ -150,59 +123,13 @@ public class PreservableRegistrationProcessor implements EurekaRegistrationProce
      */
     @Override
     public Observable<Void> connect(String id, final Source source, final Observable<ChangeNotification<InstanceInfo>> registrationUpdates) {
-        final SettableSubscriber<SourcedChangeNotification<InstanceInfo>> settableSubscriber = new SettableSubscriber<>();
-
-        final Observable<SourcedChangeNotification<InstanceInfo>> monitoredUpdates = Observable.just(source)
-                .switchMap(new Func1<Source, Observable<? extends ChangeNotification<InstanceInfo>>>() {
-                    @Override
-                    public Observable<? extends ChangeNotification<InstanceInfo>> call(Source aSource) {
-                        String id = aSource.getName();
-                        final Registrant registrant = new Registrant(aSource, settableSubscriber);
-                        Registrant prevRegistrant = approvedRegistrations.put(id, registrant);
-                        if (prevRegistrant != null) {
-                            quotaSubscriber.addToEvictionQueue(registrant);
-                        }
-                        return registrationUpdates
-                                .materialize()
-                                .concatMap(new Func1<Notification<ChangeNotification<InstanceInfo>>, Observable<? extends ChangeNotification<InstanceInfo>>>() {
-                                    @Override
-                                    public Observable<? extends ChangeNotification<InstanceInfo>> call(Notification<ChangeNotification<InstanceInfo>> rxNotification) {
-                                        switch (rxNotification.getKind()) {
-                                            case OnNext:
-                                                return Observable.just(rxNotification.getValue());
-                                            case OnCompleted:
-                                                // for onCompleted send an unregister just in case. If one was already seen this is a no-op
-                                                unregisterAndComplete(registrant);
-                                                break;
-                                            case OnError:
-                                                quotaSubscriber.addToEvictionQueue(registrant);
-                                                break;
-                                            default:  // cannot be here
-                                        }
-                                        return Observable.empty();
-                                    }
-                                });
-                    }
-                })
-                .map(new Func1<ChangeNotification<InstanceInfo>, SourcedChangeNotification<InstanceInfo>>() {
-                    @Override
-                    public SourcedChangeNotification<InstanceInfo> call(ChangeNotification<InstanceInfo> notification) {
-                        return new SourcedChangeNotification<>(notification, source);
-                    }
-                })
-                .lift(new Observable.Operator<SourcedChangeNotification<InstanceInfo>, SourcedChangeNotification<InstanceInfo>>() {
-                    @Override
-                    public Subscriber<? super SourcedChangeNotification<InstanceInfo>> call(Subscriber<? super SourcedChangeNotification<InstanceInfo>> subscriber) {
-                        settableSubscriber.setWrapped(subscriber);
-                        return settableSubscriber;
-                    }
-                });
-
+        final Registrant registrant = new Registrant(source, this);
         return Observable.<Void>never()  // TODO can we do better than Observable.never()?
                 .doOnSubscribe(new Action0() {
                     @Override
                     public void call() {
-                        registrationSubject.onNext(monitoredUpdates);
+                        commit(new RegistrationEvent(registrant, null));
+                        registrationUpdates.subscribe(registrant);
                     }
                 })
                 .share();  // TODO overly careful here? Can remove if we ensure only 1 subscriber
@@ -223,13 +150,77 @@ public class PreservableRegistrationProcessor implements EurekaRegistrationProce
         return selfSource;
     }
 
-    private static void unregisterAndComplete(Registrant registrant) {
+    private void commit(RegistrationEvent event) {
+        commitQueue.add(event);
+        if (commitWip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            boolean changed = false;
+            RegistrationEvent next;
+            while ((next = commitQueue.poll()) != null) {
+                try {
+                    changed |= apply(next);
+                } catch (Exception e) {
+                    logger.error("Registration update processing failure for source {}", next.registrant.source, e);
+                }
+            }
+            if (changed) {
+                sizeSubject.onNext(approvedRegistrations.size());
+            }
+            missed = commitWip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * @return true if the registration was accepted
+     */
+    private boolean apply(RegistrationEvent event) {
+        Registrant registrant = event.registrant;
+        Source thisSource = registrant.source;
+        String id = thisSource.getName();
+
+        // A new registrant supersedes the previous one with the same id. The previous registrant does not go
+        // through the eviction queue, as its delete would be ignored by the generation check below anyway, and it
+        // must not consume eviction quota, or be held back by self preservation.
+        if (event.notification == null) {
+            Registrant prevRegistrant = approvedRegistrations.put(id, registrant);
+            if (prevRegistrant != null) {
+                prevRegistrant.unsubscribe();
+            }
+            return false;
+        }
+
+        ChangeNotification<InstanceInfo> notification = event.notification;
+        if (!notification.isDataNotification()) {
+            logger.warn("Should not see StreamStateNotification in registration processor {}", notification);
+            return false;
+        }
+
+        // first check to see if this is a notification from the latest "generation" for the given id
+        // if not, do nothing
+        Registrant latest = approvedRegistrations.get(id);
+        if (latest == null || !latest.source.equals(thisSource)) {
+            return false;
+        }
+
+        // if this is a deletion, remove from the approvedRegistrationsMap as well
+        if (notification.getKind() == ChangeNotification.Kind.Delete) {
+            approvedRegistrations.remove(id);
+            registrant.unsubscribe();
+        }
+
+        registrationStream.onNext(notification);
+        return true;
+    }
+
+    private void unregisterAndComplete(Registrant registrant) {
         InstanceInfo infoForDelete = InstanceModel.getDefaultModel().newInstanceInfo()
                 .withId(registrant.source.getName())
                 .build();
-        registrant.settableSubscriber.onNext(new SourcedChangeNotification<>(
-                ChangeNotification.Kind.Delete, infoForDelete, registrant.source));
-        registrant.settableSubscriber.setOnComplete();
+        registrant.unsubscribe();
+        commit(new RegistrationEvent(registrant, new ChangeNotification<>(ChangeNotification.Kind.Delete, infoForDelete)));
     }
 
     static class QuotaSubscriber extends Subscriber<Long> {
@@ -262,7 +253,7 @@ public class PreservableRegistrationProcessor implements EurekaRegistrationProce
                 Registrant registrant = registrationsToEvict.poll();
                 if (registrant != null) {
                     // send a delete notification, then end
-                    unregisterAndComplete(registrant);
+                    registrant.processor.unregisterAndComplete(registrant);
                 } else {
                     break;
                 }
@@ -270,13 +261,45 @@ public class PreservableRegistrationProcessor implements EurekaRegistrationProce
         }
     }
 
-    static class Registrant {
+    /**
+     * Subscriber of a single registration channel updates, that forwards them to the commit queue.
+     */
+    static class Registrant extends Subscriber<ChangeNotification<InstanceInfo>> {
         final Source source;
-        final SettableSubscriber<SourcedChangeNotification<InstanceInfo>> settableSubscriber;
+        final PreservableRegistrationProcessor processor;
 
-        Registrant(Source source, SettableSubscriber<SourcedChangeNotification<InstanceInfo>> settableSubscriber) {
+        Registrant(Source source, PreservableRegistrationProcessor processor) {
             this.source = source;
-            this.settableSubscriber = settableSubscriber;
+            this.processor = processor;
+        }
+
+        @Override
+        public void onNext(ChangeNotification<InstanceInfo> notification) {
+            processor.commit(new RegistrationEvent(this, notification));
+        }
+
+        @Override
+        public void onCompleted() {
+            // for onCompleted send an unregister just in case. If one was already seen this is a no-op
+            processor.unregisterAndComplete(this);
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            processor.quotaSubscriber.addToEvictionQueue(this);
+        }
+    }
+
+    /**
+     * Registration update, or a new registrant if the notification is null.
+     */
+    static final class RegistrationEvent {
+        final Registrant registrant;
+        final ChangeNotification<InstanceInfo> notification;
+
+        RegistrationEvent(Registrant registrant, ChangeNotification<InstanceInfo> notification) {
+            this.registrant = registrant;
+            this.notification = notification;
         }
     }
 }
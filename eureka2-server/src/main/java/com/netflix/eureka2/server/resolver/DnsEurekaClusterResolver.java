@@ -2,11 +2,11 @@ package com.netflix.eureka2.server.resolver;
 
 import java.util.concurrent.TimeUnit;
 
+import com.netflix.eureka2.interests.host.CachingDnsResolver;
 import com.netflix.eureka2.interests.host.DnsChangeNotificationSource;
 import com.netflix.eureka2.model.notification.ChangeNotification;
 import com.netflix.eureka2.model.notification.ChangeNotification.Kind;
 import rx.Observable;
-import rx.Scheduler;
 import rx.functions.Func1;
 
 /**
@@ -20,8 +20,8 @@ abstract class DnsEurekaClusterResolver implements EurekaClusterResolver {
 
     private final Observable<ChangeNotification<String>> dnsChangeNotificationSource;
 
-    protected DnsEurekaClusterResolver(String domainName, Scheduler scheduler) {
-        this.dnsChangeNotificationSource = createDnsChangeNotificationSource(domainName, scheduler);
+    protected DnsEurekaClusterResolver(String domainName) {
+        this.dnsChangeNotificationSource = createDnsChangeNotificationSource(domainName);
     }
 
     @Override
@@ -43,8 +43,8 @@ abstract class DnsEurekaClusterResolver implements EurekaClusterResolver {
                 });
     }
 
-    protected Observable<ChangeNotification<String>> createDnsChangeNotificationSource(String domainName, Scheduler scheduler) {
-        return new DnsChangeNotificationSource(domainName, RELOAD_INTERVAL_MS, 0, TimeUnit.MILLISECONDS, scheduler).forInterest(null);
+    protected Observable<ChangeNotification<String>> createDnsChangeNotificationSource(String domainName) {
+        return new DnsChangeNotificationSource(domainName, RELOAD_INTERVAL_MS, 0, TimeUnit.MILLISECONDS, CachingDnsResolver.getDefault()).forInterest(null);
     }
 
     protected abstract ClusterAddress createClusterAddress(String hostName);
@@ -53,10 +53,8 @@ abstract class DnsEurekaClusterResolver implements EurekaClusterResolver {
 
         private final int serverPort;
 
-        DnsEurekaServerClusterResolver(String domainName,
-                                       int serverPort,
-                                       Scheduler scheduler) {
-            super(domainName, scheduler);
+        DnsEurekaServerClusterResolver(String domainName, int serverPort) {
+            super(domainName);
             this.serverPort = serverPort;
         }
 
@@ -16,6 +16,7 @@
 
 package com.netflix.eureka2.server.transport;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Named;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
@@ -23,8 +24,7 @@ import java.util.concurrent.TimeUnit;
 import com.google.inject.Provider;
 import com.netflix.eureka2.Names;
 import com.netflix.eureka2.channel.InputChangeNotificationSourcingHandler;
-import com.netflix.eureka2.channel.LoggingChannelHandler;
-import com.netflix.eureka2.channel.LoggingChannelHandler.LogLevel;
+import com.netflix.eureka2.channel.TracingChannelHandler;
 import com.netflix.eureka2.channel.SourceIdGenerator;
 import com.netflix.eureka2.model.InstanceModel;
 import com.netflix.eureka2.model.Source;
@@ -33,11 +33,16 @@ import com.netflix.eureka2.model.interest.Interest;
 import com.netflix.eureka2.model.notification.ChangeNotification;
 import com.netflix.eureka2.registry.EurekaRegistry;
 import com.netflix.eureka2.registry.EurekaRegistryView;
+import com.netflix.eureka2.server.channel.AdaptiveHeartbeatPolicy;
 import com.netflix.eureka2.server.channel.ServerHandshakeHandler;
 import com.netflix.eureka2.server.channel.ServerHeartbeatHandler;
+import com.netflix.eureka2.server.channel.interest.InterestAdmissionController;
+import com.netflix.eureka2.server.channel.interest.InterestAdmissionHandler;
 import com.netflix.eureka2.server.channel.interest.InterestMultiplexerBridgeHandler;
+import com.netflix.eureka2.server.channel.interest.InterestProjectionHandler;
 import com.netflix.eureka2.server.channel.registration.RegistrationProcessorBridgeHandler;
 import com.netflix.eureka2.server.channel.replication.ReceiverReplicationHandler;
+import com.netflix.eureka2.server.channel.replication.ReplicationLaneSessions;
 import com.netflix.eureka2.server.config.EurekaInstanceInfoConfig;
 import com.netflix.eureka2.server.config.EurekaServerTransportConfig;
 import com.netflix.eureka2.server.registry.EurekaRegistrationProcessor;
@@ -47,6 +52,7 @@ import com.netflix.eureka2.spi.channel.ChannelPipelineFactory;
 import com.netflix.eureka2.spi.model.ChannelModel;
 import com.netflix.eureka2.spi.transport.EurekaServerTransportFactory;
 import com.netflix.eureka2.spi.transport.EurekaServerTransportFactory.ServerContext;
+import com.netflix.eureka2.utils.rx.HashedWheelTimeoutService;
 import io.reactivex.netty.metrics.MetricEventsListenerFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -61,6 +67,11 @@ public class EurekaTransportServer {
 
     private static final long SERVER_STARTUP_TIMEOUT_MS = 30 * 1000;
 
+    /**
+     * Server tier of write servers. Read servers are configured with their tier explicitly.
+     */
+    public static final int WRITE_SERVER_TIER = 0;
+
     protected final CompletableFuture<ServerContext> serverContext = new CompletableFuture<>();
     private final Provider<EurekaRegistrationProcessor> registrationProcessor;
     private final EurekaRegistry<InstanceInfo> registry;
@@ -68,9 +79,17 @@ public class EurekaTransportServer {
     private final EurekaServerTransportFactory transportFactory;
     protected final EurekaServerTransportConfig config;
     protected final Scheduler scheduler;
+    protected final HashedWheelTimeoutService heartbeatTimeouts;
+    protected final AdaptiveHeartbeatPolicy heartbeatPolicy;
+    protected final InterestAdmissionController admissionController;
     protected final String serverName;
     protected final Source serverSource;
+    protected final int serverTier;
 
+    /**
+     * @param serverTier position of this server in a tiered read cluster topology, advertised to interest clients
+     *                   in the server hello ({@link #WRITE_SERVER_TIER} for write servers)
+     */
     public EurekaTransportServer(EurekaServerTransportFactory transportFactory,
                                  EurekaServerTransportConfig config,
                                  @Named(Names.EUREKA_SERVICE) Provider<EurekaRegistrationProcessor> registrationProcessor,
@@ -78,13 +97,24 @@ public class EurekaTransportServer {
                                  EurekaRegistry registry,
                                  EurekaRegistryView registryView,
                                  EurekaInstanceInfoConfig instanceInfoConfig,
+                                 InterestAdmissionController admissionController,
+                                 int serverTier,
                                  Scheduler scheduler) {
         this.transportFactory = transportFactory;
         this.config = config;
         this.registrationProcessor = registrationProcessor;
         this.registry = registry;
         this.registryView = registryView;
+        this.admissionController = admissionController;
         this.scheduler = scheduler;
+        this.serverTier = serverTier;
+        this.heartbeatTimeouts = new HashedWheelTimeoutService(scheduler);
+        this.heartbeatPolicy = new AdaptiveHeartbeatPolicy(
+                config.getHeartbeatIntervalMs(),
+                config.getHeartbeatMaxIntervalMs(),
+                config.getHeartbeatHighLoadConnections(),
+                heartbeatTimeouts::size
+        );
 
         // FIXME This is very akward way to get own id, to be able to initialize transport
         this.serverName = ConfigSelfInfoResolver.getFixedSelfInfo(instanceInfoConfig).toBlocking().first().build().getId();
@@ -126,16 +156,21 @@ public class EurekaTransportServer {
 
     private ChannelPipelineFactory<ChangeNotification<InstanceInfo>, Void> createReplicationPipelineFactory() {
         SourceIdGenerator idGenerator = new SourceIdGenerator();
+        ReplicationLaneSessions laneSessions = new ReplicationLaneSessions();
         return new ChannelPipelineFactory<ChangeNotification<InstanceInfo>, Void>() {
             @Override
             public Observable<ChannelPipeline<ChangeNotification<InstanceInfo>, Void>> createPipeline() {
                 return Observable.create(subscriber -> {
                     subscriber.onNext(new ChannelPipeline<>("replicationServer@" + serverName,
-                            new LoggingChannelHandler<ChangeNotification<InstanceInfo>, Void>(LoggingChannelHandler.LogLevel.INFO),
-                            new ServerHeartbeatHandler<ChangeNotification<InstanceInfo>, Void>(config.getHeartbeatIntervalMs() * 3, scheduler),
-                            new ServerHandshakeHandler<ChangeNotification<InstanceInfo>, Void>(ChannelModel.getDefaultModel().newReplicationServerHello(serverSource), idGenerator),
+                            new TracingChannelHandler<ChangeNotification<InstanceInfo>, Void>(),
+                            new ServerHeartbeatHandler<ChangeNotification<InstanceInfo>, Void>(config.getHeartbeatIntervalMs() * 3, heartbeatTimeouts),
+                            new ServerHandshakeHandler<ChangeNotification<InstanceInfo>, Void>(
+                                    heartbeatIntervalMs -> ChannelModel.getDefaultModel().newReplicationServerHello(serverSource, heartbeatIntervalMs),
+                                    heartbeatPolicy,
+                                    idGenerator
+                            ),
                             new InputChangeNotificationSourcingHandler<InstanceInfo, Void>(),
-                            new ReceiverReplicationHandler(registry)
+                            new ReceiverReplicationHandler(registry, laneSessions)
                     ));
                     subscriber.onCompleted();
                 });
@@ -150,9 +185,13 @@ public class EurekaTransportServer {
             public Observable<ChannelPipeline<InstanceInfo, InstanceInfo>> createPipeline() {
                 return Observable.create(subscriber -> {
                     subscriber.onNext(new ChannelPipeline<>("registrationServer@" + serverName,
-                            new LoggingChannelHandler<InstanceInfo, InstanceInfo>(LoggingChannelHandler.LogLevel.INFO),
-                            new ServerHeartbeatHandler<InstanceInfo, InstanceInfo>(config.getHeartbeatIntervalMs() * 3, scheduler),
-                            new ServerHandshakeHandler<InstanceInfo, InstanceInfo>(ChannelModel.getDefaultModel().newServerHello(serverSource), idGenerator),
+                            new TracingChannelHandler<InstanceInfo, InstanceInfo>(),
+                            new ServerHeartbeatHandler<InstanceInfo, InstanceInfo>(config.getHeartbeatIntervalMs() * 3, heartbeatTimeouts),
+                            new ServerHandshakeHandler<InstanceInfo, InstanceInfo>(
+                                    heartbeatIntervalMs -> ChannelModel.getDefaultModel().newServerHello(serverSource, heartbeatIntervalMs, true),
+                                    heartbeatPolicy,
+                                    idGenerator
+                            ),
                             new RegistrationProcessorBridgeHandler(registrationProcessor.get())
                     ));
                     subscriber.onCompleted();
@@ -168,9 +207,15 @@ public class EurekaTransportServer {
             public Observable<ChannelPipeline<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>>> createPipeline() {
                 return Observable.create(subscriber -> {
                     subscriber.onNext(new ChannelPipeline<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>>("interestServer@" + serverName,
-                            new LoggingChannelHandler(LogLevel.INFO),
-                            new ServerHeartbeatHandler<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>>(config.getHeartbeatIntervalMs() * 3, scheduler),
-                            new ServerHandshakeHandler<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>>(ChannelModel.getDefaultModel().newServerHello(serverSource), idGenerator),
+                            new TracingChannelHandler<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>>(),
+                            new ServerHeartbeatHandler<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>>(config.getHeartbeatIntervalMs() * 3, heartbeatTimeouts),
+                            new ServerHandshakeHandler<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>>(
+                                    heartbeatIntervalMs -> ChannelModel.getDefaultModel().newServerHello(serverSource, heartbeatIntervalMs, false, serverTier),
+                                    heartbeatPolicy,
+                                    idGenerator
+                            ),
+                            new InterestAdmissionHandler(admissionController),
+                            new InterestProjectionHandler(),
                             new InterestMultiplexerBridgeHandler(registryView)
                     ));
                     subscriber.onCompleted();
@@ -179,6 +224,18 @@ public class EurekaTransportServer {
         };
     }
 
+    @PreDestroy
+    public void shutdown() {
+        heartbeatTimeouts.shutdown();
+    }
+
+    /**
+     * @return number of open channels, with active heartbeat monitoring
+     */
+    public int getConnectionCount() {
+        return heartbeatTimeouts.size();
+    }
+
     public int getServerPort() {
         try {
             return serverContext.get(SERVER_STARTUP_TIMEOUT_MS, TimeUnit.MILLISECONDS).getPort();
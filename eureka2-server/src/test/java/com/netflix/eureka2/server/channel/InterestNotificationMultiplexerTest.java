@@ -23,6 +23,7 @@ import java.util.concurrent.TimeUnit;
 import com.netflix.eureka2.model.InterestModel;
 import com.netflix.eureka2.model.instance.Delta;
 import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.instance.InstanceInfo.Status;
 import com.netflix.eureka2.model.interest.Interest;
 import com.netflix.eureka2.model.interest.Interests;
 import com.netflix.eureka2.model.notification.ChangeNotification;
@@ -113,6 +114,93 @@ public class InterestNotificationMultiplexerTest {
         assertThat(controller3.instanceSubject.hasObservers(), is(true));
     }
 
+    @Test(timeout = 10000)
+    public void testVisibilityIsTrackedOnlyWithFilteredInterests() throws Exception {
+        InstanceController controller1 = new InstanceController(SampleInstanceInfo.DiscoveryServer.build());
+        InstanceController controller2 = new InstanceController(SampleInstanceInfo.ZuulServer.build());
+        upgradeTo(controller1, controller2);
+        assertThat(multiplexer.isTrackingVisibility(), is(false));
+
+        Interest<InstanceInfo> upInterest = Interests.withStatus(controller1.interest, Status.UP);
+        when(registryMock.forInterest(upInterest)).thenReturn(ReplaySubject.<ChangeNotification<InstanceInfo>>create());
+        multiplexer.update(InterestModel.getDefaultModel().newMultipleInterests(controller1.interest, upInterest));
+        assertThat(multiplexer.isTrackingVisibility(), is(true));
+    }
+
+    @Test(timeout = 10000)
+    public void testDeleteFromFilteredInterestIsNotSentWhileOverlappingInterestMatches() throws Exception {
+        InstanceInfo instanceUp = SampleInstanceInfo.WebServer.builder().withStatus(Status.UP).build();
+        InstanceInfo instanceDown = SampleInstanceInfo.WebServer.builder().withId(instanceUp.getId()).withStatus(Status.DOWN).build();
+
+        Interest<InstanceInfo> appInterest = Interests.forApplications(instanceUp.getApp());
+        Interest<InstanceInfo> upInterest = Interests.withStatus(Interests.forApplications(instanceUp.getApp()), Status.UP);
+        ReplaySubject<ChangeNotification<InstanceInfo>> appSubject = ReplaySubject.create();
+        ReplaySubject<ChangeNotification<InstanceInfo>> upSubject = ReplaySubject.create();
+        when(registryMock.forInterest(appInterest)).thenReturn(appSubject);
+        when(registryMock.forInterest(upInterest)).thenReturn(upSubject);
+
+        multiplexer.update(InterestModel.getDefaultModel().newMultipleInterests(appInterest, upInterest));
+
+        ChangeNotification<InstanceInfo> addNotification = new ChangeNotification<>(Kind.Add, instanceUp);
+        appSubject.onNext(addNotification);
+        upSubject.onNext(addNotification);
+        assertThat(notifications.next(), is(equalTo(addNotification)));
+        assertThat(notifications.next(), is(equalTo(addNotification)));
+
+        // UP -> DOWN, with the filtered interest delete sent first, and next after the modify
+        ChangeNotification<InstanceInfo> modifyNotification = new ModifyNotification<>(instanceDown, instanceDown.diffOlder(instanceUp));
+        upSubject.onNext(new ChangeNotification<>(Kind.Delete, instanceUp));
+        appSubject.onNext(modifyNotification);
+        assertThat(notifications.next(), is(equalTo(modifyNotification)));
+
+        upSubject.onNext(addNotification);
+        appSubject.onNext(addNotification);
+        assertThat(notifications.next(), is(equalTo(addNotification)));
+        assertThat(notifications.next(), is(equalTo(addNotification)));
+        appSubject.onNext(modifyNotification);
+        upSubject.onNext(new ChangeNotification<>(Kind.Delete, instanceUp));
+        assertThat(notifications.next(), is(equalTo(modifyNotification)));
+
+        // Delete of the last view of the instance is sent
+        ChangeNotification<InstanceInfo> deleteNotification = new ChangeNotification<>(Kind.Delete, instanceDown);
+        appSubject.onNext(deleteNotification);
+        assertThat(notifications.next(), is(equalTo(deleteNotification)));
+    }
+
+    @Test(timeout = 10000)
+    public void testZoneAffinityFailbackDeletesAreNotSentWhileOverlappingInterestMatches() throws Exception {
+        InstanceInfo remoteInstance = SampleInstanceInfo.WebServer.build();
+        InstanceInfo otherInstance = SampleInstanceInfo.Backend.build();
+
+        Interest<InstanceInfo> appInterest = Interests.forApplications(remoteInstance.getApp());
+        Interest<InstanceInfo> zoneInterest = Interests.withZoneAffinity(Interests.forApplications(remoteInstance.getApp()), "localZone", 1);
+        Interest<InstanceInfo> otherInterest = Interests.withZoneAffinity(Interests.forApplications(otherInstance.getApp()), "localZone", 1);
+        ReplaySubject<ChangeNotification<InstanceInfo>> appSubject = ReplaySubject.create();
+        ReplaySubject<ChangeNotification<InstanceInfo>> zoneSubject = ReplaySubject.create();
+        ReplaySubject<ChangeNotification<InstanceInfo>> otherSubject = ReplaySubject.create();
+        when(registryMock.forInterest(appInterest)).thenReturn(appSubject);
+        when(registryMock.forInterest(zoneInterest)).thenReturn(zoneSubject);
+        when(registryMock.forInterest(otherInterest)).thenReturn(otherSubject);
+
+        multiplexer.update(InterestModel.getDefaultModel().newMultipleInterests(appInterest, zoneInterest, otherInterest));
+
+        // Instances of other zones are added on failover, and deleted on failback
+        ChangeNotification<InstanceInfo> remoteAdd = new ChangeNotification<>(Kind.Add, remoteInstance);
+        ChangeNotification<InstanceInfo> otherAdd = new ChangeNotification<>(Kind.Add, otherInstance);
+        appSubject.onNext(remoteAdd);
+        zoneSubject.onNext(remoteAdd);
+        otherSubject.onNext(otherAdd);
+        assertThat(notifications.next(), is(equalTo(remoteAdd)));
+        assertThat(notifications.next(), is(equalTo(remoteAdd)));
+        assertThat(notifications.next(), is(equalTo(otherAdd)));
+
+        // The failback delete of an instance visible only through the zone affinity interest is sent
+        zoneSubject.onNext(new ChangeNotification<>(Kind.Delete, remoteInstance));
+        ChangeNotification<InstanceInfo> otherDelete = new ChangeNotification<>(Kind.Delete, otherInstance);
+        otherSubject.onNext(otherDelete);
+        assertThat(notifications.next(), is(equalTo(otherDelete)));
+    }
+
     @Test(timeout = 60000)
     public void testCloseUnsubcribesAllUpStreamAndOnCompleteDownStream() {
         TestSubscriber<ChangeNotification<InstanceInfo>> testSubscriber = new TestSubscriber<>();
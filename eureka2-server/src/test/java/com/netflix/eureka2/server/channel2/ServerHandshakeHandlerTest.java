@@ -20,6 +20,7 @@ import com.netflix.eureka2.channel.SourceIdGenerator;
 import com.netflix.eureka2.model.InstanceModel;
 import com.netflix.eureka2.model.Source;
 import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.server.channel.AdaptiveHeartbeatPolicy;
 import com.netflix.eureka2.server.channel.ServerHandshakeHandler;
 import com.netflix.eureka2.spi.channel.ChannelContext;
 import com.netflix.eureka2.spi.channel.ChannelHandler;
@@ -36,6 +37,8 @@ import rx.Observable;
 import rx.Subscription;
 import rx.subjects.PublishSubject;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
@@ -82,6 +85,41 @@ public class ServerHandshakeHandlerTest {
         assertThat(inputStream.hasObservers(), is(false));
     }
 
+    @Test
+    public void testHeartbeatIntervalNegotiation() throws Exception {
+        AtomicInteger connections = new AtomicInteger();
+        AdaptiveHeartbeatPolicy heartbeatPolicy = new AdaptiveHeartbeatPolicy(30000, 300000, 100, connections::get);
+        ServerHandshakeHandler<InstanceInfo, InstanceInfo> negotiatingHandler = new ServerHandshakeHandler<>(
+                heartbeatIntervalMs -> ChannelModel.getDefaultModel().newServerHello(SERVER_SOURCE, heartbeatIntervalMs),
+                heartbeatPolicy,
+                new SourceIdGenerator()
+        );
+        new ChannelPipeline<>("handshake", negotiatingHandler, nextHandler);
+
+        // Client proposing shorter interval than the server base one
+        assertThat(negotiate(negotiatingHandler, 10000), is(equalTo(30000L)));
+        // Client proposing longer interval than the server base one
+        assertThat(negotiate(negotiatingHandler, 60000), is(equalTo(60000L)));
+        // Client not negotiating
+        assertThat(negotiate(negotiatingHandler, 0), is(equalTo(0L)));
+
+        // Server under high load advertises longer interval
+        connections.set(500);
+        assertThat(negotiate(negotiatingHandler, 30000), is(equalTo(150000L)));
+        connections.set(100000);
+        assertThat(negotiate(negotiatingHandler, 30000), is(equalTo(300000L)));
+    }
+
+    private static long negotiate(ServerHandshakeHandler<InstanceInfo, InstanceInfo> handler, long clientIntervalMs) {
+        PublishSubject<ChannelNotification<InstanceInfo>> inputStream = PublishSubject.create();
+        ExtTestSubscriber<ChannelNotification<InstanceInfo>> testSubscriber = new ExtTestSubscriber<>();
+        handler.handle(inputStream).subscribe(testSubscriber);
+
+        inputStream.onNext(ChannelNotification.newHello(ChannelModel.getDefaultModel().newClientHello(CLIENT_SOURCE, clientIntervalMs)));
+        ServerHello serverHello = testSubscriber.takeNext().getHello();
+        return serverHello.getHeartbeatIntervalMs();
+    }
+
     private static class ChannelHandlerStub implements ChannelHandler<InstanceInfo, InstanceInfo> {
         @Override
         public void init(ChannelContext<InstanceInfo, InstanceInfo> channelContext) {
@@ -16,14 +16,19 @@
 
 package com.netflix.eureka2.server.channel2;
 
+import com.netflix.eureka2.model.InstanceModel;
+import com.netflix.eureka2.model.Source;
 import com.netflix.eureka2.model.instance.InstanceInfo;
 import com.netflix.eureka2.server.channel.ServerHeartbeatHandler;
 import com.netflix.eureka2.spi.channel.ChannelContext;
 import com.netflix.eureka2.spi.channel.ChannelHandler;
 import com.netflix.eureka2.spi.channel.ChannelNotification;
 import com.netflix.eureka2.spi.channel.ChannelPipeline;
+import com.netflix.eureka2.spi.model.ChannelModel;
 import com.netflix.eureka2.testkit.data.builder.SampleInstanceInfo;
 import com.netflix.eureka2.testkit.internal.rx.ExtTestSubscriber;
+import com.netflix.eureka2.utils.rx.HashedWheelTimeoutService;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import rx.Observable;
@@ -36,6 +41,7 @@ import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThat;
 
 /**
@@ -45,6 +51,7 @@ public class ServerHeartbeatHandlerTest {
     private static final long HEARTBEAT_TIMEOUT = 3 * 30 * 1000;
 
     private static final InstanceInfo INSTANCE = SampleInstanceInfo.Backend.build();
+    private static final Source SERVER_SOURCE = InstanceModel.getDefaultModel().createSource(Source.Origin.LOCAL, "testServer");
 
     private final TestScheduler testScheduler = Schedulers.test();
 
@@ -53,7 +60,8 @@ public class ServerHeartbeatHandlerTest {
     private final PublishSubject<ChannelNotification<InstanceInfo>> inputStream = PublishSubject.create();
     private final ExtTestSubscriber<ChannelNotification<InstanceInfo>> testSubscriber = new ExtTestSubscriber<>();
 
-    private final ServerHeartbeatHandler<InstanceInfo, InstanceInfo> handler = new ServerHeartbeatHandler<>(HEARTBEAT_TIMEOUT, testScheduler);
+    private final HashedWheelTimeoutService timeoutService = new HashedWheelTimeoutService(testScheduler);
+    private final ServerHeartbeatHandler<InstanceInfo, InstanceInfo> handler = new ServerHeartbeatHandler<>(HEARTBEAT_TIMEOUT, timeoutService);
     private Subscription subscription;
 
     @Before
@@ -62,6 +70,11 @@ public class ServerHeartbeatHandlerTest {
         subscription = handler.handle(inputStream).subscribe(testSubscriber);
     }
 
+    @After
+    public void tearDown() throws Exception {
+        timeoutService.shutdown();
+    }
+
     @Test
     public void testHeartbeat() throws Exception {
         // Check heartbeat
@@ -92,6 +105,48 @@ public class ServerHeartbeatHandlerTest {
         assertThat(inputStream.hasObservers(), is(false));
     }
 
+    @Test
+    public void testDataCountsAsLiveness() throws Exception {
+        testScheduler.advanceTimeBy(HEARTBEAT_TIMEOUT - 1000, TimeUnit.MILLISECONDS);
+        inputStream.onNext(ChannelNotification.newData(INSTANCE));
+        assertThat(testSubscriber.takeNext().getKind(), is(equalTo(ChannelNotification.Kind.Data)));
+
+        testScheduler.advanceTimeBy(HEARTBEAT_TIMEOUT - 1000, TimeUnit.MILLISECONDS);
+        testSubscriber.assertOpen();
+
+        testScheduler.advanceTimeBy(1000, TimeUnit.MILLISECONDS);
+        testSubscriber.assertOnError();
+    }
+
+    @Test
+    public void testNegotiatedIntervalExtendsTimeout() throws Exception {
+        long negotiatedIntervalMs = HEARTBEAT_TIMEOUT;
+        inputStream.onNext(ChannelNotification.newHello(ChannelModel.getDefaultModel().newServerHello(SERVER_SOURCE, negotiatedIntervalMs)));
+        assertThat(testSubscriber.takeNext().getKind(), is(equalTo(ChannelNotification.Kind.Hello)));
+
+        testScheduler.advanceTimeBy(2 * HEARTBEAT_TIMEOUT, TimeUnit.MILLISECONDS);
+        testSubscriber.assertOpen();
+
+        testScheduler.advanceTimeBy(HEARTBEAT_TIMEOUT, TimeUnit.MILLISECONDS);
+        testSubscriber.assertOnError();
+    }
+
+    @Test
+    public void testHeartbeatReplyIsSkippedIfDataWasSentOnNegotiatedChannel() throws Exception {
+        inputStream.onNext(ChannelNotification.newHello(ChannelModel.getDefaultModel().newServerHello(SERVER_SOURCE, 30000)));
+        assertThat(testSubscriber.takeNext().getKind(), is(equalTo(ChannelNotification.Kind.Hello)));
+
+        // Data sent back by the stub handler replaces the heartbeat reply
+        inputStream.onNext(ChannelNotification.newData(INSTANCE));
+        assertThat(testSubscriber.takeNext().getKind(), is(equalTo(ChannelNotification.Kind.Data)));
+        inputStream.onNext(ChannelNotification.newHeartbeat());
+        assertThat(testSubscriber.takeNext(), is(nullValue()));
+
+        // Idle channel
+        inputStream.onNext(ChannelNotification.newHeartbeat());
+        assertThat(testSubscriber.takeNext().getKind(), is(equalTo(ChannelNotification.Kind.Heartbeat)));
+    }
+
     @Test
     public void testInputUnsubscribeCompletesOutput() throws Exception {
         inputStream.onCompleted();
@@ -0,0 +1,142 @@
+package com.netflix.eureka2.server.channel2.interest;
+
+import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.instance.InstanceInfo.Status;
+import com.netflix.eureka2.model.interest.Interest;
+import com.netflix.eureka2.model.interest.Interests;
+import com.netflix.eureka2.model.notification.ChangeNotification;
+import com.netflix.eureka2.model.notification.StreamStateNotification;
+import com.netflix.eureka2.registry.EurekaRegistryView;
+import com.netflix.eureka2.server.channel.interest.InterestAdmissionController;
+import com.netflix.eureka2.server.channel.interest.InterestAdmissionHandler;
+import com.netflix.eureka2.server.channel.interest.InterestMultiplexerBridgeHandler;
+import com.netflix.eureka2.spi.channel.ChannelNotification;
+import com.netflix.eureka2.spi.channel.ChannelPipeline;
+import com.netflix.eureka2.spi.channel.ServerOverloadedException;
+import com.netflix.eureka2.testkit.data.builder.SampleChangeNotification;
+import com.netflix.eureka2.testkit.internal.rx.ExtTestSubscriber;
+import org.junit.Before;
+import org.junit.Test;
+import rx.Subscriber;
+import rx.Subscription;
+import rx.observers.TestSubscriber;
+import rx.subjects.PublishSubject;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ */
+public class InterestAdmissionHandlerTest {
+
+    private static final long RETRY_AFTER_MS = 5000;
+
+    private static final Interest<InstanceInfo> FIRST_INTEREST = Interests.forApplications("first");
+    private static final Interest<InstanceInfo> SECOND_INTEREST = Interests.forApplications("second");
+
+    private final EurekaRegistryView<InstanceInfo> registry = mock(EurekaRegistryView.class);
+
+    private final PublishSubject<ChangeNotification<InstanceInfo>> firstRegistryStream = PublishSubject.create();
+    private final PublishSubject<ChangeNotification<InstanceInfo>> secondRegistryStream = PublishSubject.create();
+
+    @Before
+    public void setUp() throws Exception {
+        when(registry.forInterest(FIRST_INTEREST)).thenReturn(firstRegistryStream);
+        when(registry.forInterest(SECOND_INTEREST)).thenReturn(secondRegistryStream);
+    }
+
+    @Test
+    public void testChannelIsQueuedUntilEarlierSnapshotIsSent() throws Exception {
+        InterestAdmissionController controller = new InterestAdmissionController(1, 1, RETRY_AFTER_MS);
+
+        ExtTestSubscriber<ChannelNotification<ChangeNotification<InstanceInfo>>> firstSubscriber = new ExtTestSubscriber<>();
+        subscribe(controller, FIRST_INTEREST, firstSubscriber);
+        firstRegistryStream.onNext(StreamStateNotification.bufferStartNotification(FIRST_INTEREST));
+        firstRegistryStream.onNext(SampleChangeNotification.CliAdd.newNotification());
+
+        ExtTestSubscriber<ChannelNotification<ChangeNotification<InstanceInfo>>> secondSubscriber = new ExtTestSubscriber<>();
+        subscribe(controller, SECOND_INTEREST, secondSubscriber);
+        verify(registry, never()).forInterest(SECOND_INTEREST);
+        assertThat(controller.getPendingCount(), is(equalTo(1)));
+
+        // Completing the first snapshot admits the queued channel
+        firstRegistryStream.onNext(StreamStateNotification.bufferEndNotification(FIRST_INTEREST));
+        verify(registry, times(1)).forInterest(SECOND_INTEREST);
+        assertThat(controller.getPendingCount(), is(equalTo(0)));
+        assertThat(controller.getActiveCount(), is(equalTo(1)));
+
+        // Updates after the initial snapshot are not subject to admission control
+        firstRegistryStream.onNext(SampleChangeNotification.CliAdd.newNotification());
+        assertThat(firstSubscriber.takeNext().getKind(), is(equalTo(ChannelNotification.Kind.Data)));
+    }
+
+    @Test
+    public void testChannelIsRejectedWhenQueueIsFull() throws Exception {
+        InterestAdmissionController controller = new InterestAdmissionController(1, 0, RETRY_AFTER_MS);
+
+        subscribe(controller, FIRST_INTEREST, new ExtTestSubscriber<>());
+
+        TestSubscriber<ChannelNotification<ChangeNotification<InstanceInfo>>> secondSubscriber = new TestSubscriber<>();
+        subscribe(controller, SECOND_INTEREST, secondSubscriber);
+
+        Throwable error = secondSubscriber.getOnErrorEvents().get(0);
+        assertThat(error, is(instanceOf(ServerOverloadedException.class)));
+        assertThat(((ServerOverloadedException) error).getRetryAfterMs(), is(equalTo(RETRY_AFTER_MS)));
+        assertThat(currentHealth(controller), is(equalTo(Status.OUT_OF_SERVICE)));
+
+        // Healthy again, once the overload is over
+        firstRegistryStream.onNext(StreamStateNotification.bufferEndNotification(FIRST_INTEREST));
+        assertThat(currentHealth(controller), is(equalTo(Status.UP)));
+    }
+
+    @Test
+    public void testPermitIsReleasedWhenChannelIsClosed() throws Exception {
+        InterestAdmissionController controller = new InterestAdmissionController(1, 1, RETRY_AFTER_MS);
+
+        Subscription firstSubscription = subscribe(controller, FIRST_INTEREST, new ExtTestSubscriber<>());
+        subscribe(controller, SECOND_INTEREST, new ExtTestSubscriber<>());
+        verify(registry, never()).forInterest(SECOND_INTEREST);
+
+        firstSubscription.unsubscribe();
+        verify(registry, times(1)).forInterest(SECOND_INTEREST);
+    }
+
+    @Test
+    public void testClosedChannelIsRemovedFromQueue() throws Exception {
+        InterestAdmissionController controller = new InterestAdmissionController(1, 1, RETRY_AFTER_MS);
+
+        subscribe(controller, FIRST_INTEREST, new ExtTestSubscriber<>());
+        Subscription secondSubscription = subscribe(controller, SECOND_INTEREST, new ExtTestSubscriber<>());
+        assertThat(controller.getPendingCount(), is(equalTo(1)));
+
+        secondSubscription.unsubscribe();
+        assertThat(controller.getPendingCount(), is(equalTo(0)));
+
+        firstRegistryStream.onNext(StreamStateNotification.bufferEndNotification(FIRST_INTEREST));
+        assertThat(controller.getActiveCount(), is(equalTo(0)));
+    }
+
+    private Subscription subscribe(InterestAdmissionController controller,
+                                   Interest<InstanceInfo> interest,
+                                   Subscriber<ChannelNotification<ChangeNotification<InstanceInfo>>> testSubscriber) {
+        ChannelPipeline<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>> pipeline = new ChannelPipeline<>("interest",
+                new InterestAdmissionHandler(controller),
+                new InterestMultiplexerBridgeHandler(registry)
+        );
+        PublishSubject<ChannelNotification<Interest<InstanceInfo>>> interestNotifications = PublishSubject.create();
+        Subscription subscription = pipeline.getFirst().handle(interestNotifications).subscribe(testSubscriber);
+        interestNotifications.onNext(ChannelNotification.newData(interest));
+        return subscription;
+    }
+
+    private static Status currentHealth(InterestAdmissionController controller) {
+        return controller.healthStatus().take(1).toBlocking().first().getStatus();
+    }
+}
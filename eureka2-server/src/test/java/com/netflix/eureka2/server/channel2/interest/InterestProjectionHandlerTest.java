@@ -0,0 +1,119 @@
+package com.netflix.eureka2.server.channel2.interest;
+
+import java.util.Collections;
+
+import com.netflix.eureka2.channel.ChannelHandlers;
+import com.netflix.eureka2.model.InstanceModel;
+import com.netflix.eureka2.model.instance.Delta;
+import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.instance.InstanceInfoField;
+import com.netflix.eureka2.model.instance.InstanceInfoField.Name;
+import com.netflix.eureka2.model.instance.InstanceInfoProjection;
+import com.netflix.eureka2.model.interest.Interest;
+import com.netflix.eureka2.model.interest.Interests;
+import com.netflix.eureka2.model.notification.ChangeNotification;
+import com.netflix.eureka2.model.notification.ModifyNotification;
+import com.netflix.eureka2.registry.EurekaRegistryView;
+import com.netflix.eureka2.server.channel.interest.InterestMultiplexerBridgeHandler;
+import com.netflix.eureka2.server.channel.interest.InterestProjectionHandler;
+import com.netflix.eureka2.spi.channel.ChannelNotification;
+import com.netflix.eureka2.spi.channel.ChannelPipeline;
+import com.netflix.eureka2.testkit.data.builder.SampleInstanceInfo;
+import com.netflix.eureka2.testkit.internal.rx.ExtTestSubscriber;
+import org.junit.Before;
+import org.junit.Test;
+import rx.subjects.PublishSubject;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ */
+public class InterestProjectionHandlerTest {
+
+    private static final Interest<InstanceInfo> INTEREST = Interests.forFullRegistry();
+
+    private static final InstanceInfo INSTANCE = SampleInstanceInfo.WebServer.build();
+
+    private final EurekaRegistryView<InstanceInfo> registry = mock(EurekaRegistryView.class);
+    private final PublishSubject<ChangeNotification<InstanceInfo>> registryStream = PublishSubject.create();
+
+    private final PublishSubject<ChannelNotification<Interest<InstanceInfo>>> interestNotifications = PublishSubject.create();
+    private final ExtTestSubscriber<ChannelNotification<ChangeNotification<InstanceInfo>>> testSubscriber = new ExtTestSubscriber<>();
+
+    @Before
+    public void setUp() throws Exception {
+        when(registry.forInterest(INTEREST)).thenReturn(registryStream);
+
+        ChannelPipeline<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>> pipeline = new ChannelPipeline<>("interest",
+                new InterestProjectionHandler(),
+                new InterestMultiplexerBridgeHandler(registry)
+        );
+        pipeline.getFirst().handle(interestNotifications).subscribe(testSubscriber);
+    }
+
+    @Test
+    public void testAddNotificationsCarryProjectedInstances() throws Exception {
+        subscribe(new InstanceInfoProjection(Name.Status));
+
+        registryStream.onNext(new ChangeNotification<>(ChangeNotification.Kind.Add, INSTANCE));
+
+        InstanceInfo projected = testSubscriber.takeNext().getData().getData();
+        assertThat(projected.getId(), is(equalTo(INSTANCE.getId())));
+        assertThat(projected.getStatus(), is(equalTo(INSTANCE.getStatus())));
+        assertThat(projected.getHomePageUrl(), is(nullValue()));
+    }
+
+    @Test
+    public void testModificationsOfNonProjectedFieldsAreNotSent() throws Exception {
+        subscribe(new InstanceInfoProjection(Name.Status));
+
+        registryStream.onNext(modifyNotification(InstanceInfoField.HOMEPAGE_URL, "http://newHomePage"));
+        assertThat(testSubscriber.takeNext(), is(nullValue()));
+
+        registryStream.onNext(modifyNotification(InstanceInfoField.STATUS, InstanceInfo.Status.DOWN));
+        assertThat(testSubscriber.takeNext().getData().getKind(), is(equalTo(ChangeNotification.Kind.Modify)));
+    }
+
+    @Test
+    public void testFieldsMatchedByInterestAreAddedToProjection() throws Exception {
+        Interest<InstanceInfo> statusInterest = Interests.withStatus(INTEREST, InstanceInfo.Status.UP);
+        when(registry.forInterest(statusInterest)).thenReturn(registryStream);
+
+        interestNotifications.onNext(ChannelHandlers.setFieldProjection(ChannelNotification.newData(statusInterest), new InstanceInfoProjection(Name.Ports)));
+
+        registryStream.onNext(new ChangeNotification<>(ChangeNotification.Kind.Add, INSTANCE));
+
+        InstanceInfo projected = testSubscriber.takeNext().getData().getData();
+        assertThat(projected.getPorts(), is(equalTo(INSTANCE.getPorts())));
+        assertThat(projected.getStatus(), is(equalTo(INSTANCE.getStatus())));
+        assertThat(projected.getHomePageUrl(), is(nullValue()));
+    }
+
+    @Test
+    public void testChannelWithoutProjectionGetsFullInstances() throws Exception {
+        interestNotifications.onNext(ChannelNotification.newData(INTEREST));
+
+        registryStream.onNext(new ChangeNotification<>(ChangeNotification.Kind.Add, INSTANCE));
+        assertThat(testSubscriber.takeNext().getData().getData(), is(equalTo(INSTANCE)));
+
+        registryStream.onNext(modifyNotification(InstanceInfoField.HOMEPAGE_URL, "http://newHomePage"));
+        assertThat(testSubscriber.takeNext().getData().getKind(), is(equalTo(ChangeNotification.Kind.Modify)));
+    }
+
+    private void subscribe(InstanceInfoProjection projection) {
+        interestNotifications.onNext(ChannelHandlers.setFieldProjection(ChannelNotification.newData(INTEREST), projection));
+    }
+
+    private static <T> ChangeNotification<InstanceInfo> modifyNotification(InstanceInfoField<T> field, T value) {
+        Delta<?> delta = InstanceModel.getDefaultModel().newDelta()
+                .withId(INSTANCE.getId())
+                .withDelta(field, value)
+                .build();
+        return new ModifyNotification<>(INSTANCE, Collections.<Delta<?>>singleton(delta));
+    }
+}
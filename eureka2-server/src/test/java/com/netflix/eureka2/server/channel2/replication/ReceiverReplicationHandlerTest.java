@@ -28,6 +28,8 @@ import com.netflix.eureka2.model.notification.ChangeNotification;
 import com.netflix.eureka2.model.notification.StreamStateNotification;
 import com.netflix.eureka2.registry.EurekaRegistry;
 import com.netflix.eureka2.server.channel.replication.ReceiverReplicationHandler;
+import com.netflix.eureka2.server.channel.replication.ReplicationLaneSessions;
+import com.netflix.eureka2.server.channel.replication.ReplicationLanes;
 import com.netflix.eureka2.spi.channel.ChannelNotification;
 import com.netflix.eureka2.testkit.data.builder.SampleInstanceInfo;
 import com.netflix.eureka2.testkit.internal.rx.ExtTestSubscriber;
@@ -51,7 +53,8 @@ public class ReceiverReplicationHandlerTest {
     private final EurekaRegistry<InstanceInfo> registry = mock(EurekaRegistry.class);
     private final List<ChangeNotification<InstanceInfo>> registryReceivedUpdates = new ArrayList<>();
 
-    private final ReceiverReplicationHandler handler = new ReceiverReplicationHandler(registry);
+    private final ReplicationLaneSessions laneSessions = new ReplicationLaneSessions();
+    private final ReceiverReplicationHandler handler = new ReceiverReplicationHandler(registry, laneSessions);
     private final PublishSubject<ChannelNotification<ChangeNotification<InstanceInfo>>> inputSubject = PublishSubject.create();
 
     private final ExtTestSubscriber<ChannelNotification<Void>> testSubscriber = new ExtTestSubscriber<>();
@@ -96,6 +99,60 @@ public class ReceiverReplicationHandlerTest {
         assertThat(lastEvictionMatcher, is(notNullValue()));
     }
 
+    @Test
+    public void testEvictionOfMultiLaneReplicationSession() throws Exception {
+        completeLaneBuffer(laneSource(0, 2, 9));
+        Source.SourceMatcher matcher = completeLaneBuffer(laneSource(1, 2, 10));
+
+        // Older copy of the same lane
+        assertThat(matcher.match(laneSource(1, 2, 5)), is(true));
+        // Other lane from the same session
+        assertThat(matcher.match(laneSource(0, 2, 9)), is(false));
+        // Lanes from a previous session with a different number of lanes
+        assertThat(matcher.match(laneSource(0, 4, 3)), is(true));
+        assertThat(matcher.match(laneSource(0, 1, 2)), is(true));
+        // Newer sessions are not touched
+        assertThat(matcher.match(laneSource(1, 2, 11)), is(false));
+    }
+
+    @Test
+    public void testPreviousSessionIsEvictedOnlyAfterAllNewLanesComplete() throws Exception {
+        // New session with three lanes replaces a single lane session (id 1); lanes complete at different times
+        Source.SourceMatcher matcher = completeLaneBuffer(laneSource(2, 3, 12));
+        assertThat(matcher.match(laneSource(0, 1, 1)), is(false));
+        assertThat(matcher.match(laneSource(2, 3, 4)), is(true));
+
+        matcher = completeLaneBuffer(laneSource(0, 3, 10));
+        assertThat(matcher.match(laneSource(0, 1, 1)), is(false));
+
+        // Reconnected lane completing again does not complete the session
+        matcher = completeLaneBuffer(laneSource(0, 3, 13));
+        assertThat(matcher.match(laneSource(0, 1, 1)), is(false));
+
+        matcher = completeLaneBuffer(laneSource(1, 3, 14));
+        assertThat(matcher.match(laneSource(0, 1, 1)), is(true));
+        // Lanes of the completed session are never evicted by their siblings
+        assertThat(matcher.match(laneSource(2, 3, 12)), is(false));
+        // Only sources older than every lane of the new session are stale
+        assertThat(matcher.match(laneSource(0, 1, 12)), is(false));
+    }
+
+    private Source.SourceMatcher completeLaneBuffer(Source laneSource) {
+        lastEvictionMatcher = null;
+        PublishSubject<ChannelNotification<ChangeNotification<InstanceInfo>>> laneInput = PublishSubject.create();
+        new ReceiverReplicationHandler(registry, laneSessions).handle(laneInput).subscribe(new ExtTestSubscriber<>());
+
+        laneInput.onNext(ChannelHandlers.setClientSource(ChannelNotification.newData(nextChange()), laneSource));
+        laneInput.onNext(ChannelNotification.newData(StreamStateNotification.bufferEndNotification(Interests.forFullRegistry())));
+        assertThat(lastEvictionMatcher, is(notNullValue()));
+        return lastEvictionMatcher;
+    }
+
+    private Source laneSource(int lane, int laneCount, long id) {
+        Source laneSource = ReplicationLanes.laneSource(clientSource, lane, laneCount);
+        return InstanceModel.getDefaultModel().createSource(laneSource.getOrigin(), laneSource.getName(), id);
+    }
+
     private ChannelNotification<ChangeNotification<InstanceInfo>> injectSource(ChannelNotification<ChangeNotification<InstanceInfo>> channelNotification) {
         return ChannelHandlers.setClientSource(channelNotification, clientSource);
     }
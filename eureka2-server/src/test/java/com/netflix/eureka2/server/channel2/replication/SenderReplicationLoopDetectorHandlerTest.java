@@ -19,6 +19,7 @@ package com.netflix.eureka2.server.channel2.replication;
 import com.netflix.eureka2.channel.ReplicationHandlerStub;
 import com.netflix.eureka2.model.instance.InstanceInfo;
 import com.netflix.eureka2.model.notification.ChangeNotification;
+import com.netflix.eureka2.server.channel.replication.ReplicationLanes;
 import com.netflix.eureka2.server.channel.replication.ReplicationLoopException;
 import com.netflix.eureka2.server.channel.replication.SenderReplicationLoopDetectorHandler;
 import com.netflix.eureka2.spi.channel.ChannelNotification;
@@ -59,6 +60,20 @@ public class SenderReplicationLoopDetectorHandlerTest {
         testSubscriber.assertOnError(ReplicationLoopException.class);
     }
 
+    @Test
+    public void testReplicationLoopDetectionForReplicationLane() throws Exception {
+        SenderReplicationLoopDetectorHandler laneHandler = new SenderReplicationLoopDetectorHandler(ReplicationLanes.laneSource(CLIENT_SOURCE, 1, 4));
+        ReplicationHandlerStub nextHandler = new ReplicationHandlerStub(CLIENT_SOURCE);
+        new ChannelPipeline<>("loopDetector", laneHandler, nextHandler);
+
+        laneHandler.handle(inputSubject).subscribe(testSubscriber);
+
+        ReplicationClientHello clientHello = ChannelModel.getDefaultModel().newReplicationClientHello(CLIENT_SOURCE, 1);
+        inputSubject.onNext(ChannelNotification.newHello(clientHello));
+
+        testSubscriber.assertOnError(ReplicationLoopException.class);
+    }
+
     @Test
     public void testAllowRegularConnection() throws Exception {
         ReplicationHandlerStub nextHandler = new ReplicationHandlerStub(SERVER_SOURCE);
@@ -1,5 +1,7 @@
 package com.netflix.eureka2.server.registry;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 import com.netflix.eureka2.config.EurekaRegistryConfig;
@@ -9,6 +11,8 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import rx.Subscriber;
+import rx.schedulers.Schedulers;
+import rx.schedulers.TestScheduler;
 import rx.subjects.BehaviorSubject;
 import rx.subjects.PublishSubject;
 
@@ -24,6 +28,11 @@ import static org.mockito.Mockito.when;
 public class EvictionQuotaKeeperImplTest {
 
     private static final int ALLOWED_PERCENTAGE_DROP = 20;
+    private static final int EVICTION_RATE_PER_SECOND = 10;
+    private static final int EVICTION_BURST_SIZE = 5;
+    private static final long EVICTION_WINDOW_MS = 60000;
+
+    private final TestScheduler testScheduler = Schedulers.test();
 
     private final EurekaRegistryConfig config = mock(EurekaRegistryConfig.class);
     private final EurekaRegistrationProcessor<InstanceInfo> registrationProcessor = mock(EurekaRegistrationProcessor.class);
@@ -37,8 +46,11 @@ public class EvictionQuotaKeeperImplTest {
     public void setUp() throws Exception {
         when(registrationProcessor.sizeObservable()).thenReturn(sizeSubject);
         when(config.getEvictionAllowedPercentageDrop()).thenReturn(ALLOWED_PERCENTAGE_DROP);
+        when(config.getEvictionRatePerSecond()).thenReturn(EVICTION_RATE_PER_SECOND);
+        when(config.getEvictionBurstSize()).thenReturn(EVICTION_BURST_SIZE);
+        when(config.getEvictionWindowMs()).thenReturn(EVICTION_WINDOW_MS);
 
-        evictionQuotaProvider = new EvictionQuotaKeeperImpl(registrationProcessor, config);
+        evictionQuotaProvider = new EvictionQuotaKeeperImpl(registrationProcessor, config, testScheduler);
         evictionQuotaProvider.quota().subscribe(quotaSubscriber);
 
         // Emit buffer sentinel to mark end of available registry content
@@ -78,6 +90,45 @@ public class EvictionQuotaKeeperImplTest {
         assertThat(quotaSubscriber.getGrantedCount(), is(equalTo(3L)));
     }
 
+    @Test
+    public void testPendingRequestsAreGrantedInOneBatch() throws Exception {
+        setSize(100);
+
+        quotaSubscriber.doRequest(4);
+        assertThat(quotaSubscriber.getGrantedCount(), is(equalTo(4L)));
+        assertThat(quotaSubscriber.getBatchCount(), is(equalTo(1)));
+    }
+
+    @Test
+    public void testEvictionRateIsLimitedByTokenBucket() throws Exception {
+        setSize(1000);
+
+        // Burst is granted immediately, the remaining requests at the configured rate
+        quotaSubscriber.doRequest(25);
+        assertThat(quotaSubscriber.getGrantedCount(), is(equalTo((long) EVICTION_BURST_SIZE)));
+
+        testScheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        assertThat(quotaSubscriber.getGrantedCount(), is(equalTo((long) EVICTION_BURST_SIZE + EVICTION_RATE_PER_SECOND)));
+
+        testScheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        assertThat(quotaSubscriber.getGrantedCount(), is(equalTo(25L)));
+    }
+
+    @Test
+    public void testEvictionsResumeWhenWindowSlidesPastSizePeak() throws Exception {
+        setSize(10);
+        testScheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+
+        // Registry dropped by 30%, which is above the allowed limit
+        setSize(7);
+        quotaSubscriber.doRequest(1);
+        assertThat(quotaSubscriber.getGrantedCount(), is(equalTo(0L)));
+
+        // Size 7 becomes the new reference size
+        testScheduler.advanceTimeBy(EVICTION_WINDOW_MS, TimeUnit.MILLISECONDS);
+        assertThat(quotaSubscriber.getGrantedCount(), is(equalTo(1L)));
+    }
+
     @Test
     public void testEvictionStatePolicy() {
         EvictionQuotaKeeperImpl.EvictionState evictionState =
@@ -115,11 +166,16 @@ public class EvictionQuotaKeeperImplTest {
     static class QuotaSubscriber extends Subscriber<Long> {
 
         private final AtomicLong granted = new AtomicLong();
+        private final AtomicInteger batches = new AtomicInteger();
 
         long getGrantedCount() {
             return granted.get();
         }
 
+        int getBatchCount() {
+            return batches.get();
+        }
+
         void doRequest(long n) {
             request(n);
         }
@@ -142,6 +198,7 @@ public class EvictionQuotaKeeperImplTest {
         @Override
         public void onNext(Long value) {
             granted.addAndGet(value);
+            batches.incrementAndGet();
         }
     }
 }
\ No newline at end of file
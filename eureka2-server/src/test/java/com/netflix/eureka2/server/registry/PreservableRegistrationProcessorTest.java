@@ -1,18 +1,33 @@
 package com.netflix.eureka2.server.registry;
 
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 import com.netflix.eureka2.config.BasicEurekaRegistryConfig;
+import com.netflix.eureka2.junit.categories.LongRunningTest;
+import com.netflix.eureka2.metric.EurekaRegistryMetricFactory;
 import com.netflix.eureka2.model.InstanceModel;
 import com.netflix.eureka2.model.Source;
 import com.netflix.eureka2.model.Source.Origin;
 import com.netflix.eureka2.model.instance.InstanceInfo;
 import com.netflix.eureka2.model.instance.InstanceInfo.Status;
+import com.netflix.eureka2.model.notification.ChangeNotification;
 import com.netflix.eureka2.registry.ChangeNotificationObservable;
+import com.netflix.eureka2.registry.EurekaRegistryImpl;
 import com.netflix.eureka2.registry.EurekaRegistryRegistrationStub;
 import com.netflix.eureka2.testkit.data.builder.SampleInstanceInfo;
 import org.junit.Before;
 import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import rx.Observable;
 import rx.Observable.OnSubscribe;
 import rx.Producer;
@@ -22,6 +37,7 @@ import rx.subjects.SerializedSubject;
 import rx.subjects.Subject;
 
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.spy;
 
@@ -32,6 +48,8 @@ import static org.mockito.Mockito.spy;
  */
 public class PreservableRegistrationProcessorTest {
 
+    private static final Logger logger = LoggerFactory.getLogger(PreservableRegistrationProcessorTest.class);
+
     private static final InstanceInfo FIRST_INSTANCE_INFO = SampleInstanceInfo.WebServer.build();
 
     private final EurekaRegistryRegistrationStub registryStub = new EurekaRegistryRegistrationStub();
@@ -113,6 +131,109 @@ public class PreservableRegistrationProcessorTest {
         assertThat(quotaSubscriber.registrationsToEvict.size(), is(0));
     }
 
+    @Test
+    public void testNewRegistrantSupersedesPreviousOne() throws Exception {
+        String id = FIRST_INSTANCE_INFO.getId();
+        Source firstSource = InstanceModel.getDefaultModel().createSource(Origin.LOCAL, id, 1);
+        registrationProcessor.connect(id, firstSource, dataStream).subscribe();
+        dataStream.register(FIRST_INSTANCE_INFO);
+        registryStub.verifyRegisteredWith(FIRST_INSTANCE_INFO);
+
+        ChangeNotificationObservable secondDataStream = ChangeNotificationObservable.create();
+        Source secondSource = InstanceModel.getDefaultModel().createSource(Origin.LOCAL, id, 2);
+        registrationProcessor.connect(id, secondSource, secondDataStream).subscribe();
+
+        // Previous registrant is dropped without consuming eviction quota, and its updates are ignored
+        assertThat(quotaSubscriber.registrationsToEvict.size(), is(0));
+        InstanceInfo staleUpdate = InstanceModel.getDefaultModel().newInstanceInfo().withInstanceInfo(FIRST_INSTANCE_INFO).withStatus(Status.DOWN).build();
+        dataStream.register(staleUpdate);
+        dataStream.onCompleted();
+        assertThat(registryStub.getLatest(1, TimeUnit.MILLISECONDS), is(nullValue()));
+
+        InstanceInfo update = InstanceModel.getDefaultModel().newInstanceInfo().withInstanceInfo(FIRST_INSTANCE_INFO).withStatus(Status.OUT_OF_SERVICE).build();
+        secondDataStream.register(update);
+        registryStub.verifyRegisteredWith(update);
+        assertThat(registrationProcessor.size(), is(1));
+    }
+
+    @Test
+    public void testConcurrentRegistrationsAreAllCommitted() throws Exception {
+        int registrants = 100;
+        int threads = 4;
+        List<ChangeNotificationObservable> dataStreams = new ArrayList<>();
+        for (int i = 0; i < registrants; i++) {
+            ChangeNotificationObservable registrantStream = ChangeNotificationObservable.create();
+            Source source = InstanceModel.getDefaultModel().createSource(Origin.LOCAL, "instance#" + i);
+            registrationProcessor.connect(source.getName(), source, registrantStream).subscribe();
+            dataStreams.add(registrantStream);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int t = 0; t < threads; t++) {
+                int first = t;
+                executor.submit(() -> {
+                    for (int i = first; i < registrants; i += threads) {
+                        dataStreams.get(i).register(SampleInstanceInfo.WebServer.builder().withId("instance#" + i).build());
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS), is(true));
+
+        Set<String> registeredIds = new HashSet<>();
+        ChangeNotification<InstanceInfo> next;
+        while ((next = registryStub.getLatest(1, TimeUnit.MILLISECONDS)) != null) {
+            registeredIds.add(next.getData().getId());
+        }
+        assertThat(registeredIds.size(), is(registrants));
+        assertThat(registrationProcessor.size(), is(registrants));
+    }
+
+    /**
+     * Measures registration update cost (latency and allocations) with 50k registrants.
+     */
+    @Test(timeout = 120000)
+    @Category(LongRunningTest.class)
+    public void testRegistrationUpdateCostWithManyRegistrants() throws Exception {
+        int registrants = 50000;
+        int rounds = 5;
+
+        EurekaRegistryImpl registry = new EurekaRegistryImpl(EurekaRegistryMetricFactory.registryMetrics());
+        PreservableRegistrationProcessor processor = new PreservableRegistrationProcessor(
+                registry, new BasicEurekaRegistryConfig.Builder().build(), new PreservableRegistrationProcessor.QuotaSubscriber());
+        processor.setEvictionQuotaKeeper(new TestEvictionQuotaKeeper());
+        processor.init();
+
+        List<ChangeNotificationObservable> dataStreams = new ArrayList<>(registrants);
+        List<InstanceInfo> instances = new ArrayList<>(registrants);
+        for (int i = 0; i < registrants; i++) {
+            ChangeNotificationObservable registrantStream = ChangeNotificationObservable.create();
+            InstanceInfo instance = SampleInstanceInfo.WebServer.builder().withId("instance#" + i).build();
+            Source source = InstanceModel.getDefaultModel().createSource(Origin.LOCAL, instance.getId());
+            processor.connect(instance.getId(), source, registrantStream).subscribe();
+            dataStreams.add(registrantStream);
+            instances.add(instance);
+        }
+
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        for (int round = 0; round < rounds; round++) {
+            long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+            long startTime = System.nanoTime();
+            for (int i = 0; i < registrants; i++) {
+                dataStreams.get(i).register(instances.get(i));
+            }
+            long elapsedNs = System.nanoTime() - startTime;
+            long allocated = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+            logger.info("Round {}: {}ns and {} bytes allocated per registration update",
+                    round, elapsedNs / registrants, allocated / registrants);
+        }
+        processor.shutdown();
+        registry.shutdown();
+    }
 
     static class TestEvictionQuotaKeeper implements EvictionQuotaKeeper {
 
@@ -8,8 +8,6 @@ import com.netflix.eureka2.testkit.internal.rx.ExtTestSubscriber;
 import org.junit.Before;
 import org.junit.Test;
 import rx.Observable;
-import rx.Scheduler;
-import rx.schedulers.Schedulers;
 import rx.subjects.ReplaySubject;
 
 import static org.hamcrest.Matchers.equalTo;
@@ -34,9 +32,9 @@ public class DnsClusterAddressResolverTest {
     @Test
     public void testEurekaClusterServerResolution() throws Exception {
         DnsEurekaServerClusterResolver resolver = new DnsEurekaServerClusterResolver("eureka2.cluster.com",
-                EurekaServerTransportConfig.DEFAULT_SERVER_PORT, Schedulers.computation()) {
+                EurekaServerTransportConfig.DEFAULT_SERVER_PORT) {
             @Override
-            protected Observable<ChangeNotification<String>> createDnsChangeNotificationSource(String domainName, Scheduler scheduler) {
+            protected Observable<ChangeNotification<String>> createDnsChangeNotificationSource(String domainName) {
                 return dnsChangeNotificationSubject;
             }
         };
@@ -26,6 +26,7 @@ import java.util.Set;
 import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.netflix.eureka2.codec.jackson.mixin.DataCenterInfoMixIn;
@@ -51,7 +52,7 @@ public class JacksonEurekaCodec extends EurekaCodec {
     private static final Logger logger = LoggerFactory.getLogger(JacksonEurekaCodec.class);
 
     static final Class<?>[] REGISTRATION_PROTOCOL_MODEL = {
-            StdInstanceInfo.class, StdHeartbeat.class, StdAcknowledgement.class, StdGoAway.class, StdClientHello.class, StdServerHello.class
+            StdInstanceInfo.class, StdUpdateInstanceInfo.class, StdHeartbeat.class, StdAcknowledgement.class, StdGoAway.class, StdClientHello.class, StdServerHello.class
     };
 
     static final Class<?>[] REPLICATION_PROTOCOL_MODEL = {
@@ -63,7 +64,7 @@ public class JacksonEurekaCodec extends EurekaCodec {
     static final Class<?>[] INTEREST_PROTOCOL_MODEL = {
             StdInterestRegistration.class, StdHeartbeat.class,
             StdAddInstance.class, StdDeleteInstance.class, StdUpdateInstanceInfo.class, StdStreamStateUpdate.class,
-            StdAcknowledgement.class
+            StdAcknowledgement.class, StdGoAway.class
     };
 
     static final Set<Class<?>> SUPPORTED_TYPES = new HashSet<>(combined(REGISTRATION_PROTOCOL_MODEL, REPLICATION_PROTOCOL_MODEL, INTEREST_PROTOCOL_MODEL));
@@ -78,6 +79,8 @@ public class JacksonEurekaCodec extends EurekaCodec {
         MAPPER.setVisibility(PropertyAccessor.SETTER, Visibility.NONE);
         MAPPER.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
         MAPPER.setSerializationInclusion(Include.NON_NULL);
+        // Tolerate fields added by newer peers, so protocol extensions stay wire compatible
+        MAPPER.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         MAPPER.addMixIn(DataCenterInfo.class, DataCenterInfoMixIn.class); // For delta
     }
 
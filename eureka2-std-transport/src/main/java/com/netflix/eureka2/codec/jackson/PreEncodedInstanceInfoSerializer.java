@@ -0,0 +1,63 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.eureka2.codec.jackson;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.netflix.eureka2.config.SystemConfigLoader;
+import com.netflix.eureka2.model.instance.StdInstanceInfo;
+
+/**
+ * Serializer for {@link StdInstanceInfo} objects sent in add instance notifications. Instance objects are
+ * immutable, and shared between the registry and all channels that send them, so if enabled, each instance
+ * version is encoded once, and its serialized form is written as is for all other subscribers. This makes
+ * snapshot delivery during reconnect storms on read servers a copy of pre-encoded data, instead of a full
+ * object serialization per client.
+ * <p>
+ * The serialized form is kept with the instance for as long as the instance is in the registry, which
+ * roughly doubles the registry heap. The cache is therefore disabled by default. It can be enabled with
+ * the {@value #CACHE_ENCODED_FORM_PROPERTY} system property, or at runtime with {@link #setCacheEnabled(boolean)}.
+ */
+public class PreEncodedInstanceInfoSerializer extends JsonSerializer<StdInstanceInfo> {
+
+    public static final String CACHE_ENCODED_FORM_PROPERTY = "eureka2.codec.cacheEncodedInstances";
+
+    private static volatile boolean cacheEnabled = SystemConfigLoader.getFromSystemPropertySafe(CACHE_ENCODED_FORM_PROPERTY, false);
+
+    public static void setCacheEnabled(boolean enabled) {
+        cacheEnabled = enabled;
+    }
+
+    @Override
+    public void serialize(StdInstanceInfo instanceInfo, JsonGenerator gen, SerializerProvider serializers) throws IOException, JsonProcessingException {
+        if (!cacheEnabled) {
+            serializers.defaultSerializeValue(instanceInfo, gen);
+            return;
+        }
+        String encodedForm = instanceInfo.getEncodedForm();
+        if (encodedForm == null) {
+            // Concurrent first encodings produce the same value, so there is no need to synchronize here
+            encodedForm = JacksonEurekaCodec.MAPPER.writeValueAsString(instanceInfo);
+            instanceInfo.setEncodedForm(encodedForm);
+        }
+        gen.writeRawValue(encodedForm);
+    }
+}
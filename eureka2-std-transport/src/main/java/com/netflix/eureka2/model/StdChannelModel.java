@@ -36,23 +36,33 @@ public class StdChannelModel extends ChannelModel {
     }
 
     @Override
-    public ClientHello newClientHello(Source clientSource) {
-        return new StdClientHello(clientSource);
+    public ClientHello newClientHello(Source clientSource, long heartbeatIntervalMs) {
+        return new StdClientHello(clientSource, heartbeatIntervalMs);
     }
 
     @Override
-    public ReplicationClientHello newReplicationClientHello(Source clientSource, int registrySize) {
-        return new StdReplicationClientHello(clientSource, registrySize);
+    public ReplicationClientHello newReplicationClientHello(Source clientSource, int registrySize, long heartbeatIntervalMs) {
+        return new StdReplicationClientHello(clientSource, registrySize, heartbeatIntervalMs);
     }
 
     @Override
-    public ServerHello newServerHello(Source serverSource) {
-        return new StdServerHello(serverSource);
+    public ServerHello newServerHello(Source serverSource, long heartbeatIntervalMs) {
+        return new StdServerHello(serverSource, heartbeatIntervalMs);
     }
 
     @Override
-    public ReplicationServerHello newReplicationServerHello(Source serverSource) {
-        return new StdReplicationServerHello(serverSource);
+    public ServerHello newServerHello(Source serverSource, long heartbeatIntervalMs, boolean deltaUpdates) {
+        return new StdServerHello(serverSource, heartbeatIntervalMs, deltaUpdates);
+    }
+
+    @Override
+    public ServerHello newServerHello(Source serverSource, long heartbeatIntervalMs, boolean deltaUpdates, int serverTier) {
+        return new StdServerHello(serverSource, heartbeatIntervalMs, deltaUpdates, serverTier);
+    }
+
+    @Override
+    public ReplicationServerHello newReplicationServerHello(Source serverSource, long heartbeatIntervalMs) {
+        return new StdReplicationServerHello(serverSource, heartbeatIntervalMs);
     }
 
     public static ChannelModel getStdModel() {
@@ -24,9 +24,12 @@ import com.netflix.eureka2.model.interest.StdApplicationInterest;
 import com.netflix.eureka2.model.interest.StdEmptyRegistryInterest;
 import com.netflix.eureka2.model.interest.StdFullRegistryInterest;
 import com.netflix.eureka2.model.interest.StdInstanceInterest;
+import com.netflix.eureka2.model.interest.StdMetadataInterest;
 import com.netflix.eureka2.model.interest.StdMultipleInterests;
 import com.netflix.eureka2.model.interest.StdSecureVipInterest;
+import com.netflix.eureka2.model.interest.StdStatusFilteredInterest;
 import com.netflix.eureka2.model.interest.StdVipInterest;
+import com.netflix.eureka2.model.interest.StdZoneAffinityInterest;
 
 /**
  */
@@ -68,6 +71,21 @@ public class StdInterestModel extends InterestModel {
         return new StdInstanceInterest(instanceId, operator);
     }
 
+    @Override
+    public Interest<InstanceInfo> newMetadataInterest(String key, String value) {
+        return new StdMetadataInterest(key, value);
+    }
+
+    @Override
+    public Interest<InstanceInfo> newStatusFilteredInterest(Interest<InstanceInfo> interest, InstanceInfo.Status... statuses) {
+        return new StdStatusFilteredInterest(interest, statuses);
+    }
+
+    @Override
+    public Interest<InstanceInfo> newZoneAffinityInterest(Interest<InstanceInfo> interest, String zone, int minLocalUpInstances) {
+        return new StdZoneAffinityInterest(interest, zone, minLocalUpInstances);
+    }
+
     @Override
     public MultipleInterests<InstanceInfo> newMultipleInterests(Interest<InstanceInfo>... interests) {
         return new StdMultipleInterests<>(interests);
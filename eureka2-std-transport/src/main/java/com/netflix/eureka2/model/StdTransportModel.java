@@ -22,6 +22,7 @@ import java.util.Set;
 
 import com.netflix.eureka2.model.instance.Delta;
 import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.instance.InstanceInfoField;
 import com.netflix.eureka2.model.instance.StdInstanceInfo;
 import com.netflix.eureka2.model.interest.Interest;
 import com.netflix.eureka2.model.notification.StreamStateNotification;
@@ -58,6 +59,11 @@ public class StdTransportModel extends TransportModel {
         return StdGoAway.INSTANCE;
     }
 
+    @Override
+    public GoAway newGoAway(long retryAfterMs) {
+        return retryAfterMs > 0 ? new StdGoAway(retryAfterMs) : StdGoAway.INSTANCE;
+    }
+
     @Override
     public Acknowledgement newAcknowledgement() {
         return StdAcknowledgement.INSTANCE;
@@ -90,6 +96,11 @@ public class StdTransportModel extends TransportModel {
         return new StdInterestRegistration(interest);
     }
 
+    @Override
+    public InterestRegistration newInterestRegistration(Interest<InstanceInfo> interest, InstanceInfoField.Name[] fieldProjection) {
+        return new StdInterestRegistration(interest, fieldProjection);
+    }
+
     public static TransportModel getStdModel() {
         return INSTANCE;
     }
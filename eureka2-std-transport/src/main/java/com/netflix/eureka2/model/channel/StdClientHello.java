@@ -27,6 +27,8 @@ import com.netflix.eureka2.spi.model.channel.ClientHello;
 public class StdClientHello implements ClientHello {
 
     protected final Source clientSource;
+    // Boxed and left null when not negotiated, so the field is omitted on the wire for older peers
+    protected final Long heartbeatIntervalMs;
 
     // for serializers
     private StdClientHello() {
@@ -34,7 +36,12 @@ public class StdClientHello implements ClientHello {
     }
 
     public StdClientHello(Source clientSource) {
+        this(clientSource, 0);
+    }
+
+    public StdClientHello(Source clientSource, long heartbeatIntervalMs) {
         this.clientSource = clientSource;
+        this.heartbeatIntervalMs = heartbeatIntervalMs > 0 ? heartbeatIntervalMs : null;
     }
 
     @Override
@@ -42,6 +49,11 @@ public class StdClientHello implements ClientHello {
         return clientSource;
     }
 
+    @Override
+    public long getHeartbeatIntervalMs() {
+        return heartbeatIntervalMs == null ? 0 : heartbeatIntervalMs;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -49,22 +61,26 @@ public class StdClientHello implements ClientHello {
 
         StdClientHello that = (StdClientHello) o;
 
+        if (getHeartbeatIntervalMs() != that.getHeartbeatIntervalMs()) return false;
         return clientSource != null ? clientSource.equals(that.clientSource) : that.clientSource == null;
 
     }
 
     @Override
     public int hashCode() {
-        return clientSource != null ? clientSource.hashCode() : 0;
+        int result = clientSource != null ? clientSource.hashCode() : 0;
+        result = 31 * result + (heartbeatIntervalMs != null ? heartbeatIntervalMs.hashCode() : 0);
+        return result;
     }
 
     @Override
     public String toString() {
-        return "StdClientHello{clientSource=" + clientSource + '}';
+        return "StdClientHello{clientSource=" + clientSource + ", heartbeatIntervalMs=" + getHeartbeatIntervalMs() + '}';
     }
 
     @JsonCreator
-    public static StdClientHello create(@JsonProperty("clientSource") StdSource clientSource) {
-        return new StdClientHello(clientSource);
+    public static StdClientHello create(@JsonProperty("clientSource") StdSource clientSource,
+                                        @JsonProperty("heartbeatIntervalMs") Long heartbeatIntervalMs) {
+        return new StdClientHello(clientSource, heartbeatIntervalMs == null ? 0 : heartbeatIntervalMs);
     }
 }
@@ -35,7 +35,11 @@ public class StdReplicationClientHello extends StdClientHello implements Replica
     }
 
     public StdReplicationClientHello(Source clientSource, int registrySize) {
-        super(clientSource);
+        this(clientSource, registrySize, 0);
+    }
+
+    public StdReplicationClientHello(Source clientSource, int registrySize, long heartbeatIntervalMs) {
+        super(clientSource, heartbeatIntervalMs);
         this.registrySize = registrySize;
     }
 
@@ -67,12 +71,14 @@ public class StdReplicationClientHello extends StdClientHello implements Replica
     public String toString() {
         return "StdReplicationClientHello{" +
                 "registrySize=" + registrySize +
+                ", heartbeatIntervalMs=" + getHeartbeatIntervalMs() +
                 '}';
     }
 
     @JsonCreator
     public static StdReplicationClientHello create(@JsonProperty("clientSource") StdSource clientSource,
-                                                   @JsonProperty("registrySize") int registrySize) {
-        return new StdReplicationClientHello(clientSource, registrySize);
+                                                   @JsonProperty("registrySize") int registrySize,
+                                                   @JsonProperty("heartbeatIntervalMs") Long heartbeatIntervalMs) {
+        return new StdReplicationClientHello(clientSource, registrySize, heartbeatIntervalMs == null ? 0 : heartbeatIntervalMs);
     }
 }
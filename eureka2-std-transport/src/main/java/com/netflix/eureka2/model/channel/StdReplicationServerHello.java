@@ -32,16 +32,21 @@ public class StdReplicationServerHello extends StdServerHello implements Replica
     }
 
     public StdReplicationServerHello(Source serverSource) {
-        super(serverSource);
+        this(serverSource, 0);
+    }
+
+    public StdReplicationServerHello(Source serverSource, long heartbeatIntervalMs) {
+        super(serverSource, heartbeatIntervalMs);
     }
 
     @Override
     public String toString() {
-        return "StdReplicationServerHello{serverSource=" + getServerSource() + '}';
+        return "StdReplicationServerHello{serverSource=" + getServerSource() + ", heartbeatIntervalMs=" + getHeartbeatIntervalMs() + '}';
     }
 
     @JsonCreator
-    public static StdReplicationServerHello create(@JsonProperty("serverSource") StdSource serverSource) {
-        return new StdReplicationServerHello(serverSource);
+    public static StdReplicationServerHello create(@JsonProperty("serverSource") StdSource serverSource,
+                                                   @JsonProperty("heartbeatIntervalMs") Long heartbeatIntervalMs) {
+        return new StdReplicationServerHello(serverSource, heartbeatIntervalMs == null ? 0 : heartbeatIntervalMs);
     }
 }
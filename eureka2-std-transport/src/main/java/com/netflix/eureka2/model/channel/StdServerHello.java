@@ -27,14 +27,36 @@ import com.netflix.eureka2.spi.model.channel.ServerHello;
 public class StdServerHello implements ServerHello {
 
     private final Source serverSource;
+    // Negotiated extensions are boxed and left null when not used, so they are omitted on the wire for older peers
+    private final Long heartbeatIntervalMs;
+    private final Boolean deltaUpdates;
+    private final Integer serverTier;
 
     // For serializer
     private StdServerHello() {
         this.serverSource = null;
+        this.heartbeatIntervalMs = null;
+        this.deltaUpdates = null;
+        this.serverTier = null;
     }
 
     public StdServerHello(Source serverSource) {
+        this(serverSource, 0);
+    }
+
+    public StdServerHello(Source serverSource, long heartbeatIntervalMs) {
+        this(serverSource, heartbeatIntervalMs, false);
+    }
+
+    public StdServerHello(Source serverSource, long heartbeatIntervalMs, boolean deltaUpdates) {
+        this(serverSource, heartbeatIntervalMs, deltaUpdates, 0);
+    }
+
+    public StdServerHello(Source serverSource, long heartbeatIntervalMs, boolean deltaUpdates, int serverTier) {
         this.serverSource = serverSource;
+        this.heartbeatIntervalMs = heartbeatIntervalMs > 0 ? heartbeatIntervalMs : null;
+        this.deltaUpdates = deltaUpdates ? Boolean.TRUE : null;
+        this.serverTier = serverTier != 0 ? serverTier : null;
     }
 
     @Override
@@ -42,6 +64,21 @@ public class StdServerHello implements ServerHello {
         return serverSource;
     }
 
+    @Override
+    public long getHeartbeatIntervalMs() {
+        return heartbeatIntervalMs == null ? 0 : heartbeatIntervalMs;
+    }
+
+    @Override
+    public boolean isDeltaUpdates() {
+        return deltaUpdates != null && deltaUpdates;
+    }
+
+    @Override
+    public int getServerTier() {
+        return serverTier == null ? 0 : serverTier;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -49,22 +86,32 @@ public class StdServerHello implements ServerHello {
 
         StdServerHello that = (StdServerHello) o;
 
+        if (getHeartbeatIntervalMs() != that.getHeartbeatIntervalMs()) return false;
+        if (isDeltaUpdates() != that.isDeltaUpdates()) return false;
+        if (getServerTier() != that.getServerTier()) return false;
         return serverSource != null ? serverSource.equals(that.serverSource) : that.serverSource == null;
 
     }
 
     @Override
     public int hashCode() {
-        return serverSource != null ? serverSource.hashCode() : 0;
+        int result = serverSource != null ? serverSource.hashCode() : 0;
+        result = 31 * result + (heartbeatIntervalMs != null ? heartbeatIntervalMs.hashCode() : 0);
+        result = 31 * result + (isDeltaUpdates() ? 1 : 0);
+        result = 31 * result + getServerTier();
+        return result;
     }
 
     @Override
     public String toString() {
-        return "StdServerHello{serverSource=" + serverSource + '}';
+        return "StdServerHello{serverSource=" + serverSource + ", heartbeatIntervalMs=" + getHeartbeatIntervalMs() + ", deltaUpdates=" + isDeltaUpdates() + ", serverTier=" + getServerTier() + '}';
     }
 
     @JsonCreator
-    public static StdServerHello create(@JsonProperty("serverSource") StdSource clientSource) {
-        return new StdServerHello(clientSource);
+    public static StdServerHello create(@JsonProperty("serverSource") StdSource clientSource,
+                                        @JsonProperty("heartbeatIntervalMs") Long heartbeatIntervalMs,
+                                        @JsonProperty("deltaUpdates") Boolean deltaUpdates,
+                                        @JsonProperty("serverTier") Integer serverTier) {
+        return new StdServerHello(clientSource, heartbeatIntervalMs == null ? 0 : heartbeatIntervalMs, deltaUpdates != null && deltaUpdates, serverTier == null ? 0 : serverTier);
     }
 }
@@ -54,6 +54,9 @@ public class StdInstanceInfo implements InstanceInfo {
     @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = As.PROPERTY, property = "class")
     protected DataCenterInfo dataCenterInfo;
 
+    // Serialized form of this (immutable) instance, shared by all channels sending it (if enabled in the codec)
+    private transient volatile String encodedForm;
+
     // for serializers
     private StdInstanceInfo() {
         this(null);
@@ -153,6 +156,17 @@ public class StdInstanceInfo implements InstanceInfo {
         return metaData == null ? null : Collections.unmodifiableMap(metaData);
     }
 
+    /**
+     * @return serialized form of this instance, or null if it was not encoded yet
+     */
+    public String getEncodedForm() {
+        return encodedForm;
+    }
+
+    public void setEncodedForm(String encodedForm) {
+        this.encodedForm = encodedForm;
+    }
+
     public Iterator<ServiceEndpoint> serviceEndpoints() {
         return ServiceEndpointImpl.iteratorFrom(this);
     }
@@ -16,8 +16,6 @@
 
 package com.netflix.eureka2.model.interest;
 
-import java.util.regex.Pattern;
-
 /**
  * @author Tomasz Bak
  */
@@ -26,7 +24,7 @@ public abstract class StdAbstractPatternInterest<T> implements Interest<T> {
     private final String pattern;
     private final Operator operator;
 
-    private volatile Pattern compiledPattern;
+    private volatile LikePattern compiledPattern;
 
     /* For serializer */
     protected StdAbstractPatternInterest() {
@@ -58,7 +56,7 @@ public abstract class StdAbstractPatternInterest<T> implements Interest<T> {
         return operator;
     }
 
-    /*visible for testing*/ Pattern getCompiledPattern() {
+    /*visible for testing*/ LikePattern getCompiledPattern() {
         return compiledPattern;
     }
 
@@ -72,9 +70,9 @@ public abstract class StdAbstractPatternInterest<T> implements Interest<T> {
             return pattern.equals(value);
         }
         if (compiledPattern == null) {
-            compiledPattern = Pattern.compile(pattern);
+            compiledPattern = LikePattern.compile(pattern);
         }
-        return compiledPattern.matcher(value).matches();
+        return compiledPattern.matches(value);
     }
 
     protected abstract String getValue(T data);
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.eureka2.model.interest;
+
+import java.util.Map;
+
+import com.netflix.eureka2.model.instance.InstanceInfo;
+
+/**
+ * Exact match interest on an instance metadata entry.
+ */
+public class StdMetadataInterest extends StdAbstractPatternInterest<InstanceInfo> implements MetadataInterest<InstanceInfo> {
+
+    private final String key;
+
+    /* For serializer */
+    protected StdMetadataInterest() {
+        key = null;
+    }
+
+    public StdMetadataInterest(String key, String value) {
+        super(value, Operator.Equals);
+        if (key == null) {
+            throw new IllegalArgumentException("Expected non null metadata key");
+        }
+        this.key = key;
+    }
+
+    @Override
+    public String getKey() {
+        return key;
+    }
+
+    @Override
+    protected String getValue(InstanceInfo data) {
+        Map<String, String> metaData = data.getMetaData();
+        return metaData == null ? null : metaData.get(key);
+    }
+
+    @Override
+    public QueryType getQueryType() {
+        return QueryType.Metadata;
+    }
+
+    @Override
+    public boolean isAtomicInterest() {
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!super.equals(o))
+            return false;
+
+        StdMetadataInterest that = (StdMetadataInterest) o;
+        return key != null ? key.equals(that.key) : that.key == null;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + (key != null ? key.hashCode() : 0);
+    }
+
+    @Override
+    public String toString() {
+        return "StdMetadataInterest{key='" + key + "', value='" + getPattern() + "'}";
+    }
+}
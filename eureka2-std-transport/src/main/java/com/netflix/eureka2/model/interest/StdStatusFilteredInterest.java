@@ -0,0 +1,109 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.eureka2.model.interest;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.JsonTypeInfo.As;
+import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.instance.InstanceInfo.Status;
+
+/**
+ * Atomic interest restricted to instances in one of the given statuses.
+ */
+public class StdStatusFilteredInterest implements StatusFilteredInterest<InstanceInfo> {
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = As.PROPERTY, property = "class")
+    private final Interest<InstanceInfo> interest;
+    private final Set<Status> statuses;
+
+    /* For serializer */
+    protected StdStatusFilteredInterest() {
+        interest = null;
+        statuses = null;
+    }
+
+    public StdStatusFilteredInterest(Interest<InstanceInfo> interest, Status... statuses) {
+        if (interest == null || !interest.isAtomicInterest()) {
+            throw new IllegalArgumentException("Expected non null atomic interest");
+        }
+        if (statuses.length == 0) {
+            throw new IllegalArgumentException("Expected at least one status");
+        }
+        this.interest = interest;
+        this.statuses = EnumSet.copyOf(Arrays.asList(statuses));
+    }
+
+    @Override
+    public Interest<InstanceInfo> getInterest() {
+        return interest;
+    }
+
+    @Override
+    public Set<Status> getStatuses() {
+        return Collections.unmodifiableSet(statuses);
+    }
+
+    @Override
+    public QueryType getQueryType() {
+        return interest.getQueryType();
+    }
+
+    @Override
+    public Operator getOperator() {
+        return interest.getOperator();
+    }
+
+    @Override
+    public String getPattern() {
+        return interest.getPattern();
+    }
+
+    @Override
+    public boolean matches(InstanceInfo data) {
+        return statuses.contains(data.getStatus()) && interest.matches(data);
+    }
+
+    @Override
+    public boolean isAtomicInterest() {
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+
+        StdStatusFilteredInterest that = (StdStatusFilteredInterest) o;
+        return interest.equals(that.interest) && statuses.equals(that.statuses);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * interest.hashCode() + statuses.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "StdStatusFilteredInterest{interest=" + interest + ", statuses=" + statuses + '}';
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.eureka2.model.interest;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.JsonTypeInfo.As;
+import com.netflix.eureka2.model.instance.InstanceInfo;
+
+/**
+ * Atomic interest with affinity to an availability zone.
+ */
+public class StdZoneAffinityInterest implements ZoneAffinityInterest<InstanceInfo> {
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = As.PROPERTY, property = "class")
+    private final Interest<InstanceInfo> interest;
+    private final String zone;
+    private final int minLocalUpInstances;
+
+    /* For serializer */
+    protected StdZoneAffinityInterest() {
+        interest = null;
+        zone = null;
+        minLocalUpInstances = 0;
+    }
+
+    public StdZoneAffinityInterest(Interest<InstanceInfo> interest, String zone, int minLocalUpInstances) {
+        if (interest == null || !interest.isAtomicInterest()) {
+            throw new IllegalArgumentException("Expected non null atomic interest");
+        }
+        if (zone == null) {
+            throw new IllegalArgumentException("Expected non null zone");
+        }
+        if (minLocalUpInstances < 0) {
+            throw new IllegalArgumentException("Expected non negative minLocalUpInstances, and got " + minLocalUpInstances);
+        }
+        this.interest = interest;
+        this.zone = zone;
+        this.minLocalUpInstances = minLocalUpInstances;
+    }
+
+    @Override
+    public Interest<InstanceInfo> getInterest() {
+        return interest;
+    }
+
+    @Override
+    public String getZone() {
+        return zone;
+    }
+
+    @Override
+    public int getMinLocalUpInstances() {
+        return minLocalUpInstances;
+    }
+
+    @Override
+    public QueryType getQueryType() {
+        return interest.getQueryType();
+    }
+
+    @Override
+    public Operator getOperator() {
+        return interest.getOperator();
+    }
+
+    @Override
+    public String getPattern() {
+        return interest.getPattern();
+    }
+
+    @Override
+    public boolean matches(InstanceInfo data) {
+        return interest.matches(data);
+    }
+
+    @Override
+    public boolean isAtomicInterest() {
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+
+        StdZoneAffinityInterest that = (StdZoneAffinityInterest) o;
+        return minLocalUpInstances == that.minLocalUpInstances && interest.equals(that.interest) && zone.equals(that.zone);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = interest.hashCode();
+        result = 31 * result + zone.hashCode();
+        result = 31 * result + minLocalUpInstances;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "StdZoneAffinityInterest{interest=" + interest + ", zone=" + zone + ", minLocalUpInstances=" + minLocalUpInstances + '}';
+    }
+}
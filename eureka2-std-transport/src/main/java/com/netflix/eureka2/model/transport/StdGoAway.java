@@ -26,14 +26,35 @@ public class StdGoAway implements GoAway {
 
     private static final int HASH = 123123414;
 
+    // Not set for plain disconnects, so they are encoded as before
+    private final Long retryAfterMs;
+
+    // For serializer
+    private StdGoAway() {
+        this.retryAfterMs = null;
+    }
+
+    public StdGoAway(long retryAfterMs) {
+        this.retryAfterMs = retryAfterMs > 0 ? retryAfterMs : null;
+    }
+
+    @Override
+    public long getRetryAfterMs() {
+        return retryAfterMs == null ? 0 : retryAfterMs;
+    }
+
     @Override
     public int hashCode() {
-        return HASH;
+        return retryAfterMs == null ? HASH : 31 * HASH + retryAfterMs.hashCode();
     }
 
     @Override
     public boolean equals(Object o) {
-        return o instanceof StdGoAway;
+        return o instanceof StdGoAway && getRetryAfterMs() == ((StdGoAway) o).getRetryAfterMs();
     }
 
-}
\ No newline at end of file
+    @Override
+    public String toString() {
+        return "StdGoAway{retryAfterMs=" + getRetryAfterMs() + '}';
+    }
+}
@@ -22,6 +22,7 @@ import java.util.Set;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.annotation.JsonTypeInfo.As;
 import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.instance.InstanceInfoField;
 import com.netflix.eureka2.model.interest.Interest;
 import com.netflix.eureka2.model.interest.MultipleInterests;
 import com.netflix.eureka2.spi.model.transport.InterestRegistration;
@@ -33,23 +34,36 @@ public class StdInterestRegistration implements InterestRegistration {
     @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = As.PROPERTY, property = "class")
     private final Interest<InstanceInfo>[] interests;
 
+    private final InstanceInfoField.Name[] fieldProjection;
+
     public StdInterestRegistration() {
         interests = null;
+        fieldProjection = null;
     }
 
     public StdInterestRegistration(Interest<InstanceInfo> interest) {
+        this(interest, null);
+    }
+
+    public StdInterestRegistration(Interest<InstanceInfo> interest, InstanceInfoField.Name[] fieldProjection) {
         if (interest instanceof MultipleInterests) {
             Set<Interest<InstanceInfo>> set = ((MultipleInterests<InstanceInfo>) interest).flatten();
             interests = set.toArray(new Interest[set.size()]);
         } else {
             interests = new Interest[]{interest};
         }
+        this.fieldProjection = fieldProjection;
     }
 
     public Interest<InstanceInfo>[] getInterests() {
         return interests;
     }
 
+    @Override
+    public InstanceInfoField.Name[] getFieldProjection() {
+        return fieldProjection;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o)
@@ -60,17 +74,17 @@ public class StdInterestRegistration implements InterestRegistration {
         StdInterestRegistration that = (StdInterestRegistration) o;
 
         // Probably incorrect - comparing Object[] arrays with Arrays.equals
-        return Arrays.equals(interests, that.interests);
+        return Arrays.equals(interests, that.interests) && Arrays.equals(fieldProjection, that.fieldProjection);
 
     }
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(interests);
+        return 31 * Arrays.hashCode(interests) + Arrays.hashCode(fieldProjection);
     }
 
     @Override
     public String toString() {
-        return "StdInterestRegistration{interests=" + Arrays.toString(interests) + '}';
+        return "StdInterestRegistration{interests=" + Arrays.toString(interests) + ", fieldProjection=" + Arrays.toString(fieldProjection) + '}';
     }
 }
@@ -20,21 +20,38 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.annotation.JsonTypeInfo.As;
 import com.netflix.eureka2.spi.model.transport.ProtocolMessageEnvelope;
 
+/**
+ * Envelopes sent over a multiplexed connection carry the id of the stream they belong to. The stream id
+ * is not set for connections dedicated to a single protocol, so the wire format of these is not changed.
+ */
 public class StdProtocolMessageEnvelope implements ProtocolMessageEnvelope {
 
+    /**
+     * Stream id reserved for messages of a multiplexed connection itself, like its heartbeat.
+     */
+    public static final int CONNECTION_STREAM_ID = 0;
+
     private final ProtocolType protocolType;
 
+    private final Integer streamId;
+
     @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = As.PROPERTY, property = "class")
     private final Object message;
 
     // For serialization framework.
     protected StdProtocolMessageEnvelope() {
         this.protocolType = null;
+        this.streamId = null;
         this.message = null;
     }
 
     public StdProtocolMessageEnvelope(ProtocolType protocolType, Object message) {
+        this(protocolType, message, null);
+    }
+
+    public StdProtocolMessageEnvelope(ProtocolType protocolType, Object message, Integer streamId) {
         this.protocolType = protocolType;
+        this.streamId = streamId;
         this.message = message;
     }
 
@@ -43,6 +60,13 @@ public class StdProtocolMessageEnvelope implements ProtocolMessageEnvelope {
         return protocolType;
     }
 
+    /**
+     * @return stream id, or null if the envelope was not sent over a multiplexed connection
+     */
+    public Integer getStreamId() {
+        return streamId;
+    }
+
     @Override
     public Object getMessage() {
         return message;
@@ -16,6 +16,8 @@
 
 package com.netflix.eureka2.model.transport.notification;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.netflix.eureka2.codec.jackson.PreEncodedInstanceInfoSerializer;
 import com.netflix.eureka2.model.instance.InstanceInfo;
 import com.netflix.eureka2.model.instance.StdInstanceInfo;
 import com.netflix.eureka2.spi.model.transport.notification.AddInstance;
@@ -24,6 +26,7 @@ import com.netflix.eureka2.spi.model.transport.notification.AddInstance;
  */
 public class StdAddInstance implements AddInstance {
 
+    @JsonSerialize(using = PreEncodedInstanceInfoSerializer.class)
     private final StdInstanceInfo instanceInfo;
 
     // For serialization frameworks
@@ -23,24 +23,33 @@ import com.netflix.eureka2.spi.channel.ChannelNotification;
 import com.netflix.eureka2.spi.model.transport.ProtocolMessageEnvelope;
 import com.netflix.eureka2.spi.model.transport.ProtocolMessageEnvelope.ProtocolType;
 import com.netflix.eureka2.transport.ProtocolConverters;
+import com.netflix.eureka2.transport.client.ClientConnection.DedicatedClientConnection;
 import io.reactivex.netty.RxNetty;
-import io.reactivex.netty.channel.ObservableConnection;
 import io.reactivex.netty.pipeline.PipelineConfigurator;
 import rx.Observable;
 
 /**
+ * Client transport handler base class. If a {@link ClientConnectionMultiplexer} is provided, the handler
+ * opens a stream on a connection shared with other handlers connected to the same server. Otherwise a dedicated
+ * connection is created.
  */
 public abstract class AbstractStdClientTransportHandler<I, O> implements ChannelHandler<I, O> {
 
     private final Server server;
     private final ProtocolType protocolType;
+    private final ClientConnectionMultiplexer multiplexer;
     private final PipelineConfigurator<Object, Object> pipelineConfigurator = new EurekaPipelineConfigurator();
 
     protected ChannelContext<I, O> channelContext;
 
     protected AbstractStdClientTransportHandler(Server server, ProtocolType protocolType) {
+        this(server, protocolType, null);
+    }
+
+    protected AbstractStdClientTransportHandler(Server server, ProtocolType protocolType, ClientConnectionMultiplexer multiplexer) {
         this.server = server;
         this.protocolType = protocolType;
+        this.multiplexer = multiplexer;
     }
 
     @Override
@@ -51,8 +60,12 @@ public abstract class AbstractStdClientTransportHandler<I, O> implements Channel
         this.channelContext = channelContext;
     }
 
-    protected Observable<ObservableConnection<Object, Object>> connect() {
-        return RxNetty.createTcpClient(server.getHost(), server.getPort(), pipelineConfigurator).connect();
+    protected Observable<ClientConnection> connect() {
+        if (multiplexer != null) {
+            return multiplexer.openStream(server, protocolType);
+        }
+        return RxNetty.createTcpClient(server.getHost(), server.getPort(), pipelineConfigurator).connect()
+                .map(connection -> (ClientConnection) new DedicatedClientConnection(connection));
     }
 
     protected ProtocolMessageEnvelope asProtocolMessage(ChannelNotification<I> update) {
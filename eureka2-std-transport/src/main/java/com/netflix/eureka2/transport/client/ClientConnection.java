@@ -0,0 +1,59 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.eureka2.transport.client;
+
+import com.netflix.eureka2.spi.model.transport.ProtocolMessageEnvelope;
+import io.reactivex.netty.channel.ObservableConnection;
+import rx.Observable;
+
+/**
+ * Bidirectional stream of protocol messages used by client transport handlers. It is either a dedicated
+ * TCP connection, or a stream multiplexed over a connection shared with other handlers
+ * (see {@link ClientConnectionMultiplexer}).
+ */
+public interface ClientConnection {
+
+    Observable<Void> writeAndFlush(ProtocolMessageEnvelope envelope);
+
+    Observable<ProtocolMessageEnvelope> getInput();
+
+    void close();
+
+    class DedicatedClientConnection implements ClientConnection {
+
+        private final ObservableConnection<Object, Object> connection;
+
+        public DedicatedClientConnection(ObservableConnection<Object, Object> connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Observable<Void> writeAndFlush(ProtocolMessageEnvelope envelope) {
+            return connection.writeAndFlush(envelope);
+        }
+
+        @Override
+        public Observable<ProtocolMessageEnvelope> getInput() {
+            return connection.getInput().cast(ProtocolMessageEnvelope.class);
+        }
+
+        @Override
+        public void close() {
+            connection.close();
+        }
+    }
+}
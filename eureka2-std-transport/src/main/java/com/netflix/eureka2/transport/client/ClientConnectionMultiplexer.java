@@ -0,0 +1,332 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.eureka2.transport.client;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.netflix.eureka2.config.BasicEurekaTransportConfig;
+import com.netflix.eureka2.model.Server;
+import com.netflix.eureka2.model.transport.StdProtocolMessageEnvelope;
+import com.netflix.eureka2.spi.model.ChannelModel;
+import com.netflix.eureka2.spi.model.TransportModel;
+import com.netflix.eureka2.spi.model.channel.Heartbeat;
+import com.netflix.eureka2.spi.model.transport.GoAway;
+import com.netflix.eureka2.spi.model.transport.ProtocolMessageEnvelope;
+import com.netflix.eureka2.spi.model.transport.ProtocolMessageEnvelope.ProtocolType;
+import com.netflix.eureka2.transport.TransportDisconnected;
+import io.reactivex.netty.RxNetty;
+import io.reactivex.netty.channel.ObservableConnection;
+import io.reactivex.netty.pipeline.PipelineConfigurator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rx.Observable;
+import rx.Scheduler;
+import rx.Subscription;
+import rx.functions.Func1;
+import rx.schedulers.Schedulers;
+import rx.subjects.PublishSubject;
+
+/**
+ * Carries multiple protocol streams over a single TCP connection per server. Each stream gets a connection
+ * unique id, which is set on all envelopes it sends, and which the server sets on its replies. A stream is closed
+ * by sending {@link GoAway} with its id. The TCP connection is opened when the first stream is created, and closed
+ * when the last stream is closed. If the connection is lost, all its streams terminate with an error, and the next
+ * stream opens a new connection.
+ * <p>
+ * Each stream keeps its own handshake, but liveness is tracked per TCP connection. The multiplexer sends one
+ * heartbeat per connection, with the reserved {@link StdProtocolMessageEnvelope#CONNECTION_STREAM_ID}, which
+ * the server replies to once, and forwards to all stream pipelines on its side. Heartbeats of the client stream
+ * pipelines are not sent over the wire, but are answered when the next connection heartbeat reply is received.
+ * The connection heartbeat interval must thus not be longer than the one of the stream pipelines.
+ */
+public class ClientConnectionMultiplexer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientConnectionMultiplexer.class);
+
+    private static final TransportDisconnected CONNECTION_CLOSED = new TransportDisconnected("Multiplexed connection closed");
+
+    private final PipelineConfigurator<Object, Object> pipelineConfigurator = new EurekaPipelineConfigurator();
+
+    private final long heartbeatIntervalMs;
+    private final Scheduler scheduler;
+    private final Func1<Server, Observable<ObservableConnection<Object, Object>>> connector;
+
+    // Guarded by this
+    private final Map<Server, SharedConnection> connections = new HashMap<>();
+
+    public ClientConnectionMultiplexer() {
+        this(BasicEurekaTransportConfig.HEARTBEAT_INTERVAL_MS);
+    }
+
+    public ClientConnectionMultiplexer(long heartbeatIntervalMs) {
+        this(heartbeatIntervalMs, Schedulers.computation());
+    }
+
+    public ClientConnectionMultiplexer(long heartbeatIntervalMs, Scheduler scheduler) {
+        this(heartbeatIntervalMs, scheduler, null);
+    }
+
+    ClientConnectionMultiplexer(long heartbeatIntervalMs,
+                                Scheduler scheduler,
+                                Func1<Server, Observable<ObservableConnection<Object, Object>>> connector) {
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+        this.scheduler = scheduler;
+        this.connector = connector != null ? connector : this::connect;
+    }
+
+    /**
+     * Open a new stream to the given server. The returned observable emits a single value, and completes.
+     */
+    public Observable<ClientConnection> openStream(Server server, ProtocolType protocolType) {
+        return Observable.defer(() -> {
+            SharedConnection sharedConnection;
+            synchronized (this) {
+                sharedConnection = connections.get(server);
+                if (sharedConnection == null) {
+                    sharedConnection = new SharedConnection(server);
+                    connections.put(server, sharedConnection);
+                }
+                sharedConnection.acquire();
+            }
+            SharedConnection connection = sharedConnection;
+            // Released on error, or if unsubscribed before the stream is opened; afterwards the stream owns it
+            AtomicBoolean settled = new AtomicBoolean();
+            return connection.connected
+                    .flatMap(nothing -> connection.newStream(protocolType))
+                    .doOnNext(stream -> settled.set(true))
+                    .doOnError(e -> {
+                        if (settled.compareAndSet(false, true)) {
+                            connection.release();
+                        }
+                    })
+                    .doOnUnsubscribe(() -> {
+                        if (settled.compareAndSet(false, true)) {
+                            connection.release();
+                        }
+                    });
+        });
+    }
+
+    private Observable<ObservableConnection<Object, Object>> connect(Server server) {
+        return RxNetty.createTcpClient(server.getHost(), server.getPort(), pipelineConfigurator).connect();
+    }
+
+    /**
+     * @return number of open TCP connections
+     */
+    public synchronized int getConnectionCount() {
+        return connections.size();
+    }
+
+    private synchronized void remove(SharedConnection sharedConnection) {
+        if (connections.get(sharedConnection.server) == sharedConnection) {
+            connections.remove(sharedConnection.server);
+        }
+    }
+
+    private class SharedConnection {
+
+        private final Server server;
+        private final Observable<ObservableConnection<Object, Object>> connected;
+        private final Map<Integer, MultiplexedStream> streams = new ConcurrentHashMap<>();
+
+        // Guarded by ClientConnectionMultiplexer.this
+        private int references;
+        private int nextStreamId;
+        private boolean released;
+
+        private volatile ObservableConnection<Object, Object> connection;
+        private volatile boolean terminated;
+        private volatile Subscription heartbeatSubscription;
+
+        private SharedConnection(Server server) {
+            this.server = server;
+            this.connected = connector.call(server)
+                    .take(1)
+                    .doOnNext(newConnection -> {
+                        synchronized (ClientConnectionMultiplexer.this) {
+                            if (!released) {
+                                // Set before the connection, so the heartbeat is stopped by whoever closes the connection
+                                heartbeatSubscription = Observable.interval(heartbeatIntervalMs, heartbeatIntervalMs, TimeUnit.MILLISECONDS, scheduler)
+                                        .subscribe(tick -> sendHeartbeat(newConnection));
+                                connection = newConnection;
+                            }
+                        }
+                        if (connection == null) {
+                            logger.debug("All streams released before connected; closing multiplexed connection to {}", server);
+                            newConnection.close();
+                            return;
+                        }
+                        newConnection.getInput().subscribe(
+                                next -> dispatch((ProtocolMessageEnvelope) next),
+                                this::terminate,
+                                () -> terminate(CONNECTION_CLOSED)
+                        );
+                        logger.debug("Opened multiplexed connection to {}", server);
+                    })
+                    .doOnError(e -> remove(this))
+                    .cache();
+        }
+
+        private void acquire() {
+            references++;
+        }
+
+        private void release() {
+            boolean close;
+            synchronized (ClientConnectionMultiplexer.this) {
+                references--;
+                close = references == 0;
+                if (close) {
+                    released = true;
+                    remove(this);
+                }
+            }
+            if (close && connection != null) {
+                logger.debug("Last stream closed; closing multiplexed connection to {}", server);
+                heartbeatSubscription.unsubscribe();
+                connection.close();
+            }
+        }
+
+        private void sendHeartbeat(ObservableConnection<Object, Object> connection) {
+            // Protocol type is not relevant for connection level messages
+            connection.writeAndFlush(new StdProtocolMessageEnvelope(
+                    ProtocolType.Registration, ChannelModel.getDefaultModel().newHeartbeat(), StdProtocolMessageEnvelope.CONNECTION_STREAM_ID
+            )).subscribe(
+                    next -> {
+                        // Void
+                    },
+                    e -> logger.debug("Failed to send heartbeat on multiplexed connection to {}: {}", server, e.getMessage())
+            );
+        }
+
+        private Observable<ClientConnection> newStream(ProtocolType protocolType) {
+            int streamId;
+            synchronized (ClientConnectionMultiplexer.this) {
+                streamId = ++nextStreamId;
+            }
+            MultiplexedStream stream = new MultiplexedStream(this, streamId, protocolType);
+            streams.put(streamId, stream);
+            // Connection could be lost, before the stream was registered
+            if (terminated) {
+                streams.remove(streamId);
+                return Observable.error(CONNECTION_CLOSED);
+            }
+            return Observable.just(stream);
+        }
+
+        private void dispatch(ProtocolMessageEnvelope envelope) {
+            Integer streamId = envelope instanceof StdProtocolMessageEnvelope ? ((StdProtocolMessageEnvelope) envelope).getStreamId() : null;
+            if (streamId != null && streamId == StdProtocolMessageEnvelope.CONNECTION_STREAM_ID) {
+                if (envelope.getMessage() instanceof Heartbeat) {
+                    for (MultiplexedStream stream : streams.values()) {
+                        stream.onConnectionHeartbeat();
+                    }
+                }
+                return;
+            }
+            MultiplexedStream stream = streamId == null ? null : streams.get(streamId);
+            if (stream == null) {
+                logger.debug("Dropping message for unknown stream {} on multiplexed connection to {}", streamId, server);
+                return;
+            }
+            stream.inputSubject.onNext(envelope);
+        }
+
+        private void terminate(Throwable error) {
+            terminated = true;
+            remove(this);
+            heartbeatSubscription.unsubscribe();
+            List<MultiplexedStream> openStreams = new ArrayList<>(streams.values());
+            streams.clear();
+            for (MultiplexedStream stream : openStreams) {
+                stream.inputSubject.onError(error);
+            }
+        }
+    }
+
+    private static class MultiplexedStream implements ClientConnection {
+
+        private final SharedConnection sharedConnection;
+        private final int streamId;
+        private final ProtocolType protocolType;
+        private final PublishSubject<ProtocolMessageEnvelope> inputSubject = PublishSubject.create();
+
+        private final AtomicBoolean heartbeatPending = new AtomicBoolean();
+        private final AtomicBoolean goAwaySent = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private MultiplexedStream(SharedConnection sharedConnection,
+                                  int streamId,
+                                  ProtocolType protocolType) {
+            this.sharedConnection = sharedConnection;
+            this.streamId = streamId;
+            this.protocolType = protocolType;
+        }
+
+        @Override
+        public Observable<Void> writeAndFlush(ProtocolMessageEnvelope envelope) {
+            if (envelope.getMessage() instanceof Heartbeat) {
+                heartbeatPending.set(true);
+                return Observable.empty();
+            }
+            if (envelope.getMessage() instanceof GoAway) {
+                goAwaySent.set(true);
+            }
+            return sharedConnection.connection.writeAndFlush(
+                    new StdProtocolMessageEnvelope(envelope.getProtocolType(), envelope.getMessage(), streamId)
+            );
+        }
+
+        private void onConnectionHeartbeat() {
+            if (heartbeatPending.getAndSet(false)) {
+                inputSubject.onNext(TransportModel.getDefaultModel().newEnvelope(protocolType, ChannelModel.getDefaultModel().newHeartbeat()));
+            }
+        }
+
+        @Override
+        public Observable<ProtocolMessageEnvelope> getInput() {
+            return inputSubject;
+        }
+
+        @Override
+        public void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            sharedConnection.streams.remove(streamId);
+            inputSubject.onCompleted();
+            if (!goAwaySent.get()) {
+                writeAndFlush(TransportModel.getDefaultModel().newEnvelope(protocolType, TransportModel.getDefaultModel().newGoAway()))
+                        .subscribe(
+                                next -> {
+                                    // Void
+                                },
+                                e -> logger.debug("Failed to send stream {} close request: {}", streamId, e.getMessage())
+                        );
+            }
+            sharedConnection.release();
+        }
+    }
+}
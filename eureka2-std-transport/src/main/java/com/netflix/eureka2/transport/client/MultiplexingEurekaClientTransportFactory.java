@@ -0,0 +1,60 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.eureka2.transport.client;
+
+import com.netflix.eureka2.config.BasicEurekaTransportConfig;
+import com.netflix.eureka2.model.Server;
+import com.netflix.eureka2.spi.channel.InterestHandler;
+import com.netflix.eureka2.spi.channel.RegistrationHandler;
+
+/**
+ * Client transport factory, that carries registration and interest channels to the same server over a single,
+ * shared connection. To share connections between registration and interest clients, the same factory instance
+ * must be given to both client builders. Replication channels always use dedicated connections.
+ * <p>
+ * Multiplexed connections are supported only by servers with the standard transport, that understand stream ids.
+ * <p>
+ * Liveness is tracked with a single heartbeat per connection. Its interval must not be longer than the heartbeat
+ * interval of the registration and interest clients, which is {@link BasicEurekaTransportConfig#HEARTBEAT_INTERVAL_MS}
+ * by default.
+ */
+public class MultiplexingEurekaClientTransportFactory extends StdEurekaClientTransportFactory {
+
+    private final ClientConnectionMultiplexer multiplexer;
+
+    public MultiplexingEurekaClientTransportFactory() {
+        this(BasicEurekaTransportConfig.HEARTBEAT_INTERVAL_MS);
+    }
+
+    public MultiplexingEurekaClientTransportFactory(long heartbeatIntervalMs) {
+        this.multiplexer = new ClientConnectionMultiplexer(heartbeatIntervalMs);
+    }
+
+    @Override
+    public RegistrationHandler newRegistrationClientTransport(Server eurekaServer) {
+        return new StdRegistrationClientTransportHandler(eurekaServer, multiplexer);
+    }
+
+    @Override
+    public InterestHandler newInterestTransport(Server eurekaServer) {
+        return new StdInterestClientTransportHandler(eurekaServer, multiplexer);
+    }
+
+    public ClientConnectionMultiplexer getMultiplexer() {
+        return multiplexer;
+    }
+}
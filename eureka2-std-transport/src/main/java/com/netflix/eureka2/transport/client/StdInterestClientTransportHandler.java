@@ -20,15 +20,21 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
+import com.netflix.eureka2.channel.ChannelHandlers;
 import com.netflix.eureka2.model.Server;
 import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.instance.InstanceInfoField;
+import com.netflix.eureka2.model.instance.InstanceInfoProjection;
 import com.netflix.eureka2.model.interest.Interest;
 import com.netflix.eureka2.model.notification.ChangeNotification;
 import com.netflix.eureka2.spi.channel.ChannelNotification;
 import com.netflix.eureka2.spi.channel.InterestHandler;
+import com.netflix.eureka2.spi.channel.ServerOverloadedException;
 import com.netflix.eureka2.spi.model.TransportModel;
 import com.netflix.eureka2.spi.model.channel.Heartbeat;
 import com.netflix.eureka2.spi.model.channel.ServerHello;
+import com.netflix.eureka2.spi.model.transport.GoAway;
+import com.netflix.eureka2.spi.model.transport.InterestRegistration;
 import com.netflix.eureka2.spi.model.transport.ProtocolMessageEnvelope;
 import com.netflix.eureka2.spi.model.transport.ProtocolMessageEnvelope.ProtocolType;
 import com.netflix.eureka2.transport.ProtocolConverters;
@@ -50,6 +56,10 @@ public class StdInterestClientTransportHandler extends AbstractStdClientTranspor
         super(server, ProtocolType.Interest);
     }
 
+    public StdInterestClientTransportHandler(Server server, ClientConnectionMultiplexer multiplexer) {
+        super(server, ProtocolType.Interest, multiplexer);
+    }
+
     @Override
     public Observable<ChannelNotification<ChangeNotification<InstanceInfo>>> handle(Observable<ChannelNotification<Interest<InstanceInfo>>> inputStream) {
 
@@ -63,12 +73,11 @@ public class StdInterestClientTransportHandler extends AbstractStdClientTranspor
                         return connection.writeAndFlush(asProtocolMessage(notification));
                     })
                     .doOnUnsubscribe(() -> {
-                        connection.close().subscribe();
+                        connection.close();
                         logger.debug("{} Closing client interest connection", channelContext.getPipeline().getPipelineId());
                     });
 
-            Observable<ChannelNotification<ChangeNotification<InstanceInfo>>> input = connection.getInput().flatMap(next -> {
-                ProtocolMessageEnvelope envelope = (ProtocolMessageEnvelope) next;
+            Observable<ChannelNotification<ChangeNotification<InstanceInfo>>> input = connection.getInput().flatMap(envelope -> {
                 return asChannelNotification(envelope, instanceCache);
             }).concatWith(Observable.error(CONNECTION_CLOSED));
 
@@ -92,6 +101,13 @@ public class StdInterestClientTransportHandler extends AbstractStdClientTranspor
         if (message instanceof ServerHello) {
             return Observable.just(ChannelNotification.newHello(message));
         }
+        if (message instanceof GoAway) {
+            long retryAfterMs = ((GoAway) message).getRetryAfterMs();
+            if (retryAfterMs > 0) {
+                return Observable.error(new ServerOverloadedException("Server overloaded; retry after " + retryAfterMs + "ms", retryAfterMs));
+            }
+            return Observable.error(new TransportDisconnected("Server closed the interest channel"));
+        }
         try {
             return Observable.just(ProtocolConverters.asChannelNotification(envelope, instanceCache));
         } catch (Exception e) {
@@ -102,7 +118,9 @@ public class StdInterestClientTransportHandler extends AbstractStdClientTranspor
     @Override
     protected ProtocolMessageEnvelope asProtocolMessage(ChannelNotification<Interest<InstanceInfo>> update) {
         if (update.getKind() == ChannelNotification.Kind.Data) {
-            return TransportModel.getDefaultModel().interestEnvelope(TransportModel.getDefaultModel().newInterestRegistration(update.getData()));
+            InstanceInfoField.Name[] fieldProjection = InstanceInfoProjection.asArray(ChannelHandlers.getFieldProjection(update));
+            InterestRegistration registration = TransportModel.getDefaultModel().newInterestRegistration(update.getData(), fieldProjection);
+            return TransportModel.getDefaultModel().interestEnvelope(registration);
         }
         return super.asProtocolMessage(update);
     }
@@ -18,9 +18,13 @@ package com.netflix.eureka2.transport.client;
 
 import java.io.IOException;
 import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import com.netflix.eureka2.model.Server;
+import com.netflix.eureka2.model.instance.Delta;
 import com.netflix.eureka2.model.instance.InstanceInfo;
 import com.netflix.eureka2.spi.channel.ChannelNotification;
 import com.netflix.eureka2.spi.channel.RegistrationHandler;
@@ -32,12 +36,14 @@ import com.netflix.eureka2.spi.model.transport.ProtocolMessageEnvelope;
 import com.netflix.eureka2.spi.model.transport.ProtocolMessageEnvelope.ProtocolType;
 import com.netflix.eureka2.transport.TransportDisconnected;
 import com.netflix.eureka2.utils.rx.ExtObservable;
-import io.reactivex.netty.channel.ObservableConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rx.Observable;
 
 /**
+ * If the server announces support for delta updates in its hello reply, only the first registration on
+ * a connection is sent in full. Each subsequent update is sent as a set of deltas against the previously sent
+ * instance, which the server applies to its copy. A new connection always starts with a full registration.
  */
 public class StdRegistrationClientTransportHandler extends AbstractStdClientTransportHandler<InstanceInfo, InstanceInfo> implements RegistrationHandler {
 
@@ -49,6 +55,10 @@ public class StdRegistrationClientTransportHandler extends AbstractStdClientTran
         super(server, ProtocolType.Registration);
     }
 
+    public StdRegistrationClientTransportHandler(Server server, ClientConnectionMultiplexer multiplexer) {
+        super(server, ProtocolType.Registration, multiplexer);
+    }
+
     @Override
     public Observable<ChannelNotification<InstanceInfo>> handle(Observable<ChannelNotification<InstanceInfo>> registrationUpdates) {
         return connect().take(1).flatMap(connection -> {
@@ -56,16 +66,24 @@ public class StdRegistrationClientTransportHandler extends AbstractStdClientTran
             logger.debug("Subscribed to StdRegistrationClientTransportHandler handler");
 
             Queue<InstanceInfo> updatesQueue = new ConcurrentLinkedQueue<InstanceInfo>();
+            AtomicBoolean deltaUpdates = new AtomicBoolean();
+            AtomicReference<InstanceInfo> lastSent = new AtomicReference<>();
 
             Observable output = registrationUpdates.flatMap(update -> {
                 if (update.getKind() == ChannelNotification.Kind.Data) {
                     updatesQueue.add(update.getData());
+                    InstanceInfo previous = lastSent.getAndSet(update.getData());
+                    if (deltaUpdates.get() && previous != null && previous.getId().equals(update.getData().getId())) {
+                        return connection.writeAndFlush(asDeltaMessage(update.getData(), previous));
+                    }
                 }
                 return connection.writeAndFlush(asProtocolMessage(update));
             }).doOnUnsubscribe(() -> doGracefulShutdown(connection));
 
-            Observable<ChannelNotification<InstanceInfo>> input = connection.getInput().flatMap(next -> {
-                ProtocolMessageEnvelope envelope = (ProtocolMessageEnvelope) next;
+            Observable<ChannelNotification<InstanceInfo>> input = connection.getInput().flatMap(envelope -> {
+                if (envelope.getMessage() instanceof ServerHello && ((ServerHello) envelope.getMessage()).isDeltaUpdates()) {
+                    deltaUpdates.set(true);
+                }
                 return asChannelNotification(envelope, updatesQueue);
             }).concatWith(Observable.error(CONNECTION_CLOSED));
 
@@ -73,7 +91,7 @@ public class StdRegistrationClientTransportHandler extends AbstractStdClientTran
         });
     }
 
-    private void doGracefulShutdown(ObservableConnection<Object, Object> connection) {
+    private void doGracefulShutdown(ClientConnection connection) {
         connection.writeAndFlush(TransportModel.getDefaultModel().registrationEnvelope(TransportModel.getDefaultModel().newGoAway()))
                 .subscribe(
                         next -> {
@@ -84,6 +102,13 @@ public class StdRegistrationClientTransportHandler extends AbstractStdClientTran
         connection.close();
     }
 
+    private static ProtocolMessageEnvelope asDeltaMessage(InstanceInfo update, InstanceInfo previous) {
+        Set<Delta<?>> deltas = update.diffOlder(previous);
+        return TransportModel.getDefaultModel().registrationEnvelope(
+                TransportModel.getDefaultModel().newUpdateInstanceInfo(deltas.toArray(new Delta<?>[deltas.size()]))
+        );
+    }
+
     private static Observable<ChannelNotification<InstanceInfo>> asChannelNotification(ProtocolMessageEnvelope envelope,
                                                                                        Queue<InstanceInfo> updatesQueue) {
         Object message = envelope.getMessage();
@@ -28,7 +28,6 @@ import com.netflix.eureka2.spi.model.channel.ReplicationServerHello;
 import com.netflix.eureka2.spi.model.transport.ProtocolMessageEnvelope;
 import com.netflix.eureka2.spi.model.transport.ProtocolMessageEnvelope.ProtocolType;
 import com.netflix.eureka2.transport.ProtocolConverters;
-import io.reactivex.netty.channel.ObservableConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rx.Observable;
@@ -50,8 +49,8 @@ public class StdReplicationClientTransportHandler extends AbstractStdClientTrans
 
             Observable output = inputStream.flatMap(notification -> writeChannelNotification(connection, notification));
 
-            Observable<ChannelNotification<Void>> input = connection.getInput().flatMap(next -> {
-                return asChannelNotification((ProtocolMessageEnvelope) next);
+            Observable<ChannelNotification<Void>> input = connection.getInput().flatMap(envelope -> {
+                return asChannelNotification(envelope);
             });
 
             return Observable.merge(output, input);
@@ -77,7 +76,7 @@ public class StdReplicationClientTransportHandler extends AbstractStdClientTrans
         return Observable.error(new IllegalStateException("Unexpected response type " + message.getClass().getName()));
     }
 
-    private Observable<Void> writeChannelNotification(ObservableConnection<Object, Object> connection,
+    private Observable<Void> writeChannelNotification(ClientConnection connection,
                                                       ChannelNotification<ChangeNotification<InstanceInfo>> notification) {
         if (notification.getKind() != ChannelNotification.Kind.Data) {
             return connection.writeAndFlush(asProtocolMessage(notification));
@@ -18,12 +18,15 @@ package com.netflix.eureka2.transport.server;
 
 import java.io.IOException;
 
+import com.netflix.eureka2.channel.ChannelHandlers;
 import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.instance.InstanceInfoProjection;
 import com.netflix.eureka2.model.interest.Interest;
 import com.netflix.eureka2.model.interest.Interests;
 import com.netflix.eureka2.model.notification.ChangeNotification;
 import com.netflix.eureka2.spi.channel.ChannelNotification;
 import com.netflix.eureka2.spi.channel.ChannelPipelineFactory;
+import com.netflix.eureka2.spi.channel.ServerOverloadedException;
 import com.netflix.eureka2.spi.model.ChannelModel;
 import com.netflix.eureka2.spi.model.TransportModel;
 import com.netflix.eureka2.spi.model.channel.ClientHello;
@@ -39,10 +42,18 @@ import rx.subjects.PublishSubject;
 /**
  */
 public class InterestTransportService implements TransportService {
+
+    /**
+     * Maximum number of replies written to the connection, and not flushed yet. The channel pipeline, and the registry
+     * index behind it, is asked for a next reply only when a previous one is flushed, so a large snapshot is sent to
+     * a slow client at the pace it reads it, and the unsent part stays in the index.
+     */
+    static final int MAX_PENDING_WRITES = 128;
+
     private final PublishSubject<ChannelNotification<Interest<InstanceInfo>>> inputSubject = PublishSubject.create();
 
     InterestTransportService(ChannelPipelineFactory<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>> interestPipelineFactory,
-                             PublishSubject<ProtocolMessageEnvelope> outputSubject) {
+                             TransportOutput outputObserver) {
         interestPipelineFactory.createPipeline().take(1).flatMap(pipeline -> {
             return pipeline.getFirst().handle(inputSubject).flatMap(replyNotification -> {
                 Observable<ProtocolMessageEnvelope> envelope;
@@ -68,8 +79,18 @@ public class InterestTransportService implements TransportService {
                     return Observable.error(e);
                 }
                 return envelope;
+            }).onErrorResumeNext(e -> {
+                if (e instanceof ServerOverloadedException) {
+                    // Client is told when to come back, instead of having the connection dropped
+                    long retryAfterMs = ((ServerOverloadedException) e).getRetryAfterMs();
+                    return Observable.just(TransportModel.getDefaultModel().interestEnvelope(TransportModel.getDefaultModel().newGoAway(retryAfterMs)));
+                }
+                return Observable.error(e);
             });
-        }).subscribe(outputSubject);
+        }).flatMap(outputObserver::write, MAX_PENDING_WRITES)
+                // Replies are written directly, so only the terminal event is passed to the output observer
+                .cast(ProtocolMessageEnvelope.class)
+                .subscribe(outputObserver);
     }
 
     @Override
@@ -89,7 +110,8 @@ public class InterestTransportService implements TransportService {
             Interest<InstanceInfo> interestUpdate = ir.getInterests().length == 1
                     ? ir.getInterests()[0]
                     : Interests.forSome(ir.getInterests());
-            inputSubject.onNext(ChannelNotification.newData(interestUpdate));
+            InstanceInfoProjection projection = InstanceInfoProjection.fromArray(ir.getFieldProjection());
+            inputSubject.onNext(ChannelHandlers.setFieldProjection(ChannelNotification.newData(interestUpdate), projection));
         } else {
             inputSubject.onError(new IOException("Unexpected message of type " + message.getClass().getName()));
         }
@@ -18,7 +18,10 @@ package com.netflix.eureka2.transport.server;
 
 import java.io.IOException;
 
+import com.netflix.eureka2.model.InstanceModel;
+import com.netflix.eureka2.model.instance.Delta;
 import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.instance.InstanceInfoBuilder;
 import com.netflix.eureka2.spi.channel.ChannelNotification;
 import com.netflix.eureka2.spi.channel.ChannelPipelineFactory;
 import com.netflix.eureka2.spi.model.ChannelModel;
@@ -27,17 +30,24 @@ import com.netflix.eureka2.spi.model.channel.ClientHello;
 import com.netflix.eureka2.spi.model.channel.Heartbeat;
 import com.netflix.eureka2.spi.model.transport.GoAway;
 import com.netflix.eureka2.spi.model.transport.ProtocolMessageEnvelope;
+import com.netflix.eureka2.spi.model.transport.notification.UpdateInstanceInfo;
 import rx.Observable;
+import rx.Observer;
 import rx.subjects.PublishSubject;
 
 /**
+ * Registration updates received as deltas ({@link UpdateInstanceInfo}) are applied to the last instance
+ * received on this connection, so the registration pipeline always gets full {@link InstanceInfo} objects.
  */
 class RegistrationTransportService implements TransportService {
 
     private final PublishSubject<ChannelNotification<InstanceInfo>> inputSubject = PublishSubject.create();
 
+    // Accessed only from the connection input thread
+    private InstanceInfo lastReceived;
+
     RegistrationTransportService(ChannelPipelineFactory<InstanceInfo, InstanceInfo> registrationPipelineFactory,
-                                 PublishSubject<ProtocolMessageEnvelope> outputSubject) {
+                                 Observer<ProtocolMessageEnvelope> outputObserver) {
         registrationPipelineFactory.createPipeline().take(1).flatMap(pipeline -> {
             return pipeline.getFirst().handle(inputSubject).flatMap(replyNotification -> {
                 ProtocolMessageEnvelope envelope;
@@ -60,7 +70,7 @@ class RegistrationTransportService implements TransportService {
                 }
                 return Observable.just(envelope);
             });
-        }).subscribe(outputSubject);
+        }).subscribe(outputObserver);
     }
 
     @Override
@@ -78,7 +88,19 @@ class RegistrationTransportService implements TransportService {
         } else if (message instanceof ClientHello) {
             inputSubject.onNext(ChannelNotification.newHello(message));
         } else if (message instanceof InstanceInfo) {
-            inputSubject.onNext(ChannelNotification.newData((InstanceInfo) message));
+            lastReceived = (InstanceInfo) message;
+            inputSubject.onNext(ChannelNotification.newData(lastReceived));
+        } else if (message instanceof UpdateInstanceInfo) {
+            if (lastReceived == null) {
+                inputSubject.onError(new IOException("Delta update received before full registration"));
+                return;
+            }
+            InstanceInfoBuilder builder = InstanceModel.getDefaultModel().newInstanceInfo().withInstanceInfo(lastReceived);
+            for (Delta<?> delta : ((UpdateInstanceInfo) message).getDeltas()) {
+                delta.applyTo(builder);
+            }
+            lastReceived = builder.build();
+            inputSubject.onNext(ChannelNotification.newData(lastReceived));
         } else {
             inputSubject.onError(new IOException("Unexpected message of type " + message.getClass().getName()));
         }
@@ -32,6 +32,7 @@ import com.netflix.eureka2.spi.model.transport.ProtocolMessageEnvelope;
 import com.netflix.eureka2.spi.model.transport.ProtocolMessageEnvelope.ProtocolType;
 import com.netflix.eureka2.transport.ProtocolConverters;
 import rx.Observable;
+import rx.Observer;
 import rx.subjects.PublishSubject;
 
 
@@ -43,7 +44,7 @@ public class ReplicationTransportService implements TransportService {
     private final Map<String, InstanceInfo> instanceCache = new HashMap<>();
 
     ReplicationTransportService(ChannelPipelineFactory<ChangeNotification<InstanceInfo>, Void> replicationPipelineFactory,
-                                PublishSubject<ProtocolMessageEnvelope> outputSubject) {
+                                Observer<ProtocolMessageEnvelope> outputObserver) {
         replicationPipelineFactory.createPipeline().take(1).flatMap(pipeline -> {
             return pipeline.getFirst().handle(inputSubject).flatMap(replyNotification -> {
                 Observable<ProtocolMessageEnvelope> envelope;
@@ -66,7 +67,7 @@ public class ReplicationTransportService implements TransportService {
                 }
                 return envelope;
             });
-        }).subscribe(outputSubject);
+        }).subscribe(outputObserver);
     }
 
     @Override
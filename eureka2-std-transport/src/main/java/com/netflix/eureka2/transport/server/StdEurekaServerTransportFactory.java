@@ -16,13 +16,25 @@
 
 package com.netflix.eureka2.transport.server;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 
 import com.netflix.eureka2.model.instance.InstanceInfo;
 import com.netflix.eureka2.model.interest.Interest;
 import com.netflix.eureka2.model.notification.ChangeNotification;
+import com.netflix.eureka2.model.transport.StdProtocolMessageEnvelope;
 import com.netflix.eureka2.spi.channel.ChannelPipelineFactory;
+import com.netflix.eureka2.spi.model.ChannelModel;
+import com.netflix.eureka2.spi.model.TransportModel;
+import com.netflix.eureka2.spi.model.channel.Heartbeat;
+import com.netflix.eureka2.spi.model.transport.GoAway;
 import com.netflix.eureka2.spi.model.transport.ProtocolMessageEnvelope;
+import com.netflix.eureka2.spi.model.transport.ProtocolMessageEnvelope.ProtocolType;
 import com.netflix.eureka2.spi.transport.EurekaServerTransportFactory;
 import com.netflix.eureka2.transport.client.EurekaPipelineConfigurator;
 import io.reactivex.netty.RxNetty;
@@ -32,7 +44,10 @@ import io.reactivex.netty.server.RxServer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rx.Observable;
+import rx.functions.Action1;
+import rx.subjects.AsyncSubject;
 import rx.subjects.PublishSubject;
+import rx.subjects.SerializedSubject;
 
 /**
  */
@@ -99,10 +114,11 @@ public class StdEurekaServerTransportFactory extends EurekaServerTransportFactor
         public Observable<Void> handle(ObservableConnection<Object, Object> connection) {
             logger.debug("Subscribed to StdEurekaServerTransportFactory handler");
 
-            PublishSubject<ProtocolMessageEnvelope> outputSubject = PublishSubject.create();
-            Observable<Void> output = outputSubject.flatMap(envelope -> connection.writeAndFlush(envelope));
+            ConnectionOutput connectionOutput = new ConnectionOutput();
+            Observable<Void> output = connectionOutput.writeLoop(connection);
 
             AtomicReference<TransportService> session = new AtomicReference<>();
+            ConnectionStreams streams = new ConnectionStreams(connectionOutput);
 
             shutdownHook.doOnTerminate(() -> connection.close()).subscribe();
 
@@ -110,18 +126,13 @@ public class StdEurekaServerTransportFactory extends EurekaServerTransportFactor
             Observable<Void> input = connection.getInput()
                     .doOnNext(next -> {
                         ProtocolMessageEnvelope envelope = (ProtocolMessageEnvelope) next;
+                        Integer streamId = envelope instanceof StdProtocolMessageEnvelope ? ((StdProtocolMessageEnvelope) envelope).getStreamId() : null;
+                        if (streamId != null) {
+                            streams.handleInput(streamId, envelope);
+                            return;
+                        }
                         if (session.get() == null) {
-                            switch (envelope.getProtocolType()) {
-                                case Registration:
-                                    session.set(new RegistrationTransportService(registrationPipelineFactory, outputSubject));
-                                    break;
-                                case Interest:
-                                    session.set(new InterestTransportService(interestPipelineFactory, outputSubject));
-                                    break;
-                                case Replication:
-                                    session.set(new ReplicationTransportService(replicationPipelineFactory, outputSubject));
-                                    break;
-                            }
+                            session.set(newTransportService(envelope.getProtocolType(), connectionOutput));
                         }
                         session.get().handleInput(envelope);
                     })
@@ -131,9 +142,226 @@ public class StdEurekaServerTransportFactory extends EurekaServerTransportFactor
                         if (session.get() != null) {
                             session.get().terminateInput();
                         }
+                        streams.terminateAll();
                     });
 
             return Observable.merge(output, input);
         }
+
+        /**
+         * Each stream of a multiplexed connection gets its own transport service and channel pipeline. A stream is
+         * closed by the client with {@link GoAway} message. Completion of a stream's reply does not terminate
+         * the connection, and neither does an error. A stream with a failed reply is closed by the server with
+         * {@link GoAway} carrying the stream id, and its input is dropped until the client confirms the close
+         * with its own {@link GoAway}. Other streams of the connection are not affected.
+         * <p>
+         * The client sends a single heartbeat per connection, which is replied to once, and forwarded to all stream
+         * pipelines, so their heartbeat timeouts are reset. Heartbeat replies of the stream pipelines are not sent
+         * (see {@link StreamOutputObserver}).
+         */
+        private class ConnectionStreams {
+
+            private final TransportOutput connectionOutput;
+
+            // Guarded by this
+            private final Map<Integer, TransportService> streams = new HashMap<>();
+            private final Map<Integer, ProtocolType> streamProtocols = new HashMap<>();
+            private final Set<Integer> closedStreams = new HashSet<>();
+
+            private ConnectionStreams(TransportOutput connectionOutput) {
+                this.connectionOutput = connectionOutput;
+            }
+
+            void handleInput(int streamId, ProtocolMessageEnvelope envelope) {
+                if (streamId == StdProtocolMessageEnvelope.CONNECTION_STREAM_ID) {
+                    handleConnectionInput(envelope);
+                    return;
+                }
+                TransportService stream;
+                synchronized (this) {
+                    if (envelope.getMessage() instanceof GoAway) {
+                        closedStreams.remove(streamId);
+                        streamProtocols.remove(streamId);
+                        stream = streams.remove(streamId);
+                        if (stream == null) {
+                            return;
+                        }
+                        logger.debug("Closing stream {} of multiplexed connection", streamId);
+                    } else {
+                        if (closedStreams.contains(streamId)) {
+                            return;
+                        }
+                        stream = streams.get(streamId);
+                        if (stream == null) {
+                            StreamOutputObserver streamOutput = new StreamOutputObserver(streamId, envelope.getProtocolType(), connectionOutput, this::closeOnError);
+                            stream = newTransportService(envelope.getProtocolType(), streamOutput);
+                            streams.put(streamId, stream);
+                            streamProtocols.put(streamId, envelope.getProtocolType());
+                        }
+                    }
+                }
+                if (envelope.getMessage() instanceof GoAway) {
+                    stream.terminateInput();
+                } else {
+                    stream.handleInput(envelope);
+                }
+            }
+
+            private void handleConnectionInput(ProtocolMessageEnvelope envelope) {
+                if (!(envelope.getMessage() instanceof Heartbeat)) {
+                    logger.debug("Dropping unexpected connection level message {}", envelope.getMessage());
+                    return;
+                }
+                connectionOutput.onNext(new StdProtocolMessageEnvelope(
+                        envelope.getProtocolType(), ChannelModel.getDefaultModel().newHeartbeat(), StdProtocolMessageEnvelope.CONNECTION_STREAM_ID
+                ));
+                Map<TransportService, ProtocolType> openStreams = new HashMap<>();
+                synchronized (this) {
+                    for (Map.Entry<Integer, TransportService> entry : streams.entrySet()) {
+                        openStreams.put(entry.getValue(), streamProtocols.get(entry.getKey()));
+                    }
+                }
+                for (Map.Entry<TransportService, ProtocolType> entry : openStreams.entrySet()) {
+                    entry.getKey().handleInput(TransportModel.getDefaultModel().newEnvelope(entry.getValue(), ChannelModel.getDefaultModel().newHeartbeat()));
+                }
+            }
+
+            void closeOnError(int streamId) {
+                TransportService stream;
+                synchronized (this) {
+                    closedStreams.add(streamId);
+                    streamProtocols.remove(streamId);
+                    stream = streams.remove(streamId);
+                }
+                if (stream != null) {
+                    stream.terminateInput();
+                }
+            }
+
+            void terminateAll() {
+                List<TransportService> openStreams;
+                synchronized (this) {
+                    openStreams = new ArrayList<>(streams.values());
+                    streams.clear();
+                    streamProtocols.clear();
+                }
+                for (TransportService stream : openStreams) {
+                    stream.terminateInput();
+                }
+            }
+        }
+
+        private TransportService newTransportService(ProtocolType protocolType, TransportOutput outputObserver) {
+            switch (protocolType) {
+                case Registration:
+                    return new RegistrationTransportService(registrationPipelineFactory, outputObserver);
+                case Interest:
+                    return new InterestTransportService(interestPipelineFactory, outputObserver);
+                case Replication:
+                    return new ReplicationTransportService(replicationPipelineFactory, outputObserver);
+            }
+            throw new IllegalArgumentException("Unrecognized protocol type " + protocolType);
+        }
+    }
+
+    /**
+     * Output of a connection, shared by all its transport services. Replies of multiplexed streams are emitted from
+     * different pipelines concurrently, so they are serialized into a single write loop.
+     */
+    static class ConnectionOutput implements TransportOutput {
+
+        private final SerializedSubject<PendingWrite, PendingWrite> writeSubject = PublishSubject.<PendingWrite>create().toSerialized();
+
+        Observable<Void> writeLoop(ObservableConnection<Object, Object> connection) {
+            return writeSubject.flatMap(pendingWrite -> {
+                Observable<Void> written = connection.writeAndFlush(pendingWrite.envelope);
+                if (pendingWrite.flushed == null) {
+                    return written;
+                }
+                return written
+                        .doOnError(pendingWrite.flushed::onError)
+                        .doOnCompleted(pendingWrite.flushed::onCompleted);
+            });
+        }
+
+        @Override
+        public Observable<Void> write(ProtocolMessageEnvelope envelope) {
+            AsyncSubject<Void> flushed = AsyncSubject.create();
+            writeSubject.onNext(new PendingWrite(envelope, flushed));
+            return flushed;
+        }
+
+        @Override
+        public void onCompleted() {
+            writeSubject.onCompleted();
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            writeSubject.onError(e);
+        }
+
+        @Override
+        public void onNext(ProtocolMessageEnvelope envelope) {
+            writeSubject.onNext(new PendingWrite(envelope, null));
+        }
+    }
+
+    static class PendingWrite {
+        final ProtocolMessageEnvelope envelope;
+        final AsyncSubject<Void> flushed;
+
+        PendingWrite(ProtocolMessageEnvelope envelope, AsyncSubject<Void> flushed) {
+            this.envelope = envelope;
+            this.flushed = flushed;
+        }
+    }
+
+    /**
+     * Sets stream id on reply envelopes of a multiplexed stream. A reply error is sent to the client
+     * as {@link GoAway} of this stream only. Heartbeat replies are dropped, as heartbeats are replied to
+     * once per connection.
+     */
+    static class StreamOutputObserver implements TransportOutput {
+
+        private final int streamId;
+        private final ProtocolType protocolType;
+        private final TransportOutput outputSubject;
+        private final Action1<Integer> onStreamError;
+
+        StreamOutputObserver(int streamId, ProtocolType protocolType, TransportOutput outputSubject, Action1<Integer> onStreamError) {
+            this.streamId = streamId;
+            this.protocolType = protocolType;
+            this.outputSubject = outputSubject;
+            this.onStreamError = onStreamError;
+        }
+
+        @Override
+        public Observable<Void> write(ProtocolMessageEnvelope envelope) {
+            if (envelope.getMessage() instanceof Heartbeat) {
+                return Observable.empty();
+            }
+            return outputSubject.write(new StdProtocolMessageEnvelope(envelope.getProtocolType(), envelope.getMessage(), streamId));
+        }
+
+        @Override
+        public void onCompleted() {
+            logger.debug("Reply stream {} of multiplexed connection completed", streamId);
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            logger.info("Reply stream {} of multiplexed connection failed; closing the stream: {}", streamId, e.toString());
+            outputSubject.onNext(new StdProtocolMessageEnvelope(protocolType, TransportModel.getDefaultModel().newGoAway(), streamId));
+            onStreamError.call(streamId);
+        }
+
+        @Override
+        public void onNext(ProtocolMessageEnvelope envelope) {
+            if (envelope.getMessage() instanceof Heartbeat) {
+                return;
+            }
+            outputSubject.onNext(new StdProtocolMessageEnvelope(envelope.getProtocolType(), envelope.getMessage(), streamId));
+        }
     }
 }
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.eureka2.transport.server;
+
+import com.netflix.eureka2.spi.model.transport.ProtocolMessageEnvelope;
+import rx.Observable;
+import rx.Observer;
+
+/**
+ * Reply side of a {@link TransportService}. Replies sent with {@link #onNext(Object)} are written without
+ * any feedback, while {@link #write(ProtocolMessageEnvelope)} lets a service bound the number of replies
+ * not yet flushed to the connection.
+ */
+interface TransportOutput extends Observer<ProtocolMessageEnvelope> {
+
+    /**
+     * @return observable that completes when the reply is flushed to the connection
+     */
+    Observable<Void> write(ProtocolMessageEnvelope envelope);
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.eureka2.codec.jackson;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import com.netflix.eureka2.model.Source;
+import com.netflix.eureka2.model.StdSource;
+import com.netflix.eureka2.model.channel.StdClientHello;
+import com.netflix.eureka2.model.channel.StdReplicationClientHello;
+import com.netflix.eureka2.model.channel.StdReplicationServerHello;
+import com.netflix.eureka2.model.channel.StdServerHello;
+import com.netflix.eureka2.spi.codec.EurekaCodec;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Hello messages must stay readable by peers running the previous protocol version, and
+ * messages from such peers must be readable by the current one.
+ */
+public class JacksonHelloCompatibilityTest {
+
+    private static final Source SOURCE = new StdSource(Source.Origin.LOCAL, "peer", 1);
+    private static final String SOURCE_JSON = "{\"origin\":\"LOCAL\",\"name\":\"peer\",\"id\":1}";
+
+    private final EurekaCodec codec = new JacksonEurekaCodecFactory().getCodec();
+
+    @Test
+    public void testOldClientHelloIsDecoded() throws IOException {
+        StdClientHello decoded = decode("{\"clientSource\":" + SOURCE_JSON + '}', StdClientHello.class);
+        assertThat(decoded, is(equalTo(new StdClientHello(SOURCE))));
+        assertThat(decoded.getHeartbeatIntervalMs(), is(equalTo(0L)));
+    }
+
+    @Test
+    public void testClientHelloWithoutHeartbeatIsEncodedInOldFormat() throws IOException {
+        assertThat(encode(new StdClientHello(SOURCE)), is(equalTo("{\"clientSource\":" + SOURCE_JSON + '}')));
+    }
+
+    @Test
+    public void testOldServerHelloIsDecoded() throws IOException {
+        StdServerHello decoded = decode("{\"serverSource\":" + SOURCE_JSON + '}', StdServerHello.class);
+        assertThat(decoded, is(equalTo(new StdServerHello(SOURCE))));
+        assertThat(decoded.getHeartbeatIntervalMs(), is(equalTo(0L)));
+        assertThat(decoded.getServerTier(), is(equalTo(0)));
+    }
+
+    @Test
+    public void testServerHelloWithDefaultsIsEncodedInOldFormat() throws IOException {
+        assertThat(encode(new StdServerHello(SOURCE)), is(equalTo("{\"serverSource\":" + SOURCE_JSON + '}')));
+    }
+
+    @Test
+    public void testServerHelloWithDeltaUpdatesIsDecoded() throws IOException {
+        StdServerHello hello = new StdServerHello(SOURCE, 0, true);
+        assertThat(encode(hello), containsString("\"deltaUpdates\":true"));
+        assertThat(decode(encode(hello), StdServerHello.class).isDeltaUpdates(), is(true));
+    }
+
+    @Test
+    public void testOldReplicationHellosAreDecoded() throws IOException {
+        String clientJson = "{\"clientSource\":" + SOURCE_JSON + ",\"registrySize\":5}";
+        assertThat(decode(clientJson, StdReplicationClientHello.class), is(equalTo(new StdReplicationClientHello(SOURCE, 5))));
+        assertThat(encode(new StdReplicationClientHello(SOURCE, 5)), is(equalTo(clientJson)));
+
+        String serverJson = "{\"serverSource\":" + SOURCE_JSON + '}';
+        assertThat(decode(serverJson, StdReplicationServerHello.class), is(equalTo(new StdReplicationServerHello(SOURCE))));
+        assertThat(encode(new StdReplicationServerHello(SOURCE)), is(equalTo(serverJson)));
+    }
+
+    @Test
+    public void testUnknownHelloFieldsAreIgnored() throws IOException {
+        String json = "{\"clientSource\":" + SOURCE_JSON + ",\"heartbeatIntervalMs\":1000,\"someFutureField\":true}";
+        StdClientHello decoded = decode(json, StdClientHello.class);
+        assertThat(decoded, is(equalTo(new StdClientHello(SOURCE, 1000))));
+    }
+
+    private String encode(Object value) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        codec.encode(value, output);
+        return new String(output.toByteArray(), "UTF-8");
+    }
+
+    private <T> T decode(String json, Class<T> type) throws IOException {
+        return codec.decode(new ByteArrayInputStream(json.getBytes("UTF-8")), type);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.eureka2.codec.jackson;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import com.netflix.eureka2.model.InstanceModel;
+import com.netflix.eureka2.model.StdInstanceModel;
+import com.netflix.eureka2.model.instance.InstanceInfoField;
+import com.netflix.eureka2.model.interest.Interests;
+import com.netflix.eureka2.model.transport.StdInterestRegistration;
+import com.netflix.eureka2.spi.codec.EurekaCodec;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Interest registrations without a field projection must keep the previous wire format, and registrations
+ * carrying fields unknown to the reader must still be decoded.
+ */
+public class JacksonInterestRegistrationCompatibilityTest {
+
+    private final EurekaCodec codec = new JacksonEurekaCodecFactory().getCodec();
+
+    @BeforeClass
+    public static void setUp() throws Exception {
+        InstanceModel.setDefaultModel(StdInstanceModel.getStdModel());
+    }
+
+    @Test
+    public void testRegistrationWithoutProjectionIsEncodedInOldFormat() throws IOException {
+        StdInterestRegistration registration = new StdInterestRegistration(Interests.forApplications("app"));
+        assertThat(encode(registration), not(containsString("fieldProjection")));
+    }
+
+    @Test
+    public void testUnknownRegistrationFieldsAreIgnored() throws IOException {
+        StdInterestRegistration registration = new StdInterestRegistration(
+                Interests.forApplications("app"),
+                new InstanceInfoField.Name[]{InstanceInfoField.Name.Status}
+        );
+        String json = encode(registration);
+        String extendedJson = json.substring(0, json.length() - 1) + ",\"someFutureField\":[\"value\"]}";
+
+        assertThat(decode(extendedJson), is(equalTo(registration)));
+    }
+
+    private String encode(Object value) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        codec.encode(value, output);
+        return new String(output.toByteArray(), "UTF-8");
+    }
+
+    private StdInterestRegistration decode(String json) throws IOException {
+        return codec.decode(new ByteArrayInputStream(json.getBytes("UTF-8")), StdInterestRegistration.class);
+    }
+}
@@ -0,0 +1,190 @@
+package com.netflix.eureka2.codec.jackson;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.netflix.eureka2.StdTransportInjector;
+import com.netflix.eureka2.junit.categories.LongRunningTest;
+import com.netflix.eureka2.metric.EurekaRegistryMetricFactory;
+import com.netflix.eureka2.model.InstanceModel;
+import com.netflix.eureka2.model.Source;
+import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.instance.StdInstanceInfo;
+import com.netflix.eureka2.model.interest.Interests;
+import com.netflix.eureka2.model.notification.ChangeNotification;
+import com.netflix.eureka2.model.notification.ChangeNotification.Kind;
+import com.netflix.eureka2.model.notification.StreamStateNotification;
+import com.netflix.eureka2.model.notification.StreamStateNotification.BufferState;
+import com.netflix.eureka2.model.transport.StdProtocolMessageEnvelope;
+import com.netflix.eureka2.model.transport.notification.StdAddInstance;
+import com.netflix.eureka2.registry.EurekaRegistry;
+import com.netflix.eureka2.registry.EurekaRegistryImpl;
+import com.netflix.eureka2.registry.index.IndexRegistryImpl;
+import com.netflix.eureka2.spi.codec.EurekaCodec;
+import com.netflix.eureka2.spi.model.transport.ProtocolMessageEnvelope.ProtocolType;
+import com.netflix.eureka2.testkit.data.builder.SampleInstanceInfo;
+import com.netflix.eureka2.transport.ProtocolConverters;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rx.Observable;
+import rx.Subscription;
+import rx.schedulers.Schedulers;
+import rx.schedulers.TestScheduler;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class PreEncodedInstanceInfoSerializerTest {
+
+    static {
+        StdTransportInjector.inject();
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(PreEncodedInstanceInfoSerializerTest.class);
+
+    private final EurekaCodec codec = new JacksonEurekaCodecFactory().getCodec();
+
+    @Before
+    public void setUp() throws Exception {
+        PreEncodedInstanceInfoSerializer.setCacheEnabled(true);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        PreEncodedInstanceInfoSerializer.setCacheEnabled(false);
+    }
+
+    @Test
+    public void testAddInstanceEncodingIsNotCachedWhenDisabled() throws Exception {
+        PreEncodedInstanceInfoSerializer.setCacheEnabled(false);
+
+        StdInstanceInfo instanceInfo = (StdInstanceInfo) SampleInstanceInfo.WebServer.build();
+        byte[] encoded = encode(addInstanceEnvelope(instanceInfo));
+        assertThat(instanceInfo.getEncodedForm(), is(nullValue()));
+
+        StdProtocolMessageEnvelope decoded = codec.decode(new ByteArrayInputStream(encoded), StdProtocolMessageEnvelope.class);
+        assertThat(((StdAddInstance) decoded.getMessage()).getInstanceInfo(), is(equalTo((InstanceInfo) instanceInfo)));
+    }
+
+    @Test
+    public void testAddInstanceEncodingIsCachedPerInstance() throws Exception {
+        StdInstanceInfo instanceInfo = (StdInstanceInfo) SampleInstanceInfo.WebServer.build();
+        assertThat(instanceInfo.getEncodedForm(), is(nullValue()));
+
+        byte[] firstEncoding = encode(addInstanceEnvelope(instanceInfo));
+        assertThat(instanceInfo.getEncodedForm(), is(notNullValue()));
+
+        // Cached form is reused, and produces the same output
+        byte[] secondEncoding = encode(addInstanceEnvelope(instanceInfo));
+        assertThat(secondEncoding, is(equalTo(firstEncoding)));
+
+        // Cached form is not part of the serialized content
+        StdProtocolMessageEnvelope decoded = codec.decode(new ByteArrayInputStream(secondEncoding), StdProtocolMessageEnvelope.class);
+        StdInstanceInfo decodedInstance = (StdInstanceInfo) ((StdAddInstance) decoded.getMessage()).getInstanceInfo();
+        assertThat(decodedInstance, is(equalTo(instanceInfo)));
+        assertThat(decodedInstance.getEncodedForm(), is(nullValue()));
+    }
+
+    @Test
+    public void testNewInstanceVersionIsEncodedAgain() throws Exception {
+        StdInstanceInfo instanceInfo = (StdInstanceInfo) SampleInstanceInfo.WebServer.build();
+        encode(addInstanceEnvelope(instanceInfo));
+
+        StdInstanceInfo updated = (StdInstanceInfo) InstanceModel.getDefaultModel().newInstanceInfo()
+                .withInstanceInfo(instanceInfo)
+                .withStatus(InstanceInfo.Status.DOWN)
+                .build();
+        assertThat(updated.getEncodedForm(), is(nullValue()));
+
+        StdProtocolMessageEnvelope decoded = codec.decode(
+                new ByteArrayInputStream(encode(addInstanceEnvelope(updated))), StdProtocolMessageEnvelope.class
+        );
+        assertThat(((StdAddInstance) decoded.getMessage()).getInstanceInfo().getStatus(), is(equalTo(InstanceInfo.Status.DOWN)));
+    }
+
+    /**
+     * Simulates a reconnect storm, with all clients subscribing to the full registry of a read server at the
+     * same time. The first subscriber pays for encoding all instances, the remaining ones reuse pre-encoded data.
+     */
+    @Test
+    @Category(LongRunningTest.class)
+    public void testReconnectStormRecoveryTime() throws Exception {
+        int registrySize = 10000;
+        int clients = 200;
+
+        TestScheduler testScheduler = Schedulers.test();
+        EurekaRegistry<InstanceInfo> registry = new EurekaRegistryImpl(
+                new IndexRegistryImpl<InstanceInfo>(), EurekaRegistryMetricFactory.registryMetrics(), testScheduler);
+        List<ChangeNotification<InstanceInfo>> content = new ArrayList<>();
+        for (int i = 0; i < registrySize; i++) {
+            content.add(new ChangeNotification<>(Kind.Add, SampleInstanceInfo.WebServer.build()));
+        }
+        Source source = InstanceModel.getDefaultModel().createSource(Source.Origin.INTERESTED, "writeServer");
+        Subscription subscription = registry.connect(source, Observable.from(content).concatWith(Observable.never())).subscribe();
+        testScheduler.triggerActions();
+
+        long startTime = System.nanoTime();
+        long bytes = sendSnapshot(registry);
+        long coldNs = System.nanoTime() - startTime;
+
+        startTime = System.nanoTime();
+        for (int i = 1; i < clients; i++) {
+            sendSnapshot(registry);
+        }
+        long warmNs = (System.nanoTime() - startTime) / (clients - 1);
+
+        logger.warn("Snapshot of {} instances ({} bytes): first subscriber {}ms, next subscribers {}ms; storm of {} clients recovered in {}ms",
+                registrySize, bytes, coldNs / 1000000, warmNs / 1000000, clients, (coldNs + warmNs * (clients - 1)) / 1000000);
+        subscription.unsubscribe();
+    }
+
+    private long sendSnapshot(EurekaRegistry<InstanceInfo> registry) throws IOException {
+        CountingOutputStream output = new CountingOutputStream();
+        List<ChangeNotification<InstanceInfo>> snapshot = registry.forInterest(Interests.forFullRegistry())
+                .takeUntil(notification -> notification instanceof StreamStateNotification
+                        && ((StreamStateNotification<InstanceInfo>) notification).getBufferState() == BufferState.BufferEnd)
+                .toList()
+                .toBlocking()
+                .first();
+        for (ChangeNotification<InstanceInfo> notification : snapshot) {
+            codec.encode(ProtocolConverters.asProtocolEnvelope(ProtocolType.Interest, notification), output);
+        }
+        return output.count;
+    }
+
+    private static StdProtocolMessageEnvelope addInstanceEnvelope(StdInstanceInfo instanceInfo) {
+        return new StdProtocolMessageEnvelope(ProtocolType.Interest, new StdAddInstance(instanceInfo));
+    }
+
+    private byte[] encode(StdProtocolMessageEnvelope envelope) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        codec.encode(envelope, output);
+        return output.toByteArray();
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
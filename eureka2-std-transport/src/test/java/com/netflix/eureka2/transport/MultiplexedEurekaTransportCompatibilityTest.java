@@ -0,0 +1,161 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.eureka2.transport;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import com.netflix.eureka2.StdTransportInjector;
+import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.interest.Interest;
+import com.netflix.eureka2.model.notification.ChangeNotification;
+import com.netflix.eureka2.spi.channel.ChannelNotification;
+import com.netflix.eureka2.spi.transport.EurekaClientTransportFactory;
+import com.netflix.eureka2.spi.transport.EurekaServerTransportFactory;
+import com.netflix.eureka2.testkit.compatibility.transport.EurekaTransportCompatibilityTestSuite;
+import com.netflix.eureka2.testkit.compatibility.transport.TransportSession;
+import com.netflix.eureka2.testkit.internal.rx.ExtTestSubscriber;
+import com.netflix.eureka2.transport.TransportDisconnected;
+import com.netflix.eureka2.transport.client.MultiplexingEurekaClientTransportFactory;
+import com.netflix.eureka2.transport.server.StdEurekaServerTransportFactory;
+import org.junit.Test;
+import rx.Subscription;
+import rx.subjects.ReplaySubject;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Runs the transport compatibility suite with registration and interest channels multiplexed over shared connections.
+ */
+public class MultiplexedEurekaTransportCompatibilityTest extends EurekaTransportCompatibilityTestSuite {
+
+    static {
+        StdTransportInjector.inject();
+    }
+
+    private static final long HEARTBEAT_INTERVAL_MS = 100;
+
+    private MultiplexingEurekaClientTransportFactory clientTransportFactory;
+
+    @Override
+    protected EurekaClientTransportFactory newClientTransportFactory() {
+        clientTransportFactory = new MultiplexingEurekaClientTransportFactory(HEARTBEAT_INTERVAL_MS);
+        return clientTransportFactory;
+    }
+
+    @Override
+    protected EurekaServerTransportFactory newServerTransportFactory() {
+        return new StdEurekaServerTransportFactory();
+    }
+
+    @Test(timeout = 30000)
+    public void testRegistrationAndInterestChannelsShareConnection() throws Exception {
+        TransportSession session = getSession();
+
+        ReplaySubject<ChannelNotification<InstanceInfo>> registrations = ReplaySubject.create();
+        ExtTestSubscriber<ChannelNotification<InstanceInfo>> registrationSubscriber = new ExtTestSubscriber<>();
+        Subscription registrationSubscription = session.createRegistrationClient().handle(registrations).subscribe(registrationSubscriber);
+
+        ReplaySubject<ChannelNotification<Interest<InstanceInfo>>> interests = ReplaySubject.create();
+        ExtTestSubscriber<ChannelNotification<ChangeNotification<InstanceInfo>>> interestSubscriber = new ExtTestSubscriber<>();
+        Subscription interestSubscription = session.createInterestClient().handle(interests).subscribe(interestSubscriber);
+
+        // Each stream has its own handshake
+        registrations.onNext(ChannelNotification.newHello(session.getClientHello()));
+        interests.onNext(ChannelNotification.newHello(session.getClientHello()));
+        assertThat(registrationSubscriber.takeNextOrWait().getKind(), is(equalTo(ChannelNotification.Kind.Hello)));
+        assertThat(interestSubscriber.takeNextOrWait().getKind(), is(equalTo(ChannelNotification.Kind.Hello)));
+
+        registrations.onNext(ChannelNotification.newHeartbeat());
+        assertThat(registrationSubscriber.takeNextOrWait().getKind(), is(equalTo(ChannelNotification.Kind.Heartbeat)));
+        assertThat(clientTransportFactory.getMultiplexer().getConnectionCount(), is(equalTo(1)));
+
+        // Closing one stream does not affect the other one
+        registrationSubscription.unsubscribe();
+        interests.onNext(ChannelNotification.newHeartbeat());
+        assertThat(interestSubscriber.takeNextOrWait().getKind(), is(equalTo(ChannelNotification.Kind.Heartbeat)));
+        assertThat(clientTransportFactory.getMultiplexer().getConnectionCount(), is(equalTo(1)));
+
+        // Connection is closed with the last stream
+        interestSubscription.unsubscribe();
+        assertThat(clientTransportFactory.getMultiplexer().getConnectionCount(), is(equalTo(0)));
+    }
+
+    @Test(timeout = 30000)
+    public void testStreamErrorClosesOnlyThatStream() throws Exception {
+        TransportSession session = getSession();
+
+        ReplaySubject<ChannelNotification<InstanceInfo>> registrations = ReplaySubject.create();
+        ExtTestSubscriber<ChannelNotification<InstanceInfo>> registrationSubscriber = new ExtTestSubscriber<>();
+        session.createRegistrationClient().handle(registrations).subscribe(registrationSubscriber);
+
+        ReplaySubject<ChannelNotification<Interest<InstanceInfo>>> interests = ReplaySubject.create();
+        ExtTestSubscriber<ChannelNotification<ChangeNotification<InstanceInfo>>> interestSubscriber = new ExtTestSubscriber<>();
+        session.createInterestClient().handle(interests).subscribe(interestSubscriber);
+
+        registrations.onNext(ChannelNotification.newHello(session.getClientHello()));
+        interests.onNext(ChannelNotification.newHello(session.getClientHello()));
+        assertThat(registrationSubscriber.takeNextOrWait().getKind(), is(equalTo(ChannelNotification.Kind.Hello)));
+        assertThat(interestSubscriber.takeNextOrWait().getKind(), is(equalTo(ChannelNotification.Kind.Hello)));
+
+        // Failed interest stream is closed with a stream scoped GoAway
+        session.failInterestReplyStream(new IOException("simulated interest stream error"));
+        interestSubscriber.assertOnError(TransportDisconnected.class, 5, TimeUnit.SECONDS);
+
+        // Registration stream on the same connection is still active
+        registrations.onNext(ChannelNotification.newHeartbeat());
+        assertThat(registrationSubscriber.takeNextOrWait().getKind(), is(equalTo(ChannelNotification.Kind.Heartbeat)));
+        assertThat(clientTransportFactory.getMultiplexer().getConnectionCount(), is(equalTo(1)));
+    }
+
+    @Test(timeout = 30000)
+    public void testConnectionHeartbeatIsForwardedToAllStreams() throws Exception {
+        TransportSession session = getSession();
+
+        ReplaySubject<ChannelNotification<InstanceInfo>> registrations = ReplaySubject.create();
+        ExtTestSubscriber<ChannelNotification<InstanceInfo>> registrationSubscriber = new ExtTestSubscriber<>();
+        session.createRegistrationClient().handle(registrations).subscribe(registrationSubscriber);
+
+        ReplaySubject<ChannelNotification<Interest<InstanceInfo>>> interests = ReplaySubject.create();
+        ExtTestSubscriber<ChannelNotification<ChangeNotification<InstanceInfo>>> interestSubscriber = new ExtTestSubscriber<>();
+        session.createInterestClient().handle(interests).subscribe(interestSubscriber);
+
+        registrations.onNext(ChannelNotification.newHello(session.getClientHello()));
+        interests.onNext(ChannelNotification.newHello(session.getClientHello()));
+        assertThat(registrationSubscriber.takeNextOrWait().getKind(), is(equalTo(ChannelNotification.Kind.Hello)));
+        assertThat(interestSubscriber.takeNextOrWait().getKind(), is(equalTo(ChannelNotification.Kind.Hello)));
+
+        // Server side stream pipelines observe the connection heartbeat, without the streams sending their own
+        long deadline = System.currentTimeMillis() + 10 * HEARTBEAT_INTERVAL_MS;
+        while ((session.getRegistrationHeartbeatCount() < 2 || session.getInterestHeartbeatCount() < 2) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(HEARTBEAT_INTERVAL_MS);
+        }
+        assertThat(session.getRegistrationHeartbeatCount() >= 2, is(true));
+        assertThat(session.getInterestHeartbeatCount() >= 2, is(true));
+
+        // Heartbeat replies of the server side streams are not sent to the client
+        assertThat(registrationSubscriber.takeNext(), is(nullValue()));
+        assertThat(interestSubscriber.takeNext(), is(nullValue()));
+
+        // Stream heartbeats are answered with the next connection heartbeat reply
+        registrations.onNext(ChannelNotification.newHeartbeat());
+        assertThat(registrationSubscriber.takeNextOrWait().getKind(), is(equalTo(ChannelNotification.Kind.Heartbeat)));
+    }
+}
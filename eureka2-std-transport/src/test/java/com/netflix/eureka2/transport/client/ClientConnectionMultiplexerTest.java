@@ -0,0 +1,98 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.eureka2.transport.client;
+
+import java.util.concurrent.TimeUnit;
+
+import com.netflix.eureka2.StdTransportInjector;
+import com.netflix.eureka2.model.Server;
+import com.netflix.eureka2.spi.model.transport.ProtocolMessageEnvelope.ProtocolType;
+import com.netflix.eureka2.testkit.internal.rx.ExtTestSubscriber;
+import io.reactivex.netty.channel.ObservableConnection;
+import org.junit.Before;
+import org.junit.Test;
+import rx.Observable;
+import rx.Subscription;
+import rx.schedulers.TestScheduler;
+import rx.subjects.PublishSubject;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ClientConnectionMultiplexerTest {
+
+    static {
+        StdTransportInjector.inject();
+    }
+
+    private static final long HEARTBEAT_INTERVAL_MS = 1000;
+
+    private static final Server SERVER = new Server("localhost", 12345);
+
+    private final TestScheduler testScheduler = new TestScheduler();
+    private final PublishSubject<ObservableConnection<Object, Object>> connectSubject = PublishSubject.create();
+    private final ObservableConnection<Object, Object> tcpConnection = mock(ObservableConnection.class);
+
+    private final ClientConnectionMultiplexer multiplexer = new ClientConnectionMultiplexer(
+            HEARTBEAT_INTERVAL_MS, testScheduler, server -> connectSubject
+    );
+
+    @Before
+    public void setUp() throws Exception {
+        when(tcpConnection.getInput()).thenReturn(Observable.never());
+        when(tcpConnection.writeAndFlush(any())).thenReturn(Observable.<Void>empty());
+        when(tcpConnection.close()).thenReturn(Observable.<Void>empty());
+    }
+
+    @Test(timeout = 30000)
+    public void testConnectionIsClosedWithLastStream() throws Exception {
+        ExtTestSubscriber<ClientConnection> testSubscriber = new ExtTestSubscriber<>();
+        multiplexer.openStream(SERVER, ProtocolType.Registration).subscribe(testSubscriber);
+        connectSubject.onNext(tcpConnection);
+
+        ClientConnection stream = testSubscriber.takeNextOrFail();
+        assertThat(multiplexer.getConnectionCount(), is(equalTo(1)));
+
+        stream.close();
+        assertThat(multiplexer.getConnectionCount(), is(equalTo(0)));
+        verify(tcpConnection, times(1)).close();
+    }
+
+    @Test(timeout = 30000)
+    public void testConnectionOpenedAfterAllStreamsReleasedIsClosed() throws Exception {
+        ExtTestSubscriber<ClientConnection> testSubscriber = new ExtTestSubscriber<>();
+        Subscription subscription = multiplexer.openStream(SERVER, ProtocolType.Registration).subscribe(testSubscriber);
+        assertThat(multiplexer.getConnectionCount(), is(equalTo(1)));
+
+        // Stream released while the connection is still being opened
+        subscription.unsubscribe();
+        assertThat(multiplexer.getConnectionCount(), is(equalTo(0)));
+
+        connectSubject.onNext(tcpConnection);
+        verify(tcpConnection, times(1)).close();
+
+        // No heartbeats are sent over the closed connection
+        testScheduler.advanceTimeBy(3 * HEARTBEAT_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        verify(tcpConnection, never()).writeAndFlush(any());
+    }
+}
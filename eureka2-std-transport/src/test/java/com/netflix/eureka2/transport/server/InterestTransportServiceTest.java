@@ -0,0 +1,111 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.eureka2.transport.server;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.netflix.eureka2.StdTransportInjector;
+import com.netflix.eureka2.model.instance.InstanceInfo;
+import com.netflix.eureka2.model.interest.Interest;
+import com.netflix.eureka2.model.notification.ChangeNotification;
+import com.netflix.eureka2.model.notification.ChangeNotification.Kind;
+import com.netflix.eureka2.spi.channel.ChannelContext;
+import com.netflix.eureka2.spi.channel.ChannelNotification;
+import com.netflix.eureka2.spi.channel.ChannelPipeline;
+import com.netflix.eureka2.spi.channel.InterestHandler;
+import com.netflix.eureka2.spi.model.transport.ProtocolMessageEnvelope;
+import com.netflix.eureka2.testkit.data.builder.SampleInstanceInfo;
+import org.junit.Test;
+import rx.Observable;
+import rx.subjects.AsyncSubject;
+
+import static com.netflix.eureka2.transport.server.InterestTransportService.MAX_PENDING_WRITES;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class InterestTransportServiceTest {
+
+    static {
+        StdTransportInjector.inject();
+    }
+
+    private static final int SNAPSHOT_SIZE = 1000;
+
+    private final RecordingTransportOutput output = new RecordingTransportOutput();
+
+    @Test
+    public void testRepliesAreRequestedAsPreviousOnesAreFlushed() throws Exception {
+        InstanceInfo instance = SampleInstanceInfo.WebServer.build();
+        InterestHandler snapshotHandler = new InterestHandler() {
+            @Override
+            public void init(ChannelContext<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>> channelContext) {
+            }
+
+            @Override
+            public Observable<ChannelNotification<ChangeNotification<InstanceInfo>>> handle(Observable<ChannelNotification<Interest<InstanceInfo>>> inputStream) {
+                return Observable.range(0, SNAPSHOT_SIZE).map(i -> ChannelNotification.newData(new ChangeNotification<>(Kind.Add, instance)));
+            }
+        };
+        new InterestTransportService(() -> Observable.just(new ChannelPipeline<>("interestTest", snapshotHandler)), output);
+
+        assertThat(output.writes.size(), is(equalTo(MAX_PENDING_WRITES)));
+
+        output.flush(10);
+        assertThat(output.writes.size(), is(equalTo(MAX_PENDING_WRITES + 10)));
+
+        output.flush(SNAPSHOT_SIZE);
+        assertThat(output.writes.size(), is(equalTo(SNAPSHOT_SIZE)));
+        assertThat(output.completed, is(true));
+    }
+
+    static class RecordingTransportOutput implements TransportOutput {
+
+        final List<AsyncSubject<Void>> writes = new ArrayList<>();
+        int flushed;
+        boolean completed;
+
+        @Override
+        public Observable<Void> write(ProtocolMessageEnvelope envelope) {
+            AsyncSubject<Void> flushSubject = AsyncSubject.create();
+            writes.add(flushSubject);
+            return flushSubject;
+        }
+
+        void flush(int count) {
+            for (int i = 0; i < count && flushed < writes.size(); i++) {
+                writes.get(flushed++).onCompleted();
+            }
+        }
+
+        @Override
+        public void onCompleted() {
+            completed = true;
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            throw new AssertionError("Unexpected error", e);
+        }
+
+        @Override
+        public void onNext(ProtocolMessageEnvelope envelope) {
+            throw new AssertionError("Replies should be written with flush feedback");
+        }
+    }
+}
@@ -113,7 +113,7 @@ public class ClusterResolver {
                                 Observable<List<ClusterAddress>> writeServers;
                                 Observable<List<ClusterAddress>> readServers;
                                 if (serverType == ServerType.Write) {
-                                    writeServers = combine(writeClusterResolverFromConfiguration(resolvedClusterAddress, isDnsName, scheduler).clusterTopologyChanges());
+                                    writeServers = combine(writeClusterResolverFromConfiguration(resolvedClusterAddress, isDnsName).clusterTopologyChanges());
                                     if (readClusterVip != null) {
                                         readServers = combine(resolveReadClusterFromEureka());
                                     } else {
@@ -121,7 +121,7 @@ public class ClusterResolver {
                                     }
                                 } else {
                                     writeServers = Observable.just(Collections.<ClusterAddress>emptyList());
-                                    readServers = combine(readClusterResolverFromConfiguration(resolvedClusterAddress, isDnsName, scheduler).clusterTopologyChanges());
+                                    readServers = combine(readClusterResolverFromConfiguration(resolvedClusterAddress, isDnsName).clusterTopologyChanges());
                                 }
 
                                 return Observable.combineLatest(
@@ -17,13 +17,21 @@
 package com.netflix.eureka2.testkit.compatibility.codec;
 
 import com.netflix.eureka2.model.InstanceModel;
+import com.netflix.eureka2.model.Source;
 import com.netflix.eureka2.model.datacenter.LocalDataCenterInfo;
 import com.netflix.eureka2.model.instance.Delta;
 import com.netflix.eureka2.model.instance.DeltaBuilder;
 import com.netflix.eureka2.model.instance.InstanceInfo;
 import com.netflix.eureka2.model.instance.InstanceInfoField;
+import com.netflix.eureka2.model.interest.Interest;
+import com.netflix.eureka2.model.interest.Interests;
 import com.netflix.eureka2.spi.codec.EurekaCodec;
 import com.netflix.eureka2.spi.codec.EurekaCodecFactory;
+import com.netflix.eureka2.spi.model.ChannelModel;
+import com.netflix.eureka2.spi.model.TransportModel;
+import com.netflix.eureka2.spi.model.channel.ServerHello;
+import com.netflix.eureka2.spi.model.transport.GoAway;
+import com.netflix.eureka2.spi.model.transport.InterestRegistration;
 import com.netflix.eureka2.testkit.data.builder.SampleAwsDataCenterInfo;
 import com.netflix.eureka2.testkit.data.builder.SampleInstanceInfo;
 import com.netflix.eureka2.testkit.data.builder.SampleServicePort;
@@ -92,6 +100,69 @@ public abstract class EurekaCodecCompatibilityTest {
         verifyDelta(builder.withDelta(InstanceInfoField.VIP_ADDRESS, "unsecureVip"));
     }
 
+    @Test
+    public void testGoAwayEncoding() throws IOException {
+        GoAway goAway = TransportModel.getDefaultModel().newGoAway();
+        assertThat(encodeDecode(goAway), is(equalTo(goAway)));
+
+        GoAway goAwayWithRetryHint = TransportModel.getDefaultModel().newGoAway(5000);
+        GoAway decoded = encodeDecode(goAwayWithRetryHint);
+        assertThat(decoded, is(equalTo(goAwayWithRetryHint)));
+        assertThat(decoded.getRetryAfterMs(), is(equalTo(goAwayWithRetryHint.getRetryAfterMs())));
+    }
+
+    @Test
+    public void testMetadataInterestRegistrationEncoding() throws IOException {
+        InterestRegistration registration = TransportModel.getDefaultModel().newInterestRegistration(
+                Interests.forSome(Interests.forApplications("app1"), Interests.forMetadata("shard", "shard1"))
+        );
+        assertThat(encodeDecode(registration), is(equalTo(registration)));
+    }
+
+    @Test
+    public void testStatusFilteredInterestRegistrationEncoding() throws IOException {
+        Interest<InstanceInfo> interest = Interests.forSome(
+                Interests.withStatus(Interests.forApplications("app1"), InstanceInfo.Status.UP),
+                Interests.withStatus(Interests.forMetadata("shard", "shard1"), InstanceInfo.Status.UP, InstanceInfo.Status.STARTING)
+        );
+        InterestRegistration registration = TransportModel.getDefaultModel().newInterestRegistration(interest);
+
+        InterestRegistration decoded = encodeDecode(registration);
+        assertThat(decoded, is(equalTo(registration)));
+        assertThat(Interests.forSome(decoded.getInterests()).matches(SampleInstanceInfo.WebServer.builder().withApp("app1").withStatus(InstanceInfo.Status.UP).build()), is(true));
+        assertThat(Interests.forSome(decoded.getInterests()).matches(SampleInstanceInfo.WebServer.builder().withApp("app1").withStatus(InstanceInfo.Status.DOWN).build()), is(false));
+    }
+
+    @Test
+    public void testZoneAffinityInterestRegistrationEncoding() throws IOException {
+        Interest<InstanceInfo> interest = Interests.forSome(
+                Interests.withZoneAffinity(Interests.forVips("vip1"), "us-east-1c"),
+                Interests.withZoneAffinity(Interests.withStatus(Interests.forApplications("app1"), InstanceInfo.Status.UP), "us-east-1c", 2)
+        );
+        InterestRegistration registration = TransportModel.getDefaultModel().newInterestRegistration(interest);
+        assertThat(encodeDecode(registration), is(equalTo(registration)));
+    }
+
+    @Test
+    public void testInterestRegistrationWithFieldProjectionEncoding() throws IOException {
+        InstanceInfoField.Name[] fieldProjection = {InstanceInfoField.Name.App, InstanceInfoField.Name.Status, InstanceInfoField.Name.Ports};
+        InterestRegistration registration = TransportModel.getDefaultModel().newInterestRegistration(Interests.forApplications("app1"), fieldProjection);
+
+        InterestRegistration decoded = encodeDecode(registration);
+        assertThat(decoded, is(equalTo(registration)));
+        assertThat(ExtCollections.asSet(decoded.getFieldProjection()), is(equalTo(ExtCollections.asSet(fieldProjection))));
+    }
+
+    @Test
+    public void testServerHelloWithTierEncoding() throws IOException {
+        Source serverSource = InstanceModel.getDefaultModel().createSource(Source.Origin.LOCAL, "readServer");
+        ServerHello serverHello = ChannelModel.getDefaultModel().newServerHello(serverSource, 30000, false, 2);
+
+        ServerHello decoded = encodeDecode(serverHello);
+        assertThat(decoded, is(equalTo(serverHello)));
+        assertThat(decoded.getServerTier(), is(equalTo(2)));
+    }
+
     private void verifyDelta(DeltaBuilder builder) throws IOException {
         Delta<?> delta = builder.build();
         Delta<?> decoded = encodeDecode(delta);
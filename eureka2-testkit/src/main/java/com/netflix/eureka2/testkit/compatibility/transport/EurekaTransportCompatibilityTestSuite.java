@@ -87,6 +87,10 @@ public abstract class EurekaTransportCompatibilityTestSuite {
 
     protected abstract EurekaServerTransportFactory newServerTransportFactory();
 
+    protected TransportSession getSession() {
+        return session;
+    }
+
     @Test(timeout = 30000)
     public void testRegistrationHello() throws InterruptedException {
         RegistrationHandler clientTransport = session.createRegistrationClient();
@@ -133,6 +137,28 @@ public abstract class EurekaTransportCompatibilityTestSuite {
         assertThat(confirmation.getKind(), is(equalTo(ChannelNotification.Kind.Data)));
     }
 
+    @Test(timeout = 30000)
+    public void testRegistrationUpdatesAfterDeltaUpdatesHello() throws InterruptedException {
+        RegistrationHandler clientTransport = session.createRegistrationClient();
+
+        ReplaySubject<ChannelNotification<InstanceInfo>> registrations = ReplaySubject.create();
+        ExtTestSubscriber<ChannelNotification<InstanceInfo>> testSubscriber = new ExtTestSubscriber<>();
+
+        clientTransport.handle(registrations).subscribe(testSubscriber);
+
+        registrations.onNext(ChannelNotification.newHello(session.getClientHello()));
+        assertThat(testSubscriber.takeNextOrWait().getKind(), is(equalTo(ChannelNotification.Kind.Hello)));
+
+        // First registration is sent in full, and the update possibly as delta, but server side must see full copies
+        registrations.onNext(ChannelNotification.newData(instance));
+        assertThat(testSubscriber.takeNextOrWait().getData(), is(equalTo(instance)));
+        assertThat(session.getRegistrationAcceptor().takeNextRegistration(), is(equalTo(instance)));
+
+        registrations.onNext(ChannelNotification.newData(updatedInstance));
+        assertThat(testSubscriber.takeNextOrWait().getData(), is(equalTo(updatedInstance)));
+        assertThat(session.getRegistrationAcceptor().takeNextRegistration(), is(equalTo(updatedInstance)));
+    }
+
     @Test(timeout = 30000)
     public void testInterestHello() throws InterruptedException {
         InterestHandler clientTransport = session.createInterestClient();
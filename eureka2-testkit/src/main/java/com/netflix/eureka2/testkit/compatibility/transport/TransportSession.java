@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import com.netflix.eureka2.model.InstanceModel;
@@ -43,6 +44,7 @@ import com.netflix.eureka2.spi.transport.EurekaServerTransportFactory;
 import com.netflix.eureka2.testkit.netrouter.NetworkRouter;
 import com.netflix.eureka2.testkit.netrouter.NetworkRouters;
 import rx.Observable;
+import rx.Subscriber;
 import rx.Subscription;
 
 /**
@@ -81,7 +83,7 @@ public class TransportSession {
         this.replicationClientHello = channelModel.newReplicationClientHello(instanceModel.createSource(Source.Origin.LOCAL, "replicationClient", 1), 1);
 
         Source serverSource = instanceModel.createSource(Source.Origin.LOCAL, "testServer", 1);
-        this.serverHello = channelModel.newServerHello(serverSource);
+        this.serverHello = channelModel.newServerHello(serverSource, 0, true);
         this.replicationServerHello = channelModel.newReplicationServerHello(serverSource);
 
         ChannelPipelineFactory<InstanceInfo, InstanceInfo> registrationPipelineFactory = new ChannelPipelineFactory<InstanceInfo, InstanceInfo>() {
@@ -198,8 +200,31 @@ public class TransportSession {
         networkRouter.getLinkTo(targetPort).disconnect(5, TimeUnit.SECONDS);
     }
 
+    /**
+     * Fail the reply stream of the last interest channel accepted by the server.
+     */
+    public void failInterestReplyStream(Throwable error) {
+        interestAcceptor.failReplyStream(error);
+    }
+
+    /**
+     * @return number of heartbeats received by the server side registration channels
+     */
+    public int getRegistrationHeartbeatCount() {
+        return registrationAcceptor.getHeartbeatCount();
+    }
+
+    /**
+     * @return number of heartbeats received by the server side interest channels
+     */
+    public int getInterestHeartbeatCount() {
+        return interestAcceptor.getHeartbeatCount();
+    }
+
     class TestableRegistrationTransportHandler implements RegistrationHandler {
 
+        private final BlockingQueue<InstanceInfo> receivedRegistrations = new LinkedBlockingQueue<>();
+        private final AtomicInteger heartbeatCount = new AtomicInteger();
         private volatile int activeConnectionCount;
 
         @Override
@@ -217,6 +242,11 @@ public class TransportSession {
                                     if (next.getKind() == ChannelNotification.Kind.Hello) {
                                         subscriber.onNext(ChannelNotification.<ServerHello, InstanceInfo>newHello(serverHello));
                                     } else {
+                                        if (next.getKind() == ChannelNotification.Kind.Data) {
+                                            receivedRegistrations.add(next.getData());
+                                        } else if (next.getKind() == ChannelNotification.Kind.Heartbeat) {
+                                            heartbeatCount.incrementAndGet();
+                                        }
                                         subscriber.onNext(next);
                                     }
                                 },
@@ -228,6 +258,14 @@ public class TransportSession {
         public int getActiveConnectionCount() {
             return activeConnectionCount;
         }
+
+        public int getHeartbeatCount() {
+            return heartbeatCount.get();
+        }
+
+        public InstanceInfo takeNextRegistration() throws InterruptedException {
+            return receivedRegistrations.poll(30, TimeUnit.SECONDS);
+        }
     }
 
     class TestableInterestTransportHandler implements InterestHandler {
@@ -235,7 +273,9 @@ public class TransportSession {
         private final BlockingQueue<Interest<InstanceInfo>> interestUpdates = new LinkedBlockingQueue<>();
 
         private final List<ChangeNotification<InstanceInfo>> replyStream = new ArrayList<>();
+        private final AtomicInteger heartbeatCount = new AtomicInteger();
         private volatile int activeConnectionCount;
+        private volatile Subscriber<? super ChannelNotification<ChangeNotification<InstanceInfo>>> lastSubscriber;
 
         @Override
         public void init(ChannelContext<Interest<InstanceInfo>, ChangeNotification<InstanceInfo>> channelContext) {
@@ -244,6 +284,7 @@ public class TransportSession {
         @Override
         public Observable<ChannelNotification<ChangeNotification<InstanceInfo>>> handle(Observable<ChannelNotification<Interest<InstanceInfo>>> interests) {
             return Observable.create(subscriber -> {
+                lastSubscriber = subscriber;
                 interests
                         .doOnNext(interest -> {
                             switch (interest.getKind()) {
@@ -252,6 +293,7 @@ public class TransportSession {
                                     subscriber.onNext(serverHelloNotification);
                                     break;
                                 case Heartbeat:
+                                    heartbeatCount.incrementAndGet();
                                     subscriber.onNext(ChannelNotification.<ChangeNotification<InstanceInfo>>newHeartbeat());
                                     break;
                                 case Data:
@@ -276,6 +318,14 @@ public class TransportSession {
             return interestUpdates.poll(5, TimeUnit.SECONDS);
         }
 
+        public void failReplyStream(Throwable error) {
+            lastSubscriber.onError(error);
+        }
+
+        public int getHeartbeatCount() {
+            return heartbeatCount.get();
+        }
+
         public void setReplyStream(ChangeNotification<InstanceInfo>... changeNotifications) {
             replyStream.clear();
             Collections.addAll(replyStream, changeNotifications);
@@ -20,6 +20,7 @@ import com.google.inject.Provider;
 import com.netflix.eureka2.Names;
 import com.netflix.eureka2.registry.EurekaRegistry;
 import com.netflix.eureka2.registry.EurekaRegistryView;
+import com.netflix.eureka2.server.channel.interest.InterestAdmissionController;
 import com.netflix.eureka2.server.config.EurekaInstanceInfoConfig;
 import com.netflix.eureka2.server.config.EurekaServerTransportConfig;
 import com.netflix.eureka2.server.registry.EurekaRegistrationProcessor;
@@ -31,7 +32,6 @@ import rx.schedulers.Schedulers;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
-import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 
@@ -44,7 +44,6 @@ public class EmbeddedEurekaTransportServer extends EurekaTransportServer {
 
     private int proxyPort;
 
-    @Inject
     public EmbeddedEurekaTransportServer(EurekaServerTransportFactory transportFactory,
                                          EurekaServerTransportConfig config,
                                          @Named(Names.EUREKA_SERVICE) Provider<EurekaRegistrationProcessor> registrationProcessor,
@@ -52,8 +51,10 @@ public class EmbeddedEurekaTransportServer extends EurekaTransportServer {
                                          EurekaRegistry registry,
                                          EurekaRegistryView registryView,
                                          EurekaInstanceInfoConfig instanceInfoConfig,
+                                         InterestAdmissionController admissionController,
+                                         int serverTier,
                                          NetworkRouter networkRouter) {
-        super(transportFactory, config, registrationProcessor, servoEventsListenerFactory, registry, registryView, instanceInfoConfig, Schedulers.computation());
+        super(transportFactory, config, registrationProcessor, servoEventsListenerFactory, registry, registryView, instanceInfoConfig, admissionController, serverTier, Schedulers.computation());
         this.networkRouter = networkRouter;
     }
 
@@ -65,6 +66,7 @@ public class EmbeddedEurekaTransportServer extends EurekaTransportServer {
     @PreDestroy
     public void stop() {
         networkRouter.removeBridgeTo(super.getServerPort());
+        shutdown();
     }
 
     @Override
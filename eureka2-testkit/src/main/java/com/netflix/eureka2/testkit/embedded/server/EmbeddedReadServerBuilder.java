@@ -23,6 +23,8 @@ import com.netflix.eureka2.registry.EurekaRegistryView;
 import com.netflix.eureka2.server.AbstractEurekaServer;
 import com.netflix.eureka2.server.EurekaReadServerConfigurationModule;
 import com.netflix.eureka2.server.EurekaReadServerModule;
+import com.netflix.eureka2.server.channel.interest.InterestAdmissionController;
+import com.netflix.eureka2.server.config.EurekaClusterDiscoveryConfig;
 import com.netflix.eureka2.server.config.EurekaInstanceInfoConfig;
 import com.netflix.eureka2.server.config.EurekaServerConfig;
 import com.netflix.eureka2.server.config.EurekaServerTransportConfig;
@@ -142,8 +144,11 @@ public class EmbeddedReadServerBuilder extends EmbeddedServerBuilder<EurekaServe
                                                               EurekaServerTransportConfig config,
                                                               EurekaRegistryView registryView,
                                                               EurekaInstanceInfoConfig instanceInfoConfig,
+                                                              EurekaClusterDiscoveryConfig clusterDiscoveryConfig,
+                                                              InterestAdmissionController admissionController,
                                                               NetworkRouter networkRouter) {
-            EmbeddedEurekaTransportServer server = new EmbeddedEurekaTransportServer(transportFactory, config, null, null, null, registryView, instanceInfoConfig, networkRouter);
+            EmbeddedEurekaTransportServer server = new EmbeddedEurekaTransportServer(transportFactory, config, null, null, null, registryView, instanceInfoConfig, admissionController,
+                    clusterDiscoveryConfig.getReadServerTier(), networkRouter);
             server.start();
             return server;
         }
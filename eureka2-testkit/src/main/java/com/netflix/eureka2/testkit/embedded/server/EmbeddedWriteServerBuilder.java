@@ -18,6 +18,7 @@ import com.netflix.eureka2.server.AbstractEurekaServer;
 import com.netflix.eureka2.server.EurekaWriteServerConfigurationModule;
 import com.netflix.eureka2.server.EurekaWriteServerModule;
 import com.netflix.eureka2.server.ReplicationPeerAddressesProvider;
+import com.netflix.eureka2.server.channel.interest.InterestAdmissionController;
 import com.netflix.eureka2.server.config.EurekaInstanceInfoConfig;
 import com.netflix.eureka2.server.config.EurekaServerTransportConfig;
 import com.netflix.eureka2.server.config.WriteServerConfig;
@@ -129,8 +130,10 @@ public class EmbeddedWriteServerBuilder extends EmbeddedServerBuilder<WriteServe
                                                  EurekaRegistry registry,
                                                  EurekaRegistryView registryView,
                                                  EurekaInstanceInfoConfig instanceInfoConfig,
+                                                 InterestAdmissionController admissionController,
                                                  NetworkRouter networkRouter) {
-                this.transportServer = new EmbeddedEurekaTransportServer(transportFactory, config, registrationProcessor, servoEventsListenerFactory, registry, registryView, instanceInfoConfig, networkRouter);
+                this.transportServer = new EmbeddedEurekaTransportServer(transportFactory, config, registrationProcessor, servoEventsListenerFactory, registry, registryView, instanceInfoConfig, admissionController,
+                        EurekaTransportServer.WRITE_SERVER_TIER, networkRouter);
                 this.transportServer.start();
             }
 
@@ -105,7 +105,7 @@ public class ExtTestSubscriber<T> extends Subscriber<T> {
             }
             throw e;
         } finally {
-            blockedThreads.remove(Thread.currentThread());
+            unblockCurrentThread();
         }
     }
 
@@ -119,7 +119,7 @@ public class ExtTestSubscriber<T> extends Subscriber<T> {
             }
             throw e;
         } finally {
-            blockedThreads.remove(Thread.currentThread());
+            unblockCurrentThread();
         }
     }
 
@@ -255,7 +255,19 @@ public class ExtTestSubscriber<T> extends Subscriber<T> {
     }
 
     private void awakeAllBlockedThreads() {
-        blockedThreads.forEach(Thread::interrupt);
+        synchronized (blockedThreads) {
+            blockedThreads.forEach(Thread::interrupt);
+        }
+    }
+
+    private void unblockCurrentThread() {
+        synchronized (blockedThreads) {
+            blockedThreads.remove(Thread.currentThread());
+        }
+        // Terminal event could interrupt this thread after it already took an item; do not leak it to the caller
+        if (state.get() != State.Open) {
+            Thread.interrupted();
+        }
     }
 
     private static <R> String formatAnyOrderFailure(R found, int total, Set<R> left) {
@@ -29,6 +29,7 @@ import com.netflix.eureka2.registry.EurekaRegistry;
 import com.netflix.eureka2.registry.EurekaRegistryImpl;
 import com.netflix.eureka2.registry.EurekaRegistryView;
 import com.netflix.eureka2.server.audit.AuditServiceController;
+import com.netflix.eureka2.server.channel.interest.InterestAdmissionController;
 import com.netflix.eureka2.server.config.EurekaInstanceInfoConfig;
 import com.netflix.eureka2.server.config.EurekaServerTransportConfig;
 import com.netflix.eureka2.server.registry.EurekaRegistrationProcessor;
@@ -137,8 +138,10 @@ public class EurekaWriteServerModule extends AbstractEurekaServerModule {
                                      @Named(EUREKA_SERVICE) MetricEventsListenerFactory servoEventsListenerFactory,
                                      EurekaRegistry registry,
                                      EurekaRegistryView registryView,
-                                     EurekaInstanceInfoConfig instanceInfoConfig) {
-            this.transportServer = new EurekaTransportServer(transportFactory, config, registrationProcessor, servoEventsListenerFactory, registry, registryView, instanceInfoConfig, Schedulers.computation());
+                                     EurekaInstanceInfoConfig instanceInfoConfig,
+                                     InterestAdmissionController admissionController) {
+            this.transportServer = new EurekaTransportServer(transportFactory, config, registrationProcessor, servoEventsListenerFactory, registry, registryView, instanceInfoConfig, admissionController,
+                    EurekaTransportServer.WRITE_SERVER_TIER, Schedulers.computation());
         }
 
         @Override
@@ -12,7 +12,6 @@ import com.netflix.eureka2.server.resolver.EurekaClusterResolvers;
 import com.netflix.eureka2.server.resolver.EurekaClusterResolvers.ResolverType;
 import rx.Observable;
 import rx.functions.Func1;
-import rx.schedulers.Schedulers;
 
 /**
  * @author Tomasz Bak
@@ -42,8 +41,7 @@ public class PeerAddressesProvider implements Provider<Observable<ChangeNotifica
         }
         addressStream = EurekaClusterResolvers.writeClusterResolverFromConfiguration(
                 resolverType,
-                Arrays.asList(config.getClusterAddresses()),
-                Schedulers.computation()
+                Arrays.asList(config.getClusterAddresses())
         ).clusterTopologyChanges().map(new Func1<ChangeNotification<ClusterAddress>, ChangeNotification<Server>>() {
             @Override
             public ChangeNotification<Server> call(ChangeNotification<ClusterAddress> notification) {
@@ -8,9 +8,17 @@ import com.netflix.archaius.annotations.DefaultValue;
 public interface WriteServerConfig extends EurekaServerConfig {
 
     int DEFAULT_REPLICATION_RECONNECT_DELAY_MS = 500;
+    int DEFAULT_REPLICATION_LANES = 1;
 
     @DefaultValue("" + DEFAULT_REPLICATION_RECONNECT_DELAY_MS)
     long getReplicationReconnectDelayMs();
 
+    /**
+     * Number of parallel replication channels opened to each peer. Instances are sharded between
+     * the channels by their id, so ordering of updates for a single instance is preserved.
+     */
+    @DefaultValue("" + DEFAULT_REPLICATION_LANES)
+    int getReplicationLanes();
+
     BootstrapConfig getBootstrap();
 }
@@ -19,13 +19,15 @@ public class WriteServerConfigBean extends EurekaServerConfigBean implements Wri
 
     private final BootstrapConfig bootstrapConfig;
     private final long replicationReconnectDelayMillis;
+    private final int replicationLanes;
 
     public WriteServerConfigBean(EurekaClusterDiscoveryConfig clusterDiscoveryConfig, EurekaInstanceInfoConfig instanceInfoConfig,
                                  EurekaServerTransportConfig transportConfig, EurekaServerRegistryConfig registryConfig,
-                                 BootstrapConfig bootstrapConfig, long replicationReconnectDelayMillis) {
+                                 BootstrapConfig bootstrapConfig, long replicationReconnectDelayMillis, int replicationLanes) {
         super(clusterDiscoveryConfig, instanceInfoConfig, transportConfig, registryConfig);
         this.bootstrapConfig = bootstrapConfig;
         this.replicationReconnectDelayMillis = replicationReconnectDelayMillis;
+        this.replicationLanes = replicationLanes;
     }
 
     @Override
@@ -33,6 +35,11 @@ public class WriteServerConfigBean extends EurekaServerConfigBean implements Wri
         return replicationReconnectDelayMillis;
     }
 
+    @Override
+    public int getReplicationLanes() {
+        return replicationLanes;
+    }
+
     @Override
     public BootstrapConfig getBootstrap() {
         return bootstrapConfig;
@@ -49,6 +56,7 @@ public class WriteServerConfigBean extends EurekaServerConfigBean implements Wri
         private EurekaServerRegistryConfig registryConfig = anEurekaServerRegistryConfig().build();
         private BootstrapConfig bootstrapConfig = BootstrapConfigBean.aBootstrapConfig().build();
         private long replicationReconnectDelayMillis = DEFAULT_REPLICATION_RECONNECT_DELAY_MS;
+        private int replicationLanes = DEFAULT_REPLICATION_LANES;
 
         private Builder() {
         }
@@ -78,6 +86,11 @@ public class WriteServerConfigBean extends EurekaServerConfigBean implements Wri
             return this;
         }
 
+        public Builder withReplicationLanes(int replicationLanes) {
+            this.replicationLanes = replicationLanes;
+            return this;
+        }
+
         public Builder withBootstrapConfig(BootstrapConfig bootstrapConfig) {
             this.bootstrapConfig = bootstrapConfig;
             return this;
@@ -90,13 +103,14 @@ public class WriteServerConfigBean extends EurekaServerConfigBean implements Wri
                     .withTransportConfig(transportConfig)
                     .withRegistryConfig(registryConfig)
                     .withReplicationReconnectDelayMillis(replicationReconnectDelayMillis)
+                    .withReplicationLanes(replicationLanes)
                     .withBootstrapConfig(bootstrapConfig);
         }
 
         public WriteServerConfigBean build() {
             return new WriteServerConfigBean(
                     clusterDiscoveryConfig, instanceInfoConfig, transportConfig, registryConfig,
-                    bootstrapConfig, replicationReconnectDelayMillis);
+                    bootstrapConfig, replicationReconnectDelayMillis, replicationLanes);
         }
     }
 }
@@ -21,6 +21,7 @@ import javax.inject.Singleton;
 
 import com.netflix.eureka2.server.http.EurekaHttpServer;
 import com.netflix.eureka2.server.http.JarResourcesRequestHandler;
+import com.netflix.eureka2.server.rest.diagnostic.DiagnosticChannelTraceResource;
 import com.netflix.eureka2.server.rest.diagnostic.DiagnosticInstanceHoldersResource;
 import com.netflix.eureka2.server.rest.system.ApplicationsResource;
 import com.netflix.eureka2.server.rest.system.ClusterTopologyResource;
@@ -31,6 +32,7 @@ import io.reactivex.netty.protocol.http.server.HttpServerResponse;
 import io.reactivex.netty.protocol.http.server.RequestHandler;
 import rx.Observable;
 
+import static com.netflix.eureka2.server.rest.diagnostic.DiagnosticChannelTraceResource.PATH_DIAGNOSTIC_CHANNEL_TRACE;
 import static com.netflix.eureka2.server.rest.diagnostic.DiagnosticInstanceHoldersResource.PATH_DIAGNOSTIC_ENTRYHOLDERS;
 import static com.netflix.eureka2.server.rest.system.ApplicationsResource.PATH_APPLICATIONS;
 import static com.netflix.eureka2.server.rest.system.ClusterTopologyResource.PATH_CLUSTER_TOPOLOGY;
@@ -49,7 +51,8 @@ public class WriteServerRootResource implements RequestHandler<ByteBuf, ByteBuf>
     public WriteServerRootResource(EurekaHttpServer httpServer,
                                    ClusterTopologyResource clusterTopologyResource,
                                    ApplicationsResource applicationsResource,
-                                   DiagnosticInstanceHoldersResource diagnosticInstanceHoldersResource) {
+                                   DiagnosticInstanceHoldersResource diagnosticInstanceHoldersResource,
+                                   DiagnosticChannelTraceResource diagnosticChannelTraceResource) {
         JarResourcesRequestHandler jarHandler = new JarResourcesRequestHandler(
                 PATH_WEB_CLIENT,
                 "eureka2-write-ui-([\\d.]+)(-SNAPSHOT)?.jar",
@@ -59,6 +62,7 @@ public class WriteServerRootResource implements RequestHandler<ByteBuf, ByteBuf>
         httpServer.connectHttpEndpoint(PATH_CLUSTER_TOPOLOGY, clusterTopologyResource);
         httpServer.connectHttpEndpoint(PATH_APPLICATIONS, applicationsResource);
         httpServer.connectHttpEndpoint(PATH_DIAGNOSTIC_ENTRYHOLDERS, diagnosticInstanceHoldersResource);
+        httpServer.connectHttpEndpoint(PATH_DIAGNOSTIC_CHANNEL_TRACE, diagnosticChannelTraceResource);
         httpServer.connectHttpEndpoint("/api", this);
     }
 
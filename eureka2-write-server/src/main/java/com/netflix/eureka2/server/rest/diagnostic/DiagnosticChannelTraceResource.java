@@ -0,0 +1,109 @@
+/*
+ * Copyright 2015 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.eureka2.server.rest.diagnostic;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.ws.rs.core.MediaType;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import com.netflix.eureka2.channel.ChannelTraceEvent;
+import com.netflix.eureka2.channel.ChannelTracer;
+import com.netflix.eureka2.utils.Json;
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.http.HttpHeaders.Names;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.reactivex.netty.protocol.http.server.HttpServerRequest;
+import io.reactivex.netty.protocol.http.server.HttpServerResponse;
+import io.reactivex.netty.protocol.http.server.RequestHandler;
+import rx.Observable;
+
+/**
+ * Channel trace resource. GET returns the current sample percentage, and the events recorded
+ * by {@link ChannelTracer}, starting from the oldest one. PUT with the samplePercentage query parameter changes
+ * the percentage of new channels that are traced (0 disables tracing).
+ */
+@Singleton
+public class DiagnosticChannelTraceResource implements RequestHandler<ByteBuf, ByteBuf> {
+
+    public static final String PATH_DIAGNOSTIC_CHANNEL_TRACE = "/api/diagnostic/channels/trace";
+
+    private static final Pattern CHANNEL_TRACE_RE = Pattern.compile(PATH_DIAGNOSTIC_CHANNEL_TRACE);
+
+    private final ChannelTracer tracer;
+
+    @Inject
+    public DiagnosticChannelTraceResource() {
+        this(ChannelTracer.getDefault());
+    }
+
+    public DiagnosticChannelTraceResource(ChannelTracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Observable<Void> handle(HttpServerRequest<ByteBuf> request, HttpServerResponse<ByteBuf> response) {
+        if (!CHANNEL_TRACE_RE.matcher(request.getPath()).matches()) {
+            response.setStatus(HttpResponseStatus.NOT_FOUND);
+            return Observable.empty();
+        }
+        if (request.getHttpMethod() == HttpMethod.GET) {
+            return handleGetTraceRequest(response);
+        }
+        if (request.getHttpMethod() == HttpMethod.PUT) {
+            return handleUpdateSamplingRequest(request, response);
+        }
+        response.setStatus(HttpResponseStatus.METHOD_NOT_ALLOWED);
+        return Observable.empty();
+    }
+
+    private Observable<Void> handleGetTraceRequest(HttpServerResponse<ByteBuf> response) {
+        response.setStatus(HttpResponseStatus.OK);
+        response.getHeaders().add(Names.CONTENT_TYPE, MediaType.APPLICATION_JSON);
+        ChannelTraceDescriptor descriptor = new ChannelTraceDescriptor(tracer.getSamplePercentage(), tracer.getEvents());
+        return response.writeStringAndFlush(Json.toStringJson(descriptor));
+    }
+
+    private Observable<Void> handleUpdateSamplingRequest(HttpServerRequest<ByteBuf> request, HttpServerResponse<ByteBuf> response) {
+        List<String> values = request.getQueryParameters().get("samplePercentage");
+        if (values == null || values.isEmpty()) {
+            response.setStatus(HttpResponseStatus.BAD_REQUEST);
+            return Observable.empty();
+        }
+        try {
+            tracer.setSamplePercentage(Integer.parseInt(values.get(0)));
+        } catch (NumberFormatException e) {
+            response.setStatus(HttpResponseStatus.BAD_REQUEST);
+            return Observable.empty();
+        }
+        response.setStatus(HttpResponseStatus.NO_CONTENT);
+        return Observable.empty();
+    }
+
+    static class ChannelTraceDescriptor {
+
+        private final int samplePercentage;
+        private final List<ChannelTraceEvent> events;
+
+        ChannelTraceDescriptor(int samplePercentage, List<ChannelTraceEvent> events) {
+            this.samplePercentage = samplePercentage;
+            this.events = events;
+        }
+    }
+}
@@ -7,7 +7,6 @@ import java.util.Arrays;
 import com.netflix.eureka2.server.config.WriteServerConfig;
 import com.netflix.eureka2.server.resolver.EurekaClusterResolver;
 import com.netflix.eureka2.server.resolver.EurekaClusterResolvers;
-import rx.schedulers.Schedulers;
 
 /**
  * @author Tomasz Bak
@@ -21,14 +20,12 @@ public class BackupClusterResolverProvider implements Provider<EurekaClusterReso
         if (config.getBootstrap().getBootstrapClusterAddresses() != null) {
             resolver = EurekaClusterResolvers.readClusterResolverFromConfiguration(
                     config.getBootstrap().getBootstrapResolverType(),
-                    Arrays.asList(config.getBootstrap().getBootstrapClusterAddresses()),
-                    Schedulers.computation()
+                    Arrays.asList(config.getBootstrap().getBootstrapClusterAddresses())
             );
         } else {
             resolver = EurekaClusterResolvers.writeClusterResolverFromConfiguration(
                     config.getEurekaClusterDiscovery().getClusterResolverType(),
-                    Arrays.asList(config.getEurekaClusterDiscovery().getClusterAddresses()),
-                    Schedulers.computation()
+                    Arrays.asList(config.getEurekaClusterDiscovery().getClusterAddresses())
             );
         }
     }
@@ -27,6 +27,7 @@ import com.netflix.eureka2.model.interest.Interests;
 import com.netflix.eureka2.model.notification.ChangeNotification;
 import com.netflix.eureka2.registry.EurekaRegistry;
 import com.netflix.eureka2.server.ReplicationPeerAddressesProvider;
+import com.netflix.eureka2.server.channel.replication.ReplicationLanes;
 import com.netflix.eureka2.server.channel.replication.ReplicationLoopException;
 import com.netflix.eureka2.server.channel.replication.SenderReplicationHandshakeHandler;
 import com.netflix.eureka2.server.channel.replication.SenderReplicationLoopDetectorHandler;
@@ -36,6 +37,7 @@ import com.netflix.eureka2.server.service.selfinfo.SelfInfoResolver;
 import com.netflix.eureka2.spi.channel.ChannelNotification;
 import com.netflix.eureka2.spi.channel.ChannelPipeline;
 import com.netflix.eureka2.spi.transport.EurekaClientTransportFactory;
+import com.netflix.eureka2.utils.rx.HashedWheelTimeoutService;
 import com.netflix.eureka2.utils.rx.RetryStrategyFunc;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,6 +47,7 @@ import rx.Subscriber;
 import rx.Subscription;
 import rx.functions.Func1;
 import rx.schedulers.Schedulers;
+import rx.subscriptions.CompositeSubscription;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -77,6 +80,7 @@ public class ReplicationService {
     private final ReplicationPeerAddressesProvider peerAddressesProvider;
     private final WriteServerMetricFactory metricFactory;
     private final EurekaClientTransportFactory transportFactory;
+    private final HashedWheelTimeoutService heartbeatTimeouts;
 
     protected final Map<Server, Subscription> addressVsPipelineSubscription;
 
@@ -100,6 +104,7 @@ public class ReplicationService {
         this.transportFactory = transportFactory;
         this.addressVsPipelineSubscription = new HashMap<>();
         this.scheduler = Schedulers.computation();
+        this.heartbeatTimeouts = new HashedWheelTimeoutService(scheduler);
     }
 
     @PostConstruct
@@ -155,30 +160,45 @@ public class ReplicationService {
         }
 
         if (!addressVsPipelineSubscription.containsKey(address)) {
-            logger.info("Adding replication channel to server {}", address);
-
-            Observable<ChangeNotification<InstanceInfo>> localUpdates = eurekaRegistry.forInterest(Interests.forFullRegistry(), Source.matcherFor(Source.Origin.LOCAL));
-            Subscription pipelineSubscription = createReplicationPipeline(address).getFirst()
-                    .handle(localUpdates.map(update -> ChannelNotification.newData(update)))
-                    .subscribe(
-                            next -> {
-                                // Void
-                            },
-                            e -> {
-                                if (e instanceof ReplicationLoopException) {
-                                    logger.info("Removing own address {} from replication pool", address);
-                                } else {
-                                    logger.error("Replication pipeline for server {} disconnect with an error and will not be retried", address);
-                                }
-                                removeServer(address);
-                            },
-                            () -> logger.info("Replication pipeline for server {} onCompleted", address)
-                    );
+            int laneCount = Math.max(1, config.getReplicationLanes());
+            logger.info("Adding replication channel to server {} ({} lane(s))", address, laneCount);
+
+            CompositeSubscription pipelineSubscription = new CompositeSubscription();
+            for (int lane = 0; lane < laneCount; lane++) {
+                pipelineSubscription.add(connectLane(address, lane, laneCount));
+            }
 
             addressVsPipelineSubscription.put(address, pipelineSubscription);
         }
     }
 
+    private Subscription connectLane(final Server address, final int lane, final int laneCount) {
+        Observable<ChangeNotification<InstanceInfo>> localUpdates = eurekaRegistry.forInterest(Interests.forFullRegistry(), Source.matcherFor(Source.Origin.LOCAL));
+        if (laneCount > 1) {
+            // Buffer markers must be propagated to all lanes, as each lane is a separate replication session
+            localUpdates = localUpdates.filter(update ->
+                    !update.isDataNotification() || ReplicationLanes.laneOf(update.getData().getId(), laneCount) == lane
+            );
+        }
+        Source laneSource = ReplicationLanes.laneSource(clientSource, lane, laneCount);
+        return createReplicationPipeline(address, laneSource).getFirst()
+                .handle(localUpdates.map(update -> ChannelNotification.newData(update)))
+                .subscribe(
+                        next -> {
+                            // Void
+                        },
+                        e -> {
+                            if (e instanceof ReplicationLoopException) {
+                                logger.info("Removing own address {} from replication pool", address);
+                            } else {
+                                logger.error("Replication pipeline lane {} for server {} disconnect with an error and will not be retried", lane, address);
+                            }
+                            removeServer(address);
+                        },
+                        () -> logger.info("Replication pipeline lane {} for server {} onCompleted", lane, address)
+                );
+    }
+
     private void removeServer(Server address) {
         Subscription subscription = addressVsPipelineSubscription.remove(address);
         if (subscription != null) {
@@ -199,14 +219,15 @@ public class ReplicationService {
             }
             addressVsPipelineSubscription.clear();
         }
+        heartbeatTimeouts.shutdown();
     }
 
-    private ChannelPipeline<ChangeNotification<InstanceInfo>, Void> createReplicationPipeline(Server address) {
+    private ChannelPipeline<ChangeNotification<InstanceInfo>, Void> createReplicationPipeline(Server address, Source laneSource) {
         SenderRetryableReplicationHandler retryableHandler = new SenderRetryableReplicationHandler(() -> {
             return Observable.just(new ChannelPipeline<>("replicationInternalPipeline",
-                    new SenderReplicationHandshakeHandler(clientSource, idGenerator, eurekaRegistry),
-                    new SenderReplicationLoopDetectorHandler(clientSource),
-                    new ClientHeartbeatHandler<ChangeNotification<InstanceInfo>, Void>(HEARTBEAT_INTERVAL_MS, scheduler),
+                    new SenderReplicationHandshakeHandler(laneSource, idGenerator, eurekaRegistry, HEARTBEAT_INTERVAL_MS),
+                    new SenderReplicationLoopDetectorHandler(laneSource),
+                    new ClientHeartbeatHandler<ChangeNotification<InstanceInfo>, Void>(HEARTBEAT_INTERVAL_MS, scheduler, heartbeatTimeouts),
                     transportFactory.newReplicationTransport(address)
             ));
         }, config.getReplicationReconnectDelayMs(), scheduler);
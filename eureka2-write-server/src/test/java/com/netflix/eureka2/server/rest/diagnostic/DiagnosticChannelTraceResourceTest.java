@@ -0,0 +1,61 @@
+package com.netflix.eureka2.server.rest.diagnostic;
+
+import javax.ws.rs.core.MediaType;
+
+import com.netflix.eureka2.channel.ChannelTraceEvent;
+import com.netflix.eureka2.channel.ChannelTraceEvent.EventType;
+import com.netflix.eureka2.channel.ChannelTracer;
+import com.netflix.eureka2.rxnetty.HttpResponseUtils;
+import com.netflix.eureka2.server.http.EurekaHttpServer;
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.reactivex.netty.RxNetty;
+import io.reactivex.netty.protocol.http.client.HttpClientRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.netflix.eureka2.server.config.bean.EurekaServerTransportConfigBean.anEurekaServerTransportConfig;
+import static com.netflix.eureka2.server.rest.diagnostic.DiagnosticChannelTraceResource.PATH_DIAGNOSTIC_CHANNEL_TRACE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+public class DiagnosticChannelTraceResourceTest {
+
+    private final EurekaHttpServer httpServer = new EurekaHttpServer(anEurekaServerTransportConfig().withHttpPort(0).build());
+
+    private final ChannelTracer tracer = new ChannelTracer(0, 16);
+
+    @Before
+    public void setUp() throws Exception {
+        httpServer.connectHttpEndpoint(PATH_DIAGNOSTIC_CHANNEL_TRACE, new DiagnosticChannelTraceResource(tracer));
+        httpServer.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        httpServer.stop();
+    }
+
+    @Test
+    public void testTraceGet() throws Exception {
+        tracer.record(new ChannelTraceEvent(1, "interestServer@test", EventType.ReplyError, 5, 1, 10, 1, "simulated error"));
+
+        HttpClientRequest<ByteBuf> request = HttpClientRequest.create(HttpMethod.GET, PATH_DIAGNOSTIC_CHANNEL_TRACE);
+        String response = HttpResponseUtils.handleGetRequest(httpServer.serverPort(), request, MediaType.APPLICATION_JSON_TYPE);
+        assertThat(response.contains("interestServer@test"), is(true));
+        assertThat(response.contains("ReplyError"), is(true));
+    }
+
+    @Test
+    public void testSamplePercentageUpdate() throws Exception {
+        HttpClientRequest<ByteBuf> request = HttpClientRequest.create(HttpMethod.PUT, PATH_DIAGNOSTIC_CHANNEL_TRACE + "?samplePercentage=10");
+        HttpResponseStatus status = RxNetty.createHttpClient("localhost", httpServer.serverPort()).submit(request)
+                .toBlocking().first().getStatus();
+
+        assertThat(status, is(equalTo(HttpResponseStatus.NO_CONTENT)));
+        assertThat(tracer.getSamplePercentage(), is(equalTo(10)));
+    }
+}
@@ -45,6 +45,8 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -116,6 +118,22 @@ public class ReplicationServiceTest {
         assertThat(addressVsHandler.size(), is(0));
     }
 
+    @Test(timeout = 60000)
+    public void testOpensReplicationChannelPerLane() throws Exception {
+        replicationService = new ReplicationService(aWriteServerConfig().withReplicationLanes(3).build(), eurekaRegistry,
+                selfIdentityService, peerAddressProvider, writeServerMetrics(), transportFactory);
+        Map<Server, Subscription> addressVsHandler = replicationService.addressVsPipelineSubscription;
+
+        replicationService.connect();
+        peerAddressSubject.onNext(new ChangeNotification<>(Kind.Add, ADDRESS1));
+        assertThat(addressVsHandler.size(), is(1));
+        verify(transportFactory, times(3)).newReplicationTransport(ADDRESS1);
+
+        // Remove server1
+        peerAddressSubject.onNext(new ChangeNotification<>(Kind.Delete, ADDRESS1));
+        assertThat(addressVsHandler.size(), is(0));
+    }
+
     @Test(timeout = 60000)
     public void testShutdownCleanUpResources() {
         Map<Server, Subscription> addressVsHandler = replicationService.addressVsPipelineSubscription;